@@ -0,0 +1,96 @@
+package org.smartregister.maternity.utils;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.jeasy.rules.api.Facts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares rendering the templates of the shipped profile overview config with {@link MaternityCompiledTemplate} and
+ * with {@link MaternityUtils#fillTemplateByRewriting(boolean, String, Facts)}. Run on a device with
+ * {@code ./gradlew :opensrp-maternity:connectedAndroidTest}, the timings are reported by the {@link BenchmarkRule}
+ */
+@RunWith(AndroidJUnit4.class)
+public class MaternityCompiledTemplateBenchmark {
+
+    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("template: \"(.*)\"");
+    private static final Pattern KEY_PATTERN = Pattern.compile("\\{([^{}]*)\\}");
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private List<String> templates;
+    private Facts facts;
+
+    @Before
+    public void setUp() throws IOException {
+        templates = readProfileOverviewTemplates();
+        facts = createFacts(templates, "[pre_eclampsia, heavy_bleeding]");
+    }
+
+    @Test
+    public void renderCompiledTemplates() {
+        List<MaternityCompiledTemplate> compiledTemplates = new ArrayList<>();
+        for (String template : templates) {
+            compiledTemplates.add(MaternityCompiledTemplate.compile(template));
+        }
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (MaternityCompiledTemplate compiledTemplate : compiledTemplates) {
+                compiledTemplate.render(facts);
+            }
+        }
+    }
+
+    @Test
+    public void fillTemplatesByRewriting() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (String template : templates) {
+                MaternityUtils.fillTemplateByRewriting(false, template, facts);
+            }
+        }
+    }
+
+    private Facts createFacts(List<String> templates, String value) {
+        Facts facts = new Facts();
+        for (String template : templates) {
+            Matcher matcher = KEY_PATTERN.matcher(template);
+            while (matcher.find()) {
+                facts.put(matcher.group(1), value);
+                facts.put(matcher.group(1) + ConstantsUtils.SuffixUtils.OTHER, "Asthma");
+            }
+        }
+        return facts;
+    }
+
+    private List<String> readProfileOverviewTemplates() throws IOException {
+        List<String> templates = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(InstrumentationRegistry.getInstrumentation()
+                .getTargetContext().getAssets().open(FilePath.FOLDER.CONFIG_FOLDER_PATH + FilePath.FILE.MATERNITY_PROFILE_OVERVIEW), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = TEMPLATE_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    templates.add(matcher.group(1));
+                }
+            }
+        }
+        return templates;
+    }
+}
@@ -5,10 +5,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
-import org.joda.time.LocalDate;
-import org.joda.time.Weeks;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -16,20 +12,29 @@ import org.smartregister.Context;
 import org.smartregister.clientandeventmodel.Event;
 import org.smartregister.domain.tag.FormTag;
 import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.configuration.MaternityExecutorPolicy;
 import org.smartregister.maternity.configuration.MaternityFormProcessingTask;
 import org.smartregister.maternity.domain.YamlConfig;
 import org.smartregister.maternity.domain.YamlConfigItem;
+import org.smartregister.maternity.helper.MaternityProfileCache;
+import org.smartregister.maternity.helper.MaternityRegisterCountCache;
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
 import org.smartregister.maternity.helper.MaternityRulesEngineHelper;
+import org.smartregister.maternity.helper.MaternityYamlConfigRegistry;
 import org.smartregister.maternity.repository.MaternityChildRepository;
 import org.smartregister.maternity.repository.MaternityDetailsRepository;
 import org.smartregister.maternity.repository.MaternityPartialFormRepository;
 import org.smartregister.maternity.repository.MaternityRegistrationDetailsRepository;
 import org.smartregister.maternity.repository.MaternityRepository;
+import org.smartregister.maternity.repository.MaternitySearchIndexRepository;
 import org.smartregister.maternity.utils.AppExecutors;
 import org.smartregister.maternity.utils.ConfigurationInstancesHelper;
 import org.smartregister.maternity.utils.FilePath;
 import org.smartregister.maternity.utils.MaternityConstants;
+import org.smartregister.maternity.utils.MaternityDateUtils;
 import org.smartregister.maternity.utils.MaternityJsonFormUtils;
+import org.smartregister.maternity.utils.MaternityTaskExecutor;
+import org.smartregister.maternity.utils.MaternityTaskRunner;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.repository.EventClientRepository;
 import org.smartregister.repository.Repository;
@@ -50,6 +55,7 @@ import java.util.Date;
 import java.util.List;
 
 import id.zelory.compressor.Compressor;
+import timber.log.Timber;
 
 import static org.smartregister.maternity.utils.MaternityJsonFormUtils.METADATA;
 
@@ -72,7 +78,12 @@ public class MaternityLibrary {
     private MaternityChildRepository maternityChildRepository;
     private EventClientRepository eventClientRepository;
     private MaternityRepository maternityRepository;
+    private MaternitySearchIndexRepository maternitySearchIndexRepository;
     private AppExecutors appExecutors;
+    private MaternityProfileCache maternityProfileCache;
+    private MaternityRegisterCountCache maternityRegisterCountCache;
+    private MaternityRegisterPageCache maternityRegisterPageCache;
+    private MaternityTaskRunner maternityTaskRunner;
 
     private Compressor compressor;
     private int applicationVersion;
@@ -81,6 +92,7 @@ public class MaternityLibrary {
     private Yaml yaml;
 
     private MaternityRulesEngineHelper maternityRulesEngineHelper;
+    private MaternityYamlConfigRegistry maternityYamlConfigRegistry;
 
     protected MaternityLibrary(@NonNull Context context, @NonNull MaternityConfiguration maternityConfiguration
             , @NonNull Repository repository, int applicationVersion, int databaseVersion) {
@@ -98,6 +110,8 @@ public class MaternityLibrary {
             , int applicationVersion, int databaseVersion) {
         if (instance == null) {
             instance = new MaternityLibrary(context, maternityConfiguration, repository, applicationVersion, databaseVersion);
+            instance.warmUpRulesEngine();
+            instance.createSearchIndex();
         }
     }
 
@@ -113,10 +127,7 @@ public class MaternityLibrary {
 
 
     public static int getGestationAgeInWeeks(@NonNull String conceptionDateString) {
-        DateTimeFormatter SQLITE_DATE_DF = DateTimeFormat.forPattern("dd-MM-yyyy");
-        LocalDate conceptionDate = SQLITE_DATE_DF.withOffsetParsed().parseLocalDate(conceptionDateString);
-        Weeks weeks = Weeks.weeksBetween(conceptionDate, LocalDate.now());
-        return weeks.getWeeks();
+        return MaternityDateUtils.getGestationAgeInWeeks(conceptionDateString);
     }
 
     @NonNull
@@ -172,6 +183,14 @@ public class MaternityLibrary {
         return maternityRepository;
     }
 
+    @NonNull
+    public synchronized MaternitySearchIndexRepository getMaternitySearchIndexRepository() {
+        if (maternitySearchIndexRepository == null) {
+            maternitySearchIndexRepository = new MaternitySearchIndexRepository();
+        }
+        return maternitySearchIndexRepository;
+    }
+
     @NonNull
     public Repository getRepository() {
         return repository;
@@ -222,6 +241,9 @@ public class MaternityLibrary {
         yaml = new Yaml(constructor);
     }
 
+    /**
+     * Parses the YAML file on every call. Use {@link #getMaternityYamlConfigRegistry()} to read configs parsed once
+     */
     @NonNull
     public Iterable<Object> readYaml(@NonNull String filename) throws IOException {
         InputStreamReader inputStreamReader = new InputStreamReader(
@@ -229,6 +251,39 @@ public class MaternityLibrary {
         return yaml.loadAll(inputStreamReader);
     }
 
+    /**
+     * Loads the profile overview config in the background so that the first profile render does not parse it or
+     * compile its expressions
+     */
+    protected void warmUpRulesEngine() {
+        MaternityYamlConfigRegistry yamlConfigRegistry = getMaternityYamlConfigRegistry();
+        getAppExecutors().diskIORead(MaternityTaskExecutor.Priority.BACKGROUND).execute(() -> {
+            try {
+                yamlConfigRegistry.getYamlConfigs(FilePath.FILE.MATERNITY_PROFILE_OVERVIEW);
+            } catch (IOException | RuntimeException e) {
+                Timber.e(e);
+            }
+        });
+    }
+
+    /**
+     * Creates the search index in the background for host apps whose repository does not create it, see
+     * {@link MaternitySearchIndexRepository}
+     */
+    protected void createSearchIndex() {
+        MaternitySearchIndexRepository searchIndexRepository = getMaternitySearchIndexRepository();
+        getAppExecutors().diskIOWrite(MaternityTaskExecutor.Priority.BACKGROUND).execute(searchIndexRepository::ensureTable);
+    }
+
+    @NonNull
+    public synchronized MaternityYamlConfigRegistry getMaternityYamlConfigRegistry() {
+        if (maternityYamlConfigRegistry == null) {
+            maternityYamlConfigRegistry = new MaternityYamlConfigRegistry();
+        }
+
+        return maternityYamlConfigRegistry;
+    }
+
     @NonNull
     public MaternityRulesEngineHelper getMaternityRulesEngineHelper() {
         if (maternityRulesEngineHelper == null) {
@@ -238,6 +293,44 @@ public class MaternityLibrary {
         return maternityRulesEngineHelper;
     }
 
+    /**
+     * @return the cache of the profile data of recently opened clients
+     */
+    @NonNull
+    public synchronized MaternityProfileCache getMaternityProfileCache() {
+        if (maternityProfileCache == null) {
+            maternityProfileCache = new MaternityProfileCache();
+        }
+
+        return maternityProfileCache;
+    }
+
+    /**
+     * @return the cache of the register counts by filter and main condition
+     */
+    @NonNull
+    public synchronized MaternityRegisterCountCache getMaternityRegisterCountCache() {
+        if (maternityRegisterCountCache == null) {
+            maternityRegisterCountCache = new MaternityRegisterCountCache();
+        }
+
+        return maternityRegisterCountCache;
+    }
+
+    /**
+     * @return the cache of the most recently read register pages
+     */
+    @NonNull
+    public synchronized MaternityRegisterPageCache getMaternityRegisterPageCache() {
+        if (maternityRegisterPageCache == null) {
+            maternityRegisterPageCache = maternityConfiguration != null
+                    ? new MaternityRegisterPageCache(Math.max(1, maternityConfiguration.getRegisterPageCacheSize()))
+                    : new MaternityRegisterPageCache();
+        }
+
+        return maternityRegisterPageCache;
+    }
+
     @NonNull
     public List<Event> processMaternityOutcomeForm(@NonNull String eventType, String jsonString, @Nullable Intent data) throws JSONException {
         MaternityFormProcessingTask<List<Event>> maternityFormProcessingTask = ConfigurationInstancesHelper.newInstance(getMaternityConfiguration().getMaternityFormProcessingTasks(eventType));
@@ -313,13 +406,23 @@ public class MaternityLibrary {
         return new Date();
     }
 
-    public AppExecutors getAppExecutors() {
+    public synchronized AppExecutors getAppExecutors() {
         if (appExecutors == null) {
-            appExecutors = new AppExecutors();
+            MaternityExecutorPolicy executorPolicy = maternityConfiguration != null ? maternityConfiguration.getExecutorPolicy() : null;
+            appExecutors = executorPolicy != null ? new AppExecutors(executorPolicy) : new AppExecutors();
         }
         return appExecutors;
     }
 
+    @NonNull
+    public synchronized MaternityTaskRunner getMaternityTaskRunner() {
+        if (maternityTaskRunner == null) {
+            maternityTaskRunner = new MaternityTaskRunner(getAppExecutors().diskIORead(), getAppExecutors().mainThread());
+        }
+
+        return maternityTaskRunner;
+    }
+
     public EventClientRepository eventClientRepository() {
         if (eventClientRepository == null) {
             eventClientRepository = new EventClientRepository();
@@ -2,38 +2,67 @@ package org.smartregister.maternity.adapter;
 
 import android.content.Context;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import org.apache.commons.lang3.StringUtils;
 import org.jeasy.rules.api.Facts;
-import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
-import org.smartregister.maternity.domain.YamlConfigItem;
 import org.smartregister.maternity.domain.YamlConfigWrapper;
-import org.smartregister.maternity.utils.MaternityUtils;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
+import org.smartregister.maternity.presenter.MaternityProfileOverviewFragmentPresenter;
 
 import java.util.List;
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
+ * <p>
+ * Displays the rows built by the presenter. Binding only sets text and colours, new rows are submitted through
+ * {@link #submitList(List)} which updates the changed rows only
  */
-public class MaternityProfileOverviewAdapter extends RecyclerView.Adapter<MaternityProfileOverviewAdapter.ViewHolder> {
+public class MaternityProfileOverviewAdapter extends ListAdapter<MaternityProfileOverviewRow, MaternityProfileOverviewAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<MaternityProfileOverviewRow> DIFF_CALLBACK = new DiffUtil.ItemCallback<MaternityProfileOverviewRow>() {
+
+        @Override
+        public boolean areItemsTheSame(@NonNull MaternityProfileOverviewRow oldRow, @NonNull MaternityProfileOverviewRow newRow) {
+            return oldRow.getKey().equals(newRow.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull MaternityProfileOverviewRow oldRow, @NonNull MaternityProfileOverviewRow newRow) {
+            return oldRow.equals(newRow);
+        }
+    };
 
-    private List<YamlConfigWrapper> mData;
     private LayoutInflater mInflater;
-    private Facts facts;
-    private Context context;
+    private final int redFontColor;
+    private final int titleFontColor;
+    private final int detailFontColor;
 
-    // data is passed into the constructor
-    public MaternityProfileOverviewAdapter(@NonNull Context context, @NonNull List<YamlConfigWrapper> data, @NonNull Facts facts) {
+    public MaternityProfileOverviewAdapter(@NonNull Context context) {
+        super(DIFF_CALLBACK);
         this.mInflater = LayoutInflater.from(context);
-        this.mData = data;
-        this.facts = facts;
-        this.context = context;
+        this.redFontColor = context.getResources().getColor(R.color.overview_font_red);
+        this.titleFontColor = context.getResources().getColor(R.color.overview_font_left);
+        this.detailFontColor = context.getResources().getColor(R.color.overview_font_right);
+    }
+
+    /**
+     * Displays the config items with templates filled from the facts
+     *
+     * @deprecated use {@link #MaternityProfileOverviewAdapter(Context)} and submit the rows built in the background
+     * by {@link MaternityProfileOverviewFragmentPresenter#buildOverviewRows(java.util.HashMap, String)}
+     */
+    @Deprecated
+    public MaternityProfileOverviewAdapter(@NonNull Context context, @NonNull List<YamlConfigWrapper> data, @NonNull Facts facts) {
+        this(context);
+        submitList(MaternityProfileOverviewFragmentPresenter.createOverviewRows(data, facts));
     }
 
     // inflates the row layout from xml when needed
@@ -47,76 +76,32 @@ public class MaternityProfileOverviewAdapter extends RecyclerView.Adapter<Matern
     // binds the data to the TextView in each row
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        String group = mData.get(position).getGroup();
-        if (StringUtils.isNotBlank(group)) {
-            holder.sectionHeader.setText(processUnderscores(group));
-            holder.sectionHeader.setVisibility(View.VISIBLE);
-        } else {
-            holder.sectionHeader.setVisibility(View.GONE);
-        }
-
-        String subGroup = mData.get(position).getSubGroup();
-        if (StringUtils.isNotBlank(subGroup)) {
-            holder.subSectionHeader.setText(processUnderscores(subGroup));
-            holder.subSectionHeader.setVisibility(View.VISIBLE);
-        } else {
-            holder.subSectionHeader.setVisibility(View.GONE);
-        }
-
-        if (mData.get(position).getYamlConfigItem() != null) {
+        MaternityProfileOverviewRow row = getItem(position);
+        bindHeader(holder.sectionHeader, row.getSectionHeader());
+        bindHeader(holder.subSectionHeader, row.getSubSectionHeader());
 
-            YamlConfigItem yamlConfigItem = mData.get(position).getYamlConfigItem();
+        if (row.hasDetails()) {
+            holder.sectionDetailTitle.setText(row.getTitle());
+            holder.sectionDetails.setText(row.getDetail());//Perhaps refactor to use Json Form Parser Implementation
 
-            if (yamlConfigItem != null && yamlConfigItem.getTemplate() != null) {
-                Template template = getTemplate(yamlConfigItem.getTemplate());
-                String output = MaternityUtils.fillTemplate(template.detail, this.facts);
-
-                holder.sectionDetailTitle.setText(template.title);
-                holder.sectionDetails.setText(output);//Perhaps refactor to use Json Form Parser Implementation
-            }
-
-            if (yamlConfigItem != null && yamlConfigItem.getIsRedFont() != null && MaternityLibrary.getInstance().getMaternityRulesEngineHelper().getRelevance(facts, yamlConfigItem.getIsRedFont())) {
-                holder.sectionDetailTitle.setTextColor(context.getResources().getColor(R.color.overview_font_red));
-                holder.sectionDetails.setTextColor(context.getResources().getColor(R.color.overview_font_red));
-            } else {
-                holder.sectionDetailTitle.setTextColor(context.getResources().getColor(R.color.overview_font_left));
-                holder.sectionDetails.setTextColor(context.getResources().getColor(R.color.overview_font_right));
-            }
+            holder.sectionDetailTitle.setTextColor(row.isRedFont() ? redFontColor : titleFontColor);
+            holder.sectionDetails.setTextColor(row.isRedFont() ? redFontColor : detailFontColor);
 
             holder.sectionDetailTitle.setVisibility(View.VISIBLE);
             holder.sectionDetails.setVisibility(View.VISIBLE);
-
         } else {
             holder.sectionDetailTitle.setVisibility(View.GONE);
             holder.sectionDetails.setVisibility(View.GONE);
         }
     }
 
-    // total number of rows
-    @Override
-    public int getItemCount() {
-        return mData.size();
-    }
-
-    private String processUnderscores(String string) {
-        return string.replace("_", " ").toUpperCase();
-    }
-
-    public Template getTemplate(String rawTemplate) {
-        Template template = new Template();
-
-        if (rawTemplate.contains(":")) {
-            String[] templateArray = rawTemplate.split(":");
-            if (templateArray.length > 1) {
-                template.title = templateArray[0].trim();
-                template.detail = templateArray[1].trim();
-            }
+    private void bindHeader(@NonNull TextView headerView, @Nullable String header) {
+        if (header != null) {
+            headerView.setText(header);
+            headerView.setVisibility(View.VISIBLE);
         } else {
-            template.title = rawTemplate;
+            headerView.setVisibility(View.GONE);
         }
-
-        return template;
-
     }
 
     // stores and recycles views as they are scrolled off screen
@@ -137,10 +122,4 @@ public class MaternityProfileOverviewAdapter extends RecyclerView.Adapter<Matern
             parent = itemView;
         }
     }
-
-    public static class Template {
-        public String title = "";
-        public String detail = "";
-    }
-
-}
\ No newline at end of file
+}
@@ -94,7 +94,7 @@ public class MaternityProfileVisitsAdapter extends RecyclerView.Adapter<Maternit
 
     private void fillSectionDetailAndTemplate(@NonNull YamlViewHolder holder, @NonNull Facts facts, @Nullable YamlConfigItem yamlConfigItem) {
         if (yamlConfigItem != null && yamlConfigItem.getTemplate() != null) {
-            Template template = getTemplate(yamlConfigItem.getTemplate());
+            Template template = getTemplate(yamlConfigItem);
 
             boolean isHtml = yamlConfigItem.getHtml() != null && yamlConfigItem.getHtml();
 
@@ -134,20 +134,27 @@ public class MaternityProfileVisitsAdapter extends RecyclerView.Adapter<Maternit
     }
 
     public MaternityProfileVisitsAdapter.Template getTemplate(String rawTemplate) {
+        String[] splitTemplate = YamlConfigItem.splitTemplate(rawTemplate);
         MaternityProfileVisitsAdapter.Template template = new MaternityProfileVisitsAdapter.Template();
+        template.title = splitTemplate[0];
+        template.detail = splitTemplate[1];
+        return template;
+    }
 
-        if (rawTemplate.contains(":")) {
-            String[] templateArray = rawTemplate.split(":");
-            if (templateArray.length > 1) {
-                template.title = templateArray[0].trim();
-                template.detail = templateArray[1].trim();
-            }
-        } else {
-            template.title = rawTemplate;
+    /**
+     * Uses the title and detail split when the config was loaded, falling back to splitting the raw template
+     */
+    @NonNull
+    public MaternityProfileVisitsAdapter.Template getTemplate(@NonNull YamlConfigItem yamlConfigItem) {
+        String templateTitle = yamlConfigItem.getTemplateTitle();
+        if (templateTitle == null) {
+            return getTemplate(yamlConfigItem.getTemplate());
         }
 
+        MaternityProfileVisitsAdapter.Template template = new MaternityProfileVisitsAdapter.Template();
+        template.title = templateTitle;
+        template.detail = yamlConfigItem.getTemplateDetail();
         return template;
-
     }
 
     // total number of rows
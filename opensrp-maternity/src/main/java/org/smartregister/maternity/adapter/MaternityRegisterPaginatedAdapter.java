@@ -0,0 +1,99 @@
+package org.smartregister.maternity.adapter;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.commonregistry.CommonRepository;
+import org.smartregister.cursoradapter.RecyclerViewPaginatedAdapter;
+import org.smartregister.cursoradapter.RecyclerViewProvider;
+import org.smartregister.maternity.pojo.MaternityRegisterPageToken;
+
+import java.util.HashMap;
+
+/**
+ * Register adapter which also keeps the keyset pagination tokens of the pages loaded so far, so that both the next
+ * page and the pages before the current one can be read by seeking to their first row. The tokens are kept by page
+ * offset since the register still counts pages by offset
+ */
+public class MaternityRegisterPaginatedAdapter extends RecyclerViewPaginatedAdapter {
+
+    private final HashMap<Integer, MaternityRegisterPageToken> pageTokens = new HashMap<>();
+    private long pageTokensVersion = 0;
+
+    public MaternityRegisterPaginatedAdapter(@Nullable Cursor cursor, @NonNull RecyclerViewProvider listItemProvider
+            , @NonNull CommonRepository commonRepository) {
+        super(cursor, listItemProvider, commonRepository);
+    }
+
+    /**
+     * @return the token of the page starting at the offset or {@code null} if the page is the first page or has not
+     * been reached from the page before it
+     */
+    @Nullable
+    public synchronized MaternityRegisterPageToken getPageToken(int offset) {
+        return pageTokens.get(offset);
+    }
+
+    /**
+     * @return the token of the page after the current page or {@code null} if it is not known yet or the current
+     * page is the last page
+     */
+    @Nullable
+    public synchronized MaternityRegisterPageToken getNextPageToken() {
+        return pageTokens.get(getCurrentoffset() + getCurrentlimit());
+    }
+
+    /**
+     * Records the last row of the page loaded at the offset with the current limit as the token of the page after it
+     *
+     * @param nextPageToken the last row of the page or {@code null} if it is the last page
+     */
+    public synchronized void setNextPageToken(int offset, @Nullable MaternityRegisterPageToken nextPageToken) {
+        setNextPageToken(offset, getCurrentlimit(), nextPageToken);
+    }
+
+    /**
+     * Records the last row of the page loaded at the offset with the limit as the token of the page after it, which
+     * keeps the token of a page read in the background at the offset it was read for if the limit changes meanwhile
+     *
+     * @param nextPageToken the last row of the page or {@code null} if it is the last page
+     */
+    public synchronized void setNextPageToken(int offset, int limit, @Nullable MaternityRegisterPageToken nextPageToken) {
+        int nextPageOffset = offset + limit;
+        if (nextPageToken != null) {
+            pageTokens.put(nextPageOffset, nextPageToken);
+        } else {
+            pageTokens.remove(nextPageOffset);
+        }
+    }
+
+    /**
+     * Same as {@link #setNextPageToken(int, int, MaternityRegisterPageToken)} unless the tokens have been cleared
+     * since {@link #getPageTokensVersion()} was read before reading the page, in which case the token is dropped
+     */
+    public synchronized void setNextPageToken(long pageTokensVersion, int offset, int limit
+            , @Nullable MaternityRegisterPageToken nextPageToken) {
+        if (pageTokensVersion == this.pageTokensVersion) {
+            setNextPageToken(offset, limit, nextPageToken);
+        }
+    }
+
+    /**
+     * @return the version to pass to {@link #setNextPageToken(long, int, int, MaternityRegisterPageToken)} after reading
+     * a page
+     */
+    public synchronized long getPageTokensVersion() {
+        return pageTokensVersion;
+    }
+
+    /**
+     * Drops the tokens when the filters or the sort change, since they only apply to the register order they
+     * were read from
+     */
+    public synchronized void clearPageTokens() {
+        pageTokensVersion++;
+        pageTokens.clear();
+    }
+}
@@ -3,17 +3,16 @@ package org.smartregister.maternity.configuration;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
-import android.text.TextUtils;
 
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
 import org.smartregister.maternity.provider.MaternityRegisterProvider;
+import org.smartregister.maternity.utils.MaternityDateUtils;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.util.Utils;
 
 import java.util.Map;
 
-import timber.log.Timber;
 
 /**
  * This is a metadata class for the RegisterProvider at {@link MaternityRegisterProvider}. Some of the methods avoid null-checking but scream NotNullable
@@ -51,29 +50,20 @@ public class BaseMaternityRegisterProviderMetadata implements MaternityRegisterP
     @NonNull
     @Override
     public String getGA(@NonNull Map<String, String> columnMaps) {
-        String gaInWeeks = getString(R.string.zero_weeks);
-        String gaCalculatedString = Utils.getValue(columnMaps, MaternityDbConstants.KEY.GA_CALCULATED, false);
-
-        if (!TextUtils.isEmpty(gaCalculatedString)) {
-            if (gaCalculatedString.contains("weeks")) {
-                try {
-                    int intWeeks = Integer.parseInt(gaCalculatedString.substring(0, gaCalculatedString.indexOf("weeks")).trim());
-                    String weekString;
-
-                    if (intWeeks != 1) {
-                        weekString = getString(R.string.weeks);
-                    } else {
-                        weekString = getString(R.string.week);
-                    }
-
-                    gaInWeeks = intWeeks + " " + weekString;
-                } catch (IndexOutOfBoundsException | NumberFormatException e) {
-                    Timber.e(e);
-                }
-            }
+        Integer weeks = MaternityDateUtils.getCalculatedGaWeeks(Utils.getValue(columnMaps, MaternityDbConstants.KEY.GA_CALCULATED, false));
+        return getGA(weeks);
+    }
+
+    /**
+     * @return the gestation age in weeks as displayed on the register or zero weeks if it is not known
+     */
+    @NonNull
+    public String getGA(@Nullable Integer weeks) {
+        if (weeks == null) {
+            return getString(R.string.zero_weeks);
         }
 
-        return gaInWeeks;
+        return weeks + " " + getString(weeks != 1 ? R.string.weeks : R.string.week);
     }
 
     @NonNull
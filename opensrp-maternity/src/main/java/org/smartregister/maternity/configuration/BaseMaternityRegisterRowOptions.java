@@ -23,8 +23,10 @@ public class BaseMaternityRegisterRowOptions implements MaternityRegisterRowOpti
 
     @Override
     public void populateClientRow(@NonNull Cursor cursor, @NonNull CommonPersonObjectClient commonPersonObjectClient, @NonNull SmartRegisterClient smartRegisterClient, @NonNull MaternityRegisterViewHolder maternityRegisterViewHolder) {
-        // Do nothing
-        MaternityUtils.setActionButtonStatus(maternityRegisterViewHolder.dueButton, commonPersonObjectClient);
+        // The register provider sets the due button when it populates the patient column
+        if (isDefaultPopulatePatientColumn()) {
+            MaternityUtils.setActionButtonStatus(maternityRegisterViewHolder.dueButton, commonPersonObjectClient);
+        }
     }
 
     @Override
@@ -3,10 +3,18 @@ package org.smartregister.maternity.configuration;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
 import org.smartregister.maternity.pojo.MaternityMetadata;
+import org.smartregister.maternity.processor.MaternityCloseEventProcessingHandler;
+import org.smartregister.maternity.processor.MaternityDeathEventProcessingHandler;
+import org.smartregister.maternity.processor.MaternityDefaultEventProcessingHandler;
+import org.smartregister.maternity.processor.MaternityOutcomeEventProcessingHandler;
 import org.smartregister.maternity.utils.MaternityConstants;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This is the object used to configure any configurations added to Maternity. We mostly use objects that are
@@ -41,6 +49,19 @@ public class MaternityConfiguration {
         if (!builder.maternityFormProcessingClasses.containsKey(MaternityConstants.EventType.MATERNITY_CLOSE)) {
             builder.maternityFormProcessingClasses.put(MaternityConstants.EventType.MATERNITY_CLOSE, MaternityCloseFormProcessing.class);
         }
+
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.MATERNITY_REGISTRATION, MaternityDefaultEventProcessingHandler.class);
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.UPDATE_MATERNITY_REGISTRATION, MaternityDefaultEventProcessingHandler.class);
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.MATERNITY_MEDIC_INFO, MaternityDefaultEventProcessingHandler.class);
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.MATERNITY_OUTCOME, MaternityOutcomeEventProcessingHandler.class);
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.MATERNITY_CLOSE, MaternityCloseEventProcessingHandler.class);
+        setDefaultEventProcessingHandler(MaternityConstants.EventType.DEATH, MaternityDeathEventProcessingHandler.class);
+    }
+
+    private void setDefaultEventProcessingHandler(@NonNull String eventType, @NonNull Class<? extends MaternityEventProcessingHandler> maternityEventProcessingHandler) {
+        if (!builder.maternityEventProcessingHandlerClasses.containsKey(eventType)) {
+            builder.maternityEventProcessingHandlerClasses.put(eventType, maternityEventProcessingHandler);
+        }
     }
 
     @Nullable
@@ -72,6 +93,11 @@ public class MaternityConfiguration {
         return builder.maternityFormProcessingClasses.get(eventType);
     }
 
+    @NonNull
+    public Map<String, Class<? extends MaternityEventProcessingHandler>> getMaternityEventProcessingHandlers() {
+        return Collections.unmodifiableMap(builder.maternityEventProcessingHandlerClasses);
+    }
+
     public int getMaxCheckInDurationInMinutes() {
         return builder.maxCheckInDurationInMinutes;
     }
@@ -80,6 +106,19 @@ public class MaternityConfiguration {
         return builder.isBottomNavigationEnabled;
     }
 
+    public int getEventProcessingBatchSize() {
+        return builder.eventProcessingBatchSize;
+    }
+
+    public int getRegisterPageCacheSize() {
+        return builder.registerPageCacheSize;
+    }
+
+    @NonNull
+    public MaternityExecutorPolicy getExecutorPolicy() {
+        return builder.executorPolicy;
+    }
+
     public static class Builder {
 
         @Nullable
@@ -97,12 +136,22 @@ public class MaternityConfiguration {
         @NonNull
         private HashMap<String, Class<? extends MaternityFormProcessingTask>> maternityFormProcessingClasses = new HashMap<>();
 
+        @NonNull
+        private LinkedHashMap<String, Class<? extends MaternityEventProcessingHandler>> maternityEventProcessingHandlerClasses = new LinkedHashMap<>();
+
         private boolean isBottomNavigationEnabled;
 
         private MaternityMetadata maternityMetadata;
 
         private int maxCheckInDurationInMinutes = 24 * 60;
 
+        private int eventProcessingBatchSize = 100;
+
+        private int registerPageCacheSize = MaternityRegisterPageCache.DEFAULT_MAX_PAGES;
+
+        @NonNull
+        private MaternityExecutorPolicy executorPolicy = new MaternityExecutorPolicy();
+
         public Builder(@NonNull Class<? extends MaternityRegisterQueryProviderContract> maternityRegisterQueryProvider) {
             this.maternityRegisterQueryProvider = maternityRegisterQueryProvider;
         }
@@ -137,11 +186,62 @@ public class MaternityConfiguration {
             return this;
         }
 
+        /**
+         * Sets the number of events that are committed in a single transaction when
+         * {@link org.smartregister.maternity.processor.MaternityMiniClientProcessorForJava#processEventClients}
+         * is used. Values less than 1 are treated as 1
+         *
+         * @param eventProcessingBatchSize maximum number of events per transaction
+         * @return this builder
+         */
+        public Builder setEventProcessingBatchSize(int eventProcessingBatchSize) {
+            this.eventProcessingBatchSize = eventProcessingBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of register pages kept in {@link MaternityRegisterPageCache}, counting the prefetched next
+         * page. Values less than 1 are treated as 1
+         *
+         * @param registerPageCacheSize maximum number of cached register pages
+         * @return this builder
+         */
+        public Builder setRegisterPageCacheSize(int registerPageCacheSize) {
+            this.registerPageCacheSize = registerPageCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the size of the read pool of {@link org.smartregister.maternity.utils.AppExecutors} and the time after
+         * which a background task is logged as slow. The write pool always has a single thread
+         *
+         * @param executorPolicy the pool policy
+         * @return this builder
+         */
+        public Builder setExecutorPolicy(@NonNull MaternityExecutorPolicy executorPolicy) {
+            this.executorPolicy = executorPolicy;
+            return this;
+        }
+
         public Builder addMaternityFormProcessingTask(@NonNull String eventType, @NonNull Class<? extends MaternityFormProcessingTask> maternityFormProcessingTask) {
             this.maternityFormProcessingClasses.put(eventType, maternityFormProcessingTask);
             return this;
         }
 
+        /**
+         * Registers the handler used by {@link org.smartregister.maternity.processor.MaternityMiniClientProcessorForJava}
+         * to process synced events of the given event type. This replaces the default handler for the maternity event
+         * types or adds a custom event type to the ones processed by the maternity processor
+         *
+         * @param eventType                       the event type
+         * @param maternityEventProcessingHandler the handler class
+         * @return this builder
+         */
+        public Builder addMaternityEventProcessingHandler(@NonNull String eventType, @NonNull Class<? extends MaternityEventProcessingHandler> maternityEventProcessingHandler) {
+            this.maternityEventProcessingHandlerClasses.put(eventType, maternityEventProcessingHandler);
+            return this;
+        }
+
         public MaternityConfiguration build() {
             return new MaternityConfiguration(this);
         }
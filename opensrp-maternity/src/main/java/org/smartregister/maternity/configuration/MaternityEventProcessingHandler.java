@@ -0,0 +1,32 @@
+package org.smartregister.maternity.configuration;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.domain.Event;
+import org.smartregister.domain.db.EventClient;
+import org.smartregister.domain.jsonmapping.ClientClassification;
+import org.smartregister.maternity.processor.MaternityMiniClientProcessorForJava;
+
+import java.util.List;
+
+/**
+ * Processes synced events of the event types it is registered for through
+ * {@link MaternityConfiguration.Builder#addMaternityEventProcessingHandler(String, Class)}. Implementations are
+ * instantiated using {@link org.smartregister.maternity.utils.ConfigurationInstancesHelper} and should therefore
+ * have a constructor without parameters
+ */
+public interface MaternityEventProcessingHandler {
+
+    /**
+     * Processes the event. Marking the event as processed is done by the caller
+     *
+     * @param clientProcessor      the processor dispatching the event, used to process the event into the client tables
+     * @param eventClient          the event and its client
+     * @param unsyncEvents         list to which events that should be un-synced are added
+     * @param clientClassification the client classification used to process the event
+     * @throws Exception if the event cannot be processed
+     */
+    void processEventClient(@NonNull MaternityMiniClientProcessorForJava clientProcessor, @NonNull EventClient eventClient
+            , @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) throws Exception;
+}
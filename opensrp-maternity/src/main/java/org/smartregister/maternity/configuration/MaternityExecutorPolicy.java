@@ -0,0 +1,44 @@
+package org.smartregister.maternity.configuration;
+
+/**
+ * The sizes of the background pools of {@link org.smartregister.maternity.utils.AppExecutors}. Reads run on their own
+ * pool so that opening a profile does not wait behind saving forms and events, which run on the write pool. The write
+ * pool always has a single thread, since SQLite only allows one writer at a time and the writes and the reads queued
+ * behind them only run in the order they were queued with a single write thread.
+ * <p>
+ * Tasks that wait or run for longer than the slow task threshold are logged
+ */
+public class MaternityExecutorPolicy {
+
+    public static final int DEFAULT_READ_THREAD_COUNT = 2;
+    public static final int WRITE_THREAD_COUNT = 1;
+    public static final long DEFAULT_SLOW_TASK_MILLIS = 500;
+
+    private final int readThreadCount;
+    private final long slowTaskMillis;
+
+    public MaternityExecutorPolicy() {
+        this(DEFAULT_READ_THREAD_COUNT, DEFAULT_SLOW_TASK_MILLIS);
+    }
+
+    /**
+     * @param readThreadCount number of threads reading the database, values less than 1 are treated as 1
+     * @param slowTaskMillis  queue wait or run time after which a task is logged as slow
+     */
+    public MaternityExecutorPolicy(int readThreadCount, long slowTaskMillis) {
+        this.readThreadCount = Math.max(1, readThreadCount);
+        this.slowTaskMillis = slowTaskMillis;
+    }
+
+    public int getReadThreadCount() {
+        return readThreadCount;
+    }
+
+    public int getWriteThreadCount() {
+        return WRITE_THREAD_COUNT;
+    }
+
+    public long getSlowTaskMillis() {
+        return slowTaskMillis;
+    }
+}
@@ -16,6 +16,7 @@ import org.smartregister.clientandeventmodel.Client;
 import org.smartregister.clientandeventmodel.Event;
 import org.smartregister.domain.tag.FormTag;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
 import org.smartregister.maternity.pojo.MaternityEventClient;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityDbConstants;
@@ -26,7 +27,7 @@ import org.smartregister.util.JsonFormUtils;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -135,25 +136,18 @@ public class MaternityOutcomeFormProcessingTask implements MaternityFormProcessi
                                                                     @NonNull JSONObject jsonFormObject) {
         FormTag formTag = MaternityJsonFormUtils.formTag(MaternityUtils.getAllSharedPreferences());
 
-        String strBabiesBorn = gson.toJson(buildRepeatingGroupBorn);
-
         List<MaternityEventClient> childRegEventList = new ArrayList<>();
 
-        if (StringUtils.isNotBlank(strBabiesBorn)) {
+        if (!buildRepeatingGroupBorn.isEmpty()) {
 
             try {
-                JSONObject jsonObject = new JSONObject(strBabiesBorn);
-
-                Iterator<String> repeatingGroupKeys = jsonObject.keys();
-
                 HashMap<String, String> motherDetails = motherDetails(baseEntityId);
                 if (motherDetails != null) {
-                    while (repeatingGroupKeys.hasNext()) {
-                        JSONObject jsonChildObject = jsonObject.optJSONObject(repeatingGroupKeys.next());
-                        String dischargedAlive = jsonChildObject.optString(MaternityConstants.JSON_FORM_KEY.DISCHARGED_ALIVE);
+                    for (HashMap<String, String> childValues : buildRepeatingGroupBorn.values()) {
+                        String dischargedAlive = childValues.get(MaternityConstants.JSON_FORM_KEY.DISCHARGED_ALIVE);
                         if (StringUtils.isNotBlank(dischargedAlive) && dischargedAlive.equalsIgnoreCase("yes")) {
-                            String entityId = jsonChildObject.optString(MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID);
-                            JSONArray fields = populateChildFieldArray(jsonChildObject, motherDetails);
+                            String entityId = childValues.get(MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID);
+                            JSONArray fields = populateChildFieldArray(childValues, motherDetails);
                             if (fields != null) {
                                 Client baseClient = JsonFormUtils.createBaseClient(fields, formTag, entityId);
                                 baseClient.addRelationship(MaternityConstants.MOTHER, baseEntityId);
@@ -196,17 +190,17 @@ public class MaternityOutcomeFormProcessingTask implements MaternityFormProcessi
     }
 
     @Nullable
-    private JSONArray populateChildFieldArray(@NonNull JSONObject maternityBabyBorn, @NonNull HashMap<String, String> motherDetails) throws JSONException {
+    private JSONArray populateChildFieldArray(@NonNull Map<String, String> maternityBabyBorn, @NonNull HashMap<String, String> motherDetails) throws JSONException {
         JSONArray jsonArray = getChildFormFields();
         if (jsonArray != null) {
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject jsonObject = jsonArray.optJSONObject(i);
                 String key = jsonObject.optString(JsonFormConstants.KEY);
                 String childKeyToKeyValue = childFormKeyToKeyMap().get(key);
-                if (maternityBabyBorn.has(key)) {
-                    jsonObject.put(JsonFormConstants.VALUE, maternityBabyBorn.optString(key));
-                } else if (StringUtils.isNotBlank(childKeyToKeyValue) && maternityBabyBorn.has(childKeyToKeyValue)) {
-                    jsonObject.put(JsonFormConstants.VALUE, maternityBabyBorn.optString(childKeyToKeyValue));
+                if (maternityBabyBorn.containsKey(key)) {
+                    jsonObject.put(JsonFormConstants.VALUE, maternityBabyBorn.get(key));
+                } else if (StringUtils.isNotBlank(childKeyToKeyValue) && maternityBabyBorn.containsKey(childKeyToKeyValue)) {
+                    jsonObject.put(JsonFormConstants.VALUE, maternityBabyBorn.get(childKeyToKeyValue));
                 } else if (key.equalsIgnoreCase(childOpensrpId())) {
                     jsonObject.put(JsonFormConstants.VALUE, MaternityUtils.getNextUniqueId());
                 } else if (otherRequiredFields().contains(key)) {
@@ -239,8 +233,26 @@ public class MaternityOutcomeFormProcessingTask implements MaternityFormProcessi
         return new HashMap<>();
     }
 
+    /**
+     * @return the client columns of the mother used to fill the {@link #otherRequiredFields()} of the child form or
+     * {@code null} if the mother is not found. Fields that are not columns of the client table are not read
+     */
     @Nullable
     public HashMap<String, String> motherDetails(@NonNull String baseEntityId) {
-        return MaternityUtils.getMaternityClient(baseEntityId);
+        MaternityBaseDetails motherDetails = MaternityUtils.getMaternityClient(baseEntityId, getMotherDetailsColumns());
+        return motherDetails != null ? motherDetails.getProperties() : null;
+    }
+
+    @NonNull
+    protected String[] getMotherDetailsColumns() {
+        HashMap<String, String> childKeyToColumnMap = childKeyToColumnMap();
+        LinkedHashSet<String> columns = new LinkedHashSet<>();
+        columns.add(MaternityDbConstants.Column.Client.BASE_ENTITY_ID);
+        for (String key : otherRequiredFields()) {
+            String column = childKeyToColumnMap.get(key);
+            columns.add(column == null ? key : column);
+        }
+
+        return columns.toArray(new String[0]);
     }
 }
@@ -3,12 +3,34 @@ package org.smartregister.maternity.configuration;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.apache.commons.lang3.StringUtils;
+import org.smartregister.commonregistry.CommonFtsObject;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+import org.smartregister.maternity.pojo.MaternityRegisterPageToken;
+import org.smartregister.maternity.pojo.MaternityRegisterQuery;
+import org.smartregister.maternity.repository.MaternitySearchIndexRepository;
+import org.smartregister.maternity.utils.MaternityDbConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
  */
 
 public abstract class MaternityRegisterQueryProviderContract {
 
+    /**
+     * Name of the page of object_ids in {@link #getRegisterPageQuery(MaternityRegisterQuery, String)}
+     */
+    public static final String REGISTER_PAGE = "register_page";
+    public static final String PAGE_OBJECT_ID = "page_object_id";
+    public static final String PAGE_LAST_INTERACTED_WITH = "page_last_interacted_with";
+
+    private volatile MaternityFtsSearch lastFtsSearch;
+
     /**
      * Return query to be used to select object_ids from the search table so that these objects_ids
      * are later used to retrieve the actual rows from the normal(non-FTS) table
@@ -30,6 +52,20 @@ public abstract class MaternityRegisterQueryProviderContract {
     @NonNull
     public abstract String[] countExecuteQueries(@Nullable String filters, @Nullable String mainCondition);
 
+    /**
+     * Return query returning a row if the client is counted by {@link #countExecuteQueries(String, String)} without
+     * filters. It is run before and after processing the registration, close and death events of the client so that
+     * the cached register count can be adjusted instead of counting the register again.
+     * <p>
+     * The default implementation returns {@code null} in which case the register is counted again after such events
+     *
+     * @return
+     */
+    @Nullable
+    public String getRegisterClientQuery(@NonNull String baseEntityId) {
+        return null;
+    }
+
     /**
      * Return query to be used to retrieve the client details. This query should have a "WHERE base_entity_id IN (%s)" clause where
      * the comma-separated  base-entity-ids for the clients will be inserted into the query and later
@@ -39,4 +75,303 @@ public abstract class MaternityRegisterQueryProviderContract {
      */
     @NonNull
     public abstract String mainSelectWhereIDsIn();
+
+    /**
+     * Return query to be used to select a page of object_ids from the search table by keyset pagination. The page
+     * should contain the first {@code limit} rows after the page token in the order of {@code last_interacted_with}
+     * descending and {@code object_id} descending, and select both columns so that the token of the next page can
+     * be read from its last row. Unlike the LIMIT/OFFSET query from {@link #getObjectIdsQuery(String, String)},
+     * later pages do not read and discard the rows of the earlier pages. See
+     * {@link #getKeysetPageQuery(String, String, MaternityRegisterPageToken, int)}
+     * <p>
+     * The default implementation returns {@code null} in which case the register pages by LIMIT/OFFSET
+     *
+     * @param filters   This is the search phrase entered in the search box
+     * @param pageToken the last row of the previous page or {@code null} for the first page
+     * @param limit     the page size
+     * @return
+     */
+    @Nullable
+    public String getObjectIdsPageQuery(@Nullable String filters, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int limit) {
+        return null;
+    }
+
+    /**
+     * Return the query to be used to select a page of object_ids from the search table for the search phrase, with
+     * the search terms and the page token passed as bind arguments. The query should be built with
+     * {@link #getKeysetPageSearchQuery(String, String, String[], MaternityRegisterPageToken, int, int)} and bind
+     * {@link MaternityFtsSearch#getMatchExpression()} to {@code MATCH ?} when the search is not empty. This mode is
+     * used over {@link #getObjectIdsPageQuery(String, String, MaternityRegisterPageToken, int)} and
+     * {@link #getObjectIdsQuery(String, String)} when implemented.
+     * <p>
+     * The default implementation returns {@code null}
+     *
+     * @param search    the parsed search phrase entered in the search box, see {@link #getFtsSearch(String)}
+     * @param pageToken the last row of the previous page or {@code null} for the first page or when the previous
+     *                  page was not read, in which case the page is read from the offset
+     * @return
+     */
+    @Nullable
+    public MaternityRegisterQuery getObjectIdsSearchQuery(@NonNull MaternityFtsSearch search, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        return null;
+    }
+
+    /**
+     * Return the query to be used to read a page of the register in a single statement, joining the page of
+     * object_ids from the search table with the client details instead of selecting the ids first and the details of
+     * the ids in a second query. The query should be built with
+     * {@link #getRegisterPageQuery(MaternityRegisterQuery, String)} from
+     * {@link #getObjectIdsSearchQuery(MaternityFtsSearch, String, MaternityRegisterPageToken, int, int)}. This mode
+     * is used over the two queries when implemented.
+     * <p>
+     * The default implementation returns {@code null}
+     *
+     * @return
+     */
+    @Nullable
+    public MaternityRegisterQuery getRegisterPageSearchQuery(@NonNull MaternityFtsSearch search, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        return null;
+    }
+
+    /**
+     * Return the queries to be used to count the register clients for the search phrase with the search terms passed
+     * as bind arguments. Like {@link #countExecuteQueries(String, String)}, each query returns a single row and column
+     * and the counts are summed up.
+     * <p>
+     * The default implementation returns {@code null} in which case {@link #countExecuteQueries(String, String)}
+     * is used
+     *
+     * @return
+     */
+    @Nullable
+    public MaternityRegisterQuery[] getCountSearchQueries(@NonNull MaternityFtsSearch search, @Nullable String mainCondition) {
+        return null;
+    }
+
+    /**
+     * Return the query looking up the clients matching the values typed in the look up fields of the registration
+     * form. The query should select the client columns with the client id as {@code _id}, most recently interacted
+     * with first, and return at most {@code limit} rows.
+     * <p>
+     * The default implementation matches the terms as prefixes of the phrase of the {@code ec_client_search} table, so
+     * the look up fields should be search fields of the table
+     *
+     * @param search the terms of the values of the look up fields, see {@link MaternityFtsSearch#fromFilters(String)}
+     * @return the query or {@code null} if the clients should not be looked up
+     */
+    @Nullable
+    public MaternityRegisterQuery getLookUpQuery(@NonNull MaternityFtsSearch search, int limit) {
+        if (search.isEmpty()) {
+            return null;
+        }
+
+        String table = MaternityDbConstants.Table.EC_CLIENT;
+        String sql = "SELECT " + table + ".id AS _id, " + table + ".* FROM " + table + " INNER JOIN ("
+                + "SELECT " + MaternityDbConstants.KEY.OBJECT_ID + ", " + MaternityDbConstants.KEY.LAST_INTERACTED_WITH
+                + " FROM " + CommonFtsObject.searchTableName(table)
+                + " WHERE " + MaternityDbConstants.KEY.DATE_REMOVED + " IS NULL AND phrase MATCH ?"
+                + " ORDER BY " + MaternityDbConstants.KEY.LAST_INTERACTED_WITH + " DESC LIMIT " + limit + ") look_up"
+                + " ON " + table + ".id = look_up." + MaternityDbConstants.KEY.OBJECT_ID
+                + " ORDER BY look_up." + MaternityDbConstants.KEY.LAST_INTERACTED_WITH + " DESC";
+        return new MaternityRegisterQuery(sql, search.getMatchExpression());
+    }
+
+    /**
+     * Return the query to be used to select a page of object_ids of the clients whose names start with or sound like
+     * the terms of the search, or whose OpenSRP ID starts with them, from the
+     * {@code maternity_search_index} table. Removed clients are left out, the main condition is applied to the
+     * search table like in {@link #getObjectIdsSearchQuery(MaternityFtsSearch, String, MaternityRegisterPageToken, int, int)}
+     * and the page is in the register order, see {@link #getKeysetPageSearchQuery(String, String, String[], MaternityRegisterPageToken, int, int)}.
+     * Unlike the prefix search of the search table, misspelled names such as {@code Katherine} for {@code Catherine}
+     * are found
+     *
+     * @return the query or {@code null} if the search is empty
+     */
+    @Nullable
+    public MaternityRegisterQuery getFuzzySearchQuery(@NonNull MaternityFtsSearch search, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        String matchExpression = MaternitySearchIndexRepository.getMatchExpression(search);
+        if (matchExpression == null) {
+            return null;
+        }
+
+        String searchIndex = MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX;
+        String selectFrom = "SELECT " + MaternityDbConstants.KEY.OBJECT_ID + ", " + MaternityDbConstants.KEY.LAST_INTERACTED_WITH
+                + " FROM " + CommonFtsObject.searchTableName(MaternityDbConstants.Table.EC_CLIENT);
+        String condition = MaternityDbConstants.KEY.DATE_REMOVED + " IS NULL AND " + MaternityDbConstants.KEY.OBJECT_ID
+                + " IN (SELECT " + MaternityDbConstants.Column.MaternitySearchIndex.BASE_ENTITY_ID + " FROM " + searchIndex
+                + " WHERE " + MaternityDbConstants.Column.MaternitySearchIndex.SEARCH_KEYS + " MATCH ?)";
+        if (StringUtils.isNotBlank(mainCondition)) {
+            condition += " AND (" + mainCondition + ")";
+        }
+
+        return getKeysetPageSearchQuery(selectFrom, condition, new String[]{matchExpression}, pageToken, offset, limit);
+    }
+
+    /**
+     * Return the query looking up the clients like {@link #getLookUpQuery(MaternityFtsSearch, int)} but with
+     * {@link #getFuzzySearchQuery(MaternityFtsSearch, String, MaternityRegisterPageToken, int, int)}. It is used when
+     * the look up query finds no client
+     *
+     * @return the query or {@code null} if the clients should not be looked up
+     */
+    @Nullable
+    public MaternityRegisterQuery getFuzzyLookUpQuery(@NonNull MaternityFtsSearch search, int limit) {
+        MaternityRegisterQuery objectIdsQuery = getFuzzySearchQuery(search, null, null, 0, limit);
+        if (objectIdsQuery == null) {
+            return null;
+        }
+
+        String table = MaternityDbConstants.Table.EC_CLIENT;
+        String sql = "SELECT " + table + ".id AS _id, " + table + ".* FROM " + table + " INNER JOIN ("
+                + objectIdsQuery.getSql() + ") look_up ON " + table + ".id = look_up." + MaternityDbConstants.KEY.OBJECT_ID
+                + " ORDER BY look_up." + MaternityDbConstants.KEY.LAST_INTERACTED_WITH + " DESC, look_up."
+                + MaternityDbConstants.KEY.OBJECT_ID + " DESC";
+        return new MaternityRegisterQuery(sql, objectIdsQuery.getArgs());
+    }
+
+    /**
+     * Return the {@link #mainSelectWhereIDsIn()} query with the ids passed as bind arguments. The id list always has
+     * {@code limit} placeholders, the unused ones bound to an empty id, so that every page uses the same statement
+     *
+     * @return
+     */
+    @NonNull
+    public MaternityRegisterQuery getMainSelectWhereIDsInQuery(@NonNull List<String> ids, int limit) {
+        int placeholderCount = Math.max(1, Math.max(ids.size(), limit));
+        String[] args = new String[placeholderCount];
+        StringBuilder placeholders = new StringBuilder(placeholderCount * 2);
+
+        for (int i = 0; i < placeholderCount; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+            args[i] = i < ids.size() ? ids.get(i) : "";
+        }
+
+        return new MaternityRegisterQuery(mainSelectWhereIDsIn().replace("%s", placeholders), args);
+    }
+
+    /**
+     * Parses the search phrase into its FTS terms. The last phrase is kept since the same phrase is used for the
+     * count and for every page until the user types again
+     */
+    @NonNull
+    public MaternityFtsSearch getFtsSearch(@Nullable String filters) {
+        MaternityFtsSearch search = lastFtsSearch;
+        if (search == null || !StringUtils.equals(search.getFilters(), filters)) {
+            search = MaternityFtsSearch.fromFilters(filters);
+            lastFtsSearch = search;
+        }
+
+        return search;
+    }
+
+    /**
+     * Joins a page of object_ids with the client details in a single statement. The page is available to the details
+     * query as the {@value #REGISTER_PAGE} table, which the details query should select from and join with the client
+     * tables. The details query should also select {@code register_page.object_id} as {@value #PAGE_OBJECT_ID} and
+     * {@code register_page.last_interacted_with} as {@value #PAGE_LAST_INTERACTED_WITH} so that the token of the next
+     * page can be read from the last row. The rows are returned in the register order
+     *
+     * @param objectIdsQuery the query selecting the page of object_ids and their last_interacted_with
+     * @param detailsQuery   the SELECT ... FROM register_page JOIN ... query without ORDER BY
+     */
+    @NonNull
+    protected MaternityRegisterQuery getRegisterPageQuery(@NonNull MaternityRegisterQuery objectIdsQuery, @NonNull String detailsQuery) {
+        String sql = "WITH " + REGISTER_PAGE + " AS (" + objectIdsQuery.getSql() + ") " + detailsQuery
+                + " ORDER BY " + REGISTER_PAGE + "." + MaternityDbConstants.KEY.LAST_INTERACTED_WITH + " DESC, "
+                + REGISTER_PAGE + "." + MaternityDbConstants.KEY.OBJECT_ID + " DESC";
+        return new MaternityRegisterQuery(sql, objectIdsQuery.getArgs());
+    }
+
+    /**
+     * Completes a keyset pagination query by adding the condition for the rows after the page token, the register
+     * order and the limit
+     *
+     * @param selectFrom the SELECT ... FROM part of the query selecting {@code object_id} and {@code last_interacted_with}
+     * @param condition  the WHERE condition of the query without the page token or {@code null}
+     */
+    @NonNull
+    protected String getKeysetPageQuery(@NonNull String selectFrom, @Nullable String condition
+            , @Nullable MaternityRegisterPageToken pageToken, int limit) {
+        String pageCondition = pageToken != null ? getKeysetCondition(pageToken) : null;
+        return buildPageQuery(selectFrom, condition, pageCondition, 0, limit);
+    }
+
+    /**
+     * Same as {@link #getKeysetPageQuery(String, String, MaternityRegisterPageToken, int)} with the page token passed
+     * as bind arguments after the condition arguments. Without a page token the page is read from the offset
+     *
+     * @param condition     the WHERE condition of the query without the page token or {@code null}
+     * @param conditionArgs the bind arguments of the condition
+     */
+    @NonNull
+    protected MaternityRegisterQuery getKeysetPageSearchQuery(@NonNull String selectFrom, @Nullable String condition
+            , @NonNull String[] conditionArgs, @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        List<String> args = new ArrayList<>(Arrays.asList(conditionArgs));
+        String pageCondition = null;
+        if (pageToken != null) {
+            pageCondition = buildKeysetCondition(pageToken, value -> {
+                args.add(String.valueOf(value));
+                if (value instanceof Long || value instanceof Integer) {
+                    return "CAST(? AS INTEGER)";
+                } else if (value instanceof Number) {
+                    return "CAST(? AS REAL)";
+                } else {
+                    return "?";
+                }
+            });
+        }
+
+        String sql = buildPageQuery(selectFrom, condition, pageCondition, pageToken == null ? offset : 0, limit);
+        return new MaternityRegisterQuery(sql, args.toArray(new String[0]));
+    }
+
+    /**
+     * @return the condition selecting the rows after the page token in the register order, where rows without
+     * {@code last_interacted_with} come last
+     */
+    @NonNull
+    protected String getKeysetCondition(@NonNull MaternityRegisterPageToken pageToken) {
+        return buildKeysetCondition(pageToken, MaternityRegisterPageToken::toSqlLiteral);
+    }
+
+    @NonNull
+    private String buildKeysetCondition(@NonNull MaternityRegisterPageToken pageToken, @NonNull Function<Object, String> valueSql) {
+        String lastInteractedWithColumn = MaternityDbConstants.KEY.LAST_INTERACTED_WITH;
+        String objectIdColumn = MaternityDbConstants.KEY.OBJECT_ID;
+
+        if (pageToken.getLastInteractedWith() == null) {
+            return "(" + lastInteractedWithColumn + " IS NULL AND " + objectIdColumn + " < " + valueSql.apply(pageToken.getObjectId()) + ")";
+        }
+
+        return "(" + lastInteractedWithColumn + " < " + valueSql.apply(pageToken.getLastInteractedWith())
+                + " OR " + lastInteractedWithColumn + " IS NULL"
+                + " OR (" + lastInteractedWithColumn + " = " + valueSql.apply(pageToken.getLastInteractedWith())
+                + " AND " + objectIdColumn + " < " + valueSql.apply(pageToken.getObjectId()) + "))";
+    }
+
+    @NonNull
+    private String buildPageQuery(@NonNull String selectFrom, @Nullable String condition, @Nullable String pageCondition
+            , int offset, int limit) {
+        StringBuilder query = new StringBuilder(selectFrom);
+
+        if (StringUtils.isNotBlank(condition) && pageCondition != null) {
+            query.append(" WHERE (").append(condition).append(") AND ").append(pageCondition);
+        } else if (StringUtils.isNotBlank(condition)) {
+            query.append(" WHERE ").append(condition);
+        } else if (pageCondition != null) {
+            query.append(" WHERE ").append(pageCondition);
+        }
+
+        query.append(" ORDER BY ").append(MaternityDbConstants.KEY.LAST_INTERACTED_WITH).append(" DESC, ")
+                .append(MaternityDbConstants.KEY.OBJECT_ID).append(" DESC LIMIT ").append(limit);
+        if (offset > 0) {
+            query.append(" OFFSET ").append(offset);
+        }
+
+        return query.toString();
+    }
 }
@@ -127,5 +127,11 @@ public interface MaternityProfileActivityContract {
 
         void onFetchedSavedPartialForm(@Nullable MaternityPartialForm savedPartialForm, @NonNull String caseId, @NonNull String entityTable);
 
+        /**
+         * Called instead of {@link #onFetchedSavedPartialForm(MaternityPartialForm, String, String)} when the saved
+         * form could not be read and was dropped
+         */
+        void onSavedPartialFormDropped(@NonNull String caseId, @NonNull String entityTable);
+
     }
 }
\ No newline at end of file
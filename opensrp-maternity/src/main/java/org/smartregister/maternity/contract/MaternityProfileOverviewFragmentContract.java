@@ -7,6 +7,7 @@ import androidx.annotation.StringRes;
 import org.jeasy.rules.api.Facts;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
 import org.smartregister.maternity.domain.YamlConfigWrapper;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
 
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +32,22 @@ public interface MaternityProfileOverviewFragmentContract {
 
         void loadOverviewFacts(@NonNull String baseEntityId, @NonNull OnFinishedCallback onFinishedCallback);
 
+        /**
+         * Reads the overview details and builds the displayed rows in the background, then passes the rows to the
+         * callback on the main thread
+         */
+        void loadOverviewRows(@NonNull String baseEntityId, @NonNull OnOverviewRowsLoadedCallback onOverviewRowsLoadedCallback);
+
+        /**
+         * Evaluates the relevance and red font rules and fills the templates of the profile overview. This is
+         * expensive and should not be called on the main thread, so strings are resolved by the caller
+         *
+         * @param unknownHivStatus the HIV status displayed when the client has none
+         */
+        @NonNull
+        List<MaternityProfileOverviewRow> buildOverviewRows(@NonNull HashMap<String, String> maternityDetails
+                , @Nullable String unknownHivStatus);
+
         void loadOverviewDataAndDisplay(@NonNull HashMap<String, String> maternityDetails, @NonNull final OnFinishedCallback onFinishedCallback);
 
         void setDataFromRegistration(@NonNull HashMap<String, String> maternityDetails, @NonNull Facts facts);
@@ -43,10 +60,17 @@ public interface MaternityProfileOverviewFragmentContract {
         @Nullable
         String getString(@StringRes int stringId);
 
+        void onDestroy(boolean isChangingConfiguration);
+
         interface OnFinishedCallback {
 
             void onFinished(@Nullable Facts facts, @Nullable List<YamlConfigWrapper> yamlConfigListGlobal);
         }
+
+        interface OnOverviewRowsLoadedCallback {
+
+            void onOverviewRowsLoaded(@NonNull List<MaternityProfileOverviewRow> overviewRows);
+        }
     }
 
     interface Model {
@@ -57,5 +81,28 @@ public interface MaternityProfileOverviewFragmentContract {
 
             void onFetched(@NonNull HashMap<String, String> maternityDetails);
         }
+
+        /**
+         * Same as {@link #fetchMaternityOverviewDetails(String, OnFetchedCallback)} but also builds the overview rows
+         * on the background thread before returning to the main thread
+         */
+        void fetchMaternityOverviewRows(@NonNull String baseEntityId, @NonNull OverviewRowsBuilder overviewRowsBuilder
+                , @NonNull OnRowsFetchedCallback onRowsFetchedCallback);
+
+        interface OverviewRowsBuilder {
+
+            @NonNull
+            List<MaternityProfileOverviewRow> buildOverviewRows(@NonNull HashMap<String, String> maternityDetails);
+        }
+
+        interface OnRowsFetchedCallback {
+
+            void onRowsFetched(@NonNull HashMap<String, String> maternityDetails, @NonNull List<MaternityProfileOverviewRow> overviewRows);
+        }
+
+        /**
+         * Cancels the fetches whose results have not been delivered yet
+         */
+        void onDestroy();
     }
 }
@@ -97,5 +97,11 @@ public interface MaternityRegisterActivityContract {
 
         void onFetchSavedPartialForm(@Nullable MaternityPartialForm diagnosisAndTreatmentForm, @NonNull String caseId, @Nullable String entityTable);
 
+        /**
+         * Called instead of {@link #onFetchSavedPartialForm(MaternityPartialForm, String, String)} when the saved
+         * form could not be read and was dropped
+         */
+        void onSavedPartialFormDropped(@NonNull String caseId, @Nullable String entityTable);
+
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package org.smartregister.maternity.domain;
 
 import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,6 +15,7 @@ public class YamlConfig {
     private String sub_group;
     private List<YamlConfigItem> fields;
     private String test_results;
+    private boolean frozen;
 
     public YamlConfig() {
     }
@@ -30,6 +33,7 @@ public class YamlConfig {
     }
 
     public void setSubGroup(@Nullable String sub_group) {
+        checkNotFrozen();
         this.sub_group = sub_group;
     }
 
@@ -39,6 +43,7 @@ public class YamlConfig {
     }
 
     public void setGroup(@Nullable String group) {
+        checkNotFrozen();
         this.group = group;
     }
 
@@ -48,6 +53,7 @@ public class YamlConfig {
     }
 
     public void setFields(@Nullable List<YamlConfigItem> fields) {
+        checkNotFrozen();
         this.fields = fields;
     }
 
@@ -57,7 +63,26 @@ public class YamlConfig {
     }
 
     public void setTestResults(@Nullable String test_results) {
+        checkNotFrozen();
         this.test_results = test_results;
     }
 
-}
\ No newline at end of file
+    /**
+     * Makes the config and its items read-only
+     */
+    public void freeze() {
+        if (fields != null) {
+            for (YamlConfigItem field : fields) {
+                field.freeze();
+            }
+            fields = Collections.unmodifiableList(new ArrayList<>(fields));
+        }
+        frozen = true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("YamlConfig is read-only once loaded into the config registry");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.smartregister.maternity.domain;
 
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 /**
@@ -17,6 +18,10 @@ public class YamlConfigItem {
     private Boolean isMultiWidget;
     private Boolean isHtml;
 
+    private String templateTitle;
+    private String templateDetail;
+    private boolean frozen;
+
     public YamlConfigItem() {
     }
 
@@ -33,6 +38,7 @@ public class YamlConfigItem {
     }
 
     public void setIsRedFont(@Nullable String isRedFont) {
+        checkNotFrozen();
         this.isRedFont = isRedFont;
     }
 
@@ -42,7 +48,10 @@ public class YamlConfigItem {
     }
 
     public void setTemplate(@Nullable String template) {
+        checkNotFrozen();
         this.template = template;
+        this.templateTitle = null;
+        this.templateDetail = null;
     }
 
     @Nullable
@@ -51,6 +60,7 @@ public class YamlConfigItem {
     }
 
     public void setRelevance(@Nullable String relevance) {
+        checkNotFrozen();
         this.relevance = relevance;
     }
 
@@ -60,6 +70,7 @@ public class YamlConfigItem {
     }
 
     public void setIsMultiWidget(@Nullable Boolean multiWidget) {
+        checkNotFrozen();
         this.isMultiWidget = multiWidget;
     }
 
@@ -69,6 +80,70 @@ public class YamlConfigItem {
     }
 
     public void setHtml(Boolean html) {
+        checkNotFrozen();
         isHtml = html;
     }
+
+    /**
+     * @return the part of the template before the first colon or the whole template if it has no colon
+     */
+    @Nullable
+    public String getTemplateTitle() {
+        splitTemplate();
+        return templateTitle;
+    }
+
+    /**
+     * @return the part of the template after the first colon, where the values are filled in
+     */
+    @Nullable
+    public String getTemplateDetail() {
+        splitTemplate();
+        return templateDetail;
+    }
+
+    /**
+     * Splits the template into its title and detail as shown on the profile
+     *
+     * @return the title and the detail of the template
+     */
+    @NonNull
+    public static String[] splitTemplate(@NonNull String rawTemplate) {
+        String title = "";
+        String detail = "";
+
+        if (rawTemplate.contains(":")) {
+            String[] templateArray = rawTemplate.split(":");
+            if (templateArray.length > 1) {
+                title = templateArray[0].trim();
+                detail = templateArray[1].trim();
+            }
+        } else {
+            title = rawTemplate;
+        }
+
+        return new String[]{title, detail};
+    }
+
+    /**
+     * Splits the template ahead of rendering and makes the item read-only
+     */
+    public void freeze() {
+        splitTemplate();
+        frozen = true;
+    }
+
+    private void splitTemplate() {
+        if (templateTitle == null && template != null) {
+            String[] splitTemplate = splitTemplate(template);
+            templateDetail = splitTemplate[1];
+            templateTitle = splitTemplate[0];
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("YamlConfigItem is read-only once loaded into the config registry");
+        }
+    }
 }
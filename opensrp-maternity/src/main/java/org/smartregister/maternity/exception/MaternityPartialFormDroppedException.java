@@ -0,0 +1,15 @@
+package org.smartregister.maternity.exception;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Thrown when a saved partial form exists but cannot be rebuilt, such as a form saved only as the changes from a form
+ * template that has changed or is missing since, so that the caller can tell the user the draft was dropped
+ */
+
+public class MaternityPartialFormDroppedException extends RuntimeException {
+
+    public MaternityPartialFormDroppedException(@NonNull String message) {
+        super(message);
+    }
+}
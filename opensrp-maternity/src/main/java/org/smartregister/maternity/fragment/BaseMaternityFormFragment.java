@@ -32,6 +32,7 @@ import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
 import org.smartregister.maternity.activity.BaseMaternityFormActivity;
 import org.smartregister.maternity.adapter.ClientLookUpListAdapter;
+import org.smartregister.maternity.helper.MaternityLookUpHelper;
 import org.smartregister.maternity.interactor.MaternityFormInteractor;
 import org.smartregister.maternity.pojo.MaternityMetadata;
 import org.smartregister.maternity.presenter.MaternityFormFragmentPresenter;
@@ -53,6 +54,7 @@ public class BaseMaternityFormFragment extends JsonWizardFormFragment implements
                 }
             };
     private MaternityFormFragmentPresenter presenter;
+    private MaternityLookUpHelper lookUpHelper;
 
     public static JsonWizardFormFragment getFormFragment(String stepName) {
         BaseMaternityFormFragment jsonFormFragment = new BaseMaternityFormFragment();
@@ -187,6 +189,23 @@ public class BaseMaternityFormFragment extends JsonWizardFormFragment implements
         return lookUpListener;
     }
 
+    @NonNull
+    public MaternityLookUpHelper getLookUpHelper() {
+        if (lookUpHelper == null) {
+            lookUpHelper = new MaternityLookUpHelper(lookUpListener);
+        }
+
+        return lookUpHelper;
+    }
+
+    @Override
+    public void onDestroy() {
+        if (lookUpHelper != null) {
+            lookUpHelper.cancel();
+        }
+        super.onDestroy();
+    }
+
     @Override
     public void onItemClick(View view) {
         if (alertDialog != null && alertDialog.isShowing()) {
@@ -12,21 +12,32 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import net.sqlcipher.database.SQLiteDatabase;
+
 import org.apache.commons.lang3.StringUtils;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
-import org.smartregister.cursoradapter.RecyclerViewPaginatedAdapter;
 import org.smartregister.cursoradapter.SmartRegisterQueryBuilder;
 import org.smartregister.domain.FetchStatus;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
+import org.smartregister.maternity.adapter.MaternityRegisterPaginatedAdapter;
 import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
 import org.smartregister.maternity.contract.MaternityRegisterFragmentContract;
 import org.smartregister.maternity.dialog.NoMatchDialogFragment;
+import org.smartregister.maternity.helper.MaternityRegisterCountCache;
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
 import org.smartregister.maternity.model.MaternityRegisterFragmentModel;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+import org.smartregister.maternity.pojo.MaternityRegisterPage;
+import org.smartregister.maternity.pojo.MaternityRegisterPageToken;
+import org.smartregister.maternity.pojo.MaternityRegisterQuery;
+import org.smartregister.maternity.pojo.MaternityRegisterRow;
 import org.smartregister.maternity.presenter.MaternityRegisterFragmentPresenter;
 import org.smartregister.maternity.provider.MaternityRegisterProvider;
 import org.smartregister.maternity.utils.ConfigurationInstancesHelper;
 import org.smartregister.maternity.utils.MaternityConstants;
+import org.smartregister.maternity.utils.MaternityDbConstants;
+import org.smartregister.maternity.utils.MaternityTaskExecutor;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.maternity.utils.MaternityViewConstants;
 import org.smartregister.receiver.SyncStatusBroadcastReceiver;
@@ -34,8 +45,10 @@ import org.smartregister.util.Utils;
 import org.smartregister.view.activity.BaseRegisterActivity;
 import org.smartregister.view.fragment.BaseRegisterFragment;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import timber.log.Timber;
 
@@ -49,6 +62,7 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
     private View dueOnlyLayout;
     private boolean dueFilterActive = false;
     private MaternityRegisterQueryProviderContract maternityRegisterQueryProvider;
+    private MaternityRegisterProvider maternityRegisterProvider;
 
     public BaseMaternityRegisterFragment() {
         super();
@@ -225,6 +239,12 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
 
     @Override
     public void onSyncComplete(FetchStatus fetchStatus) {
+        if (FetchStatus.fetched.equals(fetchStatus)) {
+            // Other processors might have changed the clients counted by the register
+            MaternityLibrary.getInstance().getMaternityRegisterCountCache().invalidate();
+            MaternityLibrary.getInstance().getMaternityRegisterPageCache().invalidate();
+        }
+
         if (!SyncStatusBroadcastReceiver.getInstance().isSyncing() && (FetchStatus.fetched.equals(fetchStatus)
                 || FetchStatus.nothingFetched.equals(fetchStatus)) && (dueFilterActive && dueOnlyLayout != null)) {
             enableDueOnlyFilter(dueOnlyLayout, dueFilterActive);
@@ -302,8 +322,8 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
 
     @Override
     public void initializeAdapter() {
-        MaternityRegisterProvider childRegisterProvider = new MaternityRegisterProvider(getActivity(), registerActionHandler, paginationViewHandler);
-        clientAdapter = new RecyclerViewPaginatedAdapter(null, childRegisterProvider, context().commonrepository(this.tablename));
+        maternityRegisterProvider = new MaternityRegisterProvider(getActivity(), registerActionHandler, paginationViewHandler);
+        clientAdapter = new MaternityRegisterPaginatedAdapter(null, maternityRegisterProvider, context().commonrepository(this.tablename));
         clientAdapter.setCurrentlimit(20);
         clientsView.setAdapter(clientAdapter);
     }
@@ -332,37 +352,218 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
             return new CursorLoader(getActivity()) {
                 @Override
                 public Cursor loadInBackground() {
-                    // Count query
-                    // Select register query
-                    String query = filterAndSortQuery();
-                    return commonRepository().rawCustomQueryForAdapter(query);
+                    RegisterPageRead pageRead = newRegisterPageRead(clientAdapter.getCurrentoffset(), clientAdapter.getCurrentlimit());
+                    MaternityRegisterPage page = readRegisterPage(pageRead);
+                    if (page == null) {
+                        return null;
+                    }
+
+                    setNextPageToken(pageRead, page.getNextPageToken());
+                    prefetchNextPage(pageRead.next(page.getNextPageToken()));
+
+                    Cursor cursor = page.toCursor();
+                    if (maternityRegisterProvider != null) {
+                        Map<String, MaternityRegisterRow> registerRows = page.getRegisterRows();
+                        if (registerRows != null) {
+                            maternityRegisterProvider.setRegisterRows(registerRows);
+                        } else {
+                            maternityRegisterProvider.prepareRows(cursor, commonRepository());
+                        }
+                    }
+
+                    return cursor;
                 }
             };
         }// An invalid id was passed in
         return null;
     }
 
-    private String filterAndSortQuery() {
+    /**
+     * Tags a read of the page at the offset with the current filters, page token and the versions of the page
+     * tokens and the page cache
+     */
+    @NonNull
+    private RegisterPageRead newRegisterPageRead(int offset, int limit) {
+        MaternityRegisterPageToken pageToken = null;
+        long pageTokensVersion = 0;
+        if (clientAdapter instanceof MaternityRegisterPaginatedAdapter) {
+            MaternityRegisterPaginatedAdapter paginatedAdapter = (MaternityRegisterPaginatedAdapter) clientAdapter;
+            pageTokensVersion = paginatedAdapter.getPageTokensVersion();
+            pageToken = paginatedAdapter.getPageToken(offset);
+        }
+
+        return new RegisterPageRead(filters, mainCondition, Sortqueries, offset, limit, pageToken, pageTokensVersion
+                , MaternityLibrary.getInstance().getMaternityRegisterPageCache().getVersion());
+    }
+
+    /**
+     * Reads a page of the register from {@link MaternityRegisterPageCache}, only querying the database when the page
+     * is not cached. The token of the page after it is read into the page and not recorded in the adapter, and the
+     * display values of the rows are computed into the page before it is cached
+     *
+     * @return the page or {@code null} if it could not be read
+     */
+    @Nullable
+    private MaternityRegisterPage readRegisterPage(@NonNull RegisterPageRead pageRead) {
+        MaternityRegisterPageCache registerPageCache = MaternityLibrary.getInstance().getMaternityRegisterPageCache();
+        MaternityRegisterPage page = registerPageCache.getPage(pageRead.filters, pageRead.mainCondition, pageRead.sortQuery
+                , pageRead.offset, pageRead.limit);
+        if (page != null) {
+            return page;
+        }
+
+        Cursor cursor = searchRegisterPage(pageRead);
+        if (cursor == null) {
+            // Count query
+            // Select register query
+            String query = filterAndSortQuery(pageRead);
+            cursor = commonRepository().rawCustomQueryForAdapter(query);
+        }
+
+        if (cursor == null) {
+            return null;
+        }
+
+        try {
+            page = MaternityRegisterPage.fromCursor(cursor, pageRead.nextPageToken);
+            if (maternityRegisterProvider != null) {
+                page.setRegisterRows(maternityRegisterProvider.createRegisterRows(cursor, commonRepository()));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        registerPageCache.putPage(pageRead.filters, pageRead.mainCondition, pageRead.sortQuery, pageRead.offset
+                , pageRead.limit, page, pageRead.pageVersion);
+        return page;
+    }
+
+    /**
+     * Records the token of the page after the page read on the main thread, where the tokens are cleared when the
+     * filters change. The token is dropped if the tokens were cleared after the page read started
+     */
+    private void setNextPageToken(@NonNull RegisterPageRead pageRead, @Nullable MaternityRegisterPageToken nextPageToken) {
+        if (clientAdapter instanceof MaternityRegisterPaginatedAdapter) {
+            MaternityRegisterPaginatedAdapter paginatedAdapter = (MaternityRegisterPaginatedAdapter) clientAdapter;
+            MaternityLibrary.getInstance().getAppExecutors().mainThread().execute(() ->
+                    paginatedAdapter.setNextPageToken(pageRead.pageTokensVersion, pageRead.offset, pageRead.limit
+                            , nextPageToken));
+        }
+    }
+
+    /**
+     * Reads the page after the current page into {@link MaternityRegisterPageCache} in the background while the
+     * current page is displayed, so that moving to the next page neither waits for the database nor for the display
+     * values of its rows. The prefetch only caches the page, and is dropped when the filters or the cached pages
+     * change before it runs
+     */
+    private void prefetchNextPage(@NonNull RegisterPageRead pageRead) {
+        MaternityRegisterPageCache registerPageCache = MaternityLibrary.getInstance().getMaternityRegisterPageCache();
+        if (pageRead.offset >= clientAdapter.getTotalcount() || registerPageCache.hasPage(pageRead.filters
+                , pageRead.mainCondition, pageRead.sortQuery, pageRead.offset, pageRead.limit)) {
+            return;
+        }
+
+        MaternityLibrary.getInstance().getAppExecutors().diskIORead(MaternityTaskExecutor.Priority.BACKGROUND).execute(() -> {
+            if (isStale(pageRead)) {
+                return;
+            }
+
+            try {
+                readRegisterPage(pageRead);
+            } catch (Exception e) {
+                Timber.e(e);
+            }
+        });
+    }
+
+    private boolean isStale(@NonNull RegisterPageRead pageRead) {
+        return pageRead.pageVersion != MaternityLibrary.getInstance().getMaternityRegisterPageCache().getVersion()
+                || (clientAdapter instanceof MaternityRegisterPaginatedAdapter
+                && pageRead.pageTokensVersion != ((MaternityRegisterPaginatedAdapter) clientAdapter).getPageTokensVersion());
+    }
+
+    /**
+     * Reads the page with the bound search queries of the query provider
+     *
+     * @return the page or {@code null} if the query provider does not implement
+     * {@link MaternityRegisterQueryProviderContract#getObjectIdsSearchQuery(MaternityFtsSearch, String, MaternityRegisterPageToken, int, int)}
+     */
+    @Nullable
+    private Cursor searchRegisterPage(@NonNull RegisterPageRead pageRead) {
+        try {
+            if (!isValidFilterForFts(commonRepository())) {
+                return null;
+            }
+
+            MaternityFtsSearch search = maternityRegisterQueryProvider.getFtsSearch(pageRead.filters);
+            SQLiteDatabase database = MaternityLibrary.getInstance().getRepository().getReadableDatabase();
+
+            MaternityRegisterQuery registerPageQuery = maternityRegisterQueryProvider.getRegisterPageSearchQuery(search
+                    , pageRead.mainCondition, pageRead.pageToken, pageRead.offset, pageRead.limit);
+            if (registerPageQuery != null) {
+                Cursor cursor = database.rawQuery(registerPageQuery.getSql(), registerPageQuery.getArgs());
+                readNextPageToken(cursor, pageRead);
+                return cursor;
+            }
+
+            MaternityRegisterQuery idsQuery = maternityRegisterQueryProvider.getObjectIdsSearchQuery(search
+                    , pageRead.mainCondition, pageRead.pageToken, pageRead.offset, pageRead.limit);
+            if (idsQuery == null) {
+                return null;
+            }
+
+            List<String> ids;
+            try (Cursor cursor = database.rawQuery(idsQuery.getSql(), idsQuery.getArgs())) {
+                ids = readPageIds(cursor, pageRead);
+            }
+
+            MaternityRegisterQuery pageQuery = maternityRegisterQueryProvider.getMainSelectWhereIDsInQuery(ids, pageRead.limit);
+            return database.rawQuery(pageQuery.getSql(), pageQuery.getArgs());
+        } catch (Exception e) {
+            Timber.e(e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the last row of a page read in a single statement as the token of the next page and moves the
+     * cursor back before the first row
+     */
+    private void readNextPageToken(@NonNull Cursor cursor, @NonNull RegisterPageRead pageRead) {
+        MaternityRegisterPageToken nextPageToken = null;
+        if (cursor.getCount() == pageRead.limit && cursor.moveToLast()) {
+            nextPageToken = MaternityRegisterPageToken.fromCursor(cursor
+                    , MaternityRegisterQueryProviderContract.PAGE_LAST_INTERACTED_WITH, MaternityRegisterQueryProviderContract.PAGE_OBJECT_ID);
+        }
+        cursor.moveToPosition(-1);
+
+        pageRead.nextPageToken = nextPageToken;
+    }
+
+    private String filterAndSortQuery(@NonNull RegisterPageRead pageRead) {
         SmartRegisterQueryBuilder sqb = new SmartRegisterQueryBuilder(mainSelect);
 
         String query = "";
         try {
             if (isValidFilterForFts(commonRepository())) {
-                String sql = maternityRegisterQueryProvider.getObjectIdsQuery(filters, mainCondition);
-                sql = sqb.addlimitandOffset(sql, clientAdapter.getCurrentlimit(), clientAdapter.getCurrentoffset());
+                List<String> ids = findPageIdsByKeyset(pageRead);
+                if (ids == null) {
+                    String sql = maternityRegisterQueryProvider.getObjectIdsQuery(pageRead.filters, pageRead.mainCondition);
+                    sql = sqb.addlimitandOffset(sql, pageRead.limit, pageRead.offset);
+
+                    ids = commonRepository().findSearchIds(sql);
+                }
 
-                List<String> ids = commonRepository().findSearchIds(sql);
                 query = maternityRegisterQueryProvider.mainSelectWhereIDsIn();
 
                 String joinedIds = "'" + StringUtils.join(ids, "','") + "'";
                 return query.replace("%s", joinedIds);
             } else {
-                if (!TextUtils.isEmpty(filters) && TextUtils.isEmpty(Sortqueries)) {
-                    sqb.addCondition(filters);
-                    query = sqb.orderbyCondition(Sortqueries);
-                    query = sqb.Endquery(sqb.addlimitandOffset(query
-                            , clientAdapter.getCurrentlimit()
-                            , clientAdapter.getCurrentoffset()));
+                if (!TextUtils.isEmpty(pageRead.filters) && TextUtils.isEmpty(pageRead.sortQuery)) {
+                    sqb.addCondition(pageRead.filters);
+                    query = sqb.orderbyCondition(pageRead.sortQuery);
+                    query = sqb.Endquery(sqb.addlimitandOffset(query, pageRead.limit, pageRead.offset));
                 }
 
             }
@@ -373,13 +574,80 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
         return query;
     }
 
+    /**
+     * Reads the object ids of the page by seeking past the last row of the previous page
+     *
+     * @return the ids or {@code null} if the query provider does not support keyset pagination or the token of the
+     * page is not known, in which case the page is read by LIMIT/OFFSET
+     */
+    @Nullable
+    private List<String> findPageIdsByKeyset(@NonNull RegisterPageRead pageRead) {
+        if (!(clientAdapter instanceof MaternityRegisterPaginatedAdapter)) {
+            return null;
+        }
+
+        if (pageRead.offset > 0 && pageRead.pageToken == null) {
+            return null;
+        }
+
+        String sql = maternityRegisterQueryProvider.getObjectIdsPageQuery(pageRead.filters, pageRead.mainCondition
+                , pageRead.pageToken, pageRead.limit);
+        if (sql == null) {
+            return null;
+        }
+
+        try (Cursor cursor = commonRepository().rawCustomQueryForAdapter(sql)) {
+            return readPageIds(cursor, pageRead);
+        }
+    }
+
+    /**
+     * Reads the object ids of a page and its last row as the token of the next page
+     */
+    @NonNull
+    private List<String> readPageIds(@NonNull Cursor cursor, @NonNull RegisterPageRead pageRead) {
+        List<String> ids = new ArrayList<>();
+        MaternityRegisterPageToken nextPageToken = null;
+        int objectIdIndex = cursor.getColumnIndex(MaternityDbConstants.KEY.OBJECT_ID);
+        while (cursor.moveToNext()) {
+            ids.add(cursor.getString(objectIdIndex));
+            if (cursor.isLast() && cursor.getCount() == pageRead.limit) {
+                nextPageToken = MaternityRegisterPageToken.fromCursor(cursor);
+            }
+        }
+
+        pageRead.nextPageToken = nextPageToken;
+        return ids;
+    }
+
+    /**
+     * Sets the register count from {@link MaternityRegisterCountCache}, only counting the register when the count
+     * for the current filters is not cached
+     */
     @Override
     public void countExecute() {
         try {
+            MaternityRegisterCountCache registerCountCache = MaternityLibrary.getInstance().getMaternityRegisterCountCache();
+            Integer cachedCount = registerCountCache.getCount(filters, mainCondition);
             int totalCount = 0;
-            for (String sql : maternityRegisterQueryProvider.countExecuteQueries(filters, mainCondition)) {
-                Timber.i(sql);
-                totalCount += commonRepository().countSearchIds(sql);
+
+            if (cachedCount != null) {
+                totalCount = cachedCount;
+            } else {
+                long countVersion = registerCountCache.getVersion();
+                MaternityRegisterQuery[] countQueries = maternityRegisterQueryProvider.getCountSearchQueries(
+                        maternityRegisterQueryProvider.getFtsSearch(filters), mainCondition);
+
+                if (countQueries != null) {
+                    totalCount = countRegister(countQueries);
+                } else {
+                    for (String sql : maternityRegisterQueryProvider.countExecuteQueries(filters, mainCondition)) {
+                        Timber.i(sql);
+                        totalCount += commonRepository().countSearchIds(sql);
+                    }
+                }
+
+                registerCountCache.putCount(filters, mainCondition, totalCount, countVersion);
             }
 
             clientAdapter.setTotalcount(totalCount);
@@ -387,15 +655,71 @@ public abstract class BaseMaternityRegisterFragment extends BaseRegisterFragment
 
             clientAdapter.setCurrentlimit(20);
             clientAdapter.setCurrentoffset(0);
+
+            if (clientAdapter instanceof MaternityRegisterPaginatedAdapter) {
+                ((MaternityRegisterPaginatedAdapter) clientAdapter).clearPageTokens();
+            }
         } catch (Exception e) {
             Timber.e(e);
         }
     }
 
+    private int countRegister(@NonNull MaternityRegisterQuery[] countQueries) {
+        SQLiteDatabase database = MaternityLibrary.getInstance().getRepository().getReadableDatabase();
+        int totalCount = 0;
+        for (MaternityRegisterQuery countQuery : countQueries) {
+            Timber.i(countQuery.toString());
+            try (Cursor cursor = database.rawQuery(countQuery.getSql(), countQuery.getArgs())) {
+                if (cursor.moveToFirst()) {
+                    totalCount += cursor.getInt(0);
+                }
+            }
+        }
+
+        return totalCount;
+    }
 
     @Nullable
     @Override
     public String getDueOnlyText() {
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * A read of a register page, tagged with the filters, the page token and the versions of the page tokens and
+     * the page cache it was started with, so that a page read in the background after they changed is dropped
+     */
+    private static final class RegisterPageRead {
+
+        private final String filters;
+        private final String mainCondition;
+        private final String sortQuery;
+        private final int offset;
+        private final int limit;
+        private final MaternityRegisterPageToken pageToken;
+        private final long pageTokensVersion;
+        private final long pageVersion;
+        private MaternityRegisterPageToken nextPageToken;
+
+        private RegisterPageRead(@Nullable String filters, @Nullable String mainCondition, @Nullable String sortQuery
+                , int offset, int limit, @Nullable MaternityRegisterPageToken pageToken, long pageTokensVersion, long pageVersion) {
+            this.filters = filters;
+            this.mainCondition = mainCondition;
+            this.sortQuery = sortQuery;
+            this.offset = offset;
+            this.limit = limit;
+            this.pageToken = pageToken;
+            this.pageTokensVersion = pageTokensVersion;
+            this.pageVersion = pageVersion;
+        }
+
+        /**
+         * @return a read of the page after this page with the same tags
+         */
+        @NonNull
+        private RegisterPageRead next(@Nullable MaternityRegisterPageToken nextPageToken) {
+            return new RegisterPageRead(filters, mainCondition, sortQuery, offset + limit, limit, nextPageToken
+                    , pageTokensVersion, pageVersion);
+        }
+    }
+}
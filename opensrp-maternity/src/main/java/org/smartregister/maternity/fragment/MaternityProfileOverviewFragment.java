@@ -12,21 +12,17 @@ import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.LinearLayout;
 
-import org.jeasy.rules.api.Facts;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
 import org.smartregister.maternity.R;
 import org.smartregister.maternity.activity.BaseMaternityProfileActivity;
 import org.smartregister.maternity.adapter.MaternityProfileOverviewAdapter;
 import org.smartregister.maternity.contract.MaternityProfileOverviewFragmentContract;
-import org.smartregister.maternity.domain.YamlConfigWrapper;
 import org.smartregister.maternity.listener.OnSendActionToFragment;
 import org.smartregister.maternity.presenter.MaternityProfileOverviewFragmentPresenter;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.view.fragment.BaseProfileFragment;
 
-import java.util.List;
-
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -39,6 +35,7 @@ public class MaternityProfileOverviewFragment extends BaseProfileFragment implem
     private LinearLayout maternityOutcomeSectionLayout;
     private Button recordOutcomeBtn;
     private CommonPersonObjectClient commonPersonObjectClient;
+    private MaternityProfileOverviewAdapter overviewAdapter;
 
     public static MaternityProfileOverviewFragment newInstance(Bundle bundle) {
         Bundle args = bundle;
@@ -68,23 +65,23 @@ public class MaternityProfileOverviewFragment extends BaseProfileFragment implem
     @Override
     protected void onResumption() {
         if (baseEntityId != null) {
-            presenter.loadOverviewFacts(baseEntityId, new MaternityProfileOverviewFragmentContract.Presenter.OnFinishedCallback() {
-
-                @Override
-                public void onFinished(@Nullable Facts facts, @Nullable List<YamlConfigWrapper> yamlConfigListGlobal) {
-                    if (getActivity() != null && facts != null && yamlConfigListGlobal != null) {
-                        showOutcomeBtn();
+            presenter.loadOverviewRows(baseEntityId, overviewRows -> {
+                if (getActivity() != null) {
+                    showOutcomeBtn();
 
-                        MaternityProfileOverviewAdapter adapter = new MaternityProfileOverviewAdapter(getActivity(), yamlConfigListGlobal, facts);
-                        adapter.notifyDataSetChanged();
+                    if (overviewAdapter == null) {
+                        overviewAdapter = new MaternityProfileOverviewAdapter(getActivity());
+                    }
 
-                        // set up the RecyclerView
-                        RecyclerView recyclerView = getActivity().findViewById(R.id.profile_overview_recycler);
+                    // set up the RecyclerView once, later loads only submit the changed rows
+                    RecyclerView recyclerView = getActivity().findViewById(R.id.profile_overview_recycler);
+                    if (recyclerView.getAdapter() != overviewAdapter) {
                         recyclerView.setLayoutManager(new LinearLayoutManager(getActivity()));
-                        recyclerView.setAdapter(adapter);
+                        recyclerView.setAdapter(overviewAdapter);
                     }
-                }
 
+                    overviewAdapter.submitList(overviewRows);
+                }
             });
         }
     }
@@ -123,6 +120,14 @@ public class MaternityProfileOverviewFragment extends BaseProfileFragment implem
         return view;
     }
 
+    @Override
+    public void onDestroy() {
+        if (presenter != null) {
+            presenter.onDestroy(false);
+        }
+        super.onDestroy();
+    }
+
     @Override
     public void onActionReceive() {
         onResumption();
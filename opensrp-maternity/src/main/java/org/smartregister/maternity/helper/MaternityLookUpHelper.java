@@ -0,0 +1,90 @@
+package org.smartregister.maternity.helper;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.smartregister.commonregistry.CommonPersonObject;
+import org.smartregister.event.Listener;
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.utils.MaternityLookUpUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Collects the values typed in the look up fields of a form and looks up the matching clients once the user stops
+ * typing. Typing again cancels the look up that is waiting or running so that the results of older values never
+ * replace the results of the current values
+ */
+public class MaternityLookUpHelper {
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+    private final HashMap<String, String> lookUpFields = new HashMap<>();
+    private final Listener<List<CommonPersonObject>> lookUpListener;
+    private final Handler handler;
+    private final long debounceMillis;
+    private final Runnable lookUpRunnable = this::lookUp;
+
+    @Nullable
+    private Disposable pendingLookUp;
+
+    public MaternityLookUpHelper(@NonNull Listener<List<CommonPersonObject>> lookUpListener) {
+        this(lookUpListener, new Handler(Looper.getMainLooper()), DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    public MaternityLookUpHelper(@NonNull Listener<List<CommonPersonObject>> lookUpListener, @NonNull Handler handler, long debounceMillis) {
+        this.lookUpListener = lookUpListener;
+        this.handler = handler;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Called on the main thread when the value of a look up field changes. Clearing the last field with a value
+     * clears the results
+     */
+    public void onLookUpFieldChanged(@Nullable String key, @Nullable String value) {
+        if (key == null) {
+            return;
+        }
+
+        if (StringUtils.isBlank(value)) {
+            if (lookUpFields.remove(key) == null) {
+                return;
+            }
+        } else {
+            lookUpFields.put(key, value);
+        }
+
+        cancel();
+
+        if (lookUpFields.isEmpty()) {
+            lookUpListener.onEvent(new ArrayList<>());
+        } else {
+            handler.postDelayed(lookUpRunnable, debounceMillis);
+        }
+    }
+
+    /**
+     * Cancels the look up that is waiting for the user to stop typing or running
+     */
+    public void cancel() {
+        handler.removeCallbacks(lookUpRunnable);
+
+        if (pendingLookUp != null) {
+            pendingLookUp.dispose();
+            pendingLookUp = null;
+        }
+    }
+
+    private void lookUp() {
+        pendingLookUp = MaternityLookUpUtils.lookUp(MaternityLibrary.getInstance().context(), lookUpFields, lookUpListener);
+    }
+}
@@ -0,0 +1,219 @@
+package org.smartregister.maternity.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.smartregister.commonregistry.CommonPersonObjectClient;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LRU cache of the profile data read when a maternity client profile is opened. The cache is bounded both by the
+ * number of clients and by an estimate of the memory held by the cached values. Entries are invalidated by base entity
+ * id when events of the client are processed.
+ * <p>
+ * A value loaded while an invalidation happens is not cached since it might have been read before the change
+ */
+public class MaternityProfileCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 50;
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 512 * 1024;
+
+    private static final int ENTRY_OVERHEAD_IN_BYTES = 64;
+
+    private final int maxEntries;
+    private final long maxSizeInBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long sizeInBytes = 0;
+    private long version = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    public MaternityProfileCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE_IN_BYTES);
+    }
+
+    public MaternityProfileCache(int maxEntries, long maxSizeInBytes) {
+        this.maxEntries = maxEntries;
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * Returns the cached snapshot of the client or loads and caches it on a miss. The loader runs outside the lock
+     *
+     * @param loader reads the snapshot from the database
+     */
+    @Nullable
+    public MaternityProfileSnapshot getProfileSnapshot(@NonNull String baseEntityId
+            , @NonNull Function<String, MaternityProfileSnapshot> loader) {
+        long loadVersion;
+        synchronized (this) {
+            Entry entry = entries.get(baseEntityId);
+            if (entry != null && entry.profileSnapshot != null) {
+                hitCount++;
+                return entry.profileSnapshot;
+            }
+
+            missCount++;
+            loadVersion = version;
+        }
+
+        MaternityProfileSnapshot profileSnapshot = loader.apply(baseEntityId);
+        if (profileSnapshot != null) {
+            synchronized (this) {
+                if (loadVersion == version) {
+                    Entry entry = removeEntry(baseEntityId);
+                    putEntry(baseEntityId, new Entry(profileSnapshot, entry != null ? entry.registerClient : null));
+                }
+            }
+        }
+
+        return profileSnapshot;
+    }
+
+    /**
+     * Returns a copy of the cached register client or loads and caches it on a miss. The loader runs outside the lock
+     *
+     * @param loader reads the register client from the database
+     */
+    @Nullable
+    public CommonPersonObjectClient getRegisterClient(@NonNull String baseEntityId
+            , @NonNull Function<String, CommonPersonObjectClient> loader) {
+        long loadVersion;
+        synchronized (this) {
+            Entry entry = entries.get(baseEntityId);
+            if (entry != null && entry.registerClient != null) {
+                hitCount++;
+                return copy(entry.registerClient);
+            }
+
+            missCount++;
+            loadVersion = version;
+        }
+
+        CommonPersonObjectClient registerClient = loader.apply(baseEntityId);
+        if (registerClient != null) {
+            synchronized (this) {
+                if (loadVersion == version) {
+                    Entry entry = removeEntry(baseEntityId);
+                    putEntry(baseEntityId, new Entry(entry != null ? entry.profileSnapshot : null, copy(registerClient)));
+                }
+            }
+        }
+
+        return registerClient;
+    }
+
+    public synchronized void invalidate(@Nullable String baseEntityId) {
+        version++;
+        if (baseEntityId != null) {
+            removeEntry(baseEntityId);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Nullable
+    private Entry removeEntry(@NonNull String baseEntityId) {
+        Entry entry = entries.remove(baseEntityId);
+        if (entry != null) {
+            sizeInBytes -= entry.sizeInBytes;
+        }
+
+        return entry;
+    }
+
+    private void putEntry(@NonNull String baseEntityId, @NonNull Entry entry) {
+        entries.put(baseEntityId, entry);
+        sizeInBytes += entry.sizeInBytes;
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || sizeInBytes > maxSizeInBytes) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            sizeInBytes -= eldest.getValue().sizeInBytes;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    @NonNull
+    private static CommonPersonObjectClient copy(@NonNull CommonPersonObjectClient client) {
+        HashMap<String, String> details = new HashMap<>(client.getDetails());
+        CommonPersonObjectClient copy = new CommonPersonObjectClient(client.getCaseId(), details, client.getName());
+        copy.setColumnmaps(details);
+        return copy;
+    }
+
+    @VisibleForTesting
+    static long estimateSizeInBytes(@Nullable Map<String, String> map) {
+        long size = 0;
+        if (map != null) {
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                size += ENTRY_OVERHEAD_IN_BYTES + 2L * (length(entry.getKey()) + length(entry.getValue()));
+            }
+        }
+
+        return size;
+    }
+
+    private static int length(@Nullable String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static class Entry {
+
+        private final MaternityProfileSnapshot profileSnapshot;
+        private final CommonPersonObjectClient registerClient;
+        private final long sizeInBytes;
+
+        private Entry(@Nullable MaternityProfileSnapshot profileSnapshot, @Nullable CommonPersonObjectClient registerClient) {
+            this.profileSnapshot = profileSnapshot;
+            this.registerClient = registerClient;
+
+            long size = ENTRY_OVERHEAD_IN_BYTES;
+            if (profileSnapshot != null) {
+                size += estimateSizeInBytes(profileSnapshot.getClient())
+                        + estimateSizeInBytes(profileSnapshot.getRegistrationDetails())
+                        + estimateSizeInBytes(profileSnapshot.getMedicInfo());
+            }
+
+            if (registerClient != null) {
+                size += estimateSizeInBytes(registerClient.getDetails());
+            }
+
+            this.sizeInBytes = size;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.smartregister.maternity.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Caches the register counts by filter and main condition so that the register does not count the search table on
+ * every filter change, resume and sync. The total count of the register without filters or main condition is
+ * adjusted by the client processor as clients join or leave the register. The counts with filters or a main condition
+ * are dropped on every processed event instead, since an event that leaves the register size unchanged can still
+ * change whether its client matches them.
+ * <p>
+ * A count computed while the counts change is not cached since it might have been read before the change
+ */
+public class MaternityRegisterCountCache {
+
+    private final HashMap<String, Integer> counts = new HashMap<>();
+    private long version = 0;
+
+    /**
+     * @return the cached count or {@code null} if the register has to be counted
+     */
+    @Nullable
+    public synchronized Integer getCount(@Nullable String filters, @Nullable String mainCondition) {
+        return counts.get(getKey(filters, mainCondition));
+    }
+
+    /**
+     * @return the version to pass to {@link #putCount(String, String, int, long)} after counting the register
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Caches the count unless the counts have changed since {@link #getVersion()} was read before counting
+     */
+    public synchronized void putCount(@Nullable String filters, @Nullable String mainCondition, int count, long countVersion) {
+        if (countVersion == version) {
+            counts.put(getKey(filters, mainCondition), count);
+        }
+    }
+
+    /**
+     * Adjusts the total count of the register without filters or main condition by the number of clients that joined
+     * or left the register and drops all the other counts, even when the number is zero
+     */
+    public synchronized void adjustTotalCount(int delta) {
+        version++;
+        String totalCountKey = getKey(null, null);
+        Iterator<Map.Entry<String, Integer>> iterator = counts.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> countEntry = iterator.next();
+            if (totalCountKey.equals(countEntry.getKey())) {
+                countEntry.setValue(Math.max(0, countEntry.getValue() + delta));
+            } else {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the counts so that the register is counted again on its next refresh
+     */
+    public synchronized void invalidate() {
+        version++;
+        counts.clear();
+    }
+
+    @NonNull
+    private static String getKey(@Nullable String filters, @Nullable String mainCondition) {
+        String filtersKey = StringUtils.isBlank(filters) ? "" : filters.trim();
+        String mainConditionKey = StringUtils.isBlank(mainCondition) ? "" : mainCondition.trim();
+        return filtersKey.length() + ":" + filtersKey + mainConditionKey;
+    }
+}
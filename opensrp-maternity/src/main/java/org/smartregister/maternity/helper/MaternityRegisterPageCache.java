@@ -0,0 +1,89 @@
+package org.smartregister.maternity.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.smartregister.maternity.pojo.MaternityRegisterPage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recently used register pages in memory by filter, main condition, sort and page, so that moving
+ * between the pages of the register and prefetching the next page does not query the database for pages that were
+ * just read. All the pages are dropped when the register clients change after a sync or when events are processed.
+ * <p>
+ * A page read while the pages are dropped is not cached since it might have been read before the change
+ */
+public class MaternityRegisterPageCache {
+
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    private final LinkedHashMap<String, MaternityRegisterPage> pages;
+    private long version = 0;
+
+    public MaternityRegisterPageCache() {
+        this(DEFAULT_MAX_PAGES);
+    }
+
+    public MaternityRegisterPageCache(final int maxPages) {
+        pages = new LinkedHashMap<String, MaternityRegisterPage>(maxPages + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MaternityRegisterPage> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * @return the cached page or {@code null} if the page has to be read from the database
+     */
+    @Nullable
+    public synchronized MaternityRegisterPage getPage(@Nullable String filters, @Nullable String mainCondition
+            , @Nullable String sortQuery, int offset, int limit) {
+        return pages.get(getKey(filters, mainCondition, sortQuery, offset, limit));
+    }
+
+    public synchronized boolean hasPage(@Nullable String filters, @Nullable String mainCondition
+            , @Nullable String sortQuery, int offset, int limit) {
+        return pages.containsKey(getKey(filters, mainCondition, sortQuery, offset, limit));
+    }
+
+    /**
+     * @return the version to pass to {@link #putPage(String, String, String, int, int, MaternityRegisterPage, long)}
+     * after reading the page
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Caches the page, dropping the least recently used page when the cache is full, unless the pages have been
+     * dropped since {@link #getVersion()} was read before reading the page
+     */
+    public synchronized void putPage(@Nullable String filters, @Nullable String mainCondition, @Nullable String sortQuery
+            , int offset, int limit, @NonNull MaternityRegisterPage page, long pageVersion) {
+        if (pageVersion == version) {
+            pages.put(getKey(filters, mainCondition, sortQuery, offset, limit), page);
+        }
+    }
+
+    /**
+     * Drops all the pages so that the register is read from the database on its next refresh
+     */
+    public synchronized void invalidate() {
+        version++;
+        pages.clear();
+    }
+
+    @NonNull
+    private static String getKey(@Nullable String filters, @Nullable String mainCondition, @Nullable String sortQuery
+            , int offset, int limit) {
+        String filtersKey = StringUtils.isBlank(filters) ? "" : filters.trim();
+        String mainConditionKey = StringUtils.isBlank(mainCondition) ? "" : mainCondition.trim();
+        String sortQueryKey = StringUtils.isBlank(sortQuery) ? "" : sortQuery.trim();
+        return offset + ":" + limit + ":" + filtersKey.length() + ":" + filtersKey
+                + mainConditionKey.length() + ":" + mainConditionKey + sortQueryKey;
+    }
+}
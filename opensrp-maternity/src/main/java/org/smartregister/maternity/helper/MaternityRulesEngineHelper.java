@@ -5,15 +5,18 @@ import androidx.annotation.NonNull;
 import com.vijay.jsonwizard.rules.RuleConstant;
 import com.vijay.jsonwizard.rules.RulesEngineHelper;
 
+import org.jeasy.rules.api.Condition;
 import org.jeasy.rules.api.Facts;
-import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.api.RulesEngine;
 import org.jeasy.rules.core.DefaultRulesEngine;
 import org.jeasy.rules.core.RulesEngineParameters;
-import org.jeasy.rules.mvel.MVELRule;
+import org.jeasy.rules.mvel.MVELCondition;
 
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import timber.log.Timber;
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -22,6 +25,10 @@ public class MaternityRulesEngineHelper extends RulesEngineHelper {
 
     private RulesEngine defaultRulesEngine;
 
+    private final ConcurrentHashMap<String, Condition> compiledConditions = new ConcurrentHashMap<>();
+    private final AtomicLong conditionHitCount = new AtomicLong();
+    private final AtomicLong conditionMissCount = new AtomicLong();
+
     public MaternityRulesEngineHelper() {
         RulesEngineParameters parameters = new RulesEngineParameters().skipOnFirstAppliedRule(true);
         this.defaultRulesEngine = new DefaultRulesEngine(parameters);
@@ -31,17 +38,73 @@ public class MaternityRulesEngineHelper extends RulesEngineHelper {
         defaultRulesEngine.fire(rules, facts);
     }
 
+    /**
+     * Evaluates the MVEL relevance expression against the facts. Expressions are compiled once and the compiled
+     * condition is reused for every later evaluation of the same expression. An expression that fails to evaluate,
+     * for example because it references a missing fact, is not relevant
+     */
     public boolean getRelevance(@NonNull Facts relevanceFacts, @NonNull String rule) {
         relevanceFacts.put("helper", this);
-        relevanceFacts.put(RuleConstant.IS_RELEVANT, false);
 
-        Rules rules = new Rules();
-        Rule mvelRule = new MVELRule().name(UUID.randomUUID().toString()).when(rule).then("isRelevant = true;");
-        rules.register(mvelRule);
+        boolean relevant = false;
+        try {
+            relevant = getCompiledCondition(rule).evaluate(relevanceFacts);
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not evaluate relevance %s", rule);
+        }
+
+        relevanceFacts.put(RuleConstant.IS_RELEVANT, relevant);
+        return relevant;
+    }
+
+    /**
+     * Compiles the expressions ahead of their first evaluation. Expressions that do not compile are skipped
+     */
+    public void warmUp(@NonNull Iterable<String> rules) {
+        for (String rule : rules) {
+            if (rule != null && !compiledConditions.containsKey(rule)) {
+                try {
+                    compiledConditions.putIfAbsent(rule, new MVELCondition(rule));
+                } catch (RuntimeException e) {
+                    Timber.e(e, "Could not compile relevance %s", rule);
+                }
+            }
+        }
+    }
+
+    @NonNull
+    protected Condition getCompiledCondition(@NonNull String rule) {
+        Condition condition = compiledConditions.get(rule);
+        if (condition != null) {
+            conditionHitCount.incrementAndGet();
+            return condition;
+        }
 
-        processDefaultRules(rules, relevanceFacts);
+        conditionMissCount.incrementAndGet();
+        condition = new MVELCondition(rule);
+        Condition existingCondition = compiledConditions.putIfAbsent(rule, condition);
+        return existingCondition != null ? existingCondition : condition;
+    }
+
+    public int getCompiledConditionCount() {
+        return compiledConditions.size();
+    }
+
+    public long getConditionHitCount() {
+        return conditionHitCount.get();
+    }
+
+    public long getConditionMissCount() {
+        return conditionMissCount.get();
+    }
 
-        return relevanceFacts.get(RuleConstant.IS_RELEVANT);
+    /**
+     * @return the fraction of evaluations that reused a compiled condition or {@code 0} if nothing was evaluated
+     */
+    public double getConditionHitRate() {
+        long hits = conditionHitCount.get();
+        long total = hits + conditionMissCount.get();
+        return total == 0 ? 0 : (double) hits / total;
     }
 
     public String getWeeks(Integer days) {
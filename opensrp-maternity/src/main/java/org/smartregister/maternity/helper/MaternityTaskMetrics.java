@@ -0,0 +1,97 @@
+package org.smartregister.maternity.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+
+import timber.log.Timber;
+
+/**
+ * Collects how long the background tasks wait in the queue of their lane and how long they run, so that tasks
+ * delaying the lanes can be found. Tasks that wait or run for longer than the slow task threshold are logged
+ */
+public class MaternityTaskMetrics {
+
+    private final long slowTaskMillis;
+    private final HashMap<String, LaneMetrics> laneMetrics = new HashMap<>();
+
+    public MaternityTaskMetrics(long slowTaskMillis) {
+        this.slowTaskMillis = slowTaskMillis;
+    }
+
+    public void record(@NonNull String lane, @NonNull String taskName, long queueWaitMillis, long runMillis) {
+        synchronized (laneMetrics) {
+            LaneMetrics metrics = laneMetrics.get(lane);
+            if (metrics == null) {
+                metrics = new LaneMetrics();
+                laneMetrics.put(lane, metrics);
+            }
+
+            metrics.add(queueWaitMillis, runMillis);
+        }
+
+        if (queueWaitMillis > slowTaskMillis || runMillis > slowTaskMillis) {
+            Timber.w("Slow task %s on %s waited %d ms and ran for %d ms", taskName, lane, queueWaitMillis, runMillis);
+        }
+    }
+
+    /**
+     * @return a copy of the metrics of the lane or {@code null} if no task has run on it
+     */
+    @Nullable
+    public LaneMetrics getLaneMetrics(@NonNull String lane) {
+        synchronized (laneMetrics) {
+            LaneMetrics metrics = laneMetrics.get(lane);
+            return metrics == null ? null : metrics.copy();
+        }
+    }
+
+    public static class LaneMetrics {
+
+        private long taskCount;
+        private long totalQueueWaitMillis;
+        private long maxQueueWaitMillis;
+        private long totalRunMillis;
+        private long maxRunMillis;
+
+        private void add(long queueWaitMillis, long runMillis) {
+            taskCount++;
+            totalQueueWaitMillis += queueWaitMillis;
+            maxQueueWaitMillis = Math.max(maxQueueWaitMillis, queueWaitMillis);
+            totalRunMillis += runMillis;
+            maxRunMillis = Math.max(maxRunMillis, runMillis);
+        }
+
+        @NonNull
+        private LaneMetrics copy() {
+            LaneMetrics metrics = new LaneMetrics();
+            metrics.taskCount = taskCount;
+            metrics.totalQueueWaitMillis = totalQueueWaitMillis;
+            metrics.maxQueueWaitMillis = maxQueueWaitMillis;
+            metrics.totalRunMillis = totalRunMillis;
+            metrics.maxRunMillis = maxRunMillis;
+            return metrics;
+        }
+
+        public long getTaskCount() {
+            return taskCount;
+        }
+
+        public long getTotalQueueWaitMillis() {
+            return totalQueueWaitMillis;
+        }
+
+        public long getMaxQueueWaitMillis() {
+            return maxQueueWaitMillis;
+        }
+
+        public long getTotalRunMillis() {
+            return totalRunMillis;
+        }
+
+        public long getMaxRunMillis() {
+            return maxRunMillis;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.smartregister.maternity.helper;
+
+import androidx.annotation.NonNull;
+
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.domain.YamlConfig;
+import org.smartregister.maternity.domain.YamlConfigItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the YAML configs of the profile views parsed once per file. The configs are read-only, their templates are
+ * split into title and detail and their relevance and red font expressions are compiled when the file is loaded.
+ * A file is only parsed again when it is explicitly reloaded
+ */
+public class MaternityYamlConfigRegistry {
+
+    private final ConcurrentHashMap<String, List<YamlConfig>> yamlConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * @param filename the name of the YAML file in the config assets folder
+     * @return the read-only configs of the file, parsed on the first call
+     */
+    @NonNull
+    public List<YamlConfig> getYamlConfigs(@NonNull String filename) throws IOException {
+        List<YamlConfig> fileYamlConfigs = yamlConfigs.get(filename);
+        if (fileYamlConfigs == null) {
+            synchronized (this) {
+                fileYamlConfigs = yamlConfigs.get(filename);
+                if (fileYamlConfigs == null) {
+                    fileYamlConfigs = loadYamlConfigs(filename);
+                    yamlConfigs.put(filename, fileYamlConfigs);
+                }
+            }
+        }
+
+        return fileYamlConfigs;
+    }
+
+    /**
+     * Parses the file again, replacing the configs previously loaded from it
+     */
+    @NonNull
+    public synchronized List<YamlConfig> reload(@NonNull String filename) throws IOException {
+        List<YamlConfig> fileYamlConfigs = loadYamlConfigs(filename);
+        yamlConfigs.put(filename, fileYamlConfigs);
+        return fileYamlConfigs;
+    }
+
+    /**
+     * Drops all the loaded configs so that each file is parsed again on its next use
+     */
+    public void clear() {
+        yamlConfigs.clear();
+    }
+
+    @NonNull
+    protected List<YamlConfig> loadYamlConfigs(@NonNull String filename) throws IOException {
+        List<YamlConfig> fileYamlConfigs = new ArrayList<>();
+        List<String> rules = new ArrayList<>();
+
+        for (Object ruleObject : MaternityLibrary.getInstance().readYaml(filename)) {
+            YamlConfig yamlConfig = (YamlConfig) ruleObject;
+            yamlConfig.freeze();
+            fileYamlConfigs.add(yamlConfig);
+
+            List<YamlConfigItem> configItems = yamlConfig.getFields();
+            if (configItems != null) {
+                for (YamlConfigItem configItem : configItems) {
+                    rules.add(configItem.getRelevance());
+                    rules.add(configItem.getIsRedFont());
+                }
+            }
+        }
+
+        MaternityLibrary.getInstance().getMaternityRulesEngineHelper().warmUp(rules);
+        return Collections.unmodifiableList(fileYamlConfigs);
+    }
+}
@@ -12,6 +12,7 @@ import org.smartregister.CoreLibrary;
 import org.smartregister.clientandeventmodel.Event;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.contract.MaternityRegisterActivityContract;
+import org.smartregister.maternity.exception.MaternityPartialFormDroppedException;
 import org.smartregister.maternity.pojo.MaternityEventClient;
 import org.smartregister.maternity.pojo.MaternityPartialForm;
 import org.smartregister.maternity.pojo.RegisterParams;
@@ -27,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import io.reactivex.disposables.CompositeDisposable;
 import timber.log.Timber;
 
 /**
@@ -36,6 +38,7 @@ import timber.log.Timber;
 public class BaseMaternityRegisterActivityInteractor implements MaternityRegisterActivityContract.Interactor {
 
     protected AppExecutors appExecutors;
+    protected final CompositeDisposable disposables = new CompositeDisposable();
 
     public BaseMaternityRegisterActivityInteractor() {
         this(MaternityLibrary.getInstance().getAppExecutors());
@@ -48,22 +51,19 @@ public class BaseMaternityRegisterActivityInteractor implements MaternityRegiste
 
     @Override
     public void fetchSavedPartialForm(final @Nullable String formType, final @NonNull String baseEntityId, final @Nullable String entityTable, @NonNull final MaternityRegisterActivityContract.InteractorCallBack interactorCallBack) {
-        appExecutors.diskIO().execute(new Runnable() {
-            @Override
-            public void run() {
-                final MaternityPartialForm diagnosisAndTreatmentForm = MaternityLibrary
+        MaternityLibrary.getInstance().getMaternityTaskRunner().execute(appExecutors.diskIOReadAfterWrites(), disposables, "partial-form:" + formType + ":" + baseEntityId
+                , () -> MaternityLibrary
                         .getInstance()
                         .getMaternityPartialFormRepository()
-                        .findOne(new MaternityPartialForm(baseEntityId, formType));
-
-                appExecutors.mainThread().execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        interactorCallBack.onFetchSavedPartialForm(diagnosisAndTreatmentForm, baseEntityId, entityTable);
+                        .findOne(new MaternityPartialForm(baseEntityId, formType))
+                , diagnosisAndTreatmentForm -> interactorCallBack.onFetchSavedPartialForm(diagnosisAndTreatmentForm, baseEntityId, entityTable)
+                , exception -> {
+                    if (exception instanceof MaternityPartialFormDroppedException) {
+                        interactorCallBack.onSavedPartialFormDropped(baseEntityId, entityTable);
+                    } else {
+                        interactorCallBack.onFetchSavedPartialForm(null, baseEntityId, entityTable);
                     }
                 });
-            }
-        });
     }
 
     @Override
@@ -73,7 +73,8 @@ public class BaseMaternityRegisterActivityInteractor implements MaternityRegiste
 
     @Override
     public void onDestroy(boolean isChangingConfiguration) {
-        // Do nothing for now, this will be handled by the class that extends this to nullify the presenter
+        // The presenter is recreated with the activity so the pending loads are cancelled even on configuration changes
+        disposables.clear();
     }
 
     @Override
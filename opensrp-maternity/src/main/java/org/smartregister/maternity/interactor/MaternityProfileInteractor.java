@@ -15,6 +15,7 @@ import org.smartregister.commonregistry.CommonRepository;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
 import org.smartregister.maternity.contract.MaternityProfileActivityContract;
+import org.smartregister.maternity.exception.MaternityPartialFormDroppedException;
 import org.smartregister.maternity.pojo.MaternityEventClient;
 import org.smartregister.maternity.pojo.MaternityPartialForm;
 import org.smartregister.maternity.pojo.RegisterParams;
@@ -23,12 +24,14 @@ import org.smartregister.maternity.utils.ConfigurationInstancesHelper;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.maternity.utils.MaternityJsonFormUtils;
+import org.smartregister.maternity.utils.MaternityTaskExecutor;
 import org.smartregister.repository.EventClientRepository;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import io.reactivex.disposables.CompositeDisposable;
 import timber.log.Timber;
 
 /**
@@ -38,6 +41,7 @@ public class MaternityProfileInteractor implements MaternityProfileActivityContr
 
     private MaternityProfileActivityContract.Presenter mProfilePresenter;
     private AppExecutors appExecutors;
+    private final CompositeDisposable disposables = new CompositeDisposable();
 
     public MaternityProfileInteractor(@NonNull MaternityProfileActivityContract.Presenter presenter) {
         this.mProfilePresenter = presenter;
@@ -46,19 +50,26 @@ public class MaternityProfileInteractor implements MaternityProfileActivityContr
 
     @Override
     public void fetchSavedPartialForm(@Nullable String formType, @NonNull final String baseEntityId, @NonNull final String entityTable) {
-        appExecutors.diskIO().execute(() -> {
-            final MaternityPartialForm savedPartialForm = MaternityLibrary
-                    .getInstance()
-                    .getMaternityPartialFormRepository()
-                    .findOne(new MaternityPartialForm(baseEntityId, formType));
-
-            appExecutors.mainThread().execute(() -> {
-                if (mProfilePresenter instanceof MaternityProfileActivityContract.InteractorCallBack) {
-                    ((MaternityProfileActivityContract.InteractorCallBack) mProfilePresenter)
-                            .onFetchedSavedPartialForm(savedPartialForm, baseEntityId, entityTable);
-                }
-            });
-        });
+        MaternityLibrary.getInstance().getMaternityTaskRunner().execute(appExecutors.diskIOReadAfterWrites(), disposables, "partial-form:" + formType + ":" + baseEntityId
+                , () -> MaternityLibrary
+                        .getInstance()
+                        .getMaternityPartialFormRepository()
+                        .findOne(new MaternityPartialForm(baseEntityId, formType))
+                , savedPartialForm -> {
+                    if (mProfilePresenter instanceof MaternityProfileActivityContract.InteractorCallBack) {
+                        ((MaternityProfileActivityContract.InteractorCallBack) mProfilePresenter)
+                                .onFetchedSavedPartialForm(savedPartialForm, baseEntityId, entityTable);
+                    }
+                }, exception -> {
+                    if (mProfilePresenter instanceof MaternityProfileActivityContract.InteractorCallBack) {
+                        MaternityProfileActivityContract.InteractorCallBack interactorCallBack = (MaternityProfileActivityContract.InteractorCallBack) mProfilePresenter;
+                        if (exception instanceof MaternityPartialFormDroppedException) {
+                            interactorCallBack.onSavedPartialFormDropped(baseEntityId, entityTable);
+                        } else {
+                            interactorCallBack.onFetchedSavedPartialForm(null, baseEntityId, entityTable);
+                        }
+                    }
+                });
     }
 
     @Override
@@ -80,12 +91,17 @@ public class MaternityProfileInteractor implements MaternityProfileActivityContr
             }
         };
 
-        appExecutors.diskIO().execute(runnable);
+        appExecutors.diskIOWrite(MaternityTaskExecutor.Priority.INTERACTIVE).execute(runnable);
     }
 
     @Nullable
     @Override
     public CommonPersonObjectClient retrieveUpdatedClient(@NonNull String baseEntityId) {
+        return MaternityLibrary.getInstance().getMaternityProfileCache().getRegisterClient(baseEntityId, this::findRegisterClient);
+    }
+
+    @Nullable
+    private CommonPersonObjectClient findRegisterClient(@NonNull String baseEntityId) {
         MaternityRegisterQueryProviderContract queryProviderContract = ConfigurationInstancesHelper.newInstance(MaternityLibrary.getInstance().getMaternityConfiguration().getMaternityRegisterQueryProvider());
         String query = queryProviderContract.mainSelectWhereIDsIn();
 
@@ -142,6 +158,7 @@ public class MaternityProfileInteractor implements MaternityProfileActivityContr
             long lastSyncTimeStamp = MaternityLibrary.getInstance().context().allSharedPreferences().fetchLastUpdatedAtDate(0);
             Date lastSyncDate = new Date(lastSyncTimeStamp);
             MaternityLibrary.getInstance().getClientProcessorForJava().processClient(MaternityLibrary.getInstance().getEcSyncHelper().getEvents(currentFormSubmissionIds));
+            MaternityLibrary.getInstance().getMaternityProfileCache().invalidate(maternityEventClient.getEvent().getBaseEntityId());
             MaternityLibrary.getInstance().context().allSharedPreferences().saveLastUpdatedAtDate(lastSyncDate.getTime());
         } catch (Exception e) {
             Timber.e(e);
@@ -188,6 +205,7 @@ public class MaternityProfileInteractor implements MaternityProfileActivityContr
     @Override
     public void onDestroy(boolean isChangingConfiguration) {
         if (!isChangingConfiguration) {
+            disposables.clear();
             mProfilePresenter = null;
         }
     }
@@ -34,7 +34,7 @@ public class MaternityProfileVisitsFragmentInteractor implements MaternityProfil
 
     @Override
     public void fetchVisits(@NonNull final String baseEntityId, final int pageNo, @NonNull final MaternityProfileVisitsFragmentContract.Presenter.OnVisitsLoadedCallback onVisitsLoadedCallback) {
-        appExecutors.diskIO().execute(new Runnable() {
+        appExecutors.diskIORead().execute(new Runnable() {
             @Override
             public void run() {
                 /*final List<OpdVisitSummary> summaries = MaternityLibrary.getInstance().getOpdVisitSummaryRepository().getOpdVisitSummaries(baseEntityId, pageNo);
@@ -51,7 +51,7 @@ public class MaternityProfileVisitsFragmentInteractor implements MaternityProfil
 
     @Override
     public void fetchVisitsPageCount(@NonNull final String baseEntityId, @NonNull final OnFetchVisitsPageCountCallback onFetchVisitsPageCountCallback) {
-        appExecutors.diskIO().execute(new Runnable() {
+        appExecutors.diskIORead().execute(new Runnable() {
             @Override
             public void run() {
                 /*final int visitsPageCount = MaternityLibrary.getInstance().getOpdVisitSummaryRepository().getVisitPageCount(baseEntityId);
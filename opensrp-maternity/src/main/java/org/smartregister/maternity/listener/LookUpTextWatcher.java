@@ -7,26 +7,16 @@ import android.view.View;
 
 import com.vijay.jsonwizard.fragments.JsonFormFragment;
 
-import org.smartregister.commonregistry.CommonPersonObject;
-import org.smartregister.event.Listener;
-import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.fragment.BaseMaternityFormFragment;
-import org.smartregister.maternity.utils.MaternityLookUpUtils;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 public class LookUpTextWatcher implements TextWatcher {
 
-    private Map<String, String> lookUpFields;
     private final View editText;
     private final JsonFormFragment jsonFormFragment;
 
     public LookUpTextWatcher(@NonNull JsonFormFragment jsonFormFragment, @NonNull View editText) {
         this.jsonFormFragment = jsonFormFragment;
         this.editText = editText;
-        lookUpFields = new HashMap<>();
     }
 
     public void beforeTextChanged(CharSequence charSequence, int i, int i1, int i2) {
@@ -52,20 +42,9 @@ public class LookUpTextWatcher implements TextWatcher {
             return;
         }
 
-        if (lookUpFields.containsKey(key) && text.trim().isEmpty()) {
-            lookUpFields.remove(key);
-            return;
-        }
-
-        lookUpFields.put(key, text);
-
         if (jsonFormFragment instanceof BaseMaternityFormFragment) {
-            BaseMaternityFormFragment maternityFormFragment = (BaseMaternityFormFragment) jsonFormFragment;
-            Listener<List<CommonPersonObject>> listener = maternityFormFragment.lookUpListener();
-
-            MaternityLookUpUtils.lookUp(MaternityLibrary.getInstance().context(), lookUpFields, listener);
+            ((BaseMaternityFormFragment) jsonFormFragment).getLookUpHelper().onLookUpFieldChanged(key, text);
         }
-
     }
 
 }
\ No newline at end of file
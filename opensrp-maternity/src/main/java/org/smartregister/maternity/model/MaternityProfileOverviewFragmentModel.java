@@ -1,12 +1,18 @@
 package org.smartregister.maternity.model;
 
 import androidx.annotation.NonNull;
+import androidx.core.util.Pair;
 
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.contract.MaternityProfileOverviewFragmentContract;
-import org.smartregister.maternity.utils.AppExecutors;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+
+import io.reactivex.disposables.CompositeDisposable;
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -14,35 +20,50 @@ import java.util.HashMap;
 
 public class MaternityProfileOverviewFragmentModel implements MaternityProfileOverviewFragmentContract.Model {
 
-    private AppExecutors appExecutors;
     private HashMap<String, String> maternityDetails = null;
-
-    public MaternityProfileOverviewFragmentModel() {
-        this.appExecutors = MaternityLibrary.getInstance().getAppExecutors();
-    }
+    private final CompositeDisposable disposables = new CompositeDisposable();
 
     @Override
     public void fetchMaternityOverviewDetails(final @NonNull String baseEntityId, @NonNull final OnFetchedCallback onFetchedCallback) {
-        appExecutors.diskIO().execute(new Runnable() {
-
-            @Override
-            public void run() {
-                maternityDetails = new HashMap<>();
-                maternityDetails = MaternityLibrary.getInstance().getMaternityRegistrationDetailsRepository().findByBaseEntityId(baseEntityId);
+        MaternityLibrary.getInstance().getMaternityTaskRunner().execute(disposables, "overview-details:" + baseEntityId
+                , () -> readMaternityOverviewDetails(baseEntityId)
+                , overviewDetails -> {
+                    maternityDetails = overviewDetails;
+                    onFetchedCallback.onFetched(overviewDetails != null ? overviewDetails : new HashMap<>());
+                }
+                , exception -> onFetchedCallback.onFetched(new HashMap<>()));
+    }
 
-                HashMap<String, String> maternityMedicInfo = MaternityLibrary.getInstance().getMaternityDetailsRepository().findMedicInfoByBaseEntityId(baseEntityId);
-                if (maternityMedicInfo != null) {
-                    maternityDetails.putAll(maternityMedicInfo);
+    /**
+     * Loads of the same client that are queued at the same time are merged, so the rows are built once by the
+     * builder of the first load
+     */
+    @Override
+    public void fetchMaternityOverviewRows(@NonNull final String baseEntityId, @NonNull final OverviewRowsBuilder overviewRowsBuilder
+            , @NonNull final OnRowsFetchedCallback onRowsFetchedCallback) {
+        MaternityLibrary.getInstance().getMaternityTaskRunner().execute(disposables, "overview-rows:" + baseEntityId
+                , () -> {
+                    HashMap<String, String> overviewDetails = readMaternityOverviewDetails(baseEntityId);
+                    return Pair.create(overviewDetails, overviewRowsBuilder.buildOverviewRows(overviewDetails));
                 }
+                , overview -> {
+                    if (overview != null) {
+                        onRowsFetchedCallback.onRowsFetched(overview.first, overview.second);
+                    }
+                }
+                // The overview is displayed empty rather than loading forever
+                , exception -> onRowsFetchedCallback.onRowsFetched(new HashMap<>(), Collections.emptyList()));
+    }
 
-                appExecutors.mainThread().execute(new Runnable() {
+    @Override
+    public void onDestroy() {
+        disposables.clear();
+    }
 
-                    @Override
-                    public void run() {
-                        onFetchedCallback.onFetched(maternityDetails);
-                    }
-                });
-            }
-        });
+    @NonNull
+    private HashMap<String, String> readMaternityOverviewDetails(@NonNull String baseEntityId) {
+        MaternityProfileSnapshot profileSnapshot = MaternityLibrary.getInstance().getMaternityProfileCache()
+                .getProfileSnapshot(baseEntityId, MaternityLibrary.getInstance().getMaternityDetailsRepository()::findProfileSnapshot);
+        return profileSnapshot != null ? profileSnapshot.getOverviewDetails() : new HashMap<>();
     }
 }
@@ -3,9 +3,14 @@ package org.smartregister.maternity.pojo;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.apache.commons.lang3.StringUtils;
+import org.smartregister.maternity.utils.MaternityDateUtils;
+
 import java.util.Date;
 import java.util.HashMap;
 
+import timber.log.Timber;
+
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
  */
@@ -60,6 +65,49 @@ public class MaternityBaseDetails {
         return properties.get(property);
     }
 
+    /**
+     * @return whether the property was read, even when its value is {@code null}
+     */
+    public boolean has(@NonNull String property) {
+        return properties.containsKey(property);
+    }
+
+    /**
+     * @return the property as an integer or {@code null} if it is empty or not a number
+     */
+    @Nullable
+    public Integer getInteger(@NonNull String property) {
+        Long value = getLong(property);
+        return value != null && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? value.intValue() : null;
+    }
+
+    /**
+     * @return the property as a long or {@code null} if it is empty or not a number
+     */
+    @Nullable
+    public Long getLong(@NonNull String property) {
+        String value = properties.get(property);
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            Timber.e(e);
+            return null;
+        }
+    }
+
+    /**
+     * @param pattern the pattern of the date stored in the property
+     * @return the property as a date or {@code null} if it is empty or does not match the pattern
+     */
+    @Nullable
+    public Date getDate(@NonNull String property, @NonNull String pattern) {
+        return MaternityDateUtils.parseDate(pattern, properties.get(property));
+    }
+
     public String put(@NonNull String property, @Nullable String value) {
         return properties.put(property, value);
     }
@@ -0,0 +1,43 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of {@link MaternityChild} rows ordered by event date. The event date and row id of the last row are kept
+ * as the cursor from which the next page is read
+ */
+public class MaternityChildPage {
+
+    private final List<MaternityChild> maternityChildren;
+    private final String lastEventDate;
+    private final long lastRowId;
+    private final boolean hasNextPage;
+
+    public MaternityChildPage(@NonNull List<MaternityChild> maternityChildren, @Nullable String lastEventDate, long lastRowId, boolean hasNextPage) {
+        this.maternityChildren = maternityChildren;
+        this.lastEventDate = lastEventDate;
+        this.lastRowId = lastRowId;
+        this.hasNextPage = hasNextPage;
+    }
+
+    @NonNull
+    public List<MaternityChild> getMaternityChildren() {
+        return maternityChildren;
+    }
+
+    @Nullable
+    public String getLastEventDate() {
+        return lastEventDate;
+    }
+
+    public long getLastRowId() {
+        return lastRowId;
+    }
+
+    public boolean hasNextPage() {
+        return hasNextPage;
+    }
+}
@@ -0,0 +1,82 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The search phrase typed in the register search box split into terms and turned into an FTS MATCH expression.
+ * Each term is quoted and matched as a prefix, so that apostrophes, hyphens and FTS operators typed by the user are
+ * neither FTS syntax errors nor part of the SQL. The expression is meant to be bound as the argument of
+ * {@code MATCH ?}
+ */
+public final class MaternityFtsSearch {
+
+    private final String filters;
+    private final List<String> terms;
+    private final String matchExpression;
+
+    private MaternityFtsSearch(@Nullable String filters, @NonNull List<String> terms) {
+        this.filters = filters;
+        this.terms = Collections.unmodifiableList(terms);
+
+        StringBuilder expression = new StringBuilder();
+        for (String term : terms) {
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            expression.append('"').append(term).append("*\"");
+        }
+        this.matchExpression = expression.length() > 0 ? expression.toString() : null;
+    }
+
+    @NonNull
+    public static MaternityFtsSearch fromFilters(@Nullable String filters) {
+        List<String> terms = new ArrayList<>();
+        if (filters != null) {
+            int termStart = -1;
+            for (int i = 0; i <= filters.length(); i++) {
+                boolean termCharacter = i < filters.length() && Character.isLetterOrDigit(filters.charAt(i));
+                if (termCharacter && termStart == -1) {
+                    termStart = i;
+                } else if (!termCharacter && termStart != -1) {
+                    terms.add(filters.substring(termStart, i));
+                    termStart = -1;
+                }
+            }
+        }
+
+        return new MaternityFtsSearch(filters, terms);
+    }
+
+    /**
+     * @return the search phrase as typed
+     */
+    @Nullable
+    public String getFilters() {
+        return filters;
+    }
+
+    @NonNull
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    /**
+     * @return {@code true} if the phrase has no terms and the register should not be filtered
+     */
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    /**
+     * @return the MATCH expression such as {@code "jane*" "o*" "brien*"} or {@code null} if the phrase has no terms
+     */
+    @Nullable
+    public String getMatchExpression() {
+        return matchExpression;
+    }
+}
@@ -0,0 +1,129 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A row of the profile overview as it is displayed: the section headers are already formatted and the template is
+ * already filled, so binding the row only sets text and colours. A row has details when it was created from a
+ * YAML config item, in which case {@link #getTitle()} and {@link #getDetail()} are never {@code null}
+ */
+public final class MaternityProfileOverviewRow {
+
+    private final String key;
+    private final String sectionHeader;
+    private final String subSectionHeader;
+    private final String title;
+    private final String detail;
+    private final boolean redFont;
+
+    private MaternityProfileOverviewRow(@NonNull String key, @Nullable String sectionHeader, @Nullable String subSectionHeader
+            , @Nullable String title, @Nullable String detail, boolean redFont) {
+        this.key = key;
+        this.sectionHeader = sectionHeader;
+        this.subSectionHeader = subSectionHeader;
+        this.title = title;
+        this.detail = detail;
+        this.redFont = redFont;
+    }
+
+    @NonNull
+    public static MaternityProfileOverviewRow createHeaderRow(@Nullable String sectionHeader, @Nullable String subSectionHeader) {
+        return new MaternityProfileOverviewRow("header:" + sectionHeader + ":" + subSectionHeader
+                , sectionHeader, subSectionHeader, null, null, false);
+    }
+
+    /**
+     * @param section    the section of the config item
+     * @param subSection the sub-section of the config item
+     * @param template   the raw template of the config item, identifying the row across reloads together with its
+     *                   section and sub-section
+     * @param occurrence the number of config items before this one in the same sub-section with the same template,
+     *                   telling apart items that would otherwise have the same key
+     */
+    @NonNull
+    public static MaternityProfileOverviewRow createDetailRow(@Nullable String section, @Nullable String subSection
+            , @Nullable String template, int occurrence, @NonNull String title, @NonNull String detail, boolean redFont) {
+        String key = "detail:" + section + ":" + subSection + ":" + template + (occurrence > 0 ? ":" + occurrence : "");
+        return new MaternityProfileOverviewRow(key, null, null, title, detail, redFont);
+    }
+
+    /**
+     * @return a key identifying the row across reloads, used to tell moved or changed rows from new ones
+     */
+    @NonNull
+    public String getKey() {
+        return key;
+    }
+
+    @Nullable
+    public String getSectionHeader() {
+        return sectionHeader;
+    }
+
+    @Nullable
+    public String getSubSectionHeader() {
+        return subSectionHeader;
+    }
+
+    public boolean hasDetails() {
+        return title != null;
+    }
+
+    @Nullable
+    public String getTitle() {
+        return title;
+    }
+
+    @Nullable
+    public String getDetail() {
+        return detail;
+    }
+
+    public boolean isRedFont() {
+        return redFont;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof MaternityProfileOverviewRow)) {
+            return false;
+        }
+
+        MaternityProfileOverviewRow row = (MaternityProfileOverviewRow) object;
+        return redFont == row.redFont
+                && key.equals(row.key)
+                && equals(sectionHeader, row.sectionHeader)
+                && equals(subSectionHeader, row.subSectionHeader)
+                && equals(title, row.title)
+                && equals(detail, row.detail);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = key.hashCode();
+        result = 31 * result + hashCode(sectionHeader);
+        result = 31 * result + hashCode(subSectionHeader);
+        result = 31 * result + hashCode(title);
+        result = 31 * result + hashCode(detail);
+        return 31 * result + (redFont ? 1 : 0);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "MaternityProfileOverviewRow{" + key + ", title=" + title + ", detail=" + detail + ", redFont=" + redFont + "}";
+    }
+
+    private static boolean equals(@Nullable String first, @Nullable String second) {
+        return first == null ? second == null : first.equals(second);
+    }
+
+    private static int hashCode(@Nullable String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+}
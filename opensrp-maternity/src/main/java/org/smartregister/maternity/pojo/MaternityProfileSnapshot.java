@@ -0,0 +1,88 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The client, registration details and medic info rows of a maternity client read together in one query. A section
+ * is {@code null} when the client has no row in the respective table
+ */
+public final class MaternityProfileSnapshot {
+
+    private final String baseEntityId;
+    private final Map<String, String> client;
+    private final Map<String, String> registrationDetails;
+    private final Map<String, String> medicInfo;
+
+    public MaternityProfileSnapshot(@NonNull String baseEntityId, @Nullable Map<String, String> client
+            , @Nullable Map<String, String> registrationDetails, @Nullable Map<String, String> medicInfo) {
+        this.baseEntityId = baseEntityId;
+        this.client = unmodifiableCopy(client);
+        this.registrationDetails = unmodifiableCopy(registrationDetails);
+        this.medicInfo = unmodifiableCopy(medicInfo);
+    }
+
+    @NonNull
+    public String getBaseEntityId() {
+        return baseEntityId;
+    }
+
+    @Nullable
+    public Map<String, String> getClient() {
+        return client;
+    }
+
+    @Nullable
+    public Map<String, String> getRegistrationDetails() {
+        return registrationDetails;
+    }
+
+    @Nullable
+    public Map<String, String> getMedicInfo() {
+        return medicInfo;
+    }
+
+    /**
+     * @return the registration details overlaid with the medic info as shown on the profile overview
+     */
+    @NonNull
+    public HashMap<String, String> getOverviewDetails() {
+        HashMap<String, String> overviewDetails = new HashMap<>();
+        if (registrationDetails != null) {
+            overviewDetails.putAll(registrationDetails);
+        }
+
+        if (medicInfo != null) {
+            overviewDetails.putAll(medicInfo);
+        }
+
+        return overviewDetails;
+    }
+
+    /**
+     * @return the client details overlaid with the registration details as used to pre-fill the registration form
+     * or {@code null} if the client does not exist
+     */
+    @Nullable
+    public HashMap<String, String> getRegistrationFormDetails() {
+        if (client == null) {
+            return null;
+        }
+
+        HashMap<String, String> registrationFormDetails = new HashMap<>(client);
+        if (registrationDetails != null) {
+            registrationFormDetails.putAll(registrationDetails);
+        }
+
+        return registrationFormDetails;
+    }
+
+    @Nullable
+    private static Map<String, String> unmodifiableCopy(@Nullable Map<String, String> map) {
+        return map == null ? null : Collections.unmodifiableMap(new HashMap<>(map));
+    }
+}
@@ -0,0 +1,108 @@
+package org.smartregister.maternity.pojo;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows of a register page copied out of the database cursor, so that the page can be kept in memory and handed
+ * to the register adapter again as a cursor without querying the database. The token of the page after it is kept
+ * so that the next page can still be read by keyset pagination when the page comes from memory. The display values of
+ * the rows are kept with the page once computed, so that a prefetched page is displayed without computing them again
+ */
+public class MaternityRegisterPage {
+
+    private final String[] columnNames;
+    private final List<Object[]> rows;
+    private final MaternityRegisterPageToken nextPageToken;
+    private volatile Map<String, MaternityRegisterRow> registerRows;
+
+    public MaternityRegisterPage(@NonNull String[] columnNames, @NonNull List<Object[]> rows, @Nullable MaternityRegisterPageToken nextPageToken) {
+        this.columnNames = columnNames;
+        this.rows = Collections.unmodifiableList(rows);
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Copies the rows of the cursor from its first row, leaving the cursor after its last row
+     */
+    @NonNull
+    public static MaternityRegisterPage fromCursor(@NonNull Cursor cursor, @Nullable MaternityRegisterPageToken nextPageToken) {
+        String[] columnNames = cursor.getColumnNames();
+        List<Object[]> rows = new ArrayList<>(cursor.getCount());
+
+        cursor.moveToPosition(-1);
+        while (cursor.moveToNext()) {
+            Object[] row = new Object[columnNames.length];
+            for (int columnIndex = 0; columnIndex < columnNames.length; columnIndex++) {
+                row[columnIndex] = getValue(cursor, columnIndex);
+            }
+
+            rows.add(row);
+        }
+
+        return new MaternityRegisterPage(columnNames, rows, nextPageToken);
+    }
+
+    @Nullable
+    private static Object getValue(@NonNull Cursor cursor, int columnIndex) {
+        switch (cursor.getType(columnIndex)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(columnIndex);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(columnIndex);
+            case Cursor.FIELD_TYPE_BLOB:
+                return cursor.getBlob(columnIndex);
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            default:
+                return cursor.getString(columnIndex);
+        }
+    }
+
+    /**
+     * @return a new cursor over the rows of the page, which the caller should close
+     */
+    @NonNull
+    public Cursor toCursor() {
+        MatrixCursor cursor = new MatrixCursor(columnNames, rows.size());
+        for (Object[] row : rows) {
+            cursor.addRow(row);
+        }
+
+        return cursor;
+    }
+
+    @NonNull
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Nullable
+    public MaternityRegisterPageToken getNextPageToken() {
+        return nextPageToken;
+    }
+
+    /**
+     * @return the display values of the rows by case id or {@code null} if they have not been computed
+     */
+    @Nullable
+    public Map<String, MaternityRegisterRow> getRegisterRows() {
+        return registerRows;
+    }
+
+    public void setRegisterRows(@Nullable Map<String, MaternityRegisterRow> registerRows) {
+        this.registerRows = registerRows;
+    }
+}
@@ -0,0 +1,118 @@
+package org.smartregister.maternity.pojo;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.maternity.utils.MaternityDbConstants;
+
+/**
+ * The {@code last_interacted_with} and {@code object_id} of the last register row of a page. The next page starts
+ * right after this row in the register order so that it can be read without skipping the rows of earlier pages.
+ * <p>
+ * The values keep the type they are stored with in the search table since SQLite compares values of different types
+ * by type before value
+ */
+public final class MaternityRegisterPageToken {
+
+    private final Object lastInteractedWith;
+    private final Object objectId;
+
+    public MaternityRegisterPageToken(@Nullable Object lastInteractedWith, @NonNull Object objectId) {
+        this.lastInteractedWith = lastInteractedWith;
+        this.objectId = objectId;
+    }
+
+    /**
+     * Reads the token from the current row of a cursor having {@code last_interacted_with} and {@code object_id} columns
+     *
+     * @return the token or {@code null} if the cursor does not have the columns
+     */
+    @Nullable
+    public static MaternityRegisterPageToken fromCursor(@NonNull Cursor cursor) {
+        return fromCursor(cursor, MaternityDbConstants.KEY.LAST_INTERACTED_WITH, MaternityDbConstants.KEY.OBJECT_ID);
+    }
+
+    /**
+     * Reads the token from the current row of a cursor having the given columns
+     *
+     * @return the token or {@code null} if the cursor does not have the columns
+     */
+    @Nullable
+    public static MaternityRegisterPageToken fromCursor(@NonNull Cursor cursor, @NonNull String lastInteractedWithColumn
+            , @NonNull String objectIdColumn) {
+        int lastInteractedWithIndex = cursor.getColumnIndex(lastInteractedWithColumn);
+        int objectIdIndex = cursor.getColumnIndex(objectIdColumn);
+        if (lastInteractedWithIndex == -1 || objectIdIndex == -1) {
+            return null;
+        }
+
+        Object objectId = getValue(cursor, objectIdIndex);
+        return objectId == null ? null : new MaternityRegisterPageToken(getValue(cursor, lastInteractedWithIndex), objectId);
+    }
+
+    @Nullable
+    private static Object getValue(@NonNull Cursor cursor, int columnIndex) {
+        switch (cursor.getType(columnIndex)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(columnIndex);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(columnIndex);
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            default:
+                return cursor.getString(columnIndex);
+        }
+    }
+
+    @Nullable
+    public Object getLastInteractedWith() {
+        return lastInteractedWith;
+    }
+
+    @NonNull
+    public Object getObjectId() {
+        return objectId;
+    }
+
+    /**
+     * @return the value as an SQL literal of its type
+     */
+    @NonNull
+    public static String toSqlLiteral(@Nullable Object value) {
+        if (value == null) {
+            return "NULL";
+        } else if (value instanceof Number) {
+            return value.toString();
+        } else {
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof MaternityRegisterPageToken)) {
+            return false;
+        }
+
+        MaternityRegisterPageToken pageToken = (MaternityRegisterPageToken) object;
+        return objectId.equals(pageToken.objectId)
+                && (lastInteractedWith == null ? pageToken.lastInteractedWith == null : lastInteractedWith.equals(pageToken.lastInteractedWith));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * objectId.hashCode() + (lastInteractedWith == null ? 0 : lastInteractedWith.hashCode());
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "MaternityRegisterPageToken{" + lastInteractedWith + ", " + objectId + "}";
+    }
+}
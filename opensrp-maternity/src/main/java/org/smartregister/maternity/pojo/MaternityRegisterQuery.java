@@ -0,0 +1,36 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A register query with its bind arguments. The values typed by the user are only passed as bind arguments so that
+ * the SQL stays the same across keystrokes and pages, and can be reused from the statement cache
+ */
+public final class MaternityRegisterQuery {
+
+    private final String sql;
+    private final String[] args;
+
+    public MaternityRegisterQuery(@NonNull String sql, @NonNull String... args) {
+        this.sql = sql;
+        this.args = args.clone();
+    }
+
+    @NonNull
+    public String getSql() {
+        return sql;
+    }
+
+    @NonNull
+    public String[] getArgs() {
+        return args.clone();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return sql + " " + Arrays.toString(args);
+    }
+}
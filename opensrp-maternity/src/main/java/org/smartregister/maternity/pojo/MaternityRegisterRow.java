@@ -0,0 +1,64 @@
+package org.smartregister.maternity.pojo;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The display values of a register row, computed when the register page is read so that binding the row only
+ * assigns them to the row views
+ */
+public class MaternityRegisterRow {
+
+    /**
+     * The action shown on the due button of a register row
+     */
+    public enum DueButtonState {
+        /**
+         * The client has a saved form of another type and the due button is left as it is
+         */
+        NONE,
+        SAVED_REGISTRATION,
+        SAVED_OUTCOME,
+        COMPLETE_REGISTRATION,
+        OUTCOME
+    }
+
+    private final String patientName;
+    private final String age;
+    private final String ga;
+    private final String patientId;
+    private final DueButtonState dueButtonState;
+
+    public MaternityRegisterRow(@NonNull String patientName, @NonNull String age, @NonNull String ga
+            , @NonNull String patientId, @NonNull DueButtonState dueButtonState) {
+        this.patientName = patientName;
+        this.age = age;
+        this.ga = ga;
+        this.patientId = patientId;
+        this.dueButtonState = dueButtonState;
+    }
+
+    @NonNull
+    public String getPatientName() {
+        return patientName;
+    }
+
+    @NonNull
+    public String getAge() {
+        return age;
+    }
+
+    @NonNull
+    public String getGa() {
+        return ga;
+    }
+
+    @NonNull
+    public String getPatientId() {
+        return patientId;
+    }
+
+    @NonNull
+    public DueButtonState getDueButtonState() {
+        return dueButtonState;
+    }
+}
@@ -14,6 +14,7 @@ import org.json.JSONObject;
 import org.smartregister.clientandeventmodel.Event;
 import org.smartregister.domain.FetchStatus;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.R;
 import org.smartregister.maternity.contract.MaternityRegisterActivityContract;
 import org.smartregister.maternity.interactor.BaseMaternityRegisterActivityInteractor;
 import org.smartregister.maternity.pojo.MaternityPartialForm;
@@ -66,6 +67,10 @@ public abstract class BaseMaternityRegisterActivityPresenter implements Maternit
     @Override
     public void onDestroy(boolean isChangingConfiguration) {
         viewReference = null;//set to null on destroy\
+        if (interactor != null) {
+            interactor.onDestroy(isChangingConfiguration);
+        }
+
         if (!isChangingConfiguration) {
             model = null;
         }
@@ -192,6 +197,15 @@ public abstract class BaseMaternityRegisterActivityPresenter implements Maternit
         }
     }
 
+    @Override
+    public void onSavedPartialFormDropped(@NonNull String caseId, @Nullable String entityTable) {
+        if (getView() != null) {
+            getView().displayToast(R.string.maternity_partial_form_dropped);
+        }
+
+        startFormActivity(caseId, entityTable, form);
+    }
+
     private void startFormActivity(@NonNull String entityId, @Nullable String entityTable, @Nullable JSONObject form) {
         if (getView() != null && form != null) {
             HashMap<String, String> intentKeys = new HashMap<>();
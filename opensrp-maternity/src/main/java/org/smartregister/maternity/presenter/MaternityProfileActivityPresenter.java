@@ -121,6 +121,16 @@ public class MaternityProfileActivityPresenter implements MaternityProfileActivi
         }
     }
 
+    @Override
+    public void onSavedPartialFormDropped(@NonNull String caseId, @NonNull String entityTable) {
+        MaternityProfileActivityContract.View view = getProfileView();
+        if (view != null) {
+            view.showMessage(view.getString(R.string.maternity_partial_form_dropped));
+        }
+
+        startFormActivity(form, caseId, entityTable);
+    }
+
     @Override
     public void startFormActivity(@Nullable JSONObject form, @NonNull String caseId, @NonNull String entityTable) {
         if (getProfileView() != null && form != null) {
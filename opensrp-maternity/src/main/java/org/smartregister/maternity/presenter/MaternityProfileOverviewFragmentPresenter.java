@@ -13,13 +13,16 @@ import org.smartregister.maternity.domain.YamlConfig;
 import org.smartregister.maternity.domain.YamlConfigItem;
 import org.smartregister.maternity.domain.YamlConfigWrapper;
 import org.smartregister.maternity.model.MaternityProfileOverviewFragmentModel;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
 import org.smartregister.maternity.utils.FilePath;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityFactsUtil;
+import org.smartregister.maternity.utils.MaternityUtils;
 
 import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,14 +47,117 @@ public class MaternityProfileOverviewFragmentPresenter implements MaternityProfi
     public void loadOverviewFacts(@NonNull String baseEntityId, @NonNull final OnFinishedCallback onFinishedCallback) {
         model.fetchMaternityOverviewDetails(baseEntityId, maternityDetails -> {
             loadOverviewDataAndDisplay(maternityDetails, onFinishedCallback);
+            updateClientMap(maternityDetails);
+        });
+    }
+
+    @Override
+    public void loadOverviewRows(@NonNull String baseEntityId, @NonNull final OnOverviewRowsLoadedCallback onOverviewRowsLoadedCallback) {
+        // The rows are built on a background thread, where the fragment may already be detached
+        final String unknownHivStatus = getString(R.string.unknown);
+        model.fetchMaternityOverviewRows(baseEntityId, maternityDetails -> buildOverviewRows(maternityDetails, unknownHivStatus)
+                , (maternityDetails, overviewRows) -> {
+                    updateClientMap(maternityDetails);
+                    onOverviewRowsLoadedCallback.onOverviewRowsLoaded(overviewRows);
+                });
+    }
+
+    @Override
+    public void onDestroy(boolean isChangingConfiguration) {
+        model.onDestroy();
+    }
+
+    private void updateClientMap(@NonNull HashMap<String, String> maternityDetails) {
+        MaternityProfileOverviewFragmentContract.View profileView = getProfileView();
+        CommonPersonObjectClient commonPersonObjectClient = profileView != null ? profileView.getActivityClientMap() : null;
+        if (commonPersonObjectClient != null) {
+            commonPersonObjectClient.getColumnmaps().putAll(maternityDetails);
+            commonPersonObjectClient.getDetails().putAll(maternityDetails);
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<MaternityProfileOverviewRow> buildOverviewRows(@NonNull HashMap<String, String> maternityDetails
+            , @Nullable String unknownHivStatus) {
+        List<YamlConfigWrapper> yamlConfigListGlobal = new ArrayList<>();
+        Facts facts = new Facts();
+        setDataFromRegistration(maternityDetails, facts, unknownHivStatus);
+
+        try {
+            generateYamlConfigList(facts, yamlConfigListGlobal);
+        } catch (IOException ioException) {
+            Timber.e(ioException);
+        }
 
-            // Update the client map
-            CommonPersonObjectClient commonPersonObjectClient = getProfileView().getActivityClientMap();
-            if (commonPersonObjectClient != null) {
-                commonPersonObjectClient.getColumnmaps().putAll(maternityDetails);
-                commonPersonObjectClient.getDetails().putAll(maternityDetails);
+        return createOverviewRows(yamlConfigListGlobal, facts);
+    }
+
+    /**
+     * Creates the rows displayed for the config items. Detail rows are keyed by their section, sub-section and
+     * template so that a row keeps its key when the rows before it change
+     */
+    @NonNull
+    public static List<MaternityProfileOverviewRow> createOverviewRows(@NonNull List<YamlConfigWrapper> yamlConfigWrappers
+            , @NonNull Facts facts) {
+        List<MaternityProfileOverviewRow> overviewRows = new ArrayList<>(yamlConfigWrappers.size());
+        HashMap<String, Integer> templateOccurrences = new HashMap<>();
+        String section = null;
+        String subSection = null;
+
+        for (YamlConfigWrapper yamlConfigWrapper : yamlConfigWrappers) {
+            YamlConfigItem yamlConfigItem = yamlConfigWrapper.getYamlConfigItem();
+            if (yamlConfigItem == null) {
+                if (yamlConfigWrapper.getGroup() != null) {
+                    section = yamlConfigWrapper.getGroup();
+                    subSection = null;
+                } else {
+                    subSection = yamlConfigWrapper.getSubGroup();
+                }
+
+                overviewRows.add(MaternityProfileOverviewRow.createHeaderRow(processUnderscores(yamlConfigWrapper.getGroup())
+                        , processUnderscores(yamlConfigWrapper.getSubGroup())));
+            } else {
+                String templateKey = section + ":" + subSection + ":" + yamlConfigItem.getTemplate();
+                Integer occurrence = templateOccurrences.get(templateKey);
+                occurrence = occurrence == null ? 0 : occurrence + 1;
+                templateOccurrences.put(templateKey, occurrence);
+
+                overviewRows.add(createDetailRow(section, subSection, occurrence, yamlConfigItem, facts));
             }
-        });
+        }
+
+        return Collections.unmodifiableList(overviewRows);
+    }
+
+    @NonNull
+    private static MaternityProfileOverviewRow createDetailRow(@Nullable String section, @Nullable String subSection, int occurrence
+            , @NonNull YamlConfigItem yamlConfigItem, @NonNull Facts facts) {
+        String title = "";
+        String detail = "";
+        String template = yamlConfigItem.getTemplate();
+        if (template != null) {
+            title = yamlConfigItem.getTemplateTitle();
+            String templateDetail = yamlConfigItem.getTemplateDetail();
+            if (title == null) {
+                String[] splitTemplate = YamlConfigItem.splitTemplate(template);
+                title = splitTemplate[0];
+                templateDetail = splitTemplate[1];
+            }
+
+            detail = MaternityUtils.fillTemplate(templateDetail, facts);
+        }
+
+        String isRedFont = yamlConfigItem.getIsRedFont();
+        boolean redFont = isRedFont != null && MaternityLibrary.getInstance().getMaternityRulesEngineHelper()
+                .getRelevance(facts, isRedFont);
+
+        return MaternityProfileOverviewRow.createDetailRow(section, subSection, template, occurrence, title, detail, redFont);
+    }
+
+    @Nullable
+    private static String processUnderscores(@Nullable String string) {
+        return StringUtils.isNotBlank(string) ? string.replace("_", " ").toUpperCase() : null;
     }
 
     @Override
@@ -70,13 +176,12 @@ public class MaternityProfileOverviewFragmentPresenter implements MaternityProfi
     }
 
     private void generateYamlConfigList(@NonNull Facts facts, @NonNull List<YamlConfigWrapper> yamlConfigListGlobal) throws IOException {
-        Iterable<Object> ruleObjects = loadFile(FilePath.FILE.MATERNITY_PROFILE_OVERVIEW);
+        List<YamlConfig> yamlConfigs = loadFile(FilePath.FILE.MATERNITY_PROFILE_OVERVIEW);
 
-        for (Object ruleObject : ruleObjects) {
+        for (YamlConfig yamlConfig : yamlConfigs) {
             List<YamlConfigWrapper> yamlConfigList = new ArrayList<>();
             int valueCount = 0;
 
-            YamlConfig yamlConfig = (YamlConfig) ruleObject;
             if (yamlConfig.getGroup() != null) {
                 yamlConfigList.add(new YamlConfigWrapper(yamlConfig.getGroup(), null, null));
             }
@@ -107,18 +212,23 @@ public class MaternityProfileOverviewFragmentPresenter implements MaternityProfi
 
     @Override
     public void setDataFromRegistration(@NonNull HashMap<String, String> maternityDetails, @NonNull Facts facts) {
+        setDataFromRegistration(maternityDetails, facts, getString(R.string.unknown));
+    }
+
+    private void setDataFromRegistration(@NonNull HashMap<String, String> maternityDetails, @NonNull Facts facts
+            , @Nullable String unknownHivStatus) {
         for (Map.Entry<String, String> entry : maternityDetails.entrySet()) {
             String value = entry.getValue();
             MaternityFactsUtil.putNonNullFact(facts, entry.getKey(), StringUtils.isBlank(value) ? "" : value.replaceAll("\"", ""));
         }
 
         String currentHivStatus = maternityDetails.get("hiv_status_current");
-        String hivStatus = currentHivStatus == null ? getString(R.string.unknown) : currentHivStatus;
+        String hivStatus = currentHivStatus == null ? unknownHivStatus : currentHivStatus;
         MaternityFactsUtil.putNonNullFact(facts, MaternityConstants.FactKey.ProfileOverview.HIV_STATUS, hivStatus);
     }
 
-    private Iterable<Object> loadFile(@NonNull String filename) throws IOException {
-        return MaternityLibrary.getInstance().readYaml(filename);
+    private List<YamlConfig> loadFile(@NonNull String filename) throws IOException {
+        return MaternityLibrary.getInstance().getMaternityYamlConfigRegistry().getYamlConfigs(filename);
     }
 
     public void setClient(@NonNull CommonPersonObjectClient client) {
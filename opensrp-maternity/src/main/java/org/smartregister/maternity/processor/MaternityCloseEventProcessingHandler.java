@@ -0,0 +1,28 @@
+package org.smartregister.maternity.processor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.domain.Event;
+import org.smartregister.domain.db.EventClient;
+import org.smartregister.domain.jsonmapping.ClientClassification;
+import org.smartregister.maternity.configuration.MaternityEventProcessingHandler;
+import org.smartregister.maternity.exception.MaternityCloseEventProcessException;
+import org.smartregister.maternity.utils.MaternityConstants;
+
+import java.util.List;
+
+public class MaternityCloseEventProcessingHandler implements MaternityEventProcessingHandler {
+
+    @Override
+    public void processEventClient(@NonNull MaternityMiniClientProcessorForJava clientProcessor, @NonNull EventClient eventClient
+            , @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) throws Exception {
+        Event event = eventClient.getEvent();
+        if (eventClient.getClient() == null) {
+            throw new MaternityCloseEventProcessException(String.format("Client %s referenced by %s event does not exist", event.getBaseEntityId(), MaternityConstants.EventType.MATERNITY_CLOSE));
+        }
+
+        clientProcessor.processEvent(event, eventClient.getClient(), clientClassification);
+        unsyncEvents.add(event);
+    }
+}
@@ -0,0 +1,22 @@
+package org.smartregister.maternity.processor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.domain.Event;
+import org.smartregister.domain.db.EventClient;
+import org.smartregister.domain.jsonmapping.ClientClassification;
+import org.smartregister.maternity.configuration.MaternityEventProcessingHandler;
+
+import java.util.List;
+
+public class MaternityDeathEventProcessingHandler implements MaternityEventProcessingHandler {
+
+    @Override
+    public void processEventClient(@NonNull MaternityMiniClientProcessorForJava clientProcessor, @NonNull EventClient eventClient
+            , @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) throws Exception {
+        clientProcessor.processDeathEvent(eventClient);
+        clientProcessor.processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
+        unsyncEvents.add(eventClient.getEvent());
+    }
+}
@@ -0,0 +1,107 @@
+package org.smartregister.maternity.processor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import android.text.TextUtils;
+
+import org.smartregister.domain.Event;
+import org.smartregister.domain.Obs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extracts the values of a fixed set of form submission fields from the obs of an event. The first human readable
+ * value of an obs is used, or its first value when it has none, and the last obs of a field wins unless values are
+ * appended on a new line. The obs are walked from the last to the first so that, when values are not appended, the walk
+ * stops as soon as all the requested fields have been found.
+ * <p>
+ * The buffers are reused across calls to {@link #extract(Event)} which makes an instance unsafe to share across threads
+ */
+public class MaternityEventObsExtractor {
+
+    private final Set<String> fields;
+    private final boolean appendOnNewline;
+    private final HashMap<String, String> values;
+    private final StringBuilder valueBuilder = new StringBuilder();
+
+    public MaternityEventObsExtractor(boolean appendOnNewline, @NonNull String... fields) {
+        this.appendOnNewline = appendOnNewline;
+        this.fields = new HashSet<>(Arrays.asList(fields));
+        this.values = new HashMap<>(fields.length * 2);
+    }
+
+    /**
+     * Extracts the values of the requested fields from the event. The values of the previous event are cleared
+     *
+     * @param event the event whose obs should be read
+     * @return this extractor so that the values can be read using {@link #get(String)}
+     */
+    @NonNull
+    public MaternityEventObsExtractor extract(@NonNull Event event) {
+        values.clear();
+
+        List<Obs> obs = event.getObs();
+        if (obs == null) {
+            return this;
+        }
+
+        for (int i = obs.size() - 1; i >= 0; i--) {
+            Obs observation = obs.get(i);
+            String key = observation.getFormSubmissionField();
+            if (!fields.contains(key)) {
+                continue;
+            }
+
+            String value = getObsValue(observation);
+            if (value != null) {
+                putValue(key, value);
+
+                if (!appendOnNewline && values.size() == fields.size()) {
+                    break;
+                }
+            }
+        }
+
+        return this;
+    }
+
+    @Nullable
+    public String get(@NonNull String field) {
+        return values.get(field);
+    }
+
+    private void putValue(@NonNull String key, @NonNull String value) {
+        String currentValue = values.get(key);
+        if (currentValue == null) {
+            values.put(key, value);
+        } else if (appendOnNewline) {
+            // The obs are read in reverse so the current value belongs to a later obs and stays in front
+            valueBuilder.setLength(0);
+            values.put(key, valueBuilder.append(currentValue).append('\n').append(value).toString());
+        }
+    }
+
+    @Nullable
+    private String getObsValue(@NonNull Obs observation) {
+        String value = getFirstValue(observation.getHumanReadableValues());
+        return value != null ? value : getFirstValue(observation.getValues());
+    }
+
+    @Nullable
+    private String getFirstValue(@Nullable List<Object> obsValues) {
+        if (obsValues != null && obsValues.size() > 0) {
+            String value = (String) obsValues.get(0);
+            value = value != null ? value.trim() : value;
+
+            if (!TextUtils.isEmpty(value)) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+}
@@ -2,33 +2,39 @@ package org.smartregister.maternity.processor;
 
 import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import android.text.TextUtils;
+
+import net.sqlcipher.database.SQLiteDatabase;
 
 import org.apache.commons.lang3.StringUtils;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.smartregister.CoreLibrary;
 import org.smartregister.commonregistry.AllCommonsRepository;
 import org.smartregister.domain.Event;
 import org.smartregister.domain.db.EventClient;
-import org.smartregister.domain.Obs;
 import org.smartregister.domain.jsonmapping.ClientClassification;
 import org.smartregister.maternity.MaternityLibrary;
-import org.smartregister.maternity.exception.MaternityCloseEventProcessException;
+import org.smartregister.maternity.configuration.MaternityEventProcessingHandler;
+import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
+import org.smartregister.maternity.helper.MaternityProfileCache;
+import org.smartregister.maternity.helper.MaternityRegisterCountCache;
 import org.smartregister.maternity.pojo.MaternityChild;
+import org.smartregister.maternity.utils.ConfigurationInstancesHelper;
+import org.smartregister.maternity.utils.MaternityChildJsonReader;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.sync.ClientProcessorForJava;
 import org.smartregister.sync.MiniClientProcessorForJava;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import timber.log.Timber;
 
@@ -38,73 +44,230 @@ import timber.log.Timber;
 
 public class MaternityMiniClientProcessorForJava extends ClientProcessorForJava implements MiniClientProcessorForJava {
 
-    private HashSet<String> eventTypes = null;
+    /**
+     * Event types which can add clients to or remove clients from the register
+     */
+    private static final HashSet<String> REGISTER_COUNT_EVENT_TYPES = new HashSet<>(Arrays.asList(
+            MaternityConstants.EventType.MATERNITY_REGISTRATION,
+            MaternityConstants.EventType.UPDATE_MATERNITY_REGISTRATION,
+            MaternityConstants.EventType.MATERNITY_CLOSE,
+            MaternityConstants.EventType.DEATH));
+
+    /**
+     * Event types which can change the names or OpenSRP ID of clients in the search index
+     */
+    private static final HashSet<String> SEARCH_INDEX_EVENT_TYPES = new HashSet<>(Arrays.asList(
+            MaternityConstants.EventType.MATERNITY_REGISTRATION,
+            MaternityConstants.EventType.UPDATE_MATERNITY_REGISTRATION));
+
+    private HashMap<String, MaternityEventProcessingHandler> eventProcessingHandlers = null;
+    private MaternityRegisterQueryProviderContract maternityRegisterQueryProvider = null;
+
+    private final MaternityEventObsExtractor outcomeObsExtractor = new MaternityEventObsExtractor(false
+            , MaternityConstants.JSON_FORM_KEY.BABIES_STILL_BORN_MAP, MaternityConstants.JSON_FORM_KEY.BABIES_BORN_MAP);
+
+    private final MaternityEventObsExtractor deathObsExtractor = new MaternityEventObsExtractor(true
+            , MaternityConstants.JSON_FORM_KEY.DATE_OF_DEATH);
 
     public MaternityMiniClientProcessorForJava(Context context) {
         super(context);
     }
 
+    /**
+     * Returns the event types registered through
+     * {@link org.smartregister.maternity.configuration.MaternityConfiguration.Builder#addMaternityEventProcessingHandler(String, Class)}
+     * together with the default maternity event types. {@link MaternityLibrary} should be initialised before this is called
+     *
+     * @return the event types processed by this processor
+     */
     @NonNull
     @Override
     public HashSet<String> getEventTypes() {
-        if (eventTypes == null) {
-            eventTypes = new HashSet<>();
-            eventTypes.add(MaternityConstants.EventType.MATERNITY_REGISTRATION);
-            eventTypes.add(MaternityConstants.EventType.UPDATE_MATERNITY_REGISTRATION);
-            eventTypes.add(MaternityConstants.EventType.MATERNITY_OUTCOME);
-            eventTypes.add(MaternityConstants.EventType.MATERNITY_MEDIC_INFO);
-            eventTypes.add(MaternityConstants.EventType.MATERNITY_CLOSE);
-            eventTypes.add(MaternityConstants.EventType.DEATH);
+        return new HashSet<>(getEventProcessingHandlers().keySet());
+    }
+
+    @NonNull
+    protected HashMap<String, MaternityEventProcessingHandler> getEventProcessingHandlers() {
+        if (eventProcessingHandlers == null) {
+            HashMap<Class<? extends MaternityEventProcessingHandler>, MaternityEventProcessingHandler> handlerInstances = new HashMap<>();
+            eventProcessingHandlers = new HashMap<>();
+
+            for (Map.Entry<String, Class<? extends MaternityEventProcessingHandler>> handlerEntry :
+                    MaternityLibrary.getInstance().getMaternityConfiguration().getMaternityEventProcessingHandlers().entrySet()) {
+                MaternityEventProcessingHandler handler = handlerInstances.get(handlerEntry.getValue());
+                if (handler == null) {
+                    handler = ConfigurationInstancesHelper.newInstance(handlerEntry.getValue());
+                    handlerInstances.put(handlerEntry.getValue(), handler);
+                }
+
+                eventProcessingHandlers.put(handlerEntry.getKey(), handler);
+            }
         }
 
-        return eventTypes;
+        return eventProcessingHandlers;
     }
 
     @Override
     public boolean canProcess(@NonNull String eventType) {
-        return getEventTypes().contains(eventType);
+        return getEventProcessingHandlers().containsKey(eventType);
     }
 
     @Override
     public void processEventClient(@NonNull EventClient eventClient, @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) throws Exception {
-        Event event = eventClient.getEvent();
+        RegisterCountChange registerCountChange = new RegisterCountChange();
+        if (processEventClientContent(eventClient, unsyncEvents, clientClassification, registerCountChange)) {
+            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
+            MaternityLibrary.getInstance().getMaternityProfileCache().invalidate(eventClient.getEvent().getBaseEntityId());
+            registerCountChange.applyTo(MaternityLibrary.getInstance().getMaternityRegisterCountCache());
+            MaternityLibrary.getInstance().getMaternityRegisterPageCache().invalidate();
+        }
+    }
 
-        String eventType = event.getEventType();
+    /**
+     * Processes a list of events in batch mode. The events are processed in the order they are given, so that the
+     * events of each client are applied in the order they were recorded, and are committed in chunks of
+     * {@link org.smartregister.maternity.configuration.MaternityConfiguration#getEventProcessingBatchSize()}
+     * events per transaction. Events in a chunk are marked as processed with a single bulk UPDATE. If any
+     * event in a chunk fails, the chunk is rolled back and its events are processed individually so that
+     * one bad event does not block the rest of the chunk. Events whose type is not handled by this processor
+     * are skipped and logged.
+     * <p>
+     * Client processors of host apps should pass the runs of maternity events they receive during sync to this
+     * method instead of {@link #processEventClient(EventClient, List, ClientClassification)}
+     *
+     * @param eventClients         the events to process
+     * @param unsyncEvents         list to which close & death events are added for un-syncing
+     * @param clientClassification the client classification used to process the events
+     */
+    public void processEventClients(@NonNull List<EventClient> eventClients, @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) {
+        int batchSize = Math.max(1, MaternityLibrary.getInstance().getMaternityConfiguration().getEventProcessingBatchSize());
 
-        if (eventType.equals(MaternityConstants.EventType.MATERNITY_REGISTRATION)
-                || eventType.equals(MaternityConstants.EventType.UPDATE_MATERNITY_REGISTRATION)) {
-            processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
-            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
-        } else if (eventType.equals(MaternityConstants.EventType.MATERNITY_CLOSE)) {
-            if (eventClient.getClient() == null) {
-                throw new MaternityCloseEventProcessException(String.format("Client %s referenced by %s event does not exist", event.getBaseEntityId(), MaternityConstants.EventType.MATERNITY_CLOSE));
+        List<EventClient> processableEventClients = new ArrayList<>();
+        for (EventClient eventClient : eventClients) {
+            String eventType = eventClient.getEvent().getEventType();
+            if (canProcess(eventType)) {
+                processableEventClients.add(eventClient);
+            } else {
+                Timber.w("Skipping event %s of type %s which has no maternity event processing handler"
+                        , eventClient.getEvent().getFormSubmissionId(), eventType);
             }
-            processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
-            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
-            unsyncEvents.add(event);
-        } else if (eventType.equals(MaternityConstants.EventType.MATERNITY_MEDIC_INFO)) {
-            processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
-            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
-        } else if (eventType.equals(MaternityConstants.EventType.MATERNITY_OUTCOME)) {
-            processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
-            processMaternityOutcome(eventClient);
-            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
-        } else if (eventType.equals(MaternityConstants.EventType.DEATH)) {
-            processDeathEvent(eventClient);
-            processEvent(eventClient.getEvent(), eventClient.getClient(), clientClassification);
-            CoreLibrary.getInstance().context().getEventClientRepository().markEventAsProcessed(eventClient.getEvent().getFormSubmissionId());
-            unsyncEvents.add(event);
+        }
+
+        for (int start = 0; start < processableEventClients.size(); start += batchSize) {
+            processEventClientChunk(processableEventClients.subList(start, Math.min(start + batchSize, processableEventClients.size()))
+                    , unsyncEvents, clientClassification);
         }
     }
 
-    private void processDeathEvent(@NonNull EventClient eventClient) {
+    private void processEventClientChunk(@NonNull List<EventClient> eventClients, @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) {
+        SQLiteDatabase database = MaternityLibrary.getInstance().getRepository().getWritableDatabase();
+        List<String> processedFormSubmissionIds = new ArrayList<>();
+        List<Event> chunkUnsyncEvents = new ArrayList<>();
+        RegisterCountChange registerCountChange = new RegisterCountChange();
+        boolean committed = false;
+
+        database.beginTransaction();
+        try {
+            for (EventClient eventClient : eventClients) {
+                if (processEventClientContent(eventClient, chunkUnsyncEvents, clientClassification, registerCountChange)) {
+                    processedFormSubmissionIds.add(eventClient.getEvent().getFormSubmissionId());
+                }
+            }
+
+            MaternityLibrary.getInstance().getMaternityRepository().markEventsAsProcessed(processedFormSubmissionIds);
+            database.setTransactionSuccessful();
+            committed = true;
+        } catch (Exception e) {
+            Timber.e(e, "Could not process a batch of %d events, processing them one at a time", eventClients.size());
+        } finally {
+            database.endTransaction();
+        }
+
+        if (committed) {
+            unsyncEvents.addAll(chunkUnsyncEvents);
+
+            MaternityProfileCache maternityProfileCache = MaternityLibrary.getInstance().getMaternityProfileCache();
+            for (EventClient eventClient : eventClients) {
+                maternityProfileCache.invalidate(eventClient.getEvent().getBaseEntityId());
+            }
+
+            registerCountChange.applyTo(MaternityLibrary.getInstance().getMaternityRegisterCountCache());
+            MaternityLibrary.getInstance().getMaternityRegisterPageCache().invalidate();
+        } else {
+            for (EventClient eventClient : eventClients) {
+                try {
+                    processEventClient(eventClient, unsyncEvents, clientClassification);
+                } catch (Exception e) {
+                    Timber.e(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes the event without marking it as processed. The change in the register count is added to
+     * {@code registerCountChange} and should only be applied once the processing is committed
+     *
+     * @return {@code true} if the event type is handled by this processor, {@code false} otherwise
+     */
+    private boolean processEventClientContent(@NonNull EventClient eventClient, @NonNull List<Event> unsyncEvents
+            , @Nullable ClientClassification clientClassification, @NonNull RegisterCountChange registerCountChange) throws Exception {
         Event event = eventClient.getEvent();
-        String entityId = event.getBaseEntityId();
+        MaternityEventProcessingHandler handler = getEventProcessingHandlers().get(event.getEventType());
+        if (handler == null) {
+            return false;
+        }
 
-        HashMap<String, String> keyValues = new HashMap<>();
-        generateKeyValuesFromEvent(event, keyValues, true);
+        boolean changesRegisterCount = REGISTER_COUNT_EVENT_TYPES.contains(event.getEventType());
+        Boolean wasRegisterClient = changesRegisterCount ? isRegisterClient(event.getBaseEntityId()) : null;
 
-        String encounterDateField = keyValues.get(MaternityConstants.JSON_FORM_KEY.DATE_OF_DEATH);
+        handler.processEventClient(this, eventClient, unsyncEvents, clientClassification);
+
+        if (changesRegisterCount) {
+            registerCountChange.add(wasRegisterClient, isRegisterClient(event.getBaseEntityId()));
+        }
+
+        if (SEARCH_INDEX_EVENT_TYPES.contains(event.getEventType())) {
+            MaternityLibrary.getInstance().getMaternitySearchIndexRepository()
+                    .indexClient(MaternityLibrary.getInstance().getRepository().getWritableDatabase(), event.getBaseEntityId());
+        }
+
+        return true;
+    }
+
+    /**
+     * @return whether the client is counted in the register or {@code null} if the query provider cannot tell
+     */
+    @Nullable
+    private Boolean isRegisterClient(@Nullable String baseEntityId) {
+        if (StringUtils.isBlank(baseEntityId)) {
+            return null;
+        }
+
+        if (maternityRegisterQueryProvider == null) {
+            maternityRegisterQueryProvider = ConfigurationInstancesHelper.newInstance(MaternityLibrary.getInstance()
+                    .getMaternityConfiguration().getMaternityRegisterQueryProvider());
+        }
+
+        String sql = maternityRegisterQueryProvider.getRegisterClientQuery(baseEntityId);
+        if (sql == null) {
+            return null;
+        }
+
+        // The writable database is used to read the changes of the current transaction
+        try (Cursor cursor = MaternityLibrary.getInstance().getRepository().getWritableDatabase().rawQuery(sql, (String[]) null)) {
+            return cursor != null && cursor.moveToFirst();
+        } catch (RuntimeException e) {
+            Timber.e(e);
+            return null;
+        }
+    }
+
+    protected void processDeathEvent(@NonNull EventClient eventClient) {
+        Event event = eventClient.getEvent();
+        String entityId = event.getBaseEntityId();
+
+        String encounterDateField = deathObsExtractor.extract(event).get(MaternityConstants.JSON_FORM_KEY.DATE_OF_DEATH);
 
         ContentValues values = new ContentValues();
         values.put(MaternityConstants.KEY.DOD, encounterDateField);
@@ -118,49 +281,29 @@ public class MaternityMiniClientProcessorForJava extends ClientProcessorForJava
         }
     }
 
-    private void processMaternityOutcome(@NonNull EventClient eventClient) {
+    protected void processMaternityOutcome(@NonNull EventClient eventClient) {
         Event event = eventClient.getEvent();
-        HashMap<String, String> keyValues = new HashMap<>();
-        generateKeyValuesFromEvent(event, keyValues);
-        String strStillBorn = keyValues.get(MaternityConstants.JSON_FORM_KEY.BABIES_STILL_BORN_MAP);
+        outcomeObsExtractor.extract(event);
+        String strStillBorn = outcomeObsExtractor.get(MaternityConstants.JSON_FORM_KEY.BABIES_STILL_BORN_MAP);
+        String strBabiesBorn = outcomeObsExtractor.get(MaternityConstants.JSON_FORM_KEY.BABIES_BORN_MAP);
         processStillBorn(strStillBorn, event);
-        String strBabiesBorn = keyValues.get(MaternityConstants.JSON_FORM_KEY.BABIES_BORN_MAP);
         processBabiesBorn(strBabiesBorn, event);
     }
 
     private void processBabiesBorn(@Nullable String strBabiesBorn, @NonNull Event event) {
         if (StringUtils.isNotBlank(strBabiesBorn)) {
             try {
-                JSONObject jsonObject = new JSONObject(strBabiesBorn);
-                Iterator<String> repeatingGroupKeys = jsonObject.keys();
-                while (repeatingGroupKeys.hasNext()) {
-                    JSONObject jsonTestObject = jsonObject.optJSONObject(repeatingGroupKeys.next());
-                    MaternityChild maternityChild = new MaternityChild();
+                String eventDate = MaternityUtils.convertDate(event.getEventDate().toDate(), MaternityDbConstants.DATE_FORMAT);
+                List<MaternityChild> babiesBorn = new ArrayList<>();
+                for (MaternityChild maternityChild : MaternityChildJsonReader.readBabiesBorn(strBabiesBorn)) {
                     maternityChild.setMotherBaseEntityId(event.getBaseEntityId());
-                    maternityChild.setApgar(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.APGAR));
-                    maternityChild.setBfFirstHour(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BF_FIRST_HOUR));
-                    maternityChild.setComplications(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_COMPLICATIONS));
-                    maternityChild.setComplicationsOther(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_COMPLICATIONS_OTHER));
-                    maternityChild.setCareMgt(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_CARE_MGT));
-                    maternityChild.setFirstCry(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_FIRST_CRY));
-                    maternityChild.setDischargedAlive(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.DISCHARGED_ALIVE));
-                    maternityChild.setDob(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_DOB));
-                    maternityChild.setFirstName(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_FIRST_NAME));
-                    maternityChild.setLastName(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_LAST_NAME));
-                    maternityChild.setGender(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_GENDER));
-                    maternityChild.setChildHivStatus(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.CHILD_HIV_STATUS));
-                    maternityChild.setHeight(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BIRTH_HEALTH_ENTERED));
-                    maternityChild.setWeight(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BIRTH_WEIGHT_ENTERED));
-                    maternityChild.setBaseEntityId(jsonTestObject.optString(MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID));
-                    maternityChild.setEventDate(MaternityUtils.convertDate(event.getEventDate().toDate(), MaternityDbConstants.DATE_FORMAT));
-                    maternityChild.setNvpAdministration(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.NVP_ADMINISTRATION));
-                    maternityChild.setInterventionSpecify(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_INTERVENTION_SPECIFY));
-                    maternityChild.setInterventionReferralLocation(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.BABY_INTERVENTION_REFERRAL_LOCATION));
+                    maternityChild.setEventDate(eventDate);
                     if (StringUtils.isNotBlank(maternityChild.getBaseEntityId()) && StringUtils.isNotBlank(maternityChild.getMotherBaseEntityId())) {
-                        MaternityLibrary.getInstance().getMaternityChildRepository().saveOrUpdate(maternityChild);
+                        babiesBorn.add(maternityChild);
                     }
                 }
-            } catch (JSONException e) {
+                MaternityLibrary.getInstance().getMaternityChildRepository().saveAll(babiesBorn);
+            } catch (IOException | IllegalStateException e) {
                 Timber.e(e);
             }
         }
@@ -169,67 +312,22 @@ public class MaternityMiniClientProcessorForJava extends ClientProcessorForJava
     private void processStillBorn(@Nullable String strStillBorn, @NonNull Event event) {
         if (StringUtils.isNotBlank(strStillBorn)) {
             try {
-                JSONObject jsonObject = new JSONObject(strStillBorn);
-                Iterator<String> repeatingGroupKeys = jsonObject.keys();
-                while (repeatingGroupKeys.hasNext()) {
-                    JSONObject jsonTestObject = jsonObject.optJSONObject(repeatingGroupKeys.next());
-                    MaternityChild maternityStillBorn = new MaternityChild();
+                String eventDate = MaternityUtils.convertDate(event.getEventDate().toDate(), MaternityDbConstants.DATE_FORMAT);
+                List<MaternityChild> stillBorn = new ArrayList<>();
+                for (MaternityChild maternityStillBorn : MaternityChildJsonReader.readStillBorn(strStillBorn)) {
                     maternityStillBorn.setMotherBaseEntityId(event.getBaseEntityId());
-                    maternityStillBorn.setStillBirthCondition(jsonTestObject.optString(MaternityConstants.JSON_FORM_KEY.STILLBIRTH_CONDITION));
-                    maternityStillBorn.setEventDate(MaternityUtils.convertDate(event.getEventDate().toDate(), MaternityDbConstants.DATE_FORMAT));
+                    maternityStillBorn.setEventDate(eventDate);
                     if (StringUtils.isNotBlank(maternityStillBorn.getMotherBaseEntityId())) {
-                        MaternityLibrary.getInstance().getMaternityChildRepository().saveOrUpdate(maternityStillBorn);
+                        stillBorn.add(maternityStillBorn);
                     }
                 }
-            } catch (JSONException e) {
+                MaternityLibrary.getInstance().getMaternityChildRepository().saveAll(stillBorn);
+            } catch (IOException | IllegalStateException e) {
                 Timber.e(e);
             }
         }
     }
 
-    private void generateKeyValuesFromEvent(@NonNull Event event, HashMap<String, String> keyValues, boolean appendOnNewline) {
-        List<Obs> obs = event.getObs();
-
-        for (Obs observation : obs) {
-            String key = observation.getFormSubmissionField();
-
-            List<Object> humanReadableValues = observation.getHumanReadableValues();
-            if (humanReadableValues.size() > 0) {
-                String value = (String) humanReadableValues.get(0);
-                value = value != null ? value.trim() : value;
-
-                if (!TextUtils.isEmpty(value)) {
-                    if (appendOnNewline && keyValues.containsKey(key)) {
-                        String currentValue = keyValues.get(key);
-                        keyValues.put(key, value + "\n" + currentValue);
-                    } else {
-                        keyValues.put(key, value);
-                    }
-                    continue;
-                }
-            }
-
-            List<Object> values = observation.getValues();
-            if (values.size() > 0) {
-                String value = (String) values.get(0);
-                value = value != null ? value.trim() : value;
-
-                if (!TextUtils.isEmpty(value)) {
-                    if (appendOnNewline && keyValues.containsKey(key)) {
-                        String currentValue = keyValues.get(key);
-                        keyValues.put(key, value + "\n" + currentValue);
-                    } else {
-                        keyValues.put(key, value);
-                    }
-                }
-            }
-        }
-    }
-
-    private void generateKeyValuesFromEvent(@NonNull Event event, HashMap<String, String> keyValues) {
-        generateKeyValuesFromEvent(event, keyValues, false);
-    }
-
     @Override
     public boolean unSync(@Nullable List<Event> events) {
         // Do nothing for now
@@ -246,4 +344,29 @@ public class MaternityMiniClientProcessorForJava extends ClientProcessorForJava
         }*/
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * The number of clients that joined or left the register while processing events
+     */
+    private static class RegisterCountChange {
+
+        private int delta = 0;
+        private boolean unknown = false;
+
+        private void add(@Nullable Boolean wasRegisterClient, @Nullable Boolean isRegisterClient) {
+            if (wasRegisterClient == null || isRegisterClient == null) {
+                unknown = true;
+            } else {
+                delta += (isRegisterClient ? 1 : 0) - (wasRegisterClient ? 1 : 0);
+            }
+        }
+
+        private void applyTo(@NonNull MaternityRegisterCountCache registerCountCache) {
+            if (unknown) {
+                registerCountCache.invalidate();
+            } else {
+                registerCountCache.adjustTotalCount(delta);
+            }
+        }
+    }
+}
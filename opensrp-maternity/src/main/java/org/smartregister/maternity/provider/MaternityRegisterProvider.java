@@ -1,17 +1,27 @@
 package org.smartregister.maternity.provider;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.database.Cursor;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.util.TypedValue;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.TextView;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.text.WordUtils;
+import org.smartregister.commonregistry.CommonPersonObject;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
+import org.smartregister.commonregistry.CommonRepository;
 import org.smartregister.cursoradapter.RecyclerViewProvider;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
@@ -19,7 +29,10 @@ import org.smartregister.maternity.configuration.MaternityRegisterProviderMetada
 import org.smartregister.maternity.configuration.MaternityRegisterRowOptions;
 import org.smartregister.maternity.holders.FooterViewHolder;
 import org.smartregister.maternity.holders.MaternityRegisterViewHolder;
+import org.smartregister.maternity.pojo.MaternityRegisterRow;
 import org.smartregister.maternity.utils.ConfigurationInstancesHelper;
+import org.smartregister.maternity.utils.MaternityDateUtils;
+import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.maternity.utils.MaternityViewConstants;
 import org.smartregister.util.Utils;
@@ -31,8 +44,14 @@ import org.smartregister.view.dialog.SortOption;
 import org.smartregister.view.viewholder.OnClickFormLauncher;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import timber.log.Timber;
+
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -49,6 +68,9 @@ public class MaternityRegisterProvider implements RecyclerViewProvider<Maternity
     @Nullable
     private MaternityRegisterRowOptions maternityRegisterRowOptions;
 
+    private volatile Map<String, MaternityRegisterRow> registerRows = Collections.emptyMap();
+    private volatile RowResources rowResources;
+
     public MaternityRegisterProvider(@NonNull Context context, @NonNull View.OnClickListener onClickListener, @NonNull View.OnClickListener paginationClickListener) {
 
         inflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
@@ -154,8 +176,67 @@ public class MaternityRegisterProvider implements RecyclerViewProvider<Maternity
         return viewHolder instanceof FooterViewHolder;
     }
 
-    public void populatePatientColumn(CommonPersonObjectClient commonPersonObjectClient, MaternityRegisterViewHolder viewHolder) {
-        Map<String, String> patientColumnMaps = commonPersonObjectClient.getColumnmaps();
+    /**
+     * Computes the display values of the rows of a register page so that binding the rows only assigns them. This
+     * should be called off the UI thread when the page is read and leaves the cursor before its first row
+     */
+    public void prepareRows(@NonNull Cursor cursor, @NonNull CommonRepository commonRepository) {
+        setRegisterRows(createRegisterRows(cursor, commonRepository));
+    }
+
+    /**
+     * Computes the display values of the rows of a register page without binding them, so that a page read ahead
+     * of being displayed can keep them until it is displayed with {@link #setRegisterRows(Map)}. This should be
+     * called off the UI thread and leaves the cursor before its first row
+     *
+     * @return the display values of the rows by case id
+     */
+    @NonNull
+    public Map<String, MaternityRegisterRow> createRegisterRows(@NonNull Cursor cursor, @NonNull CommonRepository commonRepository) {
+        Map<String, MaternityRegisterRow> pageRows = new HashMap<>();
+        try {
+            List<String> caseIds = new ArrayList<>();
+            List<Map<String, String>> pageColumnMaps = new ArrayList<>();
+            cursor.moveToPosition(-1);
+            while (cursor.moveToNext()) {
+                CommonPersonObject commonPersonObject = commonRepository.readAllcommonforCursorAdapter(cursor);
+                caseIds.add(commonPersonObject.getCaseId());
+                pageColumnMaps.add(commonPersonObject.getColumnmaps());
+            }
+
+            // Rows without a ga_calculated get the one computed for the page so that it is formatted like the others
+            List<Integer> gestationAges = MaternityDateUtils.getGestationAgesInWeeks(pageColumnMaps);
+            for (int i = 0; i < pageColumnMaps.size(); i++) {
+                Map<String, String> columnMaps = pageColumnMaps.get(i);
+                Integer gestationAge = gestationAges.get(i);
+                if (gestationAge != null && StringUtils.isBlank(columnMaps.get(MaternityDbConstants.KEY.GA_CALCULATED))) {
+                    columnMaps.put(MaternityDbConstants.KEY.GA_CALCULATED, gestationAge + " weeks");
+                }
+
+                pageRows.put(caseIds.get(i), createRegisterRow(columnMaps));
+            }
+        } catch (Exception e) {
+            Timber.e(e);
+        } finally {
+            cursor.moveToPosition(-1);
+        }
+
+        return pageRows;
+    }
+
+    /**
+     * Binds the rows of the register page being displayed to the display values computed for them
+     */
+    public void setRegisterRows(@NonNull Map<String, MaternityRegisterRow> pageRows) {
+        registerRows = pageRows;
+    }
+
+    /**
+     * @return the display values of a register row from its columns
+     */
+    @NonNull
+    public MaternityRegisterRow createRegisterRow(@NonNull Map<String, String> patientColumnMaps) {
+        RowResources resources = getRowResources();
 
         String firstName = maternityRegisterProviderMetadata.getClientFirstName(patientColumnMaps);
         String middleName = maternityRegisterProviderMetadata.getClientMiddleName(patientColumnMaps);
@@ -163,19 +244,81 @@ public class MaternityRegisterProvider implements RecyclerViewProvider<Maternity
         String patientName = Utils.getName(firstName, middleName + " " + lastName);
 
         String dobString = Utils.getDuration(maternityRegisterProviderMetadata.getDob(patientColumnMaps));
-        String translatedYearInitial = context.getResources().getString(R.string.abbrv_years);
-        fillValue(viewHolder.textViewPatientName, WordUtils.capitalize(patientName));
+        String age = String.format(resources.patientAgeHolder, WordUtils.capitalize(MaternityUtils.getClientAge(dobString, resources.translatedYearInitial)));
+        String ga = String.format(resources.patientGaHolder, maternityRegisterProviderMetadata.getGA(patientColumnMaps));
+        String patientId = String.format(resources.patientIdHolder, maternityRegisterProviderMetadata.getPatientID(patientColumnMaps));
 
-        fillValue(viewHolder.tvAge, String.format(context.getString(R.string.patient_age_holder), WordUtils.capitalize(MaternityUtils.getClientAge(dobString, translatedYearInitial))));
-        String ga = maternityRegisterProviderMetadata.getGA(patientColumnMaps);
-        fillValue(viewHolder.textViewGa, String.format(context.getString(R.string.patient_ga_holder), ga));
+        return new MaternityRegisterRow(WordUtils.capitalize(patientName), age, ga, patientId
+                , MaternityUtils.getDueButtonState(patientColumnMaps));
+    }
+
+    public void populatePatientColumn(CommonPersonObjectClient commonPersonObjectClient, MaternityRegisterViewHolder viewHolder) {
+        MaternityRegisterRow registerRow = registerRows.get(commonPersonObjectClient.getCaseId());
+        if (registerRow == null) {
+            registerRow = createRegisterRow(commonPersonObjectClient.getColumnmaps());
+        }
 
-        String patientId = maternityRegisterProviderMetadata.getPatientID(patientColumnMaps);
-        fillValue(viewHolder.tvPatientId, String.format(context.getString(R.string.patient_id_holder), patientId));
+        fillValue(viewHolder.textViewPatientName, registerRow.getPatientName());
+        fillValue(viewHolder.tvAge, registerRow.getAge());
+        fillValue(viewHolder.textViewGa, registerRow.getGa());
+        fillValue(viewHolder.tvPatientId, registerRow.getPatientId());
+
+        if (viewHolder.dueButton != null) {
+            setDueButtonState(viewHolder.dueButton, registerRow.getDueButtonState());
+        }
 
         addButtonClickListeners(commonPersonObjectClient, viewHolder);
     }
 
+    /**
+     * Same as {@link MaternityUtils#setActionButtonStatus(Button, CommonPersonObjectClient)} with the resources
+     * resolved once for the register
+     */
+    public void setDueButtonState(@NonNull Button dueButton, @NonNull MaternityRegisterRow.DueButtonState dueButtonState) {
+        RowResources resources = getRowResources();
+        dueButton.setTypeface(null, Typeface.NORMAL);
+        dueButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, resources.dueButtonTextSize);
+
+        switch (dueButtonState) {
+            case SAVED_REGISTRATION:
+            case COMPLETE_REGISTRATION:
+                dueButton.setText(resources.completeRegistrationText);
+                dueButton.setTag(R.id.BUTTON_TYPE, R.string.complete_registration);
+                break;
+            case SAVED_OUTCOME:
+            case OUTCOME:
+                dueButton.setText(resources.outcomeText);
+                dueButton.setTag(R.id.BUTTON_TYPE, R.string.outcome);
+                break;
+            default:
+                return;
+        }
+
+        Drawable.ConstantState background;
+        if (dueButtonState == MaternityRegisterRow.DueButtonState.OUTCOME) {
+            dueButton.setTextColor(resources.dueButtonTextColor);
+            background = resources.outcomeBackground;
+        } else {
+            dueButton.setTextColor(resources.darkGreyTextColor);
+            background = dueButtonState == MaternityRegisterRow.DueButtonState.COMPLETE_REGISTRATION
+                    ? resources.completeRegistrationBackground : resources.savedFormBackground;
+        }
+
+        // Each button needs its own drawable since a drawable keeps the state of the view it is drawn on
+        dueButton.setBackground(background == null ? null : background.newDrawable(dueButton.getResources()));
+    }
+
+    @NonNull
+    private RowResources getRowResources() {
+        RowResources resources = rowResources;
+        if (resources == null) {
+            resources = new RowResources(context);
+            rowResources = resources;
+        }
+
+        return resources;
+    }
+
     public void addButtonClickListeners(@NonNull CommonPersonObjectClient client, MaternityRegisterViewHolder viewHolder) {
         View patient = viewHolder.patientColumn;
         attachPatientOnclickListener(MaternityViewConstants.Provider.PATIENT_COLUMN, patient, client);
@@ -187,4 +330,45 @@ public class MaternityRegisterProvider implements RecyclerViewProvider<Maternity
         view.setTag(R.id.VIEW_TYPE, viewType);
         view.setTag(R.id.VIEW_CLIENT, client);
     }
-}
\ No newline at end of file
+
+    /**
+     * The strings, colors and drawables of the register rows, resolved once instead of on every bind
+     */
+    private static class RowResources {
+
+        private final String translatedYearInitial;
+        private final String patientAgeHolder;
+        private final String patientGaHolder;
+        private final String patientIdHolder;
+        private final String completeRegistrationText;
+        private final String outcomeText;
+        private final float dueButtonTextSize;
+        private final int darkGreyTextColor;
+        private final int dueButtonTextColor;
+        private final Drawable.ConstantState savedFormBackground;
+        private final Drawable.ConstantState completeRegistrationBackground;
+        private final Drawable.ConstantState outcomeBackground;
+
+        private RowResources(@NonNull Context context) {
+            Resources resources = context.getResources();
+            translatedYearInitial = resources.getString(R.string.abbrv_years);
+            patientAgeHolder = context.getString(R.string.patient_age_holder);
+            patientGaHolder = context.getString(R.string.patient_ga_holder);
+            patientIdHolder = context.getString(R.string.patient_id_holder);
+            completeRegistrationText = context.getString(R.string.complete_registration);
+            outcomeText = context.getString(R.string.outcome);
+            dueButtonTextSize = resources.getDimension(R.dimen.maternity_register_due_button_size);
+            darkGreyTextColor = ContextCompat.getColor(context, R.color.dark_grey_text);
+            dueButtonTextColor = ContextCompat.getColor(context, R.color.maternity_due_button_txt_color);
+            savedFormBackground = getConstantState(context, R.drawable.form_saved_btn_bg);
+            completeRegistrationBackground = getConstantState(context, R.drawable.maternity_outcome_bg);
+            outcomeBackground = getConstantState(context, R.drawable.maternity_outcome_btn_overview_bg);
+        }
+
+        @Nullable
+        private static Drawable.ConstantState getConstantState(@NonNull Context context, @DrawableRes int drawableResId) {
+            Drawable drawable = ContextCompat.getDrawable(context, drawableResId);
+            return drawable == null ? null : drawable.getConstantState();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.smartregister.maternity.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import net.sqlcipher.Cursor;
+import net.sqlcipher.database.SQLiteDatabase;
+
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
+import org.smartregister.maternity.utils.MaternityDbConstants;
+import org.smartregister.repository.BaseRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import timber.log.Timber;
+
+/**
+ * Single row look-ups that bind the look-up value as a query argument instead of splicing it into the SQL so that
+ * SQLite can reuse the statement and the value cannot change the query. Only the requested columns are read into
+ * the properties of a {@link MaternityBaseDetails}. Requested columns that the table does not have are left out of the
+ * query so that a column missing from a host app schema does not fail the whole look-up
+ */
+public abstract class BaseMaternityLookupRepository extends BaseRepository {
+
+    private final HashMap<String, Set<String>> tableColumns = new HashMap<>();
+
+    /**
+     * Reads the first row of the table whose column has the given value
+     *
+     * @param database the database to query
+     * @param table    the table to query
+     * @param column   the column to match
+     * @param value    the value of the column, bound as a query argument
+     * @param columns  the columns to read or {@code null} to read all the columns
+     * @return the details holding the columns of the first row or {@code null} if there is no matching row
+     */
+    @Nullable
+    protected MaternityBaseDetails findFirstRow(@NonNull SQLiteDatabase database, @NonNull String table, @NonNull String column
+            , @NonNull String value, @Nullable String[] columns) {
+        Cursor cursor = null;
+        try {
+            cursor = database.query(table, getExistingColumns(database, table, columns), column + " = ?", new String[]{value}
+                    , null, null, null, "1");
+            if (cursor != null && cursor.moveToFirst()) {
+                String[] columnNames = cursor.getColumnNames();
+                HashMap<String, String> row = new HashMap<>(columnNames.length * 2);
+                for (int i = 0; i < columnNames.length; i++) {
+                    row.put(columnNames[i], cursor.getString(i));
+                }
+
+                MaternityBaseDetails details = new MaternityBaseDetails();
+                details.setBaseEntityId(row.get(MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID));
+                details.setProperties(row);
+
+                Integer id = details.getInteger(MaternityDbConstants.Column.MaternityDetails.ID);
+                if (id != null) {
+                    details.setId(id);
+                }
+                return details;
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the requested columns that the table has, or {@code null} to read all the columns when the columns of
+     * the table cannot be read or none of the requested columns exist
+     */
+    @Nullable
+    protected String[] getExistingColumns(@NonNull SQLiteDatabase database, @NonNull String table, @Nullable String[] columns) {
+        if (columns == null) {
+            return null;
+        }
+
+        Set<String> existingColumns = getTableColumns(database, table);
+        if (existingColumns.isEmpty()) {
+            return null;
+        }
+
+        List<String> projection = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            if (existingColumns.contains(column)) {
+                projection.add(column);
+            } else {
+                Timber.w("Column %s does not exist in %s and will not be read", column, table);
+            }
+        }
+
+        return projection.isEmpty() ? null : projection.toArray(new String[0]);
+    }
+
+    @NonNull
+    private Set<String> getTableColumns(@NonNull SQLiteDatabase database, @NonNull String table) {
+        synchronized (tableColumns) {
+            Set<String> columns = tableColumns.get(table);
+            if (columns != null) {
+                return columns;
+            }
+        }
+
+        Set<String> columns = new HashSet<>();
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery("PRAGMA table_info(" + table + ")", (String[]) null);
+            int nameIndex = cursor != null ? cursor.getColumnIndex("name") : -1;
+            while (nameIndex != -1 && cursor.moveToNext()) {
+                columns.add(cursor.getString(nameIndex));
+            }
+        } catch (RuntimeException e) {
+            Timber.e(e);
+            return Collections.emptySet();
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        // The columns are not cached when the table does not exist yet
+        if (!columns.isEmpty()) {
+            synchronized (tableColumns) {
+                tableColumns.put(table, Collections.unmodifiableSet(columns));
+            }
+        }
+
+        return columns;
+    }
+}
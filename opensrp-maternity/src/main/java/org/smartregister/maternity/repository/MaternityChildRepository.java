@@ -1,17 +1,26 @@
 package org.smartregister.maternity.repository;
 
-import android.content.ContentValues;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import net.sqlcipher.Cursor;
+import net.sqlcipher.SQLException;
 import net.sqlcipher.database.SQLiteDatabase;
+import net.sqlcipher.database.SQLiteStatement;
 
-import org.apache.commons.lang3.NotImplementedException;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.smartregister.maternity.dao.MaternityGenericDao;
 import org.smartregister.maternity.pojo.MaternityChild;
+import org.smartregister.maternity.pojo.MaternityChildPage;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.repository.BaseRepository;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class MaternityChildRepository extends BaseRepository implements MaternityGenericDao<MaternityChild> {
 
@@ -47,53 +56,358 @@ public class MaternityChildRepository extends BaseRepository implements Maternit
             + "_" + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + "_index ON " + MaternityDbConstants.Table.MATERNITY_CHILD +
             "(" + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " COLLATE NOCASE) WHERE " + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " IS NOT NULL;";
 
+    /**
+     * Columns in the order they are bound by {@link #bindColumns(SQLiteStatement, MaternityChild)}
+     */
+    private static final String[] COLUMNS = new String[]{
+            MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID,
+            MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID,
+            MaternityDbConstants.Column.MaternityChild.APGAR,
+            MaternityDbConstants.Column.MaternityChild.BF_FIRST_HOUR,
+            MaternityDbConstants.Column.MaternityChild.FIRST_CRY,
+            MaternityDbConstants.Column.MaternityChild.COMPLICATIONS,
+            MaternityDbConstants.Column.MaternityChild.DISCHARGED_ALIVE,
+            MaternityDbConstants.Column.MaternityChild.DOB,
+            MaternityDbConstants.Column.MaternityChild.COMPLICATIONS_OTHER,
+            MaternityDbConstants.Column.MaternityChild.FIRST_NAME,
+            MaternityDbConstants.Column.MaternityChild.LAST_NAME,
+            MaternityDbConstants.Column.MaternityChild.GENDER,
+            MaternityDbConstants.Column.MaternityChild.HEIGHT,
+            MaternityDbConstants.Column.MaternityChild.WEIGHT,
+            MaternityDbConstants.Column.MaternityChild.NVP_ADMINISTRATION,
+            MaternityDbConstants.Column.MaternityChild.INTERVENTION_SPECIFY,
+            MaternityDbConstants.Column.MaternityChild.INTERVENTION_REFERRAL_LOCATION,
+            MaternityDbConstants.Column.MaternityChild.STILL_BIRTH_CONDITION,
+            MaternityDbConstants.Column.MaternityChild.CARE_MGT,
+            MaternityDbConstants.Column.MaternityChild.CHILD_HIV_STATUS,
+            MaternityDbConstants.Column.MaternityChild.EVENT_DATE};
+
+    private static final String ROW_ID = "rowid";
+
+    private static final String[] QUERY_COLUMNS = ArrayUtils.add(COLUMNS, ROW_ID);
+
+    private static final String EVENT_DATE_ORDER = MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " ASC, " + ROW_ID + " ASC";
+
+    private static final String INSERT_SQL = "INSERT INTO " + MaternityDbConstants.Table.MATERNITY_CHILD
+            + "(" + StringUtils.join(COLUMNS, ", ") + ") VALUES (" + StringUtils.repeat("?", ", ", COLUMNS.length) + ")";
+
+    private static final String UPDATE_SET_SQL = "UPDATE " + MaternityDbConstants.Table.MATERNITY_CHILD
+            + " SET " + StringUtils.join(COLUMNS, " = ?, ") + " = ?";
+
+    private static final String UPDATE_LIVE_BIRTH_SQL = UPDATE_SET_SQL
+            + " WHERE " + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " = ?";
+
+    private static final String UPDATE_STILL_BIRTH_SQL = UPDATE_SET_SQL
+            + " WHERE rowid = (SELECT rowid FROM " + MaternityDbConstants.Table.MATERNITY_CHILD
+            + " WHERE " + MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID + " = ? AND "
+            + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " IS ? AND ("
+            + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " IS NULL OR "
+            + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " = '') ORDER BY rowid LIMIT 1 OFFSET ?)";
+
+    private static final String INDEX_EVENT_DATE = "CREATE INDEX IF NOT EXISTS " + MaternityDbConstants.Table.MATERNITY_CHILD
+            + "_" + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + "_index ON " + MaternityDbConstants.Table.MATERNITY_CHILD +
+            "(" + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + ");";
+
     public static void createTable(@NonNull SQLiteDatabase database) {
         database.execSQL(CREATE_TABLE_SQL);
         database.execSQL(INDEX_BASE_ENTITY_ID);
         database.execSQL(INDEX_MOTHER_BASE_ENTITY_ID);
+        createEventDateIndex(database);
     }
 
+    /**
+     * Creates the index used by {@link #findPageOrderedByEventDate(MaternityChildPage, int)}. Call this when
+     * upgrading a database whose {@code maternity_child} table was created without it
+     */
+    public static void createEventDateIndex(@NonNull SQLiteDatabase database) {
+        database.execSQL(INDEX_EVENT_DATE);
+    }
+
+    /**
+     * Saves the child using {@link #saveAll(List)}
+     */
     @Override
     public boolean saveOrUpdate(MaternityChild maternityChild) {
-        ContentValues contentValues = new ContentValues();
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID, maternityChild.getMotherBaseEntityId());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.APGAR, maternityChild.getApgar());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.BF_FIRST_HOUR, maternityChild.getBfFirstHour());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.COMPLICATIONS, maternityChild.getComplications());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.COMPLICATIONS_OTHER, maternityChild.getComplicationsOther());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.DISCHARGED_ALIVE, maternityChild.getDischargedAlive());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.DOB, maternityChild.getDob());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.FIRST_NAME, maternityChild.getFirstName());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.LAST_NAME, maternityChild.getLastName());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.HEIGHT, maternityChild.getHeight());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.WEIGHT, maternityChild.getWeight());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.CARE_MGT, maternityChild.getCareMgt());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID, maternityChild.getBaseEntityId());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.NVP_ADMINISTRATION, maternityChild.getNvpAdministration());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.GENDER, maternityChild.getGender());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.INTERVENTION_REFERRAL_LOCATION, maternityChild.getInterventionReferralLocation());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.STILL_BIRTH_CONDITION, maternityChild.getStillBirthCondition());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.FIRST_CRY, maternityChild.getFirstCry());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.CHILD_HIV_STATUS, maternityChild.getChildHivStatus());
-        contentValues.put(MaternityDbConstants.Column.MaternityChild.EVENT_DATE, maternityChild.getEventDate());
-        SQLiteDatabase sqLiteDatabase = getWritableDatabase();
-        long rows = sqLiteDatabase.insert(MaternityDbConstants.Table.MATERNITY_CHILD, null, contentValues);
-        return rows != -1;
+        return saveAll(Collections.singletonList(maternityChild));
+    }
+
+    /**
+     * Saves the children in a single transaction using compiled statements. A live birth replaces the existing row
+     * with the same {@code base_entity_id}. A still birth, which has no {@code base_entity_id}, replaces the still birth
+     * of the same mother and event date at the same position (ordinal) in the order the still births were first saved.
+     * Rows that do not exist are inserted. A child that cannot be saved rolls back the transaction, which also fails
+     * the transaction of the caller when this is called within one
+     *
+     * @param maternityChildren the live births and still births to save
+     * @return {@code true} once all the children are saved
+     * @throws SQLException if a child cannot be saved
+     */
+    public boolean saveAll(@NonNull List<MaternityChild> maternityChildren) {
+        if (maternityChildren.isEmpty()) {
+            return true;
+        }
+
+        SQLiteDatabase database = getWritableDatabase();
+        SQLiteStatement updateLiveBirthStatement = null;
+        SQLiteStatement updateStillBirthStatement = null;
+        SQLiteStatement insertStatement = null;
+
+        database.beginTransaction();
+        try {
+            updateLiveBirthStatement = database.compileStatement(UPDATE_LIVE_BIRTH_SQL);
+            updateStillBirthStatement = database.compileStatement(UPDATE_STILL_BIRTH_SQL);
+            insertStatement = database.compileStatement(INSERT_SQL);
+
+            HashMap<String, Integer> stillBirthOrdinals = new HashMap<>();
+            for (MaternityChild maternityChild : maternityChildren) {
+                int updatedRows;
+                if (StringUtils.isNotBlank(maternityChild.getBaseEntityId())) {
+                    bindColumns(updateLiveBirthStatement, maternityChild);
+                    updateLiveBirthStatement.bindString(COLUMNS.length + 1, maternityChild.getBaseEntityId());
+                    updatedRows = updateLiveBirthStatement.executeUpdateDelete();
+                } else {
+                    String stillBirthKey = maternityChild.getMotherBaseEntityId() + "|" + maternityChild.getEventDate();
+                    Integer ordinal = stillBirthOrdinals.get(stillBirthKey);
+                    ordinal = ordinal == null ? 0 : ordinal + 1;
+                    stillBirthOrdinals.put(stillBirthKey, ordinal);
+
+                    bindColumns(updateStillBirthStatement, maternityChild);
+                    bindValue(updateStillBirthStatement, COLUMNS.length + 1, maternityChild.getMotherBaseEntityId());
+                    bindValue(updateStillBirthStatement, COLUMNS.length + 2, maternityChild.getEventDate());
+                    updateStillBirthStatement.bindLong(COLUMNS.length + 3, ordinal);
+                    updatedRows = updateStillBirthStatement.executeUpdateDelete();
+                }
+
+                if (updatedRows == 0) {
+                    bindColumns(insertStatement, maternityChild);
+                    insertStatement.executeInsert();
+                }
+            }
+
+            database.setTransactionSuccessful();
+            return true;
+        } finally {
+            closeStatement(updateLiveBirthStatement);
+            closeStatement(updateStillBirthStatement);
+            closeStatement(insertStatement);
+            database.endTransaction();
+        }
+    }
+
+    private void bindColumns(@NonNull SQLiteStatement statement, @NonNull MaternityChild maternityChild) {
+        statement.clearBindings();
+        String[] values = new String[]{
+                maternityChild.getBaseEntityId(),
+                maternityChild.getMotherBaseEntityId(),
+                maternityChild.getApgar(),
+                maternityChild.getBfFirstHour(),
+                maternityChild.getFirstCry(),
+                maternityChild.getComplications(),
+                maternityChild.getDischargedAlive(),
+                maternityChild.getDob(),
+                maternityChild.getComplicationsOther(),
+                maternityChild.getFirstName(),
+                maternityChild.getLastName(),
+                maternityChild.getGender(),
+                maternityChild.getHeight(),
+                maternityChild.getWeight(),
+                maternityChild.getNvpAdministration(),
+                maternityChild.getInterventionSpecify(),
+                maternityChild.getInterventionReferralLocation(),
+                maternityChild.getStillBirthCondition(),
+                maternityChild.getCareMgt(),
+                maternityChild.getChildHivStatus(),
+                maternityChild.getEventDate()};
+
+        for (int i = 0; i < values.length; i++) {
+            bindValue(statement, i + 1, values[i]);
+        }
+    }
+
+    private void bindValue(@NonNull SQLiteStatement statement, int index, @Nullable String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
     }
 
+    private void closeStatement(@Nullable SQLiteStatement statement) {
+        if (statement != null) {
+            statement.close();
+        }
+    }
+
+    /**
+     * Finds a live birth by its {@code base_entity_id} or, when the child has no {@code base_entity_id}, the first
+     * still birth of the mother on the child's event date
+     */
+    @Nullable
     @Override
-    public MaternityChild findOne(MaternityChild maternityChild) {
-        throw new NotImplementedException("");
+    public MaternityChild findOne(@NonNull MaternityChild maternityChild) {
+        List<MaternityChild> maternityChildren = new ArrayList<>();
+        queryChildren(getSelection(maternityChild), getSelectionArgs(maternityChild)
+                , ROW_ID + " ASC", "1", maternityChildren::add);
+        return maternityChildren.isEmpty() ? null : maternityChildren.get(0);
     }
 
+    /**
+     * Deletes a live birth by its {@code base_entity_id} or, when the child has no {@code base_entity_id}, all the
+     * still births of the mother on the child's event date
+     */
     @Override
-    public boolean delete(MaternityChild maternityChild) {
-        throw new NotImplementedException("");
+    public boolean delete(@NonNull MaternityChild maternityChild) {
+        int rows = getWritableDatabase().delete(MaternityDbConstants.Table.MATERNITY_CHILD
+                , getSelection(maternityChild), getSelectionArgs(maternityChild));
+        return rows > 0;
     }
 
+    @NonNull
     @Override
     public List<MaternityChild> findAll() {
-        throw new NotImplementedException("");
+        List<MaternityChild> maternityChildren = new ArrayList<>();
+        forEachChild(maternityChildren::add);
+        return maternityChildren;
+    }
+
+    @NonNull
+    public List<MaternityChild> findByMotherBaseEntityId(@NonNull String motherBaseEntityId) {
+        List<MaternityChild> maternityChildren = new ArrayList<>();
+        queryChildren(MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID + " = ? COLLATE NOCASE"
+                , new String[]{motherBaseEntityId}, EVENT_DATE_ORDER, null, maternityChildren::add);
+        return maternityChildren;
+    }
+
+    /**
+     * Streams every row, ordered by event date, to the consumer while the cursor is read so that the rows are never
+     * held in memory together
+     *
+     * @param consumer receives each child
+     */
+    public void forEachChild(@NonNull Consumer<MaternityChild> consumer) {
+        queryChildren(null, null, EVENT_DATE_ORDER, null, consumer);
+    }
+
+    /**
+     * Reads the page of rows that comes after the given page when the rows are ordered by event date. The page is
+     * read from the (event date, row id) of the last row of the previous page instead of an offset so that reading
+     * page N costs the same as reading the first page. Rows without an event date are not paged
+     *
+     * @param previousPage the previous page or {@code null} to read the first page
+     * @param pageSize     the maximum number of rows in the page
+     * @return the page
+     */
+    @NonNull
+    public MaternityChildPage findPageOrderedByEventDate(@Nullable MaternityChildPage previousPage, int pageSize) {
+        String selection = MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " IS NOT NULL";
+        String[] selectionArgs = null;
+        if (previousPage != null && previousPage.getLastEventDate() != null) {
+            selection += " AND (" + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " > ? OR ("
+                    + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " = ? AND " + ROW_ID + " > ?))";
+            selectionArgs = new String[]{previousPage.getLastEventDate(), previousPage.getLastEventDate(), String.valueOf(previousPage.getLastRowId())};
+        }
+
+        List<MaternityChild> maternityChildren = new ArrayList<>();
+        long lastRowId = previousPage != null ? previousPage.getLastRowId() : 0;
+        String lastEventDate = previousPage != null ? previousPage.getLastEventDate() : null;
+        Cursor cursor = null;
+        try {
+            // Read one extra row to know whether there is a next page
+            cursor = getReadableDatabase().query(MaternityDbConstants.Table.MATERNITY_CHILD, QUERY_COLUMNS, selection, selectionArgs
+                    , null, null, EVENT_DATE_ORDER, String.valueOf(pageSize + 1));
+            int[] columnIndexes = getColumnIndexes(cursor);
+            int rowIdIndex = cursor.getColumnIndex(ROW_ID);
+            while (cursor.moveToNext() && maternityChildren.size() < pageSize) {
+                MaternityChild maternityChild = createMaternityChild(cursor, columnIndexes);
+                maternityChildren.add(maternityChild);
+                lastRowId = cursor.getLong(rowIdIndex);
+                lastEventDate = maternityChild.getEventDate();
+            }
+            return new MaternityChildPage(maternityChildren, lastEventDate, lastRowId, !cursor.isAfterLast());
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    private void queryChildren(@Nullable String selection, @Nullable String[] selectionArgs, @NonNull String orderBy
+            , @Nullable String limit, @NonNull Consumer<MaternityChild> consumer) {
+        Cursor cursor = null;
+        try {
+            cursor = getReadableDatabase().query(MaternityDbConstants.Table.MATERNITY_CHILD, QUERY_COLUMNS, selection, selectionArgs
+                    , null, null, orderBy, limit);
+            int[] columnIndexes = getColumnIndexes(cursor);
+            while (cursor.moveToNext()) {
+                consumer.accept(createMaternityChild(cursor, columnIndexes));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    @NonNull
+    private String getSelection(@NonNull MaternityChild maternityChild) {
+        if (StringUtils.isNotBlank(maternityChild.getBaseEntityId())) {
+            return MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " = ?";
+        }
+
+        return MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID + " = ? AND "
+                + MaternityDbConstants.Column.MaternityChild.EVENT_DATE + " IS ? AND ("
+                + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " IS NULL OR "
+                + MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " = '')";
+    }
+
+    @NonNull
+    private String[] getSelectionArgs(@NonNull MaternityChild maternityChild) {
+        if (StringUtils.isNotBlank(maternityChild.getBaseEntityId())) {
+            return new String[]{maternityChild.getBaseEntityId()};
+        }
+
+        return new String[]{maternityChild.getMotherBaseEntityId(), maternityChild.getEventDate()};
+    }
+
+    @NonNull
+    private int[] getColumnIndexes(@NonNull Cursor cursor) {
+        int[] columnIndexes = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columnIndexes[i] = cursor.getColumnIndex(COLUMNS[i]);
+        }
+        return columnIndexes;
+    }
+
+    @NonNull
+    private MaternityChild createMaternityChild(@NonNull Cursor cursor, @NonNull int[] columnIndexes) {
+        MaternityChild maternityChild = new MaternityChild();
+        maternityChild.setBaseEntityId(getString(cursor, columnIndexes[0]));
+        maternityChild.setMotherBaseEntityId(getString(cursor, columnIndexes[1]));
+        maternityChild.setApgar(getString(cursor, columnIndexes[2]));
+        maternityChild.setBfFirstHour(getString(cursor, columnIndexes[3]));
+        maternityChild.setFirstCry(getString(cursor, columnIndexes[4]));
+        maternityChild.setComplications(getString(cursor, columnIndexes[5]));
+        maternityChild.setDischargedAlive(getString(cursor, columnIndexes[6]));
+        maternityChild.setDob(getString(cursor, columnIndexes[7]));
+        maternityChild.setComplicationsOther(getString(cursor, columnIndexes[8]));
+        maternityChild.setFirstName(getString(cursor, columnIndexes[9]));
+        maternityChild.setLastName(getString(cursor, columnIndexes[10]));
+        maternityChild.setGender(getString(cursor, columnIndexes[11]));
+        maternityChild.setHeight(getString(cursor, columnIndexes[12]));
+        maternityChild.setWeight(getString(cursor, columnIndexes[13]));
+        maternityChild.setNvpAdministration(getString(cursor, columnIndexes[14]));
+        maternityChild.setInterventionSpecify(getString(cursor, columnIndexes[15]));
+        maternityChild.setInterventionReferralLocation(getString(cursor, columnIndexes[16]));
+        maternityChild.setStillBirthCondition(getString(cursor, columnIndexes[17]));
+        maternityChild.setCareMgt(getString(cursor, columnIndexes[18]));
+        maternityChild.setChildHivStatus(getString(cursor, columnIndexes[19]));
+        maternityChild.setEventDate(getString(cursor, columnIndexes[20]));
+        return maternityChild;
+    }
+
+    @Nullable
+    private String getString(@NonNull Cursor cursor, int columnIndex) {
+        return columnIndex < 0 ? null : cursor.getString(columnIndex);
     }
 
 }
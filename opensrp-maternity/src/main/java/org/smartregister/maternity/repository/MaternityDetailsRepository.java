@@ -1,12 +1,17 @@
 package org.smartregister.maternity.repository;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import net.sqlcipher.Cursor;
+import net.sqlcipher.SQLException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.maternity.utils.MaternityUtils;
-import org.smartregister.repository.BaseRepository;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,28 +22,135 @@ import timber.log.Timber;
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
  */
 
-public class MaternityDetailsRepository extends BaseRepository {
+public class MaternityDetailsRepository extends BaseMaternityLookupRepository {
+
+    private static final String MATERNITY_MEDIC_INFO_TABLE = "maternity_medic_info";
+
+    private static final String CLIENT_ID_COLUMN = "id";
+
+    private static final String SNAPSHOT_CLIENT_COLUMN = "snapshot_client";
+    private static final String SNAPSHOT_REGISTRATION_DETAILS_COLUMN = "snapshot_registration_details";
+    private static final String SNAPSHOT_MEDIC_INFO_COLUMN = "snapshot_medic_info";
 
+    /**
+     * @return the columns of the client or {@code null} if the client is not found
+     * @deprecated use {@link #findByBaseEntityId(String, String[])} to read only the columns that are used
+     */
+    @Deprecated
+    @Nullable
     public Map<String, String> findByBaseEntityId(@NonNull String baseEntityId) {
+        MaternityBaseDetails details = findByBaseEntityId(baseEntityId, null);
+        return details != null ? details.getProperties() : null;
+    }
+
+    /**
+     * @param columns the columns of the client table to read or {@code null} to read all the columns
+     */
+    @Nullable
+    public MaternityBaseDetails findByBaseEntityId(@NonNull String baseEntityId, @Nullable String[] columns) {
+        return findClient(MaternityDbConstants.Column.Client.BASE_ENTITY_ID, baseEntityId, columns);
+    }
+
+    /**
+     * Finds the client in the maternity client table by the {@code id} column
+     *
+     * @param columns the columns of the client table to read or {@code null} to read all the columns
+     */
+    @Nullable
+    public MaternityBaseDetails findClientById(@NonNull String id, @Nullable String[] columns) {
+        return findClient(CLIENT_ID_COLUMN, id, columns);
+    }
+
+    /**
+     * @return the columns of the medic info of the client or {@code null} if it is not found
+     * @deprecated use {@link #findMedicInfoByBaseEntityId(String, String[])} to read only the columns that are used
+     */
+    @Deprecated
+    @Nullable
+    public HashMap<String, String> findMedicInfoByBaseEntityId(@NonNull String baseEntityId) {
+        MaternityBaseDetails details = findMedicInfoByBaseEntityId(baseEntityId, null);
+        return details != null ? details.getProperties() : null;
+    }
+
+    /**
+     * @param columns the columns of the medic info table to read or {@code null} to read all the columns
+     */
+    @Nullable
+    public MaternityBaseDetails findMedicInfoByBaseEntityId(@NonNull String baseEntityId, @Nullable String[] columns) {
         try {
-            return MaternityLibrary.getInstance().context().getEventClientRepository()
-                    .rawQuery(MaternityLibrary.getInstance().context().getEventClientRepository().getReadableDatabase(),
-                            "select * from " + MaternityUtils.metadata().getTableName() +
-                                    " where " + MaternityDbConstants.Column.Client.BASE_ENTITY_ID + " = '" + baseEntityId + "' limit 1").get(0);
-        } catch (NullPointerException | IndexOutOfBoundsException e) {
+            if (StringUtils.isNotBlank(baseEntityId)) {
+                return findFirstRow(getReadableDatabase(), MATERNITY_MEDIC_INFO_TABLE
+                        , MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID, baseEntityId, columns);
+            }
+        } catch (NullPointerException | SQLException e) {
             Timber.e(e);
         }
         return null;
     }
 
-    public HashMap<String, String> findMedicInfoByBaseEntityId(@NonNull String baseEntityId) {
+    /**
+     * Reads the client, registration details and medic info rows of the client in a single query. Each table is left
+     * joined on the bound base entity id and preceded by a marker column telling whether the table had a row
+     *
+     * @return the snapshot or {@code null} if the look-up failed
+     */
+    @Nullable
+    public MaternityProfileSnapshot findProfileSnapshot(@NonNull String baseEntityId) {
+        if (StringUtils.isBlank(baseEntityId)) {
+            return null;
+        }
+
+        Cursor cursor = null;
         try {
-            if (StringUtils.isNotBlank(baseEntityId)) {
-                return rawQuery(getReadableDatabase(),
-                        "select * from maternity_medic_info " +
-                                " where " + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " = '" + baseEntityId + "' limit 1").get(0);
+            String query = "SELECT client." + MaternityDbConstants.Column.Client.BASE_ENTITY_ID + " IS NOT NULL AS " + SNAPSHOT_CLIENT_COLUMN + ", client.*"
+                    + ", registration." + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " IS NOT NULL AS " + SNAPSHOT_REGISTRATION_DETAILS_COLUMN + ", registration.*"
+                    + ", medic_info." + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " IS NOT NULL AS " + SNAPSHOT_MEDIC_INFO_COLUMN + ", medic_info.*"
+                    + " FROM (SELECT ? AS base_entity_id) AS profile"
+                    + " LEFT JOIN " + MaternityUtils.metadata().getTableName() + " AS client ON client." + MaternityDbConstants.Column.Client.BASE_ENTITY_ID + " = profile.base_entity_id"
+                    + " LEFT JOIN " + MaternityDbConstants.Table.MATERNITY_REGISTRATION_DETAILS + " AS registration ON registration." + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " = profile.base_entity_id"
+                    + " LEFT JOIN " + MATERNITY_MEDIC_INFO_TABLE + " AS medic_info ON medic_info." + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " = profile.base_entity_id"
+                    + " LIMIT 1";
+
+            cursor = getReadableDatabase().rawQuery(query, new String[]{baseEntityId});
+            if (cursor != null && cursor.moveToFirst()) {
+                HashMap<String, String> client = null;
+                HashMap<String, String> registrationDetails = null;
+                HashMap<String, String> medicInfo = null;
+                HashMap<String, String> section = null;
+
+                String[] columnNames = cursor.getColumnNames();
+                for (int i = 0; i < columnNames.length; i++) {
+                    String columnName = columnNames[i];
+                    if (SNAPSHOT_CLIENT_COLUMN.equals(columnName)) {
+                        section = client = cursor.getInt(i) == 1 ? new HashMap<>() : null;
+                    } else if (SNAPSHOT_REGISTRATION_DETAILS_COLUMN.equals(columnName)) {
+                        section = registrationDetails = cursor.getInt(i) == 1 ? new HashMap<>() : null;
+                    } else if (SNAPSHOT_MEDIC_INFO_COLUMN.equals(columnName)) {
+                        section = medicInfo = cursor.getInt(i) == 1 ? new HashMap<>() : null;
+                    } else if (section != null) {
+                        section.put(columnName, cursor.getString(i));
+                    }
+                }
+
+                return new MaternityProfileSnapshot(baseEntityId, client, registrationDetails, medicInfo);
             }
-        } catch (NullPointerException | IndexOutOfBoundsException e) {
+        } catch (NullPointerException | SQLException e) {
+            Timber.e(e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private MaternityBaseDetails findClient(@NonNull String column, @NonNull String value, @Nullable String[] columns) {
+        try {
+            return findFirstRow(MaternityLibrary.getInstance().context().getEventClientRepository().getReadableDatabase()
+                    , MaternityUtils.metadata().getTableName(), column, value, columns);
+        } catch (NullPointerException | SQLException e) {
             Timber.e(e);
         }
         return null;
@@ -8,15 +8,46 @@ import net.sqlcipher.Cursor;
 import net.sqlcipher.database.SQLiteDatabase;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.dao.MaternityPartialFormDao;
+import org.smartregister.maternity.exception.MaternityPartialFormDroppedException;
 import org.smartregister.maternity.pojo.MaternityPartialForm;
+import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityDbConstants;
+import org.smartregister.maternity.utils.MaternityJsonDeltaUtils;
+import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.repository.BaseRepository;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import timber.log.Timber;
+
+/**
+ * Stores the forms being filled deflated in the form column, together with the changes from the form template, see
+ * {@link MaternityJsonDeltaUtils}, and the hash of the template they were made from. The form is rebuilt from the
+ * changes while the template is unchanged and read whole once the template changes, so that the changes are never
+ * applied to fields they were not made on. Forms saved as text before are read as they are
+ */
 public class MaternityPartialFormRepository extends BaseRepository implements MaternityPartialFormDao {
 
+    private static final String RECORD_TEMPLATE = "template";
+    private static final String RECORD_TEMPLATE_HASH = "template_hash";
+    private static final String RECORD_DELTA = "delta";
+    private static final String RECORD_FORM = "form";
+
+    private static final Map<String, String> FORM_TEMPLATES = new HashMap<>();
+
+    static {
+        FORM_TEMPLATES.put(MaternityConstants.EventType.MATERNITY_OUTCOME, MaternityConstants.Form.MATERNITY_OUTCOME);
+        FORM_TEMPLATES.put(MaternityConstants.EventType.MATERNITY_MEDIC_INFO, MaternityConstants.Form.MATERNITY_MEDIC_INFO);
+    }
+
     private static final String CREATE_TABLE_SQL = "CREATE TABLE " + MaternityDbConstants.Table.MATERNITY_PARTIAL_FORM + "("
             + MaternityDbConstants.Column.MaternityPartialForm.ID + " INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,"
             + MaternityDbConstants.Column.MaternityPartialForm.BASE_ENTITY_ID + " VARCHAR NOT NULL, "
@@ -36,6 +67,8 @@ public class MaternityPartialFormRepository extends BaseRepository implements Ma
             MaternityDbConstants.Column.MaternityPartialForm.FORM_TYPE,
             MaternityDbConstants.Column.MaternityPartialForm.CREATED_AT};
 
+    private final ConcurrentHashMap<String, String> formTemplates = new ConcurrentHashMap<>();
+
     public static void createTable(@NonNull SQLiteDatabase database) {
         database.execSQL(CREATE_TABLE_SQL);
         database.execSQL(INDEX_BASE_ENTITY_ID);
@@ -45,14 +78,27 @@ public class MaternityPartialFormRepository extends BaseRepository implements Ma
     public boolean saveOrUpdate(@NonNull MaternityPartialForm maternityPartialForm) {
         ContentValues contentValues = new ContentValues();
         contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.BASE_ENTITY_ID, maternityPartialForm.getBaseEntityId());
-        contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.FORM, maternityPartialForm.getForm());
+        try {
+            contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.FORM, encodeForm(maternityPartialForm.getFormType(), maternityPartialForm.getForm()));
+        } catch (JSONException | IOException e) {
+            Timber.e(e);
+            contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.FORM, maternityPartialForm.getForm());
+        }
         contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.FORM_TYPE, maternityPartialForm.getFormType());
         contentValues.put(MaternityDbConstants.Column.MaternityPartialForm.CREATED_AT, maternityPartialForm.getCreatedAt());
         SQLiteDatabase sqLiteDatabase = getWritableDatabase();
         long rows = sqLiteDatabase.insert(MaternityDbConstants.Table.MATERNITY_PARTIAL_FORM, null, contentValues);
+        if (rows != -1) {
+            onPartialFormsChanged();
+        }
+
         return rows != -1;
     }
 
+    /**
+     * @return the saved form or {@code null} if there is none
+     * @throws MaternityPartialFormDroppedException if the saved form can no longer be read
+     */
     @Nullable
     @Override
     public MaternityPartialForm findOne(@NonNull MaternityPartialForm maternityPartialForm) {
@@ -65,18 +111,20 @@ public class MaternityPartialFormRepository extends BaseRepository implements Ma
                 , null
                 , null);
 
-        if (cursor.getCount() == 0) {
-            return null;
-        }
-
         MaternityPartialForm diagnosisAndTreatmentForm = null;
-        if (cursor.moveToNext()) {
-            diagnosisAndTreatmentForm = new MaternityPartialForm(
-                    cursor.getInt(0),
-                    cursor.getString(1),
-                    cursor.getString(2),
-                    cursor.getString(3),
-                    cursor.getString(4));
+        try {
+            if (cursor.moveToNext()) {
+                String form = cursor.getType(2) == Cursor.FIELD_TYPE_BLOB ? decodeForm(cursor.getBlob(2)) : cursor.getString(2);
+                diagnosisAndTreatmentForm = new MaternityPartialForm(
+                        cursor.getInt(0),
+                        cursor.getString(1),
+                        form,
+                        cursor.getString(3),
+                        cursor.getString(4));
+            }
+        } catch (JSONException | IOException e) {
+            Timber.e(e);
+        } finally {
             cursor.close();
         }
 
@@ -89,12 +137,91 @@ public class MaternityPartialFormRepository extends BaseRepository implements Ma
         int rows = sqLiteDatabase.delete(MaternityDbConstants.Table.MATERNITY_PARTIAL_FORM
                 , MaternityDbConstants.Column.MaternityPartialForm.BASE_ENTITY_ID + " = ? AND " + MaternityDbConstants.Column.MaternityPartialForm.FORM_TYPE + " = ? "
                 , new String[]{maternityPartialForm.getBaseEntityId(), maternityPartialForm.getFormType()});
+        if (rows > 0) {
+            onPartialFormsChanged();
+        }
 
         return rows > 0;
     }
 
+    /**
+     * The register pages show whether a client has a saved form, so the cached pages are dropped when the saved
+     * forms change
+     */
+    protected void onPartialFormsChanged() {
+        MaternityLibrary.getInstance().getMaternityRegisterPageCache().invalidate();
+    }
+
     @Override
     public List<MaternityPartialForm> findAll() {
         throw new NotImplementedException("Not Implemented");
     }
+
+    @NonNull
+    protected byte[] encodeForm(@Nullable String formType, @NonNull String form) throws JSONException, IOException {
+        JSONObject record = new JSONObject();
+        JSONObject formJson = new JSONObject(form);
+        String templateName = formType != null ? FORM_TEMPLATES.get(formType) : null;
+        JSONObject template = templateName != null ? getFormTemplate(templateName) : null;
+
+        if (template != null) {
+            record.put(RECORD_TEMPLATE, templateName);
+            record.put(RECORD_TEMPLATE_HASH, MaternityJsonDeltaUtils.getHash(template.toString()));
+            record.putOpt(RECORD_DELTA, MaternityJsonDeltaUtils.createDelta(template, formJson));
+        }
+
+        record.put(RECORD_FORM, formJson);
+
+        return MaternityJsonDeltaUtils.compress(record.toString());
+    }
+
+    /**
+     * Rebuilds the form from the template it was saved with while the template is unchanged, otherwise reads the
+     * whole form that was saved with the changes
+     *
+     * @return the form
+     * @throws MaternityPartialFormDroppedException if the form was saved only as the changes from a template that has
+     *                                              changed or is missing since
+     */
+    @NonNull
+    protected String decodeForm(@NonNull byte[] encodedForm) throws JSONException, IOException {
+        JSONObject record = new JSONObject(MaternityJsonDeltaUtils.decompress(encodedForm));
+        if (!record.has(RECORD_TEMPLATE)) {
+            return record.getJSONObject(RECORD_FORM).toString();
+        }
+
+        String templateName = record.getString(RECORD_TEMPLATE);
+        JSONObject template = getFormTemplate(templateName);
+        String templateHash = record.optString(RECORD_TEMPLATE_HASH, null);
+        if (template != null && templateHash != null && templateHash.equals(MaternityJsonDeltaUtils.getHash(template.toString()))) {
+            return String.valueOf(MaternityJsonDeltaUtils.applyDelta(template, record.optJSONObject(RECORD_DELTA)));
+        }
+
+        JSONObject form = record.optJSONObject(RECORD_FORM);
+        if (form != null) {
+            Timber.w("The %s form template changed since the partial form was saved, reading the saved form", templateName);
+            return form.toString();
+        }
+
+        throw new MaternityPartialFormDroppedException("The " + templateName + " form template changed since the partial form was saved");
+    }
+
+    /**
+     * @return a copy of the form template that can be changed or {@code null} if the form cannot be read
+     */
+    @Nullable
+    protected JSONObject getFormTemplate(@NonNull String formName) throws JSONException {
+        String formTemplate = formTemplates.get(formName);
+        if (formTemplate == null) {
+            JSONObject form = MaternityUtils.getJsonFormToJsonObject(formName);
+            if (form == null) {
+                return null;
+            }
+
+            formTemplate = form.toString();
+            formTemplates.put(formName, formTemplate);
+        }
+
+        return new JSONObject(formTemplate);
+    }
 }
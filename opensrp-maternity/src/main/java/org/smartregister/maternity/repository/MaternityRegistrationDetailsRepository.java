@@ -1,25 +1,42 @@
 package org.smartregister.maternity.repository;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import net.sqlcipher.SQLException;
 
 import org.apache.commons.lang3.StringUtils;
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
 import org.smartregister.maternity.utils.MaternityDbConstants;
-import org.smartregister.repository.BaseRepository;
 
 import java.util.HashMap;
 
 import timber.log.Timber;
 
-public class MaternityRegistrationDetailsRepository extends BaseRepository {
+public class MaternityRegistrationDetailsRepository extends BaseMaternityLookupRepository {
 
+    /**
+     * @return the columns of the registration details of the client or {@code null} if they are not found
+     * @deprecated use {@link #findByBaseEntityId(String, String[])} to read only the columns that are used
+     */
+    @Deprecated
+    @Nullable
     public HashMap<String, String> findByBaseEntityId(@NonNull String baseEntityId) {
+        MaternityBaseDetails details = findByBaseEntityId(baseEntityId, null);
+        return details != null ? details.getProperties() : null;
+    }
+
+    /**
+     * @param columns the columns to read or {@code null} to read all the columns
+     */
+    @Nullable
+    public MaternityBaseDetails findByBaseEntityId(@NonNull String baseEntityId, @Nullable String[] columns) {
         try {
             if (StringUtils.isNotBlank(baseEntityId)) {
-                return rawQuery(getReadableDatabase(),
-                        "select * from " + getTableName() +
-                                " where " + MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID + " = '" + baseEntityId + "' limit 1").get(0);
+                return findFirstRow(getReadableDatabase(), getTableName(), MaternityDbConstants.Column.MaternityDetails.BASE_ENTITY_ID
+                        , baseEntityId, columns);
             }
-        } catch (NullPointerException | IndexOutOfBoundsException e) {
+        } catch (NullPointerException | SQLException e) {
             Timber.e(e);
         }
         return null;
@@ -28,4 +45,4 @@ public class MaternityRegistrationDetailsRepository extends BaseRepository {
     private String getTableName() {
         return MaternityDbConstants.Table.MATERNITY_REGISTRATION_DETAILS;
     }
-}
\ No newline at end of file
+}
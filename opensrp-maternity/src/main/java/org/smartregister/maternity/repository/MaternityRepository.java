@@ -1,6 +1,7 @@
 package org.smartregister.maternity.repository;
 
 import android.content.ContentValues;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import net.sqlcipher.SQLException;
@@ -12,13 +13,20 @@ import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityUtils;
 import org.smartregister.repository.BaseRepository;
+import org.smartregister.repository.EventClientRepository;
 
 import java.util.Date;
+import java.util.List;
 
 import timber.log.Timber;
 
 public class MaternityRepository extends BaseRepository {
 
+    /**
+     * SQLite limits the number of host parameters in a statement to 999
+     */
+    private static final int MAX_BIND_ARGS = 500;
+
     public void updateLastInteractedWith(@Nullable String baseEntityId) {
         try {
             if (StringUtils.isNotBlank(baseEntityId)) {
@@ -50,4 +58,25 @@ public class MaternityRepository extends BaseRepository {
             Timber.e(e);
         }
     }
+
+    /**
+     * Marks all the events with the given form submission ids as processed using one UPDATE statement
+     * per {@link #MAX_BIND_ARGS} ids. Any {@link SQLException} is propagated so that a caller running this
+     * inside a transaction can roll it back
+     *
+     * @param formSubmissionIds form submission ids of the processed events
+     */
+    public void markEventsAsProcessed(@NonNull List<String> formSubmissionIds) {
+        for (int start = 0; start < formSubmissionIds.size(); start += MAX_BIND_ARGS) {
+            List<String> idsChunk = formSubmissionIds.subList(start, Math.min(start + MAX_BIND_ARGS, formSubmissionIds.size()));
+
+            ContentValues contentValues = new ContentValues();
+            contentValues.put(EventClientRepository.event_column.syncStatus.name(), BaseRepository.TYPE_Synced);
+
+            getWritableDatabase()
+                    .update(EventClientRepository.Table.event.name(), contentValues,
+                            EventClientRepository.event_column.formSubmissionId.name() + " IN (" + StringUtils.repeat("?", ",", idsChunk.size()) + ")",
+                            idsChunk.toArray(new String[0]));
+        }
+    }
 }
@@ -0,0 +1,316 @@
+package org.smartregister.maternity.repository;
+
+import android.content.ContentValues;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import net.sqlcipher.Cursor;
+import net.sqlcipher.database.SQLiteDatabase;
+
+import org.apache.commons.lang3.StringUtils;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+import org.smartregister.maternity.utils.MaternityDbConstants;
+import org.smartregister.maternity.utils.MaternityPhoneticUtils;
+import org.smartregister.repository.BaseRepository;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+
+import timber.log.Timber;
+
+/**
+ * FTS index of the names and OpenSRP IDs of the clients used to find clients whose names are misspelled. Each
+ * client has one row whose search keys are made of:
+ * <ul>
+ * <li>{@code nm} followed by each name, matched as a prefix</li>
+ * <li>{@code sx} followed by the Soundex code of each name</li>
+ * <li>{@code mp} followed by the Metaphone key of each name</li>
+ * <li>{@code id} followed by the letters and digits of the OpenSRP ID, matched as a prefix</li>
+ * <li>{@code ky} followed by the letters and digits of the base entity id, used to replace the row</li>
+ * </ul>
+ * Only the search keys are indexed. The prefix indexes keep the prefix matches of 1 to 3 typed characters from
+ * scanning the whole term list
+ * <p>
+ * Host apps should call {@link #createTable(SQLiteDatabase)} in {@code onCreate} of their repository and, when
+ * upgrading databases created before the index existed, {@link #createTable(SQLiteDatabase)} followed by
+ * {@link #rebuildIndex(SQLiteDatabase)} in {@code onUpgrade}. Apps that do not are covered by
+ * {@link #ensureTable(SQLiteDatabase)}, which {@link org.smartregister.maternity.MaternityLibrary} runs in the
+ * background when it is initialised, and the index is not used until the table exists
+ */
+public class MaternitySearchIndexRepository extends BaseRepository {
+
+    private static final String CREATE_TABLE_SQL = "CREATE VIRTUAL TABLE IF NOT EXISTS " + MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX
+            + " USING fts4(" + MaternityDbConstants.Column.MaternitySearchIndex.BASE_ENTITY_ID + ", "
+            + MaternityDbConstants.Column.MaternitySearchIndex.SEARCH_KEYS + ", "
+            + "notindexed=" + MaternityDbConstants.Column.MaternitySearchIndex.BASE_ENTITY_ID + ", prefix=\"3,4,5\")";
+
+    private static final String NAME_PREFIX = "nm";
+    private static final String SOUNDEX_PREFIX = "sx";
+    private static final String METAPHONE_PREFIX = "mp";
+    private static final String ID_PREFIX = "id";
+    private static final String ROW_KEY_PREFIX = "ky";
+
+    private volatile boolean tableCreated = false;
+
+    public static void createTable(@NonNull SQLiteDatabase database) {
+        database.execSQL(CREATE_TABLE_SQL);
+    }
+
+    /**
+     * Creates the index and indexes the clients in the client table if the database does not have the index yet
+     *
+     * @return whether the index exists
+     */
+    public boolean ensureTable() {
+        try {
+            return ensureTable(getWritableDatabase());
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not open the database to create the search index");
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #ensureTable()} on the given database
+     *
+     * @return whether the index exists
+     */
+    public boolean ensureTable(@NonNull SQLiteDatabase database) {
+        if (tableCreated) {
+            return true;
+        }
+
+        // The check and the creation run in one transaction so that callers racing to create the index wait for
+        // each other on the database lock, which the event processing transaction calling this may already hold
+        database.beginTransaction();
+        try {
+            if (!hasTable(database)) {
+                createTable(database);
+                int clientCount = rebuildIndex(database);
+                Timber.i("Created the search index of %d clients", clientCount);
+            }
+
+            database.setTransactionSuccessful();
+            tableCreated = true;
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not create the search index");
+        } finally {
+            database.endTransaction();
+        }
+
+        return tableCreated;
+    }
+
+    /**
+     * @return whether the index is known to exist, the index should not be queried otherwise
+     */
+    public boolean isTableCreated() {
+        return tableCreated;
+    }
+
+    private boolean hasTable(@NonNull SQLiteDatabase database) {
+        try (Cursor cursor = database.rawQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?"
+                , new String[]{MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX})) {
+            return cursor != null && cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * Replaces the search keys of the client with the names and OpenSRP ID of the client in the client table. Failures
+     * are logged so that the processing of the event calling this is not rolled back. The index is created first if
+     * the database does not have it yet
+     *
+     * @param database the database of the transaction processing the client
+     */
+    public void indexClient(@NonNull SQLiteDatabase database, @Nullable String baseEntityId) {
+        if (StringUtils.isBlank(baseEntityId) || !ensureTable(database)) {
+            return;
+        }
+
+        try (Cursor cursor = database.rawQuery("SELECT " + MaternityDbConstants.Column.Client.FIRST_NAME + ", "
+                        + MaternityDbConstants.Column.Client.LAST_NAME + ", " + MaternityDbConstants.Column.Client.OPENSRP_ID
+                        + " FROM " + MaternityDbConstants.Table.EC_CLIENT + " WHERE id = ?"
+                , new String[]{baseEntityId})) {
+            if (cursor.moveToFirst()) {
+                updateIndex(database, baseEntityId, cursor.getString(0), cursor.getString(1), cursor.getString(2));
+            } else {
+                deleteIndex(database, baseEntityId);
+            }
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not index client %s", baseEntityId);
+
+            // The index is checked again in case it was created in a transaction that was rolled back
+            tableCreated = false;
+        }
+    }
+
+    /**
+     * Indexes every client in the client table, for databases created before the index existed
+     *
+     * @return the number of clients indexed
+     */
+    public int rebuildIndex() {
+        return rebuildIndex(getWritableDatabase());
+    }
+
+    /**
+     * Same as {@link #rebuildIndex()} on the given database, such as the database being upgraded in
+     * {@code onUpgrade} where the repository cannot open the database itself
+     *
+     * @return the number of clients indexed
+     */
+    public int rebuildIndex(@NonNull SQLiteDatabase database) {
+        int clientCount = 0;
+
+        database.beginTransaction();
+        try (Cursor cursor = database.rawQuery("SELECT id, " + MaternityDbConstants.Column.Client.FIRST_NAME + ", "
+                + MaternityDbConstants.Column.Client.LAST_NAME + ", " + MaternityDbConstants.Column.Client.OPENSRP_ID
+                + " FROM " + MaternityDbConstants.Table.EC_CLIENT, (String[]) null)) {
+            database.execSQL("DELETE FROM " + MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX);
+
+            while (cursor.moveToNext()) {
+                insertIndex(database, cursor.getString(0), cursor.getString(1), cursor.getString(2), cursor.getString(3));
+                clientCount++;
+            }
+
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+
+        return clientCount;
+    }
+
+    public void updateIndex(@NonNull SQLiteDatabase database, @NonNull String baseEntityId, @Nullable String firstName
+            , @Nullable String lastName, @Nullable String opensrpId) {
+        deleteIndex(database, baseEntityId);
+        insertIndex(database, baseEntityId, firstName, lastName, opensrpId);
+    }
+
+    public void deleteIndex(@NonNull SQLiteDatabase database, @NonNull String baseEntityId) {
+        database.delete(MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX
+                , MaternityDbConstants.Column.MaternitySearchIndex.SEARCH_KEYS + " MATCH ? AND "
+                        + MaternityDbConstants.Column.MaternitySearchIndex.BASE_ENTITY_ID + " = ?"
+                , new String[]{getRowKey(baseEntityId), baseEntityId});
+    }
+
+    private void insertIndex(@NonNull SQLiteDatabase database, @NonNull String baseEntityId, @Nullable String firstName
+            , @Nullable String lastName, @Nullable String opensrpId) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(MaternityDbConstants.Column.MaternitySearchIndex.BASE_ENTITY_ID, baseEntityId);
+        contentValues.put(MaternityDbConstants.Column.MaternitySearchIndex.SEARCH_KEYS, getSearchKeys(baseEntityId, firstName, lastName, opensrpId));
+        database.insert(MaternityDbConstants.Table.MATERNITY_SEARCH_INDEX, null, contentValues);
+    }
+
+    @NonNull
+    public static String getSearchKeys(@NonNull String baseEntityId, @Nullable String firstName, @Nullable String lastName
+            , @Nullable String opensrpId) {
+        LinkedHashSet<String> searchKeys = new LinkedHashSet<>();
+        searchKeys.add(getRowKey(baseEntityId));
+        addNameKeys(searchKeys, firstName);
+        addNameKeys(searchKeys, lastName);
+
+        String idToken = getIdToken(opensrpId);
+        if (!idToken.isEmpty()) {
+            searchKeys.add(ID_PREFIX + idToken);
+        }
+
+        return StringUtils.join(searchKeys, ' ');
+    }
+
+    /**
+     * Builds the MATCH expression of the search keys for the search phrase. A term made of letters matches the names
+     * starting with it or sounding like it, a term with digits matches the OpenSRP IDs starting with it. Consecutive
+     * terms with digits are joined since OpenSRP IDs are typed with hyphens such as {@code 12345-6}. The expression
+     * is such as {@code (nmjane* OR sxj500 OR mpjn) id123456*}
+     *
+     * @return the expression to bind to {@code search_keys MATCH ?} or {@code null} if the phrase has no terms
+     */
+    @Nullable
+    public static String getMatchExpression(@NonNull MaternityFtsSearch search) {
+        StringBuilder expression = new StringBuilder();
+        StringBuilder idToken = new StringBuilder();
+
+        for (String term : search.getTerms()) {
+            String normalizedTerm = MaternityPhoneticUtils.normalize(term);
+            if (StringUtils.containsAny(normalizedTerm, "0123456789")) {
+                idToken.append(normalizedTerm);
+                continue;
+            }
+
+            appendIdTerm(expression, idToken);
+
+            // AND binds tighter than OR in the MATCH syntax, so the keys of a term are grouped
+            StringBuilder nameTerm = new StringBuilder("(").append(NAME_PREFIX).append(normalizedTerm).append('*');
+            String soundex = MaternityPhoneticUtils.getSoundex(normalizedTerm);
+            if (soundex != null) {
+                nameTerm.append(" OR ").append(SOUNDEX_PREFIX).append(soundex.toLowerCase(Locale.ENGLISH));
+            }
+
+            String metaphone = MaternityPhoneticUtils.getMetaphone(normalizedTerm);
+            if (StringUtils.isNotEmpty(metaphone)) {
+                nameTerm.append(" OR ").append(METAPHONE_PREFIX).append(metaphone.toLowerCase(Locale.ENGLISH));
+            }
+            appendTerm(expression, nameTerm.append(')').toString());
+        }
+        appendIdTerm(expression, idToken);
+
+        return expression.length() > 0 ? expression.toString() : null;
+    }
+
+    private static void appendIdTerm(@NonNull StringBuilder expression, @NonNull StringBuilder idToken) {
+        if (idToken.length() > 0) {
+            appendTerm(expression, ID_PREFIX + idToken + "*");
+            idToken.setLength(0);
+        }
+    }
+
+    private static void appendTerm(@NonNull StringBuilder expression, @NonNull String term) {
+        if (expression.length() > 0) {
+            expression.append(' ');
+        }
+        expression.append(term);
+    }
+
+    private static void addNameKeys(@NonNull LinkedHashSet<String> searchKeys, @Nullable String name) {
+        for (String namePart : MaternityFtsSearch.fromFilters(name).getTerms()) {
+            String normalizedName = MaternityPhoneticUtils.normalize(namePart);
+            searchKeys.add(NAME_PREFIX + normalizedName);
+
+            String soundex = MaternityPhoneticUtils.getSoundex(normalizedName);
+            if (soundex != null) {
+                searchKeys.add(SOUNDEX_PREFIX + soundex.toLowerCase(Locale.ENGLISH));
+            }
+
+            String metaphone = MaternityPhoneticUtils.getMetaphone(normalizedName);
+            if (StringUtils.isNotEmpty(metaphone)) {
+                searchKeys.add(METAPHONE_PREFIX + metaphone.toLowerCase(Locale.ENGLISH));
+            }
+        }
+    }
+
+    @NonNull
+    private static String getRowKey(@NonNull String baseEntityId) {
+        return ROW_KEY_PREFIX + getIdToken(baseEntityId);
+    }
+
+    /**
+     * @return the letters and digits of the id in lower case
+     */
+    @NonNull
+    private static String getIdToken(@Nullable String id) {
+        if (id == null) {
+            return "";
+        }
+
+        StringBuilder idToken = new StringBuilder(id.length());
+        for (int i = 0; i < id.length(); i++) {
+            char character = Character.toLowerCase(id.charAt(i));
+            if ((character >= 'a' && character <= 'z') || (character >= '0' && character <= '9')) {
+                idToken.append(character);
+            }
+        }
+
+        return idToken.toString();
+    }
+}
@@ -6,6 +6,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
 import org.smartregister.maternity.utils.MaternityConstants;
 import org.smartregister.maternity.utils.MaternityJsonFormUtils;
 import org.smartregister.maternity.utils.MaternityReverseJsonFormUtils;
@@ -26,12 +27,10 @@ public class FetchRegistrationDataTask extends AsyncTask<String, Void, String> {
 
     @Nullable
     protected String doInBackground(String... params) {
-        Map<String, String> detailsMap = MaternityLibrary.getInstance().getMaternityDetailsRepository().findByBaseEntityId(params[0]);
-        Map<String, String> registrationDetailsMap = MaternityLibrary.getInstance().getMaternityRegistrationDetailsRepository().findByBaseEntityId(params[0]);
+        MaternityProfileSnapshot profileSnapshot = MaternityLibrary.getInstance().getMaternityProfileCache()
+                .getProfileSnapshot(params[0], MaternityLibrary.getInstance().getMaternityDetailsRepository()::findProfileSnapshot);
+        Map<String, String> detailsMap = profileSnapshot != null ? profileSnapshot.getRegistrationFormDetails() : null;
         if (detailsMap != null) {
-            if (registrationDetailsMap != null) {
-                detailsMap.putAll(registrationDetailsMap);
-            }
             detailsMap.put(MaternityJsonFormUtils.OPENSRP_ID, detailsMap.get(MaternityConstants.KEY.OPENSRP_ID));
             return MaternityReverseJsonFormUtils.prepareJsonEditMaternityRegistrationForm(detailsMap, Arrays.asList(MaternityJsonFormUtils.OPENSRP_ID, MaternityConstants.JSON_FORM_KEY.SEX), contextWeakReference.get());
         }
@@ -7,6 +7,10 @@ package org.smartregister.maternity.utils;
 import android.os.Handler;
 import android.os.Looper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.maternity.configuration.MaternityExecutorPolicy;
+import org.smartregister.maternity.helper.MaternityTaskMetrics;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -15,6 +19,10 @@ import java.util.concurrent.Executors;
  * Global executor pools for the whole application.
  * <p>
  * Grouping tasks like this avoids the effects of task starvation (e.g. disk reads don't wait behind webservice requests).
+ * Database reads and writes run on separate pools of {@link MaternityTaskExecutor}. The read pool runs the reads the
+ * user is waiting for ahead of the background reads, so that opening a profile does not wait behind saving an outcome.
+ * Writes run in the order they were queued whatever their priority, and reads that have to see the writes queued
+ * before them run on the write pool with {@link #diskIOReadAfterWrites()}.
  */
 public class AppExecutors {
 
@@ -22,56 +30,112 @@ public class AppExecutors {
 
     private final Executor diskIO;
 
-    private final Executor networkIO;
+    private final Executor diskIOReadInteractive;
+
+    private final Executor diskIOReadBackground;
+
+    private Executor networkIO;
 
     private final Executor mainThread;
 
+    @Nullable
+    private final MaternityTaskMetrics taskMetrics;
+
     public AppExecutors() {
-        this(new DiskIOThreadExecutor(), Executors.newFixedThreadPool(THREAD_COUNT), new MainThreadExecutor());
+        this(new MaternityExecutorPolicy());
+    }
+
+    public AppExecutors(@NonNull MaternityExecutorPolicy executorPolicy) {
+        taskMetrics = new MaternityTaskMetrics(executorPolicy.getSlowTaskMillis());
+        MaternityTaskExecutor readExecutor = new MaternityTaskExecutor("maternity-read", executorPolicy.getReadThreadCount(), taskMetrics);
+        MaternityTaskExecutor writeExecutor = new MaternityTaskExecutor("maternity-write", executorPolicy.getWriteThreadCount(), taskMetrics);
+
+        diskIO = writeExecutor.getLane(MaternityTaskExecutor.Priority.BACKGROUND);
+        diskIOReadInteractive = readExecutor.getLane(MaternityTaskExecutor.Priority.INTERACTIVE);
+        diskIOReadBackground = readExecutor.getLane(MaternityTaskExecutor.Priority.BACKGROUND);
+        mainThread = new MainThreadExecutor();
     }
 
+    /**
+     * Runs all the disk tasks on the {@code diskIO} executor whatever their priority
+     */
     public AppExecutors(Executor diskIO, Executor networkIO, Executor mainThread) {
         this.diskIO = diskIO;
+        this.diskIOReadInteractive = diskIO;
+        this.diskIOReadBackground = diskIO;
         this.networkIO = networkIO;
         this.mainThread = mainThread;
+        this.taskMetrics = null;
     }
 
+    /**
+     * @return the executor of the background writes such as saving events and deleting partial forms
+     */
     public Executor diskIO() {
         return diskIO;
     }
 
-    public Executor networkIO() {
-        return networkIO;
+    /**
+     * @return the executor of the reads the user is waiting for such as loading a profile
+     */
+    public Executor diskIORead() {
+        return diskIOReadInteractive;
     }
 
-    public Executor mainThread() {
-        return mainThread;
+    @NonNull
+    public Executor diskIORead(@NonNull MaternityTaskExecutor.Priority priority) {
+        return priority == MaternityTaskExecutor.Priority.INTERACTIVE ? diskIOReadInteractive : diskIOReadBackground;
     }
 
-    private static class MainThreadExecutor implements Executor {
-        private Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+    /**
+     * Writes are not reordered by priority, so that a write never runs before the writes of the same client queued
+     * before it
+     *
+     * @return the executor of the writes, the same as {@link #diskIO()}
+     */
+    @NonNull
+    public Executor diskIOWrite(@NonNull MaternityTaskExecutor.Priority priority) {
+        return diskIO;
+    }
 
-        @Override
-        public void execute(@NonNull Runnable command) {
-            mainThreadHandler.post(command);
-        }
+    /**
+     * @return the executor of the reads of data written by tasks queued on {@link #diskIO()}, such as reading a
+     * partial form after saving it, which run after the writes queued before them
+     */
+    @NonNull
+    public Executor diskIOReadAfterWrites() {
+        return diskIO;
     }
 
     /**
-     * Executor that runs a task on a new background thread.
+     * The network pool is only created when it is first used
      */
-    private static class DiskIOThreadExecutor implements Executor {
+    public synchronized Executor networkIO() {
+        if (networkIO == null) {
+            networkIO = Executors.newFixedThreadPool(THREAD_COUNT);
+        }
 
-        private final Executor mDiskIO;
+        return networkIO;
+    }
 
-        public DiskIOThreadExecutor() {
-            mDiskIO = Executors.newSingleThreadExecutor();
-        }
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * @return the queue wait and run times of the disk tasks or {@code null} if the executors are not instrumented
+     */
+    @Nullable
+    public MaternityTaskMetrics getTaskMetrics() {
+        return taskMetrics;
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private Handler mainThreadHandler = new Handler(Looper.getMainLooper());
 
         @Override
         public void execute(@NonNull Runnable command) {
-            mDiskIO.execute(command);
+            mainThreadHandler.post(command);
         }
     }
 }
-
@@ -0,0 +1,181 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.smartregister.maternity.pojo.MaternityChild;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the repeating group values of the babies born and still born maps, which are serialized as
+ * {@code {"<group-id>": {"<field-key>": "<value>", ...}, ...}}, straight into {@link MaternityChild} instances without
+ * building an intermediate JSON tree. Fields that are not in the payload are set to an empty string, same as
+ * {@link org.json.JSONObject#optString(String)}
+ */
+public class MaternityChildJsonReader {
+
+    private MaternityChildJsonReader() {
+    }
+
+    @NonNull
+    public static List<MaternityChild> readBabiesBorn(@NonNull String babiesBornJson) throws IOException {
+        return read(babiesBornJson, false);
+    }
+
+    @NonNull
+    public static List<MaternityChild> readStillBorn(@NonNull String stillBornJson) throws IOException {
+        return read(stillBornJson, true);
+    }
+
+    @NonNull
+    private static List<MaternityChild> read(@NonNull String json, boolean isStillBorn) throws IOException {
+        List<MaternityChild> maternityChildren = new ArrayList<>();
+
+        try (JsonReader jsonReader = new JsonReader(new StringReader(json))) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                jsonReader.nextName();
+
+                if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                    jsonReader.skipValue();
+                    continue;
+                }
+
+                MaternityChild maternityChild = isStillBorn ? newStillBorn() : newBabyBorn();
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    String key = jsonReader.nextName();
+                    String value = nextValue(jsonReader);
+                    if (isStillBorn) {
+                        setStillBornValue(maternityChild, key, value);
+                    } else {
+                        setBabyBornValue(maternityChild, key, value);
+                    }
+                }
+                jsonReader.endObject();
+
+                maternityChildren.add(maternityChild);
+            }
+            jsonReader.endObject();
+        }
+
+        return maternityChildren;
+    }
+
+    @NonNull
+    private static String nextValue(@NonNull JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return jsonReader.nextString();
+        } else if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(jsonReader.nextBoolean());
+        }
+
+        jsonReader.skipValue();
+        return "";
+    }
+
+    private static void setBabyBornValue(@NonNull MaternityChild maternityChild, @NonNull String key, @NonNull String value) {
+        switch (key) {
+            case MaternityConstants.JSON_FORM_KEY.APGAR:
+                maternityChild.setApgar(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BF_FIRST_HOUR:
+                maternityChild.setBfFirstHour(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_COMPLICATIONS:
+                maternityChild.setComplications(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_COMPLICATIONS_OTHER:
+                maternityChild.setComplicationsOther(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_CARE_MGT:
+                maternityChild.setCareMgt(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_FIRST_CRY:
+                maternityChild.setFirstCry(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.DISCHARGED_ALIVE:
+                maternityChild.setDischargedAlive(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_DOB:
+                maternityChild.setDob(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_FIRST_NAME:
+                maternityChild.setFirstName(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_LAST_NAME:
+                maternityChild.setLastName(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_GENDER:
+                maternityChild.setGender(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.CHILD_HIV_STATUS:
+                maternityChild.setChildHivStatus(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BIRTH_HEALTH_ENTERED:
+                maternityChild.setHeight(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BIRTH_WEIGHT_ENTERED:
+                maternityChild.setWeight(value);
+                break;
+            case MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID:
+                maternityChild.setBaseEntityId(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.NVP_ADMINISTRATION:
+                maternityChild.setNvpAdministration(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_INTERVENTION_SPECIFY:
+                maternityChild.setInterventionSpecify(value);
+                break;
+            case MaternityConstants.JSON_FORM_KEY.BABY_INTERVENTION_REFERRAL_LOCATION:
+                maternityChild.setInterventionReferralLocation(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void setStillBornValue(@NonNull MaternityChild maternityChild, @NonNull String key, @NonNull String value) {
+        if (MaternityConstants.JSON_FORM_KEY.STILLBIRTH_CONDITION.equals(key)) {
+            maternityChild.setStillBirthCondition(value);
+        }
+    }
+
+    @NonNull
+    private static MaternityChild newBabyBorn() {
+        MaternityChild maternityChild = new MaternityChild();
+        maternityChild.setApgar("");
+        maternityChild.setBfFirstHour("");
+        maternityChild.setComplications("");
+        maternityChild.setComplicationsOther("");
+        maternityChild.setCareMgt("");
+        maternityChild.setFirstCry("");
+        maternityChild.setDischargedAlive("");
+        maternityChild.setDob("");
+        maternityChild.setFirstName("");
+        maternityChild.setLastName("");
+        maternityChild.setGender("");
+        maternityChild.setChildHivStatus("");
+        maternityChild.setHeight("");
+        maternityChild.setWeight("");
+        maternityChild.setBaseEntityId("");
+        maternityChild.setNvpAdministration("");
+        maternityChild.setInterventionSpecify("");
+        maternityChild.setInterventionReferralLocation("");
+        return maternityChild;
+    }
+
+    @NonNull
+    private static MaternityChild newStillBorn() {
+        MaternityChild maternityChild = new MaternityChild();
+        maternityChild.setStillBirthCondition("");
+        return maternityChild;
+    }
+}
@@ -0,0 +1,309 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.jeasy.rules.api.Facts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A profile template such as {@code "Gravida: {gravidity}"} split once into its literal text and {@code {key}}
+ * placeholders. Rendering produces exactly the output of the original {@link MaternityUtils#fillTemplate} string
+ * rewriting, including the trimming and trailing comma removal it applies after each substituted key, but without
+ * searching and rewriting the whole string for every key.
+ * <p>
+ * Templates the token list cannot represent, such as unbalanced braces, and values containing braces, which the
+ * original rewriting would expand again, are rendered with the original implementation
+ */
+public class MaternityCompiledTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final ConcurrentHashMap<String, MaternityCompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<StringBuilder> renderBuilder = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
+
+    private final String template;
+    private final String[] literals;
+    private final String[] keys;
+    private final int[] keySteps;
+    private final int stepCount;
+    private final boolean compiled;
+
+    private MaternityCompiledTemplate(@NonNull String template, @Nullable List<String> literals, @Nullable List<String> keys) {
+        this.template = template;
+        this.compiled = literals != null && keys != null;
+
+        if (compiled) {
+            this.literals = literals.toArray(new String[0]);
+            this.keys = keys.toArray(new String[0]);
+
+            // Placeholders of the same key are substituted in the same step, in order of the first occurrence of the key
+            this.keySteps = new int[this.keys.length];
+            HashMap<String, Integer> steps = new HashMap<>();
+            for (int i = 0; i < this.keys.length; i++) {
+                Integer step = steps.get(this.keys[i]);
+                if (step == null) {
+                    step = steps.size();
+                    steps.put(this.keys[i], step);
+                }
+                keySteps[i] = step;
+            }
+            this.stepCount = steps.size();
+        } else {
+            this.literals = null;
+            this.keys = null;
+            this.keySteps = null;
+            this.stepCount = 0;
+        }
+    }
+
+    /**
+     * @return the compiled template, compiled on first use and then shared
+     */
+    @NonNull
+    public static MaternityCompiledTemplate get(@NonNull String template) {
+        MaternityCompiledTemplate compiledTemplate = compiledTemplates.get(template);
+        if (compiledTemplate == null) {
+            if (compiledTemplates.size() >= MAX_CACHED_TEMPLATES) {
+                compiledTemplates.clear();
+            }
+
+            compiledTemplate = compile(template);
+            compiledTemplates.put(template, compiledTemplate);
+        }
+
+        return compiledTemplate;
+    }
+
+    @NonNull
+    public static MaternityCompiledTemplate compile(@NonNull String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+
+        int literalStart = 0;
+        int length = template.length();
+        for (int i = 0; i < length; i++) {
+            char character = template.charAt(i);
+            if (character == '}') {
+                return new MaternityCompiledTemplate(template, null, null);
+            } else if (character == '{') {
+                int keyEnd = template.indexOf('}', i + 1);
+                if (keyEnd == -1 || template.lastIndexOf('{', keyEnd) != i) {
+                    return new MaternityCompiledTemplate(template, null, null);
+                }
+
+                literals.add(template.substring(literalStart, i));
+                keys.add(template.substring(i + 1, keyEnd));
+                literalStart = keyEnd + 1;
+                i = keyEnd;
+            }
+        }
+
+        literals.add(template.substring(literalStart));
+        return new MaternityCompiledTemplate(template, literals, keys);
+    }
+
+    @NonNull
+    public String render(@NonNull Facts facts) {
+        return render(false, facts);
+    }
+
+    @NonNull
+    public String render(boolean isHtml, @NonNull Facts facts) {
+        if (!compiled) {
+            return MaternityUtils.fillTemplateByRewriting(isHtml, template, facts);
+        }
+
+        String[] values = new String[stepCount];
+        for (int i = 0; i < keys.length; i++) {
+            int step = keySteps[i];
+            if (values[step] == null) {
+                String value = MaternityUtils.processValue(keys[i], facts);
+                if (value.indexOf('{') != -1 || value.indexOf('}') != -1) {
+                    return MaternityUtils.fillTemplateByRewriting(isHtml, template, facts);
+                }
+                values[step] = value;
+            }
+        }
+
+        StringBuilder result = renderBuilder.get();
+        result.setLength(0);
+        substitute(values, result);
+
+        return isHtml ? result.toString() : cleanValueResult(result);
+    }
+
+    /**
+     * Substitutes the values step by step. After each step the original implementation removes a trailing
+     * {@code ", "} and trims the whole string. These only change the text before the first and after the last
+     * placeholder that is still unsubstituted, which are kept in the head and tail builders
+     */
+    private void substitute(@NonNull String[] values, @NonNull StringBuilder result) {
+        int pieceCount = literals.length + keys.length;
+        if (keys.length == 0) {
+            result.append(template);
+            return;
+        }
+
+        StringBuilder head = new StringBuilder();
+        StringBuilder tail = new StringBuilder();
+        int headEnd = 0;
+        int tailStart = pieceCount;
+
+        for (int step = 0; step < stepCount; step++) {
+            if (step == stepCount - 1) {
+                result.append(head);
+                for (int piece = headEnd; piece < tailStart; piece++) {
+                    result.append(getPiece(piece, values));
+                }
+                result.append(tail);
+
+                removeTrailingCommaSpace(result);
+                trimEnd(result);
+                trimStart(result);
+                return;
+            }
+
+            while (isSubstituted(headEnd, step)) {
+                head.append(getPiece(headEnd, values));
+                headEnd++;
+            }
+
+            while (isSubstituted(tailStart - 1, step)) {
+                tail.insert(0, getPiece(tailStart - 1, values));
+                tailStart--;
+            }
+
+            removeTrailingCommaSpace(tail);
+            trimEnd(tail);
+            trimStart(head);
+        }
+    }
+
+    private boolean isSubstituted(int piece, int step) {
+        return piece % 2 == 0 || keySteps[piece / 2] <= step;
+    }
+
+    @NonNull
+    private String getPiece(int piece, @NonNull String[] values) {
+        return piece % 2 == 0 ? literals[piece / 2] : values[keySteps[piece / 2]];
+    }
+
+    /**
+     * Same as {@code replaceAll(", $", "")}, where {@code $} also matches before a line terminator ending the text
+     */
+    private static void removeTrailingCommaSpace(@NonNull StringBuilder text) {
+        int end = text.length();
+        if (end >= 2 && text.charAt(end - 1) == '\n' && text.charAt(end - 2) == '\r') {
+            end -= 2;
+        } else if (end >= 1 && isLineTerminator(text.charAt(end - 1))) {
+            end -= 1;
+        }
+
+        if (end >= 2 && text.charAt(end - 2) == ',' && text.charAt(end - 1) == ' ') {
+            text.delete(end - 2, end);
+        }
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028' || character == '\u2029';
+    }
+
+    private static void trimEnd(@NonNull StringBuilder text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        text.setLength(end);
+    }
+
+    private static void trimStart(@NonNull StringBuilder text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        text.delete(0, start);
+    }
+
+    /**
+     * Same as {@link MaternityUtils#cleanValueResult(String)}: drops empty comma separated items and moves the label
+     * before the first colon of the first item to the front
+     */
+    @NonNull
+    private static String cleanValueResult(@NonNull StringBuilder result) {
+        int length = result.length();
+        int firstItemStart = 0;
+        while (firstItemStart < length && result.charAt(firstItemStart) == ',') {
+            firstItemStart++;
+        }
+
+        if (firstItemStart == length) {
+            return "";
+        }
+
+        int firstItemEnd = result.indexOf(",", firstItemStart);
+        if (firstItemEnd == -1) {
+            firstItemEnd = length;
+        }
+
+        StringBuilder cleanResult = new StringBuilder(length + 2);
+        int firstColon = result.indexOf(":", firstItemStart);
+        if (firstColon != -1 && firstColon < firstItemEnd) {
+            int valueStart = firstColon + 1;
+            int valueEnd = valueStart;
+            while (valueEnd < firstItemEnd && result.charAt(valueEnd) != ':') {
+                valueEnd++;
+            }
+
+            boolean hasValue = false;
+            for (int i = valueStart; i < firstItemEnd; i++) {
+                if (result.charAt(i) != ':') {
+                    hasValue = true;
+                    break;
+                }
+            }
+
+            if (firstColon == firstItemStart && !hasValue) {
+                // The original implementation fails on an item made up of colons only
+                return MaternityUtils.cleanValueResult(result.toString());
+            }
+
+            cleanResult.append(result, firstItemStart, firstColon);
+            if (firstColon > firstItemStart) {
+                cleanResult.append(": ");
+            }
+
+            if (hasValue) {
+                cleanResult.append(result, valueStart, valueEnd);
+            } else {
+                cleanResult.append(result, firstItemStart, firstItemEnd);
+            }
+        } else {
+            cleanResult.append(result, firstItemStart, firstItemEnd);
+        }
+
+        int itemStart = firstItemEnd + 1;
+        while (itemStart < length) {
+            int itemEnd = result.indexOf(",", itemStart);
+            if (itemEnd == -1) {
+                itemEnd = length;
+            }
+
+            if (itemEnd > itemStart) {
+                cleanResult.append(',').append(result, itemStart, itemEnd);
+            }
+            itemStart = itemEnd + 1;
+        }
+
+        return cleanResult.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.LocalDate;
+import org.joda.time.Weeks;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import timber.log.Timber;
+
+/**
+ * Formats and parses dates and computes gestation ages with formatters that are created once per pattern. The
+ * formatters are immutable so the methods can be called from any thread
+ */
+public final class MaternityDateUtils {
+
+    public static final String CONCEPTION_DATE_FORMAT = "dd-MM-yyyy";
+
+    private static final ConcurrentHashMap<String, DateTimeFormatter> DATE_TIME_FORMATTERS = new ConcurrentHashMap<>();
+
+    private MaternityDateUtils() {
+    }
+
+    /**
+     * @return the formatter of the pattern, created on its first use
+     */
+    @NonNull
+    public static DateTimeFormatter getDateTimeFormatter(@NonNull String pattern) {
+        DateTimeFormatter dateTimeFormatter = DATE_TIME_FORMATTERS.get(pattern);
+        if (dateTimeFormatter == null) {
+            dateTimeFormatter = DateTimeFormat.forPattern(pattern).withLocale(Locale.ENGLISH);
+            DateTimeFormatter existingFormatter = DATE_TIME_FORMATTERS.putIfAbsent(pattern, dateTimeFormatter);
+            if (existingFormatter != null) {
+                dateTimeFormatter = existingFormatter;
+            }
+        }
+
+        return dateTimeFormatter;
+    }
+
+    /**
+     * Formats the date with the formatter of the pattern. Patterns the formatter does not support but
+     * {@link SimpleDateFormat} does, such as week of month or ISO time zone letters, are formatted with a
+     * {@link SimpleDateFormat} as they were before the formatters were shared
+     */
+    @NonNull
+    public static String formatDate(@NonNull Date date, @NonNull String pattern) {
+        try {
+            return getDateTimeFormatter(pattern).print(date.getTime());
+        } catch (IllegalArgumentException e) {
+            return new SimpleDateFormat(pattern, Locale.ENGLISH).format(date);
+        }
+    }
+
+    /**
+     * Parses the date with the formatter of the pattern. Dates the formatter rejects but {@link SimpleDateFormat}
+     * accepts, such as dates followed by other text or local times skipped by a daylight saving change, are parsed
+     * with a {@link SimpleDateFormat} as they were before the formatters were shared
+     *
+     * @return the date or {@code null} if the date string is empty or does not match the pattern
+     */
+    @Nullable
+    public static Date parseDate(@NonNull String pattern, @Nullable String dateString) {
+        if (StringUtils.isBlank(dateString) || StringUtils.isBlank(pattern)) {
+            return null;
+        }
+
+        try {
+            return getDateTimeFormatter(pattern).parseDateTime(dateString).toDate();
+        } catch (IllegalArgumentException e) {
+            return parseDateLeniently(pattern, dateString);
+        }
+    }
+
+    @Nullable
+    private static Date parseDateLeniently(@NonNull String pattern, @NonNull String dateString) {
+        try {
+            return new SimpleDateFormat(pattern, Locale.ENGLISH).parse(dateString);
+        } catch (ParseException | IllegalArgumentException e) {
+            Timber.e(e);
+            return null;
+        }
+    }
+
+    public static int getGestationAgeInWeeks(@NonNull String conceptionDateString) {
+        return getGestationAgeInWeeks(conceptionDateString, LocalDate.now());
+    }
+
+    public static int getGestationAgeInWeeks(@NonNull String conceptionDateString, @NonNull LocalDate today) {
+        LocalDate conceptionDate = getDateTimeFormatter(CONCEPTION_DATE_FORMAT).parseLocalDate(conceptionDateString);
+        return Weeks.weeksBetween(conceptionDate, today).getWeeks();
+    }
+
+    /**
+     * Reads the weeks of a gestation age calculated by the registration forms such as {@code 20 weeks 3 days}
+     *
+     * @return the weeks or {@code null} if the value has no weeks
+     */
+    @Nullable
+    public static Integer getCalculatedGaWeeks(@Nullable String gaCalculated) {
+        if (StringUtils.isBlank(gaCalculated) || !gaCalculated.contains("weeks")) {
+            return null;
+        }
+
+        try {
+            return Integer.parseInt(gaCalculated.substring(0, gaCalculated.indexOf("weeks")).trim());
+        } catch (NumberFormatException e) {
+            Timber.e(e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the gestation age in weeks of a page of register rows. The {@code ga_calculated} stored with the
+     * client is used when it is set, otherwise the age is computed from the {@code conception_date} of the row.
+     * Today's date is read once and rows with the same conception date are only computed once
+     *
+     * @return the gestation age of each row in the order of the rows, {@code null} when it is not known
+     */
+    @NonNull
+    public static List<Integer> getGestationAgesInWeeks(@NonNull List<Map<String, String>> rows) {
+        List<Integer> gestationAges = new ArrayList<>(rows.size());
+        HashMap<String, Integer> conceptionDateGestationAges = new HashMap<>();
+        LocalDate today = null;
+
+        for (Map<String, String> row : rows) {
+            Integer gestationAge = getCalculatedGaWeeks(row.get(MaternityDbConstants.KEY.GA_CALCULATED));
+            String conceptionDate = row.get(MaternityConstants.Event.MaternityRegistration.CONCEPTION_DATE);
+
+            if (gestationAge == null && StringUtils.isNotBlank(conceptionDate)) {
+                if (conceptionDateGestationAges.containsKey(conceptionDate)) {
+                    gestationAge = conceptionDateGestationAges.get(conceptionDate);
+                } else {
+                    if (today == null) {
+                        today = LocalDate.now();
+                    }
+
+                    try {
+                        gestationAge = getGestationAgeInWeeks(conceptionDate, today);
+                    } catch (IllegalArgumentException e) {
+                        Timber.e(e);
+                    }
+
+                    conceptionDateGestationAges.put(conceptionDate, gestationAge);
+                }
+            }
+
+            gestationAges.add(gestationAge);
+        }
+
+        return gestationAges;
+    }
+}
@@ -23,6 +23,7 @@ public interface MaternityDbConstants {
         String TABLE = "ec_client";
         String OPENSRP_ID = "opensrp_id";
         String LAST_INTERACTED_WITH = "last_interacted_with";
+        String OBJECT_ID = "object_id";
         String DATE_REMOVED = "date_removed";
         String GEST_AGE = "gest_age";
         String GA_CALCULATED = "ga_calculated";
@@ -89,6 +90,11 @@ public interface MaternityDbConstants {
             String BASE_ENTITY_ID = "base_entity_id";
         }
 
+        interface MaternitySearchIndex {
+            String BASE_ENTITY_ID = "base_entity_id";
+            String SEARCH_KEYS = "search_keys";
+        }
+
     }
 
     interface Table {
@@ -98,5 +104,6 @@ public interface MaternityDbConstants {
         String MATERNITY_PARTIAL_FORM = "maternity_partial_form";
         String MATERNITY_MEDIC_INFO_FORM = "maternity_outcome_form";
         String MATERNITY_CHILD = "maternity_child";
+        String MATERNITY_SEARCH_INDEX = "maternity_search_index";
     }
 }
@@ -0,0 +1,261 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Computes and applies the changes between a JSON form and the form template it was filled from, so that only the
+ * changed values of a form are stored. A delta is a JSON object holding one of:
+ * <ul>
+ * <li>{@code v} the value replacing the template value</li>
+ * <li>{@code o} the deltas of the changed keys of an object and {@code d} the keys removed from it</li>
+ * <li>{@code a} the deltas of the changed items of an array of fields, by the {@code key} of the fields</li>
+ * </ul>
+ */
+public final class MaternityJsonDeltaUtils {
+
+    private static final String VALUE = "v";
+    private static final String OBJECT = "o";
+    private static final String DELETED = "d";
+    private static final String FIELDS = "a";
+    private static final String FIELD_KEY = "key";
+
+    private MaternityJsonDeltaUtils() {
+    }
+
+    /**
+     * @return the delta turning the template into the value or {@code null} if they are the same
+     */
+    @Nullable
+    public static JSONObject createDelta(@Nullable Object template, @Nullable Object value) throws JSONException {
+        if (isEqual(template, value)) {
+            return null;
+        }
+
+        JSONObject delta = new JSONObject();
+        if (template instanceof JSONObject && value instanceof JSONObject) {
+            JSONObject templateObject = (JSONObject) template;
+            JSONObject valueObject = (JSONObject) value;
+            JSONObject keyDeltas = new JSONObject();
+            JSONArray deletedKeys = new JSONArray();
+
+            Iterator<String> keys = valueObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                JSONObject keyDelta = createDelta(templateObject.opt(key), valueObject.get(key));
+                if (keyDelta != null) {
+                    keyDeltas.put(key, keyDelta);
+                }
+            }
+
+            keys = templateObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!valueObject.has(key)) {
+                    deletedKeys.put(key);
+                }
+            }
+
+            delta.put(OBJECT, keyDeltas);
+            if (deletedKeys.length() > 0) {
+                delta.put(DELETED, deletedKeys);
+            }
+        } else if (template instanceof JSONArray && value instanceof JSONArray && haveSameFieldKeys((JSONArray) template, (JSONArray) value)) {
+            JSONArray templateArray = (JSONArray) template;
+            JSONArray valueArray = (JSONArray) value;
+            JSONObject fieldDeltas = new JSONObject();
+
+            for (int i = 0; i < valueArray.length(); i++) {
+                JSONObject fieldDelta = createDelta(templateArray.get(i), valueArray.get(i));
+                if (fieldDelta != null) {
+                    fieldDeltas.put(valueArray.getJSONObject(i).getString(FIELD_KEY), fieldDelta);
+                }
+            }
+
+            delta.put(FIELDS, fieldDeltas);
+        } else {
+            delta.put(VALUE, value == null ? JSONObject.NULL : value);
+        }
+
+        return delta;
+    }
+
+    /**
+     * Applies the delta to the template, changing the objects and arrays of the template in place. Changes of fields
+     * no longer in the template are skipped
+     *
+     * @return the value made from the template
+     */
+    @Nullable
+    public static Object applyDelta(@Nullable Object template, @Nullable JSONObject delta) throws JSONException {
+        if (delta == null) {
+            return template;
+        }
+
+        if (delta.has(VALUE)) {
+            return delta.get(VALUE);
+        }
+
+        if (delta.has(OBJECT)) {
+            JSONObject object = template instanceof JSONObject ? (JSONObject) template : new JSONObject();
+            JSONObject keyDeltas = delta.getJSONObject(OBJECT);
+
+            Iterator<String> keys = keyDeltas.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                object.put(key, applyDelta(object.opt(key), keyDeltas.getJSONObject(key)));
+            }
+
+            JSONArray deletedKeys = delta.optJSONArray(DELETED);
+            for (int i = 0; deletedKeys != null && i < deletedKeys.length(); i++) {
+                object.remove(deletedKeys.getString(i));
+            }
+
+            return object;
+        }
+
+        if (delta.has(FIELDS) && template instanceof JSONArray) {
+            JSONArray array = (JSONArray) template;
+            HashMap<String, Integer> fieldPositions = new HashMap<>();
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject field = array.optJSONObject(i);
+                if (field != null && field.has(FIELD_KEY)) {
+                    fieldPositions.put(field.optString(FIELD_KEY), i);
+                }
+            }
+
+            JSONObject fieldDeltas = delta.getJSONObject(FIELDS);
+            Iterator<String> keys = fieldDeltas.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Integer position = fieldPositions.get(key);
+                if (position != null) {
+                    array.put(position, applyDelta(array.get(position), fieldDeltas.getJSONObject(key)));
+                }
+            }
+        }
+
+        return template;
+    }
+
+    @NonNull
+    public static byte[] compress(@NonNull String value) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new DeflaterOutputStream(byteArrayOutputStream)) {
+            outputStream.write(value.getBytes("UTF-8"));
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @NonNull
+    public static String decompress(@NonNull byte[] value) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(value.length * 4);
+        try (InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(value))) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                byteArrayOutputStream.write(buffer, 0, length);
+            }
+        }
+
+        return new String(byteArrayOutputStream.toByteArray(), "UTF-8");
+    }
+
+    /**
+     * @return the SHA-1 of the value in hex, used to tell whether a template changed since a delta was made from it
+     */
+    @NonNull
+    public static String getHash(@NonNull String value) throws IOException {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        StringBuilder hash = new StringBuilder(digest.length * 2);
+        for (byte digestByte : digest) {
+            hash.append(Character.forDigit((digestByte >> 4) & 0xf, 16)).append(Character.forDigit(digestByte & 0xf, 16));
+        }
+
+        return hash.toString();
+    }
+
+    /**
+     * @return {@code true} if both arrays are made of fields with the same unique keys in the same order
+     */
+    private static boolean haveSameFieldKeys(@NonNull JSONArray template, @NonNull JSONArray value) {
+        if (template.length() != value.length() || value.length() == 0) {
+            return false;
+        }
+
+        HashSet<String> fieldKeys = new HashSet<>();
+        for (int i = 0; i < value.length(); i++) {
+            JSONObject templateField = template.optJSONObject(i);
+            JSONObject valueField = value.optJSONObject(i);
+            if (templateField == null || valueField == null || !templateField.has(FIELD_KEY)
+                    || !templateField.optString(FIELD_KEY).equals(valueField.optString(FIELD_KEY, null))
+                    || !fieldKeys.add(templateField.optString(FIELD_KEY))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isEqual(@Nullable Object template, @Nullable Object value) {
+        if (template instanceof JSONObject && value instanceof JSONObject) {
+            JSONObject templateObject = (JSONObject) template;
+            JSONObject valueObject = (JSONObject) value;
+            if (templateObject.length() != valueObject.length()) {
+                return false;
+            }
+
+            Iterator<String> keys = valueObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!templateObject.has(key) || !isEqual(templateObject.opt(key), valueObject.opt(key))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if (template instanceof JSONArray && value instanceof JSONArray) {
+            JSONArray templateArray = (JSONArray) template;
+            JSONArray valueArray = (JSONArray) value;
+            if (templateArray.length() != valueArray.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < valueArray.length(); i++) {
+                if (!isEqual(templateArray.opt(i), valueArray.opt(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return template == null ? value == null : template.equals(value);
+    }
+}
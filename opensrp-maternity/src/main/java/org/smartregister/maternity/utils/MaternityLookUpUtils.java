@@ -1,46 +1,52 @@
 package org.smartregister.maternity.utils;
 
 import android.database.Cursor;
-import android.os.AsyncTask;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import android.text.TextUtils;
+
+import net.sqlcipher.database.SQLiteDatabase;
 
 import org.apache.commons.lang3.StringUtils;
 import org.smartregister.Context;
 import org.smartregister.commonregistry.CommonPersonObject;
 import org.smartregister.commonregistry.CommonRepository;
 import org.smartregister.event.Listener;
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
 import org.smartregister.maternity.pojo.MaternityMetadata;
+import org.smartregister.maternity.pojo.MaternityRegisterQuery;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+import io.reactivex.disposables.Disposable;
 import timber.log.Timber;
 
 
 public class MaternityLookUpUtils {
 
-    public static void lookUp(@NonNull final Context context, @NonNull final Map<String, String> entityLookUp, @NonNull final Listener<List<CommonPersonObject>> listener) {
-        org.smartregister.util.Utils
-                .startAsyncTask(new AsyncTask<Void, Void, List<CommonPersonObject>>() {
-                    @Override
-                    protected List<CommonPersonObject> doInBackground(Void... params) {
-                        publishProgress();
-                        return clientLookUp(context, entityLookUp);
-                    }
-
-                    @Override
-                    protected void onPostExecute(List<CommonPersonObject> result) {
-                        listener.onEvent(result);
-                    }
-
-                    @Override
-                    protected void onProgressUpdate(Void... values) {
-                        //show progress bar
-                    }
-                }, null);
+    /**
+     * The look up only shows the most recent matches, the user types more to narrow them down
+     */
+    public static final int MAX_LOOK_UP_RESULTS = 20;
+
+    /**
+     * Looks up the clients matching the values in the background and passes them to the listener on the main thread.
+     * Look ups of the same values that are in flight at the same time are run once
+     *
+     * @return the handle used to drop the results when the values have changed
+     */
+    @NonNull
+    public static Disposable lookUp(@NonNull final Context context, @NonNull final Map<String, String> entityLookUp, @NonNull final Listener<List<CommonPersonObject>> listener) {
+        final Map<String, String> lookUpValues = new TreeMap<>(entityLookUp);
+        MaternityFtsSearch search = getLookUpSearch(lookUpValues);
+
+        return MaternityLibrary.getInstance().getMaternityTaskRunner().execute("look-up:" + search.getMatchExpression()
+                , () -> clientLookUp(context, lookUpValues)
+                , results -> listener.onEvent(results != null ? results : new ArrayList<>()));
     }
 
     private static List<CommonPersonObject> clientLookUp(@Nullable Context context, @NonNull Map<String, String> entityLookUp) {
@@ -49,66 +55,56 @@ public class MaternityLookUpUtils {
             return results;
         }
 
-        if (entityLookUp.isEmpty()) {
+        MaternityFtsSearch search = getLookUpSearch(entityLookUp);
+        if (search.isEmpty()) {
             return results;
         }
 
         MaternityMetadata maternityMetadata = MaternityUtils.metadata();
         if (maternityMetadata != null) {
-            String tableName = maternityMetadata.getTableName();
-
-            CommonRepository commonRepository = context.commonrepository(tableName);
-            String query = lookUpQuery(entityLookUp);
-            if (query == null) {
-                return results;
-            }
-            Cursor cursor = null;
-            try {
-
-                cursor = commonRepository.rawCustomQueryForAdapter(query);
-                if (cursor != null && cursor.getCount() > 0 && cursor.moveToFirst()) {
-                    while (!cursor.isAfterLast()) {
-                        CommonPersonObject commonPersonObject = commonRepository.readAllcommonforCursorAdapter(cursor);
-                        results.add(commonPersonObject);
-                        cursor.moveToNext();
-                    }
-                }
-            } catch (Exception e) {
-                Timber.e(e);
-            } finally {
-                if (cursor != null) {
-                    cursor.close();
-                }
+            MaternityRegisterQueryProviderContract queryProvider = ConfigurationInstancesHelper.newInstance(MaternityLibrary.getInstance()
+                    .getMaternityConfiguration().getMaternityRegisterQueryProvider());
+            CommonRepository commonRepository = context.commonrepository(maternityMetadata.getTableName());
+            readLookUpResults(commonRepository, queryProvider.getLookUpQuery(search, MAX_LOOK_UP_RESULTS), results);
+
+            // The names may have been misspelled, look for the names sounding like them
+            if (results.isEmpty() && MaternityLibrary.getInstance().getMaternitySearchIndexRepository().isTableCreated()) {
+                readLookUpResults(commonRepository, queryProvider.getFuzzyLookUpQuery(search, MAX_LOOK_UP_RESULTS), results);
             }
         }
 
         return results;
     }
 
-    protected static String lookUpQuery(@NonNull Map<String, String> entityMap) {
-        String mainCondition = getMainConditionString(entityMap);
-        if (!TextUtils.isEmpty(mainCondition)) {
-            return "";//MaternityLibrary.getInstance().maternityLookUpQuery().replace("[condition]", mainCondition) + ";";
+    private static void readLookUpResults(@NonNull CommonRepository commonRepository, @Nullable MaternityRegisterQuery query
+            , @NonNull List<CommonPersonObject> results) {
+        if (query == null) {
+            return;
         }
-        return null;
-    }
 
-    protected static String getMainConditionString(@NonNull Map<String, String> entityMap) {
-        String mainConditionString = "";
-        for (Map.Entry<String, String> entry : entityMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            if (value == null || value.isEmpty()) {
-                continue;
+        SQLiteDatabase database = MaternityLibrary.getInstance().getRepository().getReadableDatabase();
+        try (Cursor cursor = database.rawQuery(query.getSql(), query.getArgs())) {
+            while (cursor.moveToNext() && results.size() < MAX_LOOK_UP_RESULTS) {
+                results.add(commonRepository.readAllcommonforCursorAdapter(cursor));
             }
-            if (StringUtils.isBlank(mainConditionString)) {
-                mainConditionString += " " + key + " Like '%" + value + "%'";
-            } else {
-                mainConditionString += " AND " + key + " Like '%" + value + "%'";
+        } catch (Exception e) {
+            Timber.e(e);
+        }
+    }
 
+    /**
+     * Turns the values typed in the look up fields into prefix terms so that the look up uses the FTS index of the
+     * search table instead of scanning the client table with {@code LIKE '%value%'}
+     */
+    @NonNull
+    protected static MaternityFtsSearch getLookUpSearch(@NonNull Map<String, String> entityMap) {
+        StringBuilder values = new StringBuilder();
+        for (Map.Entry<String, String> entry : new TreeMap<>(entityMap).entrySet()) {
+            if (StringUtils.isNotBlank(entry.getValue())) {
+                values.append(entry.getValue()).append(' ');
             }
         }
 
-        return mainConditionString;
+        return MaternityFtsSearch.fromFilters(values.toString());
     }
-}
\ No newline at end of file
+}
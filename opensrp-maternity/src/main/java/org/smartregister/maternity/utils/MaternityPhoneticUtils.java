@@ -0,0 +1,222 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Phonetic keys of names so that clients can be found when their names are misspelled. Names are compared by their
+ * American Soundex code, which tolerates most vowel and doubled letter mistakes, and by a Metaphone key, which
+ * tolerates spelling the same sound differently such as {@code Catherine} and {@code Katherine}
+ */
+public final class MaternityPhoneticUtils {
+
+    public static final int METAPHONE_MAX_LENGTH = 6;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private MaternityPhoneticUtils() {
+    }
+
+    /**
+     * @return the value in lower case without accents, such as {@code jose} for {@code Jos&eacute;}
+     */
+    @NonNull
+    public static String normalize(@NonNull String value) {
+        return DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the Soundex code of the name such as {@code R163} for {@code Robert} or {@code null} if the name does
+     * not start with a latin letter
+     */
+    @Nullable
+    public static String getSoundex(@NonNull String name) {
+        String letters = getLetters(name);
+        if (letters.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder soundex = new StringBuilder(4).append(letters.charAt(0));
+        char lastCode = getSoundexCode(letters.charAt(0));
+
+        for (int i = 1; i < letters.length() && soundex.length() < 4; i++) {
+            char letter = letters.charAt(i);
+            if (letter == 'H' || letter == 'W') {
+                continue;
+            }
+
+            char code = getSoundexCode(letter);
+            if (code != '0' && code != lastCode) {
+                soundex.append(code);
+            }
+            lastCode = code;
+        }
+
+        while (soundex.length() < 4) {
+            soundex.append('0');
+        }
+
+        return soundex.toString();
+    }
+
+    /**
+     * @return the Metaphone key of the name such as {@code K0RN} for {@code Catherine} or {@code null} if the name
+     * does not start with a latin letter
+     */
+    @Nullable
+    public static String getMetaphone(@NonNull String name) {
+        String word = getLetters(name);
+        if (word.isEmpty()) {
+            return null;
+        }
+
+        if (word.startsWith("KN") || word.startsWith("GN") || word.startsWith("PN") || word.startsWith("AE") || word.startsWith("WR")) {
+            word = word.substring(1);
+        } else if (word.charAt(0) == 'X') {
+            word = "S" + word.substring(1);
+        } else if (word.startsWith("WH")) {
+            word = "W" + word.substring(2);
+        }
+
+        StringBuilder metaphone = new StringBuilder(METAPHONE_MAX_LENGTH);
+        for (int i = 0; i < word.length() && metaphone.length() < METAPHONE_MAX_LENGTH; i++) {
+            char letter = word.charAt(i);
+            char previous = charAt(word, i - 1);
+            char next = charAt(word, i + 1);
+            char afterNext = charAt(word, i + 2);
+
+            if (letter == previous && letter != 'C') {
+                continue;
+            }
+
+            switch (letter) {
+                case 'A':
+                case 'E':
+                case 'I':
+                case 'O':
+                case 'U':
+                    if (i == 0) {
+                        metaphone.append(letter);
+                    }
+                    break;
+                case 'B':
+                    if (!(previous == 'M' && i == word.length() - 1)) {
+                        metaphone.append('B');
+                    }
+                    break;
+                case 'C':
+                    if (previous == 'S' && next == 'H') {
+                        metaphone.append('K');
+                    } else if ((next == 'I' && afterNext == 'A') || next == 'H') {
+                        metaphone.append('X');
+                    } else if (isFrontVowel(next)) {
+                        if (previous != 'S') {
+                            metaphone.append('S');
+                        }
+                    } else {
+                        metaphone.append('K');
+                    }
+                    break;
+                case 'D':
+                    metaphone.append(next == 'G' && isFrontVowel(afterNext) ? 'J' : 'T');
+                    break;
+                case 'G':
+                    if ((next == 'H' && !isVowel(afterNext))
+                            || (next == 'N' && (i + 2 == word.length() || (word.startsWith("ED", i + 2) && i + 4 == word.length())))
+                            || (previous == 'D' && isFrontVowel(next))) {
+                        break;
+                    }
+                    metaphone.append(isFrontVowel(next) ? 'J' : 'K');
+                    break;
+                case 'H':
+                    if (isVowel(next) && "CSPTG".indexOf(previous) == -1) {
+                        metaphone.append('H');
+                    }
+                    break;
+                case 'K':
+                    if (previous != 'C') {
+                        metaphone.append('K');
+                    }
+                    break;
+                case 'P':
+                    metaphone.append(next == 'H' ? 'F' : 'P');
+                    break;
+                case 'Q':
+                    metaphone.append('K');
+                    break;
+                case 'S':
+                    metaphone.append(next == 'H' || (next == 'I' && (afterNext == 'O' || afterNext == 'A')) ? 'X' : 'S');
+                    break;
+                case 'T':
+                    if (next == 'I' && (afterNext == 'O' || afterNext == 'A')) {
+                        metaphone.append('X');
+                    } else if (next == 'H') {
+                        metaphone.append('0');
+                    } else if (!(next == 'C' && afterNext == 'H')) {
+                        metaphone.append('T');
+                    }
+                    break;
+                case 'V':
+                    metaphone.append('F');
+                    break;
+                case 'W':
+                case 'Y':
+                    if (isVowel(next)) {
+                        metaphone.append(letter);
+                    }
+                    break;
+                case 'X':
+                    metaphone.append("KS");
+                    break;
+                case 'Z':
+                    metaphone.append('S');
+                    break;
+                default:
+                    metaphone.append(letter);
+                    break;
+            }
+        }
+
+        return metaphone.length() > METAPHONE_MAX_LENGTH ? metaphone.substring(0, METAPHONE_MAX_LENGTH) : metaphone.toString();
+    }
+
+    /**
+     * @return the latin letters of the name in upper case, empty if the name does not start with one
+     */
+    @NonNull
+    private static String getLetters(@NonNull String name) {
+        String normalizedName = normalize(name);
+        StringBuilder letters = new StringBuilder(normalizedName.length());
+        for (int i = 0; i < normalizedName.length(); i++) {
+            char letter = normalizedName.charAt(i);
+            if (letter >= 'a' && letter <= 'z') {
+                letters.append((char) (letter - 'a' + 'A'));
+            } else if (i == 0) {
+                return "";
+            }
+        }
+
+        return letters.toString();
+    }
+
+    private static char getSoundexCode(char letter) {
+        return SOUNDEX_CODES.charAt(letter - 'A');
+    }
+
+    private static char charAt(@NonNull String word, int index) {
+        return index >= 0 && index < word.length() ? word.charAt(index) : 0;
+    }
+
+    private static boolean isVowel(char letter) {
+        return letter == 'A' || letter == 'E' || letter == 'I' || letter == 'O' || letter == 'U';
+    }
+
+    private static boolean isFrontVowel(char letter) {
+        return letter == 'E' || letter == 'I' || letter == 'Y';
+    }
+}
@@ -0,0 +1,121 @@
+package org.smartregister.maternity.utils;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.smartregister.maternity.helper.MaternityTaskMetrics;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of background threads whose queued tasks run by priority, so that tasks the user is waiting for run ahead
+ * of background tasks queued before them. Tasks of the same priority run in the order they were queued. The queue
+ * wait and run time of each task is recorded in {@link MaternityTaskMetrics}
+ */
+public class MaternityTaskExecutor {
+
+    public enum Priority {
+        /**
+         * Tasks the user is waiting for such as loading a profile
+         */
+        INTERACTIVE,
+        /**
+         * Tasks the user is not waiting for such as saving events or prefetching
+         */
+        BACKGROUND
+    }
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final MaternityTaskMetrics taskMetrics;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public MaternityTaskExecutor(@NonNull String name, int threadCount, @Nullable MaternityTaskMetrics taskMetrics) {
+        this.name = name;
+        this.taskMetrics = taskMetrics;
+        threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS
+                , new PriorityBlockingQueue<>(), new NamedThreadFactory(name));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public void execute(@NonNull Priority priority, @NonNull Runnable command) {
+        threadPoolExecutor.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), command));
+    }
+
+    /**
+     * @return an executor running its tasks on this pool with the priority
+     */
+    @NonNull
+    public Executor getLane(@NonNull Priority priority) {
+        return command -> execute(priority, command);
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    private String getLaneName(@NonNull Priority priority) {
+        return name + "/" + priority.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    private class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable command;
+        private final long queuedAt = SystemClock.elapsedRealtime();
+
+        private PrioritizedTask(@NonNull Priority priority, long sequence, @NonNull Runnable command) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = SystemClock.elapsedRealtime();
+            try {
+                command.run();
+            } finally {
+                if (taskMetrics != null) {
+                    taskMetrics.record(getLaneName(priority), command.getClass().getName()
+                            , startedAt - queuedAt, SystemClock.elapsedRealtime() - startedAt);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull PrioritizedTask other) {
+            int priorityComparison = priority.compareTo(other.priority);
+            return priorityComparison != 0 ? priorityComparison : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private NamedThreadFactory(@NonNull String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.smartregister.maternity.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import timber.log.Timber;
+
+/**
+ * Runs background loads that can be cancelled. Each call returns a {@link Disposable} that stops its result from being
+ * delivered, and a load whose callers have all disposed their handles before it starts is not run at all.
+ * <p>
+ * Loads with the same key that are queued at the same time are merged, so that the load only runs once and its result
+ * is delivered to the callback of every caller. A load that has started is not merged with, since it might have read
+ * the database before a change the caller expects to see. Loads are removed once they start, results are not cached
+ */
+public class MaternityTaskRunner {
+
+    private final Executor backgroundExecutor;
+    private final Executor mainThreadExecutor;
+    private final HashMap<String, Task<?>> queuedTasks = new HashMap<>();
+
+    public MaternityTaskRunner(@NonNull Executor backgroundExecutor, @NonNull Executor mainThreadExecutor) {
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    /**
+     * Runs the load in the background and delivers its result to the callback on the main thread. If a load with the
+     * same key is already queued, the callback receives the result of that load instead. A failed load delivers
+     * {@code null}
+     *
+     * @return the handle used to cancel the delivery of the result to the callback
+     */
+    @NonNull
+    public <T> Disposable execute(@NonNull String key, @NonNull Callable<T> callable, @NonNull OnResultCallback<T> callback) {
+        return execute(backgroundExecutor, null, key, callable, callback, null);
+    }
+
+    /**
+     * Same as {@link #execute(String, Callable, OnResultCallback)} with the load run on the executor, such as
+     * {@link AppExecutors#diskIOReadAfterWrites()} for loads that have to see the writes queued before them
+     */
+    @NonNull
+    public <T> Disposable execute(@NonNull Executor executor, @NonNull String key, @NonNull Callable<T> callable
+            , @NonNull OnResultCallback<T> callback) {
+        return execute(executor, null, key, callable, callback, null);
+    }
+
+    /**
+     * Same as {@link #execute(Executor, CompositeDisposable, String, Callable, OnResultCallback, OnErrorCallback)}
+     * with the load run on the background executor of the runner
+     */
+    @NonNull
+    public <T> Disposable execute(@Nullable CompositeDisposable disposables, @NonNull String key, @NonNull Callable<T> callable
+            , @NonNull OnResultCallback<T> callback, @Nullable OnErrorCallback errorCallback) {
+        return execute(backgroundExecutor, disposables, key, callable, callback, errorCallback);
+    }
+
+    /**
+     * Runs the load on the executor and delivers its result to the callback on the main thread
+     *
+     * @param disposables   the handles of the caller, which the handle of the load is added to until its result or
+     *                      error is delivered
+     * @param errorCallback the callback receiving the error of a failed load on the main thread, a failed load
+     *                      delivers {@code null} to the callback when there is none
+     * @return the handle used to cancel the delivery of the result to the callback
+     */
+    @NonNull
+    public <T> Disposable execute(@NonNull Executor executor, @Nullable CompositeDisposable disposables, @NonNull String key
+            , @NonNull Callable<T> callable, @NonNull OnResultCallback<T> callback, @Nullable OnErrorCallback errorCallback) {
+        Subscription<T> subscription = new Subscription<>(disposables, callback, errorCallback);
+        if (disposables != null) {
+            disposables.add(subscription);
+        }
+
+        boolean isNewTask = false;
+        Task<T> task;
+
+        synchronized (queuedTasks) {
+            @SuppressWarnings("unchecked")
+            Task<T> queuedTask = (Task<T>) queuedTasks.get(key);
+            task = queuedTask;
+
+            if (task == null) {
+                task = new Task<>(key, callable);
+                queuedTasks.put(key, task);
+                isNewTask = true;
+            }
+
+            task.subscriptions.add(subscription);
+        }
+
+        if (isNewTask) {
+            executor.execute(task);
+        }
+
+        return subscription;
+    }
+
+    /**
+     * @return the number of loads that are queued and have not started
+     */
+    public int getQueuedTaskCount() {
+        synchronized (queuedTasks) {
+            return queuedTasks.size();
+        }
+    }
+
+    public interface OnResultCallback<T> {
+
+        void onResult(@Nullable T result);
+    }
+
+    public interface OnErrorCallback {
+
+        void onError(@NonNull Exception exception);
+    }
+
+    private class Task<T> implements Runnable {
+
+        private final String key;
+        private final Callable<T> callable;
+        private final List<Subscription<T>> subscriptions = new ArrayList<>();
+
+        private Task(@NonNull String key, @NonNull Callable<T> callable) {
+            this.key = key;
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            final List<Subscription<T>> startedSubscriptions;
+            synchronized (queuedTasks) {
+                queuedTasks.remove(key);
+                startedSubscriptions = new ArrayList<>(subscriptions);
+            }
+
+            if (!hasActiveSubscriptions(startedSubscriptions)) {
+                mainThreadExecutor.execute(() -> {
+                    for (Subscription<T> subscription : startedSubscriptions) {
+                        subscription.release();
+                    }
+                });
+                return;
+            }
+
+            T result = null;
+            Exception error = null;
+            try {
+                result = callable.call();
+            } catch (Exception e) {
+                Timber.e(e);
+                error = e;
+            }
+
+            final T taskResult = result;
+            final Exception taskError = error;
+            mainThreadExecutor.execute(() -> {
+                for (Subscription<T> subscription : startedSubscriptions) {
+                    if (taskError != null) {
+                        subscription.deliverError(taskError);
+                    } else {
+                        subscription.deliver(taskResult);
+                    }
+                }
+            });
+        }
+
+        private boolean hasActiveSubscriptions(@NonNull List<Subscription<T>> startedSubscriptions) {
+            for (Subscription<T> subscription : startedSubscriptions) {
+                if (!subscription.isDisposed()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private static class Subscription<T> implements Disposable {
+
+        private final CompositeDisposable disposables;
+        private volatile OnResultCallback<T> callback;
+        private volatile OnErrorCallback errorCallback;
+
+        private Subscription(@Nullable CompositeDisposable disposables, @NonNull OnResultCallback<T> callback
+                , @Nullable OnErrorCallback errorCallback) {
+            this.disposables = disposables;
+            this.callback = callback;
+            this.errorCallback = errorCallback;
+        }
+
+        private void deliver(@Nullable T result) {
+            OnResultCallback<T> resultCallback = callback;
+            release();
+            if (resultCallback != null) {
+                resultCallback.onResult(result);
+            }
+        }
+
+        private void deliverError(@NonNull Exception error) {
+            OnResultCallback<T> resultCallback = callback;
+            OnErrorCallback taskErrorCallback = errorCallback;
+            release();
+            if (resultCallback == null) {
+                return;
+            }
+
+            if (taskErrorCallback != null) {
+                taskErrorCallback.onError(error);
+            } else {
+                resultCallback.onResult(null);
+            }
+        }
+
+        /**
+         * Drops the callbacks and removes the handle from the handles of the caller without disposing them
+         */
+        private void release() {
+            callback = null;
+            errorCallback = null;
+            if (disposables != null) {
+                disposables.delete(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            callback = null;
+            errorCallback = null;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return callback == null;
+        }
+    }
+}
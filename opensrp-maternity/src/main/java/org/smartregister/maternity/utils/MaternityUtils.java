@@ -25,27 +25,25 @@ import org.joda.time.DateTime;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.smartregister.CoreLibrary;
 import org.smartregister.clientandeventmodel.Client;
 import org.smartregister.clientandeventmodel.Event;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.R;
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
 import org.smartregister.maternity.pojo.MaternityEventClient;
 import org.smartregister.maternity.pojo.MaternityMetadata;
+import org.smartregister.maternity.pojo.MaternityRegisterRow;
 import org.smartregister.repository.UniqueIdRepository;
 import org.smartregister.util.FormUtils;
 import org.smartregister.util.JsonFormUtils;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
 import timber.log.Timber;
 
@@ -64,6 +62,15 @@ public class MaternityUtils extends org.smartregister.util.Utils {
 
     @NonNull
     public static String fillTemplate(boolean isHtml, @NonNull String stringValue, @NonNull Facts facts) {
+        return MaternityCompiledTemplate.get(stringValue).render(isHtml, facts);
+    }
+
+    /**
+     * Fills the template by rewriting the whole string for each key. {@link MaternityCompiledTemplate} produces the
+     * same output and falls back to this for templates and values it does not handle
+     */
+    @NonNull
+    static String fillTemplateByRewriting(boolean isHtml, @NonNull String stringValue, @NonNull Facts facts) {
         String stringValueResult = stringValue;
         while (stringValueResult.contains("{")) {
             String key = stringValueResult.substring(stringValueResult.indexOf("{") + 1, stringValueResult.indexOf("}"));
@@ -93,7 +100,7 @@ public class MaternityUtils extends org.smartregister.util.Utils {
     }
 
     @NonNull
-    private static String processValue(@NonNull String key, @NonNull Facts facts) {
+    static String processValue(@NonNull String key, @NonNull Facts facts) {
         String value = "";
         if (facts.get(key) instanceof String) {
             value = facts.get(key);
@@ -110,7 +117,7 @@ public class MaternityUtils extends org.smartregister.util.Utils {
     }
 
     @NonNull
-    private static String cleanValueResult(@NonNull String result) {
+    static String cleanValueResult(@NonNull String result) {
         List<String> nonEmptyItems = new ArrayList<>();
 
         for (String item : result.split(",")) {
@@ -151,23 +158,12 @@ public class MaternityUtils extends org.smartregister.util.Utils {
 
     @NonNull
     public static String convertDate(@NonNull Date date, @NonNull String dateFormat) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(dateFormat, Locale.US);
-        return simpleDateFormat.format(date);
+        return MaternityDateUtils.formatDate(date, dateFormat);
     }
 
     @Nullable
     public static Date convertStringToDate(@NonNull String pattern, @NonNull String dateString) {
-        Date date = null;
-        DateFormat dateFormat = new SimpleDateFormat(pattern, Locale.ENGLISH);
-
-        if (!TextUtils.isEmpty(dateString) && !TextUtils.isEmpty(pattern)) {
-            try {
-                date = dateFormat.parse(dateString);
-            } catch (ParseException e) {
-                Timber.e(e);
-            }
-        }
-        return date;
+        return MaternityDateUtils.parseDate(pattern, dateString);
     }
 
     @NonNull
@@ -337,15 +333,23 @@ public class MaternityUtils extends org.smartregister.util.Utils {
         return repeatingGroupMap;
     }
 
+    /**
+     * @return the columns of the client or {@code null} if the client is not found
+     * @deprecated use {@link #getMaternityClient(String, String[])} to read only the columns that are used
+     */
+    @Deprecated
     @Nullable
     public static HashMap<String, String> getMaternityClient(@NonNull String baseEntityId) {
-        ArrayList<HashMap<String, String>> hashMap = CoreLibrary.getInstance().context().getEventClientRepository().rawQuery(MaternityLibrary.getInstance().getRepository().getReadableDatabase(),
-                "select * from " + metadata().getTableName() +
-                        " where " + metadata().getTableName() + ".id = '" + baseEntityId + "' limit 1");
-        if (!hashMap.isEmpty()) {
-            return hashMap.get(0);
-        }
-        return null;
+        MaternityBaseDetails maternityClient = getMaternityClient(baseEntityId, null);
+        return maternityClient != null ? maternityClient.getProperties() : null;
+    }
+
+    /**
+     * @param columns the columns of the client table to read or {@code null} to read all the columns
+     */
+    @Nullable
+    public static MaternityBaseDetails getMaternityClient(@NonNull String baseEntityId, @Nullable String[] columns) {
+        return MaternityLibrary.getInstance().getMaternityDetailsRepository().findClientById(baseEntityId, columns);
     }
 
     public static String getNextUniqueId() {
@@ -381,31 +385,55 @@ public class MaternityUtils extends org.smartregister.util.Utils {
     public static void setActionButtonStatus(Button dueButton, CommonPersonObjectClient commonPersonObjectClient) {
         dueButton.setTypeface(null, Typeface.NORMAL);
         dueButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, dueButton.getResources().getDimension(R.dimen.maternity_register_due_button_size));
-        if (commonPersonObjectClient.getColumnmaps()
-                .get(MaternityConstants.KEY.MATERNITY_PARTIAL_FORM_ID) != null) {
-            String formType = commonPersonObjectClient.getColumnmaps()
-                    .get(MaternityConstants.KEY.MATERNITY_FORM_TYPE);
-            if (MaternityConstants.EventType.MATERNITY_MEDIC_INFO.equals(formType)) {
+        switch (getDueButtonState(commonPersonObjectClient.getColumnmaps())) {
+            case SAVED_REGISTRATION:
                 dueButton.setText(R.string.complete_registration);
                 dueButton.setTag(R.id.BUTTON_TYPE, R.string.complete_registration);
                 dueButton.setBackgroundResource(R.drawable.form_saved_btn_bg);
                 dueButton.setTextColor(dueButton.getContext().getResources().getColor(R.color.dark_grey_text));
-            } else if (MaternityConstants.EventType.MATERNITY_OUTCOME.equals(formType)) {
+                break;
+            case SAVED_OUTCOME:
                 dueButton.setText(R.string.outcome);
                 dueButton.setTag(R.id.BUTTON_TYPE, R.string.outcome);
                 dueButton.setBackgroundResource(R.drawable.form_saved_btn_bg);
                 dueButton.setTextColor(dueButton.getContext().getResources().getColor(R.color.dark_grey_text));
+                break;
+            case COMPLETE_REGISTRATION:
+                dueButton.setText(R.string.complete_registration);
+                dueButton.setTag(R.id.BUTTON_TYPE, R.string.complete_registration);
+                dueButton.setBackgroundResource(R.drawable.maternity_outcome_bg);
+                dueButton.setTextColor(dueButton.getContext().getResources().getColor(R.color.dark_grey_text));
+                break;
+            case OUTCOME:
+                dueButton.setText(R.string.outcome);
+                dueButton.setTag(R.id.BUTTON_TYPE, R.string.outcome);
+                dueButton.setTextColor(ContextCompat.getColor(dueButton.getContext(), R.color.maternity_due_button_txt_color));
+                dueButton.setBackground(ContextCompat.getDrawable(dueButton.getContext(), R.drawable.maternity_outcome_btn_overview_bg));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return the action to show on the due button of a client from the saved partial form and medic info of the
+     * client in the register columns
+     */
+    @NonNull
+    public static MaternityRegisterRow.DueButtonState getDueButtonState(@NonNull Map<String, String> columnMaps) {
+        if (columnMaps.get(MaternityConstants.KEY.MATERNITY_PARTIAL_FORM_ID) != null) {
+            String formType = columnMaps.get(MaternityConstants.KEY.MATERNITY_FORM_TYPE);
+            if (MaternityConstants.EventType.MATERNITY_MEDIC_INFO.equals(formType)) {
+                return MaternityRegisterRow.DueButtonState.SAVED_REGISTRATION;
+            } else if (MaternityConstants.EventType.MATERNITY_OUTCOME.equals(formType)) {
+                return MaternityRegisterRow.DueButtonState.SAVED_OUTCOME;
             }
-        } else if (commonPersonObjectClient.getColumnmaps().get(MaternityConstants.JSON_FORM_KEY.MMI_BASE_ENTITY_ID) == null) {
-            dueButton.setText(R.string.complete_registration);
-            dueButton.setTag(R.id.BUTTON_TYPE, R.string.complete_registration);
-            dueButton.setBackgroundResource(R.drawable.maternity_outcome_bg);
-            dueButton.setTextColor(dueButton.getContext().getResources().getColor(R.color.dark_grey_text));
+
+            return MaternityRegisterRow.DueButtonState.NONE;
+        } else if (columnMaps.get(MaternityConstants.JSON_FORM_KEY.MMI_BASE_ENTITY_ID) == null) {
+            return MaternityRegisterRow.DueButtonState.COMPLETE_REGISTRATION;
         } else {
-            dueButton.setText(R.string.outcome);
-            dueButton.setTag(R.id.BUTTON_TYPE, R.string.outcome);
-            dueButton.setTextColor(ContextCompat.getColor(dueButton.getContext(), R.color.maternity_due_button_txt_color));
-            dueButton.setBackground(ContextCompat.getDrawable(dueButton.getContext(), R.drawable.maternity_outcome_btn_overview_bg));
+            return MaternityRegisterRow.DueButtonState.OUTCOME;
         }
     }
 
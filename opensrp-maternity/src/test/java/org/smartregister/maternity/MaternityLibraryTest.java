@@ -14,12 +14,15 @@ import org.robolectric.annotation.Config;
 import org.robolectric.util.ReflectionHelpers;
 import org.smartregister.Context;
 import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
+import org.smartregister.maternity.pojo.MaternityRegisterPage;
 import org.smartregister.maternity.shadows.ShadowMaternityLibrary;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.repository.Repository;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
@@ -70,6 +73,23 @@ public class MaternityLibraryTest extends BaseTest {
         assertNotNull(MaternityLibrary.getInstance().getMaternityRulesEngineHelper());
     }
 
+    @Test
+    public void getMaternityRegisterPageCacheShouldKeepConfiguredNumberOfPages() {
+        MaternityConfiguration maternityConfiguration = Mockito.mock(MaternityConfiguration.class);
+        Mockito.doReturn(2).when(maternityConfiguration).getRegisterPageCacheSize();
+        MaternityLibrary.init(Mockito.mock(Context.class), Mockito.mock(Repository.class), maternityConfiguration, BuildConfig.VERSION_CODE, 1);
+
+        MaternityRegisterPageCache registerPageCache = MaternityLibrary.getInstance().getMaternityRegisterPageCache();
+        for (int offset = 0; offset < 60; offset += 20) {
+            registerPageCache.putPage(null, null, null, offset, 20
+                    , new MaternityRegisterPage(new String[]{"_id"}, new ArrayList<>(), null), registerPageCache.getVersion());
+        }
+
+        Assert.assertFalse(registerPageCache.hasPage(null, null, null, 0, 20));
+        Assert.assertTrue(registerPageCache.hasPage(null, null, null, 20, 20));
+        Assert.assertTrue(registerPageCache.hasPage(null, null, null, 40, 20));
+    }
+
     @Test
     public void getLatestValidCheckInDateShouldReturn1DayFromNow() {
         MaternityLibrary.init(Mockito.mock(Context.class), Mockito.mock(Repository.class), Mockito.mock(MaternityConfiguration.class), BuildConfig.VERSION_CODE, 1);
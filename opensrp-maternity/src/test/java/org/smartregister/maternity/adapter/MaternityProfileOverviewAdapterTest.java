@@ -8,8 +8,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import org.jeasy.rules.api.Facts;
-import org.junit.After;
+import androidx.annotation.NonNull;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,12 +18,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.robolectric.util.ReflectionHelpers;
-import org.smartregister.maternity.MaternityLibrary;
-import org.smartregister.maternity.domain.YamlConfigItem;
-import org.smartregister.maternity.domain.YamlConfigWrapper;
-import org.smartregister.maternity.helper.MaternityRulesEngineHelper;
+import org.smartregister.maternity.R;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -31,7 +30,6 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
@@ -42,24 +40,15 @@ import static org.robolectric.util.ReflectionHelpers.setField;
 @RunWith(MockitoJUnitRunner.class)
 public class MaternityProfileOverviewAdapterTest {
 
-    @Mock
-    private List<YamlConfigWrapper> mData;
-
     @Mock
     private LayoutInflater mInflater;
 
-    @Mock
-    private Facts facts;
-
     @Mock
     private Context context;
 
     @Mock
     private Resources resources;
 
-    @Mock
-    private MaternityLibrary maternityLibrary;
-
     private MaternityProfileOverviewAdapter adapter;
 
     @Before
@@ -67,7 +56,12 @@ public class MaternityProfileOverviewAdapterTest {
     public void setUp() {
         MockitoAnnotations.initMocks(this);
 
-        adapter = new MaternityProfileOverviewAdapter(context, mData, facts);
+        when(context.getResources()).thenReturn(resources);
+        when(resources.getColor(R.color.overview_font_red)).thenReturn(Color.RED);
+        when(resources.getColor(R.color.overview_font_left)).thenReturn(Color.BLACK);
+        when(resources.getColor(R.color.overview_font_right)).thenReturn(Color.GRAY);
+
+        adapter = new MaternityProfileOverviewAdapter(context);
         setField(adapter, "mInflater", mInflater);
     }
 
@@ -85,85 +79,45 @@ public class MaternityProfileOverviewAdapterTest {
     @Test
     public void onBindViewHolderShouldVerifyScenarioOne() {
 
-        String group = "group";
-        String subGroup = "sub group";
-        String template = "test template: {one}";
+        String group = "GROUP";
+        String subGroup = "SUB GROUP";
 
         TextView sectionHeader = mock(TextView.class);
         TextView subSectionHeader = mock(TextView.class);
         TextView sectionDetailTitle = mock(TextView.class);
         TextView sectionDetails = mock(TextView.class);
-        MaternityProfileOverviewAdapter.ViewHolder vh = mock(MaternityProfileOverviewAdapter.ViewHolder.class);
-
-        setField(vh, "sectionHeader", sectionHeader);
-        setField(vh, "subSectionHeader", subSectionHeader);
-        setField(vh, "sectionDetailTitle", sectionDetailTitle);
-        setField(vh, "sectionDetails", sectionDetails);
-
-        YamlConfigWrapper yamlConfigWrapper = mock(YamlConfigWrapper.class);
-        YamlConfigItem yamlConfigItem = mock(YamlConfigItem.class);
-        MaternityRulesEngineHelper maternityRulesEngineHelper = mock(MaternityRulesEngineHelper.class);
-
-        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
-        when(context.getResources()).thenReturn(resources);
-        when(resources.getColor(anyInt())).thenReturn(Color.RED);
-        when(mData.get(anyInt())).thenReturn(yamlConfigWrapper);
-        when(yamlConfigWrapper.getGroup()).thenReturn(group);
-        when(yamlConfigWrapper.getSubGroup()).thenReturn(subGroup);
-        when(yamlConfigWrapper.getYamlConfigItem()).thenReturn(yamlConfigItem);
-        when(yamlConfigItem.getTemplate()).thenReturn(template);
-        when(yamlConfigItem.getIsRedFont()).thenReturn("yes");
-        when(maternityLibrary.getMaternityRulesEngineHelper()).thenReturn(maternityRulesEngineHelper);
-        when(maternityRulesEngineHelper.getRelevance(any(Facts.class), anyString())).thenReturn(true);
-        when(facts.get("one")).thenReturn("two");
+        MaternityProfileOverviewAdapter.ViewHolder vh = mockViewHolder(sectionHeader, subSectionHeader, sectionDetailTitle, sectionDetails);
 
+        adapter.submitList(Collections.singletonList(MaternityProfileOverviewRow.createHeaderRow(group, subGroup)));
         adapter.onBindViewHolder(vh, 0);
 
-        verify(sectionHeader, times(1)).setText(group.toUpperCase());
+        verify(sectionHeader, times(1)).setText(group);
         verify(sectionHeader, times(1)).setVisibility(View.VISIBLE);
-        verify(subSectionHeader, times(1)).setText(subGroup.toUpperCase());
+        verify(subSectionHeader, times(1)).setText(subGroup);
         verify(subSectionHeader, times(1)).setVisibility(View.VISIBLE);
-        verify(sectionDetailTitle, times(1)).setText(template.replace(": {one}", ""));
-        verify(sectionDetails, times(1)).setText(": Two");
-        verify(sectionDetailTitle, times(1)).setTextColor(Color.RED);
-        verify(sectionDetails, times(1)).setTextColor(Color.RED);
-        verify(sectionDetailTitle, times(1)).setVisibility(View.VISIBLE);
-        verify(sectionDetails, times(1)).setVisibility(View.VISIBLE);
+        verify(sectionDetailTitle, times(1)).setVisibility(View.GONE);
+        verify(sectionDetails, times(1)).setVisibility(View.GONE);
     }
 
     @Test
     public void onBindViewHolderShouldVerifyScenarioTwo() {
 
-        String group = "";
-        String subGroup = "";
-
         TextView sectionHeader = mock(TextView.class);
         TextView subSectionHeader = mock(TextView.class);
         TextView sectionDetailTitle = mock(TextView.class);
         TextView sectionDetails = mock(TextView.class);
-        MaternityProfileOverviewAdapter.ViewHolder vh = mock(MaternityProfileOverviewAdapter.ViewHolder.class);
-
-        setField(vh, "sectionHeader", sectionHeader);
-        setField(vh, "subSectionHeader", subSectionHeader);
-        setField(vh, "sectionDetailTitle", sectionDetailTitle);
-        setField(vh, "sectionDetails", sectionDetails);
-
-        YamlConfigWrapper yamlConfigWrapper = mock(YamlConfigWrapper.class);
-        YamlConfigItem yamlConfigItem = mock(YamlConfigItem.class);
-
-        when(context.getResources()).thenReturn(resources);
-        when(resources.getColor(anyInt())).thenReturn(Color.BLACK);
-        when(mData.get(anyInt())).thenReturn(yamlConfigWrapper);
-        when(yamlConfigWrapper.getGroup()).thenReturn(group);
-        when(yamlConfigWrapper.getSubGroup()).thenReturn(subGroup);
-        when(yamlConfigWrapper.getYamlConfigItem()).thenReturn(yamlConfigItem);
+        MaternityProfileOverviewAdapter.ViewHolder vh = mockViewHolder(sectionHeader, subSectionHeader, sectionDetailTitle, sectionDetails);
 
+        adapter.submitList(Collections.singletonList(MaternityProfileOverviewRow.createDetailRow("group", null, "test template: {one}", 0
+                , "test template", ": Two", true)));
         adapter.onBindViewHolder(vh, 0);
 
         verify(sectionHeader, times(1)).setVisibility(View.GONE);
         verify(subSectionHeader, times(1)).setVisibility(View.GONE);
-        verify(sectionDetailTitle, times(1)).setTextColor(Color.BLACK);
-        verify(sectionDetails, times(1)).setTextColor(Color.BLACK);
+        verify(sectionDetailTitle, times(1)).setText("test template");
+        verify(sectionDetails, times(1)).setText(": Two");
+        verify(sectionDetailTitle, times(1)).setTextColor(Color.RED);
+        verify(sectionDetails, times(1)).setTextColor(Color.RED);
         verify(sectionDetailTitle, times(1)).setVisibility(View.VISIBLE);
         verify(sectionDetails, times(1)).setVisibility(View.VISIBLE);
     }
@@ -175,41 +129,36 @@ public class MaternityProfileOverviewAdapterTest {
         TextView subSectionHeader = mock(TextView.class);
         TextView sectionDetailTitle = mock(TextView.class);
         TextView sectionDetails = mock(TextView.class);
-        MaternityProfileOverviewAdapter.ViewHolder vh = mock(MaternityProfileOverviewAdapter.ViewHolder.class);
-
-        setField(vh, "sectionHeader", sectionHeader);
-        setField(vh, "subSectionHeader", subSectionHeader);
-        setField(vh, "sectionDetailTitle", sectionDetailTitle);
-        setField(vh, "sectionDetails", sectionDetails);
-
-        YamlConfigWrapper yamlConfigWrapper = mock(YamlConfigWrapper.class);
-
-        when(mData.get(anyInt())).thenReturn(yamlConfigWrapper);
-        when(yamlConfigWrapper.getGroup()).thenReturn("");
-        when(yamlConfigWrapper.getSubGroup()).thenReturn("");
+        MaternityProfileOverviewAdapter.ViewHolder vh = mockViewHolder(sectionHeader, subSectionHeader, sectionDetailTitle, sectionDetails);
 
+        adapter.submitList(Collections.singletonList(MaternityProfileOverviewRow.createDetailRow("group", null, "Parity: {parity}", 0
+                , "Parity", ": 1", false)));
         adapter.onBindViewHolder(vh, 0);
 
-        verify(sectionDetailTitle, times(1)).setVisibility(View.GONE);
-        verify(sectionDetails, times(1)).setVisibility(View.GONE);
+        verify(sectionDetailTitle, times(1)).setTextColor(Color.BLACK);
+        verify(sectionDetails, times(1)).setTextColor(Color.GRAY);
+        verify(sectionDetailTitle, times(1)).setVisibility(View.VISIBLE);
+        verify(sectionDetails, times(1)).setVisibility(View.VISIBLE);
     }
 
     @Test
-    public void getItemCountShouldReturnOne() {
-        int size = 1;
-        when(mData.size()).thenReturn(size);
-        assertEquals(size, adapter.getItemCount());
-    }
+    public void getItemCountShouldReturnSubmittedRowCount() {
+        List<MaternityProfileOverviewRow> rows = Arrays.asList(MaternityProfileOverviewRow.createHeaderRow("GROUP", null)
+                , MaternityProfileOverviewRow.createDetailRow("GROUP", null, "Parity: {parity}", 0, "Parity", ": 1", false));
 
-    @Test
-    public void getTemplateShouldReturnRawData() {
-        String rawTemplate = "nothing";
-        MaternityProfileOverviewAdapter.Template template = adapter.getTemplate(rawTemplate);
-        assertEquals(rawTemplate, template.title);
+        adapter.submitList(rows);
+
+        assertEquals(rows.size(), adapter.getItemCount());
     }
 
-    @After
-    public void tearDown() {
-        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", null);
+    @NonNull
+    private MaternityProfileOverviewAdapter.ViewHolder mockViewHolder(@NonNull TextView sectionHeader, @NonNull TextView subSectionHeader
+            , @NonNull TextView sectionDetailTitle, @NonNull TextView sectionDetails) {
+        MaternityProfileOverviewAdapter.ViewHolder vh = mock(MaternityProfileOverviewAdapter.ViewHolder.class);
+        setField(vh, "sectionHeader", sectionHeader);
+        setField(vh, "subSectionHeader", subSectionHeader);
+        setField(vh, "sectionDetailTitle", sectionDetailTitle);
+        setField(vh, "sectionDetails", sectionDetails);
+        return vh;
     }
 }
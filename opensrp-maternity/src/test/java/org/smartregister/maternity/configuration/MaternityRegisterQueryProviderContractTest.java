@@ -0,0 +1,151 @@
+package org.smartregister.maternity.configuration;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+import org.smartregister.maternity.pojo.MaternityRegisterPageToken;
+import org.smartregister.maternity.pojo.MaternityRegisterQuery;
+
+import java.util.Arrays;
+
+public class MaternityRegisterQueryProviderContractTest {
+
+    private MaternityRegisterQueryProviderContract queryProvider = new MaternityRegisterQueryProviderTest();
+
+    @Test
+    public void getObjectIdsPageQueryShouldReturnNullByDefault() {
+        Assert.assertNull(queryProvider.getObjectIdsPageQuery("filter", null, null, 20));
+    }
+
+    @Test
+    public void getKeysetPageQueryShouldOrderAndLimitFirstPage() {
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20"
+                , queryProvider.getKeysetPageQuery("SELECT object_id, last_interacted_with FROM ec_client_search", null, null, 20));
+    }
+
+    @Test
+    public void getKeysetPageQueryShouldSeekPastPageTokenWithinCondition() {
+        MaternityRegisterPageToken pageToken = new MaternityRegisterPageToken(1581000000000L, "o'id");
+
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search WHERE (phrase MATCH 'jane*') AND "
+                        + "(last_interacted_with < 1581000000000 OR last_interacted_with IS NULL"
+                        + " OR (last_interacted_with = 1581000000000 AND object_id < 'o''id')) "
+                        + "ORDER BY last_interacted_with DESC, object_id DESC LIMIT 10"
+                , queryProvider.getKeysetPageQuery("SELECT object_id, last_interacted_with FROM ec_client_search"
+                        , "phrase MATCH 'jane*'", pageToken, 10));
+    }
+
+    @Test
+    public void getKeysetConditionShouldOnlySeekAmongRowsWithoutLastInteractedWithWhenTokenHasNone() {
+        MaternityRegisterPageToken pageToken = new MaternityRegisterPageToken(null, 12L);
+
+        Assert.assertEquals("(last_interacted_with IS NULL AND object_id < 12)", queryProvider.getKeysetCondition(pageToken));
+    }
+
+    @Test
+    public void getFtsSearchShouldQuoteTermsAsPrefixesAndDropFtsSyntax() {
+        MaternityFtsSearch search = queryProvider.getFtsSearch(" Jane O'Brien-\"OR\" *");
+
+        Assert.assertEquals(Arrays.asList("Jane", "O", "Brien", "OR"), search.getTerms());
+        Assert.assertEquals("\"Jane*\" \"O*\" \"Brien*\" \"OR*\"", search.getMatchExpression());
+        Assert.assertTrue(queryProvider.getFtsSearch("' - ").isEmpty());
+        Assert.assertNull(queryProvider.getFtsSearch(null).getMatchExpression());
+    }
+
+    @Test
+    public void getFtsSearchShouldReuseSearchForSamePhrase() {
+        Assert.assertSame(queryProvider.getFtsSearch("jane"), queryProvider.getFtsSearch("jane"));
+    }
+
+    @Test
+    public void getKeysetPageSearchQueryShouldBindPageTokenAfterConditionArgs() {
+        MaternityRegisterPageToken pageToken = new MaternityRegisterPageToken(1581000000000L, "o'id");
+
+        MaternityRegisterQuery query = queryProvider.getKeysetPageSearchQuery("SELECT object_id, last_interacted_with FROM ec_client_search"
+                , "phrase MATCH ?", new String[]{"\"jane*\""}, pageToken, 40, 20);
+
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search WHERE (phrase MATCH ?) AND "
+                + "(last_interacted_with < CAST(? AS INTEGER) OR last_interacted_with IS NULL"
+                + " OR (last_interacted_with = CAST(? AS INTEGER) AND object_id < ?)) "
+                + "ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20", query.getSql());
+        Assert.assertArrayEquals(new String[]{"\"jane*\"", "1581000000000", "1581000000000", "o'id"}, query.getArgs());
+    }
+
+    @Test
+    public void getKeysetPageSearchQueryShouldReadFromOffsetWithoutPageToken() {
+        MaternityRegisterQuery query = queryProvider.getKeysetPageSearchQuery("SELECT object_id, last_interacted_with FROM ec_client_search"
+                , null, new String[0], null, 40, 20);
+
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search "
+                + "ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20 OFFSET 40", query.getSql());
+        Assert.assertEquals(0, query.getArgs().length);
+    }
+
+    @Test
+    public void getMainSelectWhereIDsInQueryShouldBindIdsAndPadToPageSize() {
+        MaternityRegisterQueryProviderContract idsInQueryProvider = new MaternityRegisterQueryProviderTest() {
+            @NonNull
+            @Override
+            public String mainSelectWhereIDsIn() {
+                return "SELECT * FROM ec_client WHERE id IN (%s)";
+            }
+        };
+
+        MaternityRegisterQuery query = idsInQueryProvider.getMainSelectWhereIDsInQuery(Arrays.asList("id1", "o'id"), 3);
+
+        Assert.assertEquals("SELECT * FROM ec_client WHERE id IN (?,?,?)", query.getSql());
+        Assert.assertArrayEquals(new String[]{"id1", "o'id", ""}, query.getArgs());
+    }
+
+    @Test
+    public void getRegisterPageQueryShouldJoinPageOfObjectIdsInRegisterOrder() {
+        MaternityRegisterQuery objectIdsQuery = new MaternityRegisterQuery("SELECT object_id, last_interacted_with FROM ec_client_search "
+                + "WHERE phrase MATCH ? ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20", "\"jane*\"");
+
+        MaternityRegisterQuery query = queryProvider.getRegisterPageQuery(objectIdsQuery
+                , "SELECT ec_client.*, register_page.object_id AS page_object_id FROM register_page INNER JOIN ec_client ON ec_client.id = register_page.object_id");
+
+        Assert.assertEquals("WITH register_page AS (SELECT object_id, last_interacted_with FROM ec_client_search "
+                + "WHERE phrase MATCH ? ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20) "
+                + "SELECT ec_client.*, register_page.object_id AS page_object_id FROM register_page INNER JOIN ec_client ON ec_client.id = register_page.object_id "
+                + "ORDER BY register_page.last_interacted_with DESC, register_page.object_id DESC", query.getSql());
+        Assert.assertArrayEquals(new String[]{"\"jane*\""}, query.getArgs());
+        Assert.assertNull(queryProvider.getRegisterPageSearchQuery(queryProvider.getFtsSearch("jane"), null, null, 0, 20));
+    }
+
+    @Test
+    public void getLookUpQueryShouldMatchPrefixesOnSearchTableAndCapResults() {
+        MaternityRegisterQuery query = queryProvider.getLookUpQuery(MaternityFtsSearch.fromFilters("jan o'b"), 20);
+
+        Assert.assertEquals("SELECT ec_client.id AS _id, ec_client.* FROM ec_client INNER JOIN ("
+                + "SELECT object_id, last_interacted_with FROM ec_client_search WHERE date_removed IS NULL AND phrase MATCH ? "
+                + "ORDER BY last_interacted_with DESC LIMIT 20) look_up ON ec_client.id = look_up.object_id "
+                + "ORDER BY look_up.last_interacted_with DESC", query.getSql());
+        Assert.assertArrayEquals(new String[]{"\"jan*\" \"o*\" \"b*\""}, query.getArgs());
+        Assert.assertNull(queryProvider.getLookUpQuery(MaternityFtsSearch.fromFilters(" "), 20));
+    }
+
+    @Test
+    public void getFuzzySearchQueryShouldMatchSearchIndexAndSkipRemovedClients() {
+        MaternityRegisterQuery query = queryProvider.getFuzzySearchQuery(MaternityFtsSearch.fromFilters("Katherine"), null, null, 0, 20);
+
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search WHERE date_removed IS NULL "
+                + "AND object_id IN (SELECT base_entity_id FROM maternity_search_index WHERE search_keys MATCH ?) "
+                + "ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20", query.getSql());
+        Assert.assertArrayEquals(new String[]{"(nmkatherine* OR sxk365 OR mpk0rn)"}, query.getArgs());
+        Assert.assertNull(queryProvider.getFuzzySearchQuery(MaternityFtsSearch.fromFilters(" "), null, null, 0, 20));
+    }
+
+    @Test
+    public void getFuzzySearchQueryShouldApplyMainConditionToSearchTable() {
+        MaternityRegisterQuery query = queryProvider.getFuzzySearchQuery(MaternityFtsSearch.fromFilters("Katherine")
+                , "register_type = 'maternity'", null, 20, 20);
+
+        Assert.assertEquals("SELECT object_id, last_interacted_with FROM ec_client_search WHERE date_removed IS NULL "
+                + "AND object_id IN (SELECT base_entity_id FROM maternity_search_index WHERE search_keys MATCH ?) "
+                + "AND (register_type = 'maternity') "
+                + "ORDER BY last_interacted_with DESC, object_id DESC LIMIT 20 OFFSET 20", query.getSql());
+    }
+}
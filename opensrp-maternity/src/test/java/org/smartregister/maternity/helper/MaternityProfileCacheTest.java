@@ -0,0 +1,82 @@
+package org.smartregister.maternity.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.commonregistry.CommonPersonObjectClient;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MaternityProfileCacheTest {
+
+    @Test
+    public void getProfileSnapshotShouldLoadOnceAndCountHitsAndMisses() {
+        MaternityProfileCache maternityProfileCache = new MaternityProfileCache();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            maternityProfileCache.getProfileSnapshot("bei", baseEntityId -> {
+                loadCount.incrementAndGet();
+                return new MaternityProfileSnapshot(baseEntityId, null, Collections.singletonMap("ga", "30"), null);
+            });
+        }
+
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(2, maternityProfileCache.getHitCount());
+        Assert.assertEquals(1, maternityProfileCache.getMissCount());
+    }
+
+    @Test
+    public void invalidateShouldRemoveTheClientEntry() {
+        MaternityProfileCache maternityProfileCache = new MaternityProfileCache();
+        maternityProfileCache.getProfileSnapshot("bei", baseEntityId -> new MaternityProfileSnapshot(baseEntityId, null, null, null));
+        Assert.assertEquals(1, maternityProfileCache.size());
+
+        maternityProfileCache.invalidate("bei");
+
+        Assert.assertEquals(0, maternityProfileCache.size());
+        Assert.assertEquals(0, maternityProfileCache.getSizeInBytes());
+    }
+
+    @Test
+    public void getProfileSnapshotShouldNotCacheValueLoadedDuringInvalidation() {
+        MaternityProfileCache maternityProfileCache = new MaternityProfileCache();
+        maternityProfileCache.getProfileSnapshot("bei", baseEntityId -> {
+            maternityProfileCache.invalidate(baseEntityId);
+            return new MaternityProfileSnapshot(baseEntityId, null, null, null);
+        });
+
+        Assert.assertEquals(0, maternityProfileCache.size());
+    }
+
+    @Test
+    public void getProfileSnapshotShouldEvictLeastRecentlyUsedEntries() {
+        MaternityProfileCache maternityProfileCache = new MaternityProfileCache(2, MaternityProfileCache.DEFAULT_MAX_SIZE_IN_BYTES);
+        maternityProfileCache.getProfileSnapshot("bei1", baseEntityId -> new MaternityProfileSnapshot(baseEntityId, null, null, null));
+        maternityProfileCache.getProfileSnapshot("bei2", baseEntityId -> new MaternityProfileSnapshot(baseEntityId, null, null, null));
+        maternityProfileCache.getProfileSnapshot("bei1", baseEntityId -> null);
+        maternityProfileCache.getProfileSnapshot("bei3", baseEntityId -> new MaternityProfileSnapshot(baseEntityId, null, null, null));
+
+        Assert.assertEquals(2, maternityProfileCache.size());
+        Assert.assertEquals(1, maternityProfileCache.getEvictionCount());
+        Assert.assertNotNull(maternityProfileCache.getProfileSnapshot("bei1", baseEntityId -> null));
+        Assert.assertNull(maternityProfileCache.getProfileSnapshot("bei2", baseEntityId -> null));
+    }
+
+    @Test
+    public void getRegisterClientShouldReturnCopiesOfTheCachedClient() {
+        MaternityProfileCache maternityProfileCache = new MaternityProfileCache();
+        HashMap<String, String> details = new HashMap<>();
+        details.put("first_name", "Jane");
+        CommonPersonObjectClient client = new CommonPersonObjectClient("bei", details, "Jane Doe");
+        client.setColumnmaps(details);
+        maternityProfileCache.getRegisterClient("bei", baseEntityId -> client);
+
+        CommonPersonObjectClient cachedClient = maternityProfileCache.getRegisterClient("bei", baseEntityId -> null);
+        cachedClient.getColumnmaps().put("first_name", "Mary");
+
+        Assert.assertEquals("Jane", maternityProfileCache.getRegisterClient("bei", baseEntityId -> null).getColumnmaps().get("first_name"));
+    }
+}
@@ -0,0 +1,66 @@
+package org.smartregister.maternity.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MaternityRegisterCountCacheTest {
+
+    @Test
+    public void getCountShouldReturnCountCachedForSameFilterAndMainCondition() {
+        MaternityRegisterCountCache registerCountCache = new MaternityRegisterCountCache();
+        registerCountCache.putCount("jane", "ga > 20", 4, registerCountCache.getVersion());
+
+        Assert.assertEquals(Integer.valueOf(4), registerCountCache.getCount("jane", "ga > 20"));
+        Assert.assertNull(registerCountCache.getCount("jane", null));
+        Assert.assertNull(registerCountCache.getCount(null, "ga > 20"));
+    }
+
+    @Test
+    public void getCountShouldTreatBlankFiltersAsNoFilters() {
+        MaternityRegisterCountCache registerCountCache = new MaternityRegisterCountCache();
+        registerCountCache.putCount("", null, 10, registerCountCache.getVersion());
+
+        Assert.assertEquals(Integer.valueOf(10), registerCountCache.getCount(null, " "));
+    }
+
+    @Test
+    public void adjustTotalCountShouldAdjustUnfilteredCountAndDropFilteredCounts() {
+        MaternityRegisterCountCache registerCountCache = new MaternityRegisterCountCache();
+        registerCountCache.putCount(null, null, 10, registerCountCache.getVersion());
+        registerCountCache.putCount("jane", null, 2, registerCountCache.getVersion());
+
+        registerCountCache.adjustTotalCount(1);
+        registerCountCache.adjustTotalCount(-3);
+
+        Assert.assertEquals(Integer.valueOf(8), registerCountCache.getCount(null, null));
+        Assert.assertNull(registerCountCache.getCount("jane", null));
+    }
+
+    @Test
+    public void adjustTotalCountShouldDropFilteredAndMainConditionCountsWhenTotalDoesNotChange() {
+        MaternityRegisterCountCache registerCountCache = new MaternityRegisterCountCache();
+        registerCountCache.putCount(null, null, 10, registerCountCache.getVersion());
+        registerCountCache.putCount("jane", null, 2, registerCountCache.getVersion());
+        registerCountCache.putCount(null, "ga > 20", 5, registerCountCache.getVersion());
+        long countVersion = registerCountCache.getVersion();
+
+        registerCountCache.adjustTotalCount(0);
+        registerCountCache.putCount("jane", "ga > 20", 1, countVersion);
+
+        Assert.assertEquals(Integer.valueOf(10), registerCountCache.getCount(null, null));
+        Assert.assertNull(registerCountCache.getCount("jane", null));
+        Assert.assertNull(registerCountCache.getCount(null, "ga > 20"));
+        Assert.assertNull(registerCountCache.getCount("jane", "ga > 20"));
+    }
+
+    @Test
+    public void putCountShouldNotCacheCountComputedBeforeChange() {
+        MaternityRegisterCountCache registerCountCache = new MaternityRegisterCountCache();
+        long countVersion = registerCountCache.getVersion();
+
+        registerCountCache.invalidate();
+        registerCountCache.putCount(null, null, 10, countVersion);
+
+        Assert.assertNull(registerCountCache.getCount(null, null));
+    }
+}
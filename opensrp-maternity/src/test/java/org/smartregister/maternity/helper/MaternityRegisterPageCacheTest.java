@@ -0,0 +1,52 @@
+package org.smartregister.maternity.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.pojo.MaternityRegisterPage;
+
+import java.util.ArrayList;
+
+public class MaternityRegisterPageCacheTest {
+
+    @Test
+    public void getPageShouldReturnPageCachedForSameFiltersAndPage() {
+        MaternityRegisterPageCache registerPageCache = new MaternityRegisterPageCache();
+        MaternityRegisterPage page = createPage();
+        registerPageCache.putPage("jane", null, null, 20, 20, page, registerPageCache.getVersion());
+
+        Assert.assertSame(page, registerPageCache.getPage("jane", " ", "", 20, 20));
+        Assert.assertNull(registerPageCache.getPage("jane", null, null, 0, 20));
+        Assert.assertNull(registerPageCache.getPage("jan", null, null, 20, 20));
+    }
+
+    @Test
+    public void putPageShouldDropLeastRecentlyUsedPageWhenFull() {
+        MaternityRegisterPageCache registerPageCache = new MaternityRegisterPageCache(2);
+        registerPageCache.putPage(null, null, null, 0, 20, createPage(), registerPageCache.getVersion());
+        registerPageCache.putPage(null, null, null, 20, 20, createPage(), registerPageCache.getVersion());
+        registerPageCache.getPage(null, null, null, 0, 20);
+
+        registerPageCache.putPage(null, null, null, 40, 20, createPage(), registerPageCache.getVersion());
+
+        Assert.assertTrue(registerPageCache.hasPage(null, null, null, 0, 20));
+        Assert.assertFalse(registerPageCache.hasPage(null, null, null, 20, 20));
+        Assert.assertTrue(registerPageCache.hasPage(null, null, null, 40, 20));
+    }
+
+    @Test
+    public void putPageShouldNotCachePageReadBeforeInvalidate() {
+        MaternityRegisterPageCache registerPageCache = new MaternityRegisterPageCache();
+        registerPageCache.putPage(null, null, null, 0, 20, createPage(), registerPageCache.getVersion());
+        long pageVersion = registerPageCache.getVersion();
+
+        registerPageCache.invalidate();
+        registerPageCache.putPage(null, null, null, 20, 20, createPage(), pageVersion);
+
+        Assert.assertFalse(registerPageCache.hasPage(null, null, null, 0, 20));
+        Assert.assertFalse(registerPageCache.hasPage(null, null, null, 20, 20));
+    }
+
+    private MaternityRegisterPage createPage() {
+        return new MaternityRegisterPage(new String[]{"_id"}, new ArrayList<>(), null);
+    }
+}
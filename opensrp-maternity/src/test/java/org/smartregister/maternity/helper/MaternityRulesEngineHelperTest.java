@@ -10,6 +10,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.robolectric.util.ReflectionHelpers;
 
+import java.util.Arrays;
+
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -42,4 +44,40 @@ public class MaternityRulesEngineHelperTest {
 
         Assert.assertTrue(maternityRulesEngineHelper.getRelevance(facts, "gender == 'male'"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getRelevanceShouldReuseTheCompiledCondition() {
+        MaternityRulesEngineHelper maternityRulesEngineHelper = new MaternityRulesEngineHelper();
+        Facts facts = new Facts();
+        facts.put("parity", 2);
+
+        Assert.assertTrue(maternityRulesEngineHelper.getRelevance(facts, "parity > 1"));
+        facts.put("parity", 0);
+        Assert.assertFalse(maternityRulesEngineHelper.getRelevance(facts, "parity > 1"));
+
+        Assert.assertEquals(1, maternityRulesEngineHelper.getCompiledConditionCount());
+        Assert.assertEquals(1, maternityRulesEngineHelper.getConditionHitCount());
+        Assert.assertEquals(1, maternityRulesEngineHelper.getConditionMissCount());
+        Assert.assertEquals(0.5, maternityRulesEngineHelper.getConditionHitRate(), 0);
+    }
+
+    @Test
+    public void getRelevanceShouldReturnFalseWhenTheExpressionCannotBeEvaluated() {
+        MaternityRulesEngineHelper maternityRulesEngineHelper = new MaternityRulesEngineHelper();
+
+        Assert.assertFalse(maternityRulesEngineHelper.getRelevance(new Facts(), "missing_fact > 1"));
+    }
+
+    @Test
+    public void warmUpShouldCompileExpressionsBeforeTheirFirstEvaluation() {
+        MaternityRulesEngineHelper maternityRulesEngineHelper = new MaternityRulesEngineHelper();
+        maternityRulesEngineHelper.warmUp(Arrays.asList("gravidity != ''", null, "gravidity != ''"));
+
+        Facts facts = new Facts();
+        facts.put("gravidity", "2");
+
+        Assert.assertTrue(maternityRulesEngineHelper.getRelevance(facts, "gravidity != ''"));
+        Assert.assertEquals(1, maternityRulesEngineHelper.getConditionHitCount());
+        Assert.assertEquals(0, maternityRulesEngineHelper.getConditionMissCount());
+    }
+}
@@ -0,0 +1,71 @@
+package org.smartregister.maternity.helper;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.robolectric.util.ReflectionHelpers;
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.domain.YamlConfig;
+import org.smartregister.maternity.domain.YamlConfigItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MaternityYamlConfigRegistryTest {
+
+    @Mock
+    private MaternityLibrary maternityLibrary;
+
+    private MaternityRulesEngineHelper maternityRulesEngineHelper;
+
+    @Before
+    public void setUp() throws IOException {
+        maternityRulesEngineHelper = new MaternityRulesEngineHelper();
+        Mockito.doReturn(maternityRulesEngineHelper).when(maternityLibrary).getMaternityRulesEngineHelper();
+        Mockito.doAnswer(invocation -> {
+            List<YamlConfigItem> fields = new ArrayList<>();
+            fields.add(new YamlConfigItem("Gravida: {gravidity}", "gravidity != ''", null));
+            return Collections.singletonList(new YamlConfig(null, "pregnancy", fields, null));
+        }).when(maternityLibrary).readYaml("overview.yml");
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", null);
+    }
+
+    @Test
+    public void getYamlConfigsShouldParseTheFileOnceUntilReloaded() throws IOException {
+        MaternityYamlConfigRegistry maternityYamlConfigRegistry = new MaternityYamlConfigRegistry();
+
+        List<YamlConfig> yamlConfigs = maternityYamlConfigRegistry.getYamlConfigs("overview.yml");
+        Assert.assertSame(yamlConfigs, maternityYamlConfigRegistry.getYamlConfigs("overview.yml"));
+        Mockito.verify(maternityLibrary, Mockito.times(1)).readYaml("overview.yml");
+
+        Assert.assertNotSame(yamlConfigs, maternityYamlConfigRegistry.reload("overview.yml"));
+        Mockito.verify(maternityLibrary, Mockito.times(2)).readYaml("overview.yml");
+    }
+
+    @Test
+    public void getYamlConfigsShouldSplitTemplatesAndCompileRelevance() throws IOException {
+        YamlConfigItem yamlConfigItem = new MaternityYamlConfigRegistry().getYamlConfigs("overview.yml").get(0).getFields().get(0);
+
+        Assert.assertEquals("Gravida", yamlConfigItem.getTemplateTitle());
+        Assert.assertEquals("{gravidity}", yamlConfigItem.getTemplateDetail());
+        Assert.assertEquals(1, maternityRulesEngineHelper.getCompiledConditionCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getYamlConfigsShouldReturnReadOnlyConfigs() throws IOException {
+        new MaternityYamlConfigRegistry().getYamlConfigs("overview.yml").get(0).getFields().get(0).setRelevance("true");
+    }
+}
@@ -26,6 +26,7 @@ import org.smartregister.Context;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
 import org.smartregister.maternity.BaseTest;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.R;
 import org.smartregister.maternity.contract.MaternityProfileActivityContract;
 import org.smartregister.maternity.model.MaternityProfileActivityModel;
 import org.smartregister.maternity.pojo.MaternityPartialForm;
@@ -99,6 +100,21 @@ public class MaternityProfileActivityPresenterTest extends BaseTest {
         Assert.assertEquals("", formCaptor.getValue().get("value"));
     }
 
+    @Test
+    public void onSavedPartialFormDroppedShouldTellUserAndStartEmptyForm() throws JSONException {
+        ArgumentCaptor<JSONObject> formCaptor = ArgumentCaptor.forClass(JSONObject.class);
+        JSONObject form = new JSONObject();
+        form.put("value", "");
+        Mockito.doReturn("Draft dropped").when(view).getString(R.string.maternity_partial_form_dropped);
+
+        ReflectionHelpers.setField(presenter, "form", form);
+        presenter.onSavedPartialFormDropped("caseId", "ec_child");
+
+        Mockito.verify(view).showMessage("Draft dropped");
+        Mockito.verify(presenter, Mockito.times(1)).startFormActivity(formCaptor.capture(), Mockito.anyString(), Mockito.nullable(String.class));
+        Assert.assertEquals("", formCaptor.getValue().get("value"));
+    }
+
     @Test
     public void onFetchedSavedDiagnosisAndTreatmentFormShouldCallStartFormActivityWithPrefilledFormWhenSavedFormIsNotNull() throws JSONException {
         ArgumentCaptor<JSONObject> formCaptor = ArgumentCaptor.forClass(JSONObject.class);
@@ -1,6 +1,8 @@
 package org.smartregister.maternity.presenter;
 
+import org.jeasy.rules.api.Facts;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -14,6 +16,19 @@ import org.robolectric.util.ReflectionHelpers;
 import org.smartregister.maternity.BaseTest;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.contract.MaternityProfileOverviewFragmentContract;
+import org.smartregister.maternity.domain.YamlConfig;
+import org.smartregister.maternity.domain.YamlConfigItem;
+import org.smartregister.maternity.domain.YamlConfigWrapper;
+import org.smartregister.maternity.helper.MaternityRulesEngineHelper;
+import org.smartregister.maternity.helper.MaternityYamlConfigRegistry;
+import org.smartregister.maternity.pojo.MaternityProfileOverviewRow;
+import org.smartregister.maternity.utils.FilePath;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -56,4 +71,89 @@ public class MaternityProfileOverviewFragmentPresenterTest extends BaseTest {
         Mockito.verify(model, Mockito.times(1))
                 .fetchMaternityOverviewDetails(Mockito.eq("bei"), Mockito.any(MaternityProfileOverviewFragmentContract.Model.OnFetchedCallback.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void buildOverviewRowsShouldFillTemplatesAndEvaluateRedFont() throws IOException {
+        MaternityYamlConfigRegistry yamlConfigRegistry = Mockito.mock(MaternityYamlConfigRegistry.class);
+        MaternityRulesEngineHelper rulesEngineHelper = Mockito.mock(MaternityRulesEngineHelper.class);
+        Mockito.doReturn(yamlConfigRegistry).when(maternityLibrary).getMaternityYamlConfigRegistry();
+        Mockito.doReturn(rulesEngineHelper).when(maternityLibrary).getMaternityRulesEngineHelper();
+
+        YamlConfigItem gravidaItem = new YamlConfigItem("Gravida: {gravida}", "gravida != ''", "gravida > 4");
+        YamlConfigItem parityItem = new YamlConfigItem("Parity: {parity}", "parity != ''", null);
+        YamlConfigItem hiddenItem = new YamlConfigItem("Hidden: {hidden}", "hidden != ''", null);
+        YamlConfig yamlConfig = new YamlConfig("pregnancy_details", null, Arrays.asList(gravidaItem, parityItem, hiddenItem), null);
+        Mockito.doReturn(Collections.singletonList(yamlConfig)).when(yamlConfigRegistry).getYamlConfigs(FilePath.FILE.MATERNITY_PROFILE_OVERVIEW);
+
+        Mockito.doReturn(true).when(rulesEngineHelper).getRelevance(Mockito.any(Facts.class), Mockito.eq("gravida != ''"));
+        Mockito.doReturn(true).when(rulesEngineHelper).getRelevance(Mockito.any(Facts.class), Mockito.eq("parity != ''"));
+        Mockito.doReturn(true).when(rulesEngineHelper).getRelevance(Mockito.any(Facts.class), Mockito.eq("gravida > 4"));
+
+        HashMap<String, String> maternityDetails = new HashMap<>();
+        maternityDetails.put("gravida", "5");
+        maternityDetails.put("parity", "2");
+
+        List<MaternityProfileOverviewRow> overviewRows = presenter.buildOverviewRows(maternityDetails, "Unknown");
+
+        Assert.assertEquals(3, overviewRows.size());
+        Assert.assertEquals(MaternityProfileOverviewRow.createHeaderRow("PREGNANCY DETAILS", null), overviewRows.get(0));
+        Assert.assertEquals(MaternityProfileOverviewRow.createDetailRow("pregnancy_details", null, "Gravida: {gravida}", 0, "Gravida", "5", true), overviewRows.get(1));
+        Assert.assertEquals(MaternityProfileOverviewRow.createDetailRow("pregnancy_details", null, "Parity: {parity}", 0, "Parity", "2", false), overviewRows.get(2));
+    }
+
+    @Test
+    public void loadOverviewRowsShouldPassBuiltRowsToCallback() {
+        HashMap<String, String> maternityDetails = new HashMap<>();
+        List<MaternityProfileOverviewRow> overviewRows = Collections.singletonList(MaternityProfileOverviewRow.createHeaderRow("GROUP", null));
+        Mockito.doAnswer(invocation -> {
+            MaternityProfileOverviewFragmentContract.Model.OnRowsFetchedCallback callback = invocation.getArgument(2);
+            callback.onRowsFetched(maternityDetails, overviewRows);
+            return null;
+        }).when(model).fetchMaternityOverviewRows(Mockito.eq("bei")
+                , Mockito.any(MaternityProfileOverviewFragmentContract.Model.OverviewRowsBuilder.class)
+                , Mockito.any(MaternityProfileOverviewFragmentContract.Model.OnRowsFetchedCallback.class));
+        MaternityProfileOverviewFragmentContract.Presenter.OnOverviewRowsLoadedCallback callback
+                = Mockito.mock(MaternityProfileOverviewFragmentContract.Presenter.OnOverviewRowsLoadedCallback.class);
+
+        presenter.loadOverviewRows("bei", callback);
+
+        Mockito.verify(callback).onOverviewRowsLoaded(overviewRows);
+    }
+
+    @Test
+    public void buildOverviewRowsShouldUseGivenUnknownHivStatusAndKeyRowsOfSameTemplateApart() throws IOException {
+        MaternityYamlConfigRegistry yamlConfigRegistry = Mockito.mock(MaternityYamlConfigRegistry.class);
+        MaternityRulesEngineHelper rulesEngineHelper = Mockito.mock(MaternityRulesEngineHelper.class);
+        Mockito.doReturn(yamlConfigRegistry).when(maternityLibrary).getMaternityYamlConfigRegistry();
+        Mockito.doReturn(rulesEngineHelper).when(maternityLibrary).getMaternityRulesEngineHelper();
+
+        YamlConfigItem hivStatusItem = new YamlConfigItem("HIV status: {hiv_status}", "true", null);
+        YamlConfig yamlConfig = new YamlConfig(null, null, Arrays.asList(hivStatusItem, hivStatusItem), null);
+        Mockito.doReturn(Collections.singletonList(yamlConfig)).when(yamlConfigRegistry).getYamlConfigs(FilePath.FILE.MATERNITY_PROFILE_OVERVIEW);
+        Mockito.doReturn(true).when(rulesEngineHelper).getRelevance(Mockito.any(Facts.class), Mockito.eq("true"));
+
+        List<MaternityProfileOverviewRow> overviewRows = presenter.buildOverviewRows(new HashMap<>(), "Unknown");
+
+        Mockito.verify(presenter, Mockito.never()).getString(Mockito.anyInt());
+        Assert.assertEquals(2, overviewRows.size());
+        Assert.assertEquals("Unknown", overviewRows.get(0).getDetail());
+        Assert.assertNotEquals(overviewRows.get(0).getKey(), overviewRows.get(1).getKey());
+    }
+
+    @Test
+    public void createOverviewRowsShouldKeepRowKeysWhenRowsBeforeThemChange() {
+        MaternityRulesEngineHelper rulesEngineHelper = Mockito.mock(MaternityRulesEngineHelper.class);
+        Mockito.doReturn(rulesEngineHelper).when(maternityLibrary).getMaternityRulesEngineHelper();
+
+        YamlConfigItem gravidaItem = new YamlConfigItem("Gravida: {gravida}", null, null);
+        YamlConfigItem parityItem = new YamlConfigItem("Parity: {parity}", null, null);
+        YamlConfigWrapper header = new YamlConfigWrapper("pregnancy_details", null, null);
+
+        List<MaternityProfileOverviewRow> overviewRows = MaternityProfileOverviewFragmentPresenter.createOverviewRows(Arrays.asList(header
+                , new YamlConfigWrapper(null, null, gravidaItem), new YamlConfigWrapper(null, null, parityItem)), new Facts());
+        List<MaternityProfileOverviewRow> changedOverviewRows = MaternityProfileOverviewFragmentPresenter.createOverviewRows(Arrays.asList(header
+                , new YamlConfigWrapper(null, null, parityItem)), new Facts());
+
+        Assert.assertEquals(overviewRows.get(2).getKey(), changedOverviewRows.get(1).getKey());
+    }
+}
@@ -0,0 +1,61 @@
+package org.smartregister.maternity.processor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.domain.Event;
+import org.smartregister.domain.Obs;
+import org.smartregister.maternity.BaseRobolectricUnitTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class MaternityEventObsExtractorTest extends BaseRobolectricUnitTest {
+
+    @Test
+    public void extractShouldReturnLastValueOfRequestedFieldsOnly() {
+        Event event = new Event();
+        event.addObs(createObs("babies_born_map", "first"));
+        event.addObs(createObs("other_field", "other"));
+        event.addObs(createObs("babies_born_map", " second "));
+
+        MaternityEventObsExtractor extractor = new MaternityEventObsExtractor(false, "babies_born_map", "still_born_map");
+        extractor.extract(event);
+
+        Assert.assertEquals("second", extractor.get("babies_born_map"));
+        Assert.assertNull(extractor.get("still_born_map"));
+        Assert.assertNull(extractor.get("other_field"));
+    }
+
+    @Test
+    public void extractShouldPrependLaterValuesWhenAppendingOnNewline() {
+        Event event = new Event();
+        event.addObs(createObs("date_of_death", "01-01-2020"));
+        event.addObs(createObs("date_of_death", "02-01-2020"));
+
+        MaternityEventObsExtractor extractor = new MaternityEventObsExtractor(true, "date_of_death");
+
+        Assert.assertEquals("02-01-2020\n01-01-2020", extractor.extract(event).get("date_of_death"));
+    }
+
+    @Test
+    public void extractShouldFallBackToValuesAndClearPreviousEvent() {
+        Event event = new Event();
+        Obs obs = new Obs();
+        obs.setFormSubmissionField("babies_born_map");
+        obs.setHumanReadableValues(new ArrayList<>());
+        obs.setValues(Arrays.asList("value", "ignored"));
+        event.addObs(obs);
+
+        MaternityEventObsExtractor extractor = new MaternityEventObsExtractor(false, "babies_born_map");
+        Assert.assertEquals("value", extractor.extract(event).get("babies_born_map"));
+        Assert.assertNull(extractor.extract(new Event()).get("babies_born_map"));
+    }
+
+    private Obs createObs(String formSubmissionField, String value) {
+        Obs obs = new Obs();
+        obs.setFormSubmissionField(formSubmissionField);
+        obs.setHumanReadableValues(new ArrayList<>());
+        obs.setValues(Arrays.asList((Object) value));
+        return obs;
+    }
+}
@@ -3,6 +3,11 @@ package org.smartregister.maternity.processor;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import net.sqlcipher.database.SQLiteDatabase;
+
 import org.joda.time.DateTime;
 import org.junit.After;
 import org.junit.Assert;
@@ -11,6 +16,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -18,20 +24,32 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 import org.robolectric.util.ReflectionHelpers;
 import org.smartregister.CoreLibrary;
+import org.smartregister.domain.Client;
 import org.smartregister.domain.Event;
 import org.smartregister.domain.Obs;
 import org.smartregister.domain.db.EventClient;
+import org.smartregister.domain.jsonmapping.ClientClassification;
 import org.smartregister.maternity.BaseTest;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.configuration.MaternityEventProcessingHandler;
+import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderTest;
 import org.smartregister.maternity.exception.MaternityCloseEventProcessException;
+import org.smartregister.maternity.helper.MaternityProfileCache;
+import org.smartregister.maternity.helper.MaternityRegisterCountCache;
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
 import org.smartregister.maternity.pojo.MaternityChild;
 import org.smartregister.maternity.repository.MaternityChildRepository;
+import org.smartregister.maternity.repository.MaternityRepository;
+import org.smartregister.maternity.repository.MaternitySearchIndexRepository;
 import org.smartregister.maternity.utils.MaternityConstants;
+import org.smartregister.repository.Repository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 @RunWith(PowerMockRunner.class)
 public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
@@ -44,9 +62,25 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
     @Mock
     private MaternityLibrary maternityLibrary;
 
+    @Mock
+    private MaternityProfileCache maternityProfileCache;
+
+    @Mock
+    private MaternityRegisterCountCache maternityRegisterCountCache;
+
+    @Mock
+    private MaternityRegisterPageCache maternityRegisterPageCache;
+
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
+                .build();
+        Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
+        Mockito.doReturn(maternityProfileCache).when(maternityLibrary).getMaternityProfileCache();
+        Mockito.doReturn(maternityRegisterCountCache).when(maternityLibrary).getMaternityRegisterCountCache();
+        Mockito.doReturn(maternityRegisterPageCache).when(maternityLibrary).getMaternityRegisterPageCache();
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
         maternityMiniClientProcessorForJava = Mockito.spy(new MaternityMiniClientProcessorForJava(Mockito.mock(Context.class)));
         Event event = new Event();
         event.addDetails(MaternityConstants.JSON_FORM_KEY.VISIT_ID, "visitId");
@@ -85,7 +119,7 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
         MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(new MaternityChildRepository());
         Mockito.doReturn(maternityChildRepositorySpy).when(maternityLibrary).getMaternityChildRepository();
         ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
-        Mockito.doReturn(true).when(maternityChildRepositorySpy).saveOrUpdate(Mockito.any(MaternityChild.class));
+        Mockito.doReturn(true).when(maternityChildRepositorySpy).saveAll(Mockito.anyList());
         Event event = new Event();
         event.setBaseEntityId("232-wew3-23");
         event.setEventDate(new DateTime());
@@ -93,8 +127,11 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
                 "processBabiesBorn", babiesBorn,
                 event);
 
+        ArgumentCaptor<List<MaternityChild>> maternityChildrenCaptor = ArgumentCaptor.forClass(List.class);
         Mockito.verify(maternityChildRepositorySpy, Mockito.times(1))
-                .saveOrUpdate(Mockito.any(MaternityChild.class));
+                .saveAll(maternityChildrenCaptor.capture());
+        Assert.assertEquals(1, maternityChildrenCaptor.getValue().size());
+        Assert.assertEquals("2323-2323-sds", maternityChildrenCaptor.getValue().get(0).getBaseEntityId());
     }
 
     @Test
@@ -103,7 +140,7 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
         MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(new MaternityChildRepository());
         Mockito.doReturn(maternityChildRepositorySpy).when(maternityLibrary).getMaternityChildRepository();
         ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
-        Mockito.doReturn(true).when(maternityChildRepositorySpy).saveOrUpdate(Mockito.any(MaternityChild.class));
+        Mockito.doReturn(true).when(maternityChildRepositorySpy).saveAll(Mockito.anyList());
         Event event = new Event();
         event.setBaseEntityId("232-wew3-23");
         event.setEventDate(new DateTime());
@@ -111,12 +148,14 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
                 "processStillBorn", stillBorn,
                 event);
 
-        Mockito.verify(maternityChildRepositorySpy, Mockito.times(2))
-                .saveOrUpdate(Mockito.any(MaternityChild.class));
+        ArgumentCaptor<List<MaternityChild>> maternityChildrenCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(maternityChildRepositorySpy, Mockito.times(1))
+                .saveAll(maternityChildrenCaptor.capture());
+        Assert.assertEquals(2, maternityChildrenCaptor.getValue().size());
     }
 
     @Test
-    public void testGenerateKeyValuesFromEventShouldFillMapCorrectly() throws Exception {
+    public void testEventObsExtractorShouldFillValuesCorrectly() {
         Event event = new Event();
 
         Obs obs1 = new Obs();
@@ -131,12 +170,135 @@ public class MaternityMiniClientProcessorForJavaTest extends BaseTest {
         event.addObs(obs1);
         event.addObs(obs2);
 
-        HashMap<String, String> map = new HashMap<>();
+        MaternityEventObsExtractor extractor = new MaternityEventObsExtractor(false, "count1", "count2");
+        extractor.extract(event);
 
-        Whitebox.invokeMethod(maternityMiniClientProcessorForJava,
-                "generateKeyValuesFromEvent", event,
-                map);
+        Assert.assertEquals("one", extractor.get("count1"));
+        Assert.assertEquals("huma", extractor.get("count2"));
+    }
+
+    @Test
+    public void processEventClientsShouldProcessEachChunkInTransactionAndMarkEventsAsProcessedInBulk() throws Exception {
+        MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
+                .setEventProcessingBatchSize(2)
+                .build();
+        Repository repository = Mockito.mock(Repository.class);
+        SQLiteDatabase database = Mockito.mock(SQLiteDatabase.class);
+        MaternityRepository maternityRepository = Mockito.mock(MaternityRepository.class);
+        Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
+        Mockito.doReturn(repository).when(maternityLibrary).getRepository();
+        Mockito.doReturn(database).when(repository).getWritableDatabase();
+        Mockito.doReturn(maternityRepository).when(maternityLibrary).getMaternityRepository();
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
+        Mockito.doNothing().when(maternityMiniClientProcessorForJava).processEvent(Mockito.any(Event.class), Mockito.nullable(Client.class), Mockito.nullable(ClientClassification.class));
+
+        ArrayList<EventClient> eventClients = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event().withEventType(MaternityConstants.EventType.MATERNITY_MEDIC_INFO).withBaseEntityId("bei" + i);
+            event.setFormSubmissionId("fsi" + i);
+            eventClients.add(new EventClient(event, null));
+        }
+        eventClients.add(new EventClient(new Event().withEventType("Unknown Event"), null));
+
+        maternityMiniClientProcessorForJava.processEventClients(eventClients, new ArrayList<>(), null);
+
+        Mockito.verify(database, Mockito.times(2)).beginTransaction();
+        Mockito.verify(database, Mockito.times(2)).setTransactionSuccessful();
+        Mockito.verify(database, Mockito.times(2)).endTransaction();
+        Mockito.verify(maternityRepository).markEventsAsProcessed(Arrays.asList("fsi0", "fsi1"));
+        Mockito.verify(maternityRepository).markEventsAsProcessed(Arrays.asList("fsi2"));
+        Mockito.verify(maternityMiniClientProcessorForJava, Mockito.times(3)).processEvent(Mockito.any(Event.class), Mockito.nullable(Client.class), Mockito.nullable(ClientClassification.class));
+        Mockito.verify(maternityProfileCache).invalidate("bei0");
+        Mockito.verify(maternityProfileCache).invalidate("bei1");
+        Mockito.verify(maternityProfileCache).invalidate("bei2");
+        Mockito.verify(maternityRegisterCountCache, Mockito.never()).invalidate();
+        Mockito.verify(maternityRegisterPageCache, Mockito.times(2)).invalidate();
+    }
+
+    @Test
+    public void processEventClientsShouldInvalidateRegisterCountsWhenQueryProviderCannotTellRegisterClients() throws Exception {
+        Repository repository = Mockito.mock(Repository.class);
+        SQLiteDatabase database = Mockito.mock(SQLiteDatabase.class);
+        Mockito.doReturn(repository).when(maternityLibrary).getRepository();
+        Mockito.doReturn(database).when(repository).getWritableDatabase();
+        Mockito.doReturn(Mockito.mock(MaternityRepository.class)).when(maternityLibrary).getMaternityRepository();
+        MaternitySearchIndexRepository maternitySearchIndexRepository = Mockito.mock(MaternitySearchIndexRepository.class);
+        Mockito.doReturn(maternitySearchIndexRepository).when(maternityLibrary).getMaternitySearchIndexRepository();
+        Mockito.doNothing().when(maternityMiniClientProcessorForJava).processEvent(Mockito.any(Event.class), Mockito.nullable(Client.class), Mockito.nullable(ClientClassification.class));
+
+        Event event = new Event().withEventType(MaternityConstants.EventType.MATERNITY_REGISTRATION).withBaseEntityId("bei");
+        event.setFormSubmissionId("fsi");
+
+        maternityMiniClientProcessorForJava.processEventClients(Collections.singletonList(new EventClient(event, null)), new ArrayList<>(), null);
+
+        Mockito.verify(maternityRegisterCountCache).invalidate();
+        Mockito.verify(database, Mockito.never()).rawQuery(Mockito.anyString(), Mockito.nullable(String[].class));
+        Mockito.verify(maternitySearchIndexRepository).indexClient(database, "bei");
+    }
+
+    @Test
+    public void processEventClientShouldDispatchCustomEventTypeToRegisteredHandler() throws Exception {
+        MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
+                .addMaternityEventProcessingHandler("Custom Maternity Event", TestEventProcessingHandler.class)
+                .build();
+        Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
+        mockWritableDatabase();
+        TestEventProcessingHandler.processedEvents.clear();
+
+        Event event = new Event().withEventType("Custom Maternity Event").withBaseEntityId("bei");
+        event.setFormSubmissionId("fsi");
+
+        Assert.assertTrue(maternityMiniClientProcessorForJava.canProcess("Custom Maternity Event"));
+        Assert.assertEquals(7, maternityMiniClientProcessorForJava.getEventTypes().size());
+
+        maternityMiniClientProcessorForJava.processEventClients(Collections.singletonList(new EventClient(event, null)), new ArrayList<>(), null);
+
+        Assert.assertEquals(1, TestEventProcessingHandler.processedEvents.size());
+        Assert.assertEquals("bei", TestEventProcessingHandler.processedEvents.get(0).getBaseEntityId());
+    }
+
+    @Test
+    public void processEventClientsShouldProcessEventsOfDifferentTypesInGivenOrder() throws Exception {
+        MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
+                .addMaternityEventProcessingHandler("Custom Maternity Close", TestEventProcessingHandler.class)
+                .addMaternityEventProcessingHandler("Custom Maternity Outcome", TestEventProcessingHandler.class)
+                .build();
+        Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
+        mockWritableDatabase();
+        TestEventProcessingHandler.processedEvents.clear();
+
+        List<EventClient> eventClients = Arrays.asList(
+                new EventClient(new Event().withEventType("Custom Maternity Outcome").withBaseEntityId("bei"), null),
+                new EventClient(new Event().withEventType("Unknown Event").withBaseEntityId("bei"), null),
+                new EventClient(new Event().withEventType("Custom Maternity Close").withBaseEntityId("bei"), null),
+                new EventClient(new Event().withEventType("Custom Maternity Outcome").withBaseEntityId("bei"), null));
+
+        maternityMiniClientProcessorForJava.processEventClients(eventClients, new ArrayList<>(), null);
+
+        Assert.assertEquals(3, TestEventProcessingHandler.processedEvents.size());
+        Assert.assertEquals("Custom Maternity Outcome", TestEventProcessingHandler.processedEvents.get(0).getEventType());
+        Assert.assertEquals("Custom Maternity Close", TestEventProcessingHandler.processedEvents.get(1).getEventType());
+        Assert.assertEquals("Custom Maternity Outcome", TestEventProcessingHandler.processedEvents.get(2).getEventType());
+    }
+
+    @NonNull
+    private SQLiteDatabase mockWritableDatabase() {
+        Repository repository = Mockito.mock(Repository.class);
+        SQLiteDatabase database = Mockito.mock(SQLiteDatabase.class);
+        Mockito.doReturn(repository).when(maternityLibrary).getRepository();
+        Mockito.doReturn(database).when(repository).getWritableDatabase();
+        Mockito.doReturn(Mockito.mock(MaternityRepository.class)).when(maternityLibrary).getMaternityRepository();
+        return database;
+    }
+
+    public static class TestEventProcessingHandler implements MaternityEventProcessingHandler {
+
+        private static List<Event> processedEvents = new ArrayList<>();
 
-        Assert.assertEquals(2, map.size());
+        @Override
+        public void processEventClient(@NonNull MaternityMiniClientProcessorForJava clientProcessor, @NonNull EventClient eventClient
+                , @NonNull List<Event> unsyncEvents, @Nullable ClientClassification clientClassification) {
+            processedEvents.add(eventClient.getEvent());
+        }
     }
 }
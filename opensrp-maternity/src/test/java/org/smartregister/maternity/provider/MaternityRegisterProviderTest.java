@@ -1,7 +1,9 @@
 package org.smartregister.maternity.provider;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.database.Cursor;
+import android.database.MatrixCursor;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.view.LayoutInflater;
@@ -9,6 +11,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -19,18 +22,27 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.util.ReflectionHelpers;
+import org.smartregister.commonregistry.CommonPersonObject;
 import org.smartregister.commonregistry.CommonPersonObjectClient;
+import org.smartregister.commonregistry.CommonRepository;
 import org.smartregister.maternity.BaseTest;
 import org.smartregister.maternity.BuildConfig;
 import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.R;
 import org.smartregister.maternity.configuration.BaseMaternityRegisterProviderMetadata;
 import org.smartregister.maternity.configuration.MaternityConfiguration;
 import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
 import org.smartregister.maternity.configuration.MaternityRegisterRowOptions;
 import org.smartregister.maternity.holders.MaternityRegisterViewHolder;
+import org.smartregister.maternity.pojo.MaternityRegisterRow;
+import org.smartregister.maternity.utils.MaternityConstants;
+import org.smartregister.maternity.utils.MaternityDbConstants;
 import org.smartregister.repository.Repository;
 import org.smartregister.view.contract.SmartRegisterClient;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
  */
@@ -57,9 +69,11 @@ public class MaternityRegisterProviderTest extends BaseTest {
     @Mock
     private LayoutInflater inflator;
 
+    private BaseMaternityRegisterProviderMetadata maternityRegisterProviderMetadata;
+
     @Before
     public void setUp() throws Exception {
-        BaseMaternityRegisterProviderMetadata maternityRegisterProviderMetadata = Mockito.spy(new BaseMaternityRegisterProviderMetadata());
+        maternityRegisterProviderMetadata = Mockito.spy(new BaseMaternityRegisterProviderMetadata());
         Mockito.doReturn(mockedView).when(inflator).inflate(Mockito.anyInt(), Mockito.any(ViewGroup.class), Mockito.anyBoolean());
         Mockito.doReturn(inflator).when(context).getSystemService(Mockito.eq(Context.LAYOUT_INFLATER_SERVICE));
 
@@ -160,6 +174,65 @@ public class MaternityRegisterProviderTest extends BaseTest {
                 , Mockito.any(MaternityRegisterViewHolder.class));
     }
 
+    @Test
+    public void createRegisterRowShouldFormatDisplayValuesAndDueButtonStateOnce() {
+        Resources resources = Mockito.mock(Resources.class);
+        Mockito.doReturn(resources).when(context).getResources();
+        Mockito.doReturn("y").when(resources).getString(R.string.abbrv_years);
+        Mockito.doReturn("Age: %s").when(context).getString(R.string.patient_age_holder);
+        Mockito.doReturn("GA: %s").when(context).getString(R.string.patient_ga_holder);
+        Mockito.doReturn("ID: %s").when(context).getString(R.string.patient_id_holder);
+        Mockito.doReturn("").when(maternityRegisterProviderMetadata).getDob(Mockito.anyMap());
+        Mockito.doReturn("20 weeks").when(maternityRegisterProviderMetadata).getGA(Mockito.anyMap());
+
+        HashMap<String, String> columnMaps = new HashMap<>();
+        columnMaps.put(MaternityDbConstants.KEY.FIRST_NAME, "jane");
+        columnMaps.put(MaternityDbConstants.KEY.MIDDLE_NAME, "mary");
+        columnMaps.put(MaternityDbConstants.KEY.LAST_NAME, "doe");
+        columnMaps.put(MaternityDbConstants.KEY.REGISTER_ID, "1234");
+        columnMaps.put(MaternityConstants.JSON_FORM_KEY.MMI_BASE_ENTITY_ID, "bei");
+
+        MaternityRegisterRow registerRow = maternityRegisterProvider.createRegisterRow(columnMaps);
+        maternityRegisterProvider.createRegisterRow(columnMaps);
+
+        Assert.assertEquals("Jane Mary Doe", registerRow.getPatientName());
+        Assert.assertEquals("GA: 20 weeks", registerRow.getGa());
+        Assert.assertEquals("ID: 1234", registerRow.getPatientId());
+        Assert.assertEquals(MaternityRegisterRow.DueButtonState.OUTCOME, registerRow.getDueButtonState());
+        Mockito.verify(context, Mockito.times(1)).getString(R.string.patient_ga_holder);
+    }
+
+    @Test
+    public void createRegisterRowsShouldNotReplaceRowsOfDisplayedPage() {
+        Resources resources = Mockito.mock(Resources.class);
+        Mockito.doReturn(resources).when(context).getResources();
+        Mockito.doReturn("y").when(resources).getString(R.string.abbrv_years);
+        Mockito.doReturn("Age: %s").when(context).getString(R.string.patient_age_holder);
+        Mockito.doReturn("GA: %s").when(context).getString(R.string.patient_ga_holder);
+        Mockito.doReturn("ID: %s").when(context).getString(R.string.patient_id_holder);
+        Mockito.doReturn("").when(maternityRegisterProviderMetadata).getDob(Mockito.anyMap());
+        Mockito.doReturn("20 weeks").when(maternityRegisterProviderMetadata).getGA(Mockito.anyMap());
+
+        HashMap<String, String> columnMaps = new HashMap<>();
+        columnMaps.put(MaternityDbConstants.KEY.FIRST_NAME, "jane");
+        columnMaps.put(MaternityDbConstants.KEY.REGISTER_ID, "1234");
+        columnMaps.put(MaternityConstants.JSON_FORM_KEY.MMI_BASE_ENTITY_ID, "bei");
+        CommonPersonObject commonPersonObject = new CommonPersonObject("bei", null, columnMaps, "ec_client");
+        CommonRepository commonRepository = Mockito.mock(CommonRepository.class);
+        Mockito.doReturn(commonPersonObject).when(commonRepository).readAllcommonforCursorAdapter(Mockito.any(Cursor.class));
+
+        MatrixCursor cursor = new MatrixCursor(new String[]{"_id"});
+        cursor.addRow(new Object[]{"bei"});
+
+        Map<String, MaternityRegisterRow> displayedRows = new HashMap<>();
+        maternityRegisterProvider.setRegisterRows(displayedRows);
+        Map<String, MaternityRegisterRow> pageRows = maternityRegisterProvider.createRegisterRows(cursor, commonRepository);
+
+        Assert.assertTrue(pageRows.containsKey("bei"));
+        Assert.assertSame(displayedRows, ReflectionHelpers.getField(maternityRegisterProvider, "registerRows"));
+        Assert.assertEquals(-1, cursor.getPosition());
+    }
+
     static class MaternityRegisterQueryProvider extends MaternityRegisterQueryProviderContract {
 
         @NonNull
@@ -1,9 +1,11 @@
 package org.smartregister.maternity.repository;
 
-import android.content.ContentValues;
-
+import net.sqlcipher.MatrixCursor;
+import net.sqlcipher.SQLException;
 import net.sqlcipher.database.SQLiteDatabase;
+import net.sqlcipher.database.SQLiteStatement;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -11,8 +13,13 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.smartregister.maternity.BaseRobolectricUnitTest;
 import org.smartregister.maternity.pojo.MaternityChild;
+import org.smartregister.maternity.pojo.MaternityChildPage;
 import org.smartregister.maternity.utils.MaternityDbConstants;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class MaternityChildRepositoryTest extends BaseRobolectricUnitTest {
 
     @Mock
@@ -29,26 +36,138 @@ public class MaternityChildRepositoryTest extends BaseRobolectricUnitTest {
     @Test
     public void testCreateTableShouldCreateTableAndIndexes() {
         MaternityChildRepository.createTable(sqLiteDatabase);
-        Mockito.verify(sqLiteDatabase, Mockito.times(3))
+        Mockito.verify(sqLiteDatabase, Mockito.times(4))
                 .execSQL(Mockito.anyString());
     }
 
     @Test
-    public void testSaveOrUpdateShouldCallInsert() {
+    public void testSaveOrUpdateShouldInsertWhenNoRowIsUpdated() {
         MaternityChild maternityChild = new MaternityChild();
         maternityChild.setBaseEntityId("324324");
         maternityChild.setMotherBaseEntityId("324234-wr");
 
         MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(maternityChildRepository);
+        SQLiteStatement updateStatement = Mockito.mock(SQLiteStatement.class);
+        SQLiteStatement insertStatement = Mockito.mock(SQLiteStatement.class);
 
         Mockito.doReturn(sqLiteDatabase).when(maternityChildRepositorySpy)
                 .getWritableDatabase();
+        Mockito.doReturn(updateStatement).when(sqLiteDatabase).compileStatement(Mockito.startsWith("UPDATE"));
+        Mockito.doReturn(insertStatement).when(sqLiteDatabase).compileStatement(Mockito.startsWith("INSERT"));
+        Mockito.doReturn(0).when(updateStatement).executeUpdateDelete();
+
+        Assert.assertTrue(maternityChildRepositorySpy.saveOrUpdate(maternityChild));
+
+        Mockito.verify(updateStatement).bindString(22, "324324");
+        Mockito.verify(insertStatement).executeInsert();
+        Mockito.verify(sqLiteDatabase).setTransactionSuccessful();
+        Mockito.verify(sqLiteDatabase).endTransaction();
+    }
+
+    @Test
+    public void testSaveAllShouldRollBackAndThrowWhenChildCannotBeSaved() {
+        MaternityChild maternityChild = new MaternityChild();
+        maternityChild.setBaseEntityId("324324");
+        maternityChild.setMotherBaseEntityId("324234-wr");
+
+        MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(maternityChildRepository);
+        SQLiteStatement updateStatement = Mockito.mock(SQLiteStatement.class);
+        SQLiteStatement insertStatement = Mockito.mock(SQLiteStatement.class);
+
+        Mockito.doReturn(sqLiteDatabase).when(maternityChildRepositorySpy)
+                .getWritableDatabase();
+        Mockito.doReturn(updateStatement).when(sqLiteDatabase).compileStatement(Mockito.startsWith("UPDATE"));
+        Mockito.doReturn(insertStatement).when(sqLiteDatabase).compileStatement(Mockito.startsWith("INSERT"));
+        Mockito.doReturn(0).when(updateStatement).executeUpdateDelete();
+        Mockito.doThrow(new SQLException("constraint failed")).when(insertStatement).executeInsert();
+
+        try {
+            maternityChildRepositorySpy.saveAll(Collections.singletonList(maternityChild));
+            Assert.fail();
+        } catch (SQLException e) {
+            Assert.assertEquals("constraint failed", e.getMessage());
+        }
+
+        Mockito.verify(sqLiteDatabase, Mockito.never()).setTransactionSuccessful();
+        Mockito.verify(sqLiteDatabase).endTransaction();
+    }
+
+    @Test
+    public void testSaveAllShouldUpdateLiveBirthByBaseEntityIdAndStillBirthByOrdinal() {
+        MaternityChild liveBirth = new MaternityChild();
+        liveBirth.setBaseEntityId("324324");
+        liveBirth.setMotherBaseEntityId("324234-wr");
+
+        MaternityChild firstStillBirth = new MaternityChild();
+        firstStillBirth.setMotherBaseEntityId("324234-wr");
+        firstStillBirth.setEventDate("2020-06-03 10:00:00");
+
+        MaternityChild secondStillBirth = new MaternityChild();
+        secondStillBirth.setMotherBaseEntityId("324234-wr");
+        secondStillBirth.setEventDate("2020-06-03 10:00:00");
+
+        MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(maternityChildRepository);
+        SQLiteStatement liveBirthStatement = Mockito.mock(SQLiteStatement.class);
+        SQLiteStatement stillBirthStatement = Mockito.mock(SQLiteStatement.class);
+        SQLiteStatement insertStatement = Mockito.mock(SQLiteStatement.class);
+
+        Mockito.doReturn(sqLiteDatabase).when(maternityChildRepositorySpy)
+                .getWritableDatabase();
+        Mockito.doReturn(liveBirthStatement).when(sqLiteDatabase).compileStatement(Mockito.endsWith(MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID + " = ?"));
+        Mockito.doReturn(stillBirthStatement).when(sqLiteDatabase).compileStatement(Mockito.contains("OFFSET"));
+        Mockito.doReturn(insertStatement).when(sqLiteDatabase).compileStatement(Mockito.startsWith("INSERT"));
+        Mockito.doReturn(1).when(liveBirthStatement).executeUpdateDelete();
+        Mockito.doReturn(1).when(stillBirthStatement).executeUpdateDelete();
+
+        Assert.assertTrue(maternityChildRepositorySpy.saveAll(Arrays.asList(liveBirth, firstStillBirth, secondStillBirth)));
+
+        Mockito.verify(liveBirthStatement).executeUpdateDelete();
+        Mockito.verify(stillBirthStatement).bindLong(24, 0);
+        Mockito.verify(stillBirthStatement).bindLong(24, 1);
+        Mockito.verify(insertStatement, Mockito.never()).executeInsert();
+    }
+
+    @Test
+    public void testFindByMotherBaseEntityIdShouldReadChildrenFromCursor() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID,
+                MaternityDbConstants.Column.MaternityChild.MOTHER_BASE_ENTITY_ID, MaternityDbConstants.Column.MaternityChild.EVENT_DATE});
+        cursor.addRow(new Object[]{"child-1", "mother-1", "2020-06-03 10:00:00"});
+        cursor.addRow(new Object[]{null, "mother-1", "2020-06-03 10:00:00"});
+
+        MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(maternityChildRepository);
+        Mockito.doReturn(sqLiteDatabase).when(maternityChildRepositorySpy).getReadableDatabase();
+        Mockito.doReturn(cursor).when(sqLiteDatabase).query(Mockito.eq(MaternityDbConstants.Table.MATERNITY_CHILD), Mockito.any(String[].class)
+                , Mockito.anyString(), Mockito.eq(new String[]{"mother-1"}), Mockito.nullable(String.class), Mockito.nullable(String.class)
+                , Mockito.anyString(), Mockito.nullable(String.class));
+
+        List<MaternityChild> maternityChildren = maternityChildRepositorySpy.findByMotherBaseEntityId("mother-1");
+
+        Assert.assertEquals(2, maternityChildren.size());
+        Assert.assertEquals("child-1", maternityChildren.get(0).getBaseEntityId());
+        Assert.assertNull(maternityChildren.get(1).getBaseEntityId());
+        Assert.assertEquals("mother-1", maternityChildren.get(1).getMotherBaseEntityId());
+        Assert.assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    public void testFindPageOrderedByEventDateShouldReturnCursorOfLastRowAndWhetherThereIsANextPage() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{MaternityDbConstants.Column.MaternityChild.BASE_ENTITY_ID,
+                MaternityDbConstants.Column.MaternityChild.EVENT_DATE, "rowid"});
+        cursor.addRow(new Object[]{"child-1", "2020-06-03 10:00:00", 4});
+        cursor.addRow(new Object[]{"child-2", "2020-06-04 10:00:00", 2});
+        cursor.addRow(new Object[]{"child-3", "2020-06-05 10:00:00", 9});
+
+        MaternityChildRepository maternityChildRepositorySpy = Mockito.spy(maternityChildRepository);
+        Mockito.doReturn(sqLiteDatabase).when(maternityChildRepositorySpy).getReadableDatabase();
+        Mockito.doReturn(cursor).when(sqLiteDatabase).query(Mockito.eq(MaternityDbConstants.Table.MATERNITY_CHILD), Mockito.any(String[].class)
+                , Mockito.anyString(), Mockito.nullable(String[].class), Mockito.nullable(String.class), Mockito.nullable(String.class)
+                , Mockito.anyString(), Mockito.eq("3"));
 
-        maternityChildRepositorySpy.saveOrUpdate(maternityChild);
+        MaternityChildPage maternityChildPage = maternityChildRepositorySpy.findPageOrderedByEventDate(null, 2);
 
-        Mockito.verify(sqLiteDatabase, Mockito.times(1))
-                .insert(Mockito.eq(MaternityDbConstants.Table.MATERNITY_CHILD),
-                        Mockito.eq(null),
-                        Mockito.any(ContentValues.class));
+        Assert.assertEquals(2, maternityChildPage.getMaternityChildren().size());
+        Assert.assertEquals("2020-06-04 10:00:00", maternityChildPage.getLastEventDate());
+        Assert.assertEquals(2, maternityChildPage.getLastRowId());
+        Assert.assertTrue(maternityChildPage.hasNextPage());
     }
-}
\ No newline at end of file
+}
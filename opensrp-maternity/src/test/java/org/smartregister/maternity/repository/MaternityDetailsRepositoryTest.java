@@ -0,0 +1,149 @@
+package org.smartregister.maternity.repository;
+
+import net.sqlcipher.MatrixCursor;
+import net.sqlcipher.database.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.util.ReflectionHelpers;
+import org.smartregister.maternity.BaseRobolectricUnitTest;
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.activity.BaseMaternityFormActivity;
+import org.smartregister.maternity.activity.BaseMaternityProfileActivity;
+import org.smartregister.maternity.configuration.BaseMaternityRegisterProviderMetadata;
+import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.pojo.MaternityBaseDetails;
+import org.smartregister.maternity.pojo.MaternityMetadata;
+import org.smartregister.maternity.pojo.MaternityProfileSnapshot;
+import org.smartregister.maternity.provider.MaternityRegisterQueryProviderTest;
+
+import java.util.HashMap;
+
+public class MaternityDetailsRepositoryTest extends BaseRobolectricUnitTest {
+
+    @Mock
+    private MaternityLibrary maternityLibrary;
+
+    @Mock
+    private SQLiteDatabase sqLiteDatabase;
+
+    private MaternityDetailsRepository maternityDetailsRepository;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
+                .setMaternityRegisterProviderMetadata(BaseMaternityRegisterProviderMetadata.class)
+                .setMaternityMetadata(new MaternityMetadata("form-name"
+                        , "ec_client"
+                        , "register-event-type"
+                        , "update-event-type"
+                        , "config"
+                        , BaseMaternityFormActivity.class
+                        , BaseMaternityProfileActivity.class
+                        , false))
+                .build();
+        Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
+
+        maternityDetailsRepository = Mockito.spy(new MaternityDetailsRepository());
+        Mockito.doReturn(sqLiteDatabase).when(maternityDetailsRepository).getReadableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", null);
+    }
+
+    @Test
+    public void testFindMedicInfoByBaseEntityIdShouldReadOnlyRequestedColumnsIntoDetails() {
+        String[] columns = new String[]{"base_entity_id", "hiv_status_current"};
+        MatrixCursor cursor = new MatrixCursor(columns);
+        cursor.addRow(new Object[]{"2323-ae", "negative"});
+        mockTableColumns("maternity_medic_info", "id", "base_entity_id", "hiv_status_current");
+        Mockito.doReturn(cursor).when(sqLiteDatabase).query("maternity_medic_info", columns, "base_entity_id = ?"
+                , new String[]{"2323-ae"}, null, null, null, "1");
+
+        MaternityBaseDetails medicInfo = maternityDetailsRepository.findMedicInfoByBaseEntityId("2323-ae", columns);
+
+        Assert.assertNotNull(medicInfo);
+        Assert.assertEquals("2323-ae", medicInfo.getBaseEntityId());
+        Assert.assertEquals("negative", medicInfo.get("hiv_status_current"));
+        Assert.assertEquals(2, medicInfo.getProperties().size());
+    }
+
+    @Test
+    public void testFindMedicInfoByBaseEntityIdShouldLeaveOutColumnsTheTableDoesNotHave() {
+        String[] columns = new String[]{"base_entity_id", "_id"};
+        MatrixCursor cursor = new MatrixCursor(columns);
+        cursor.addRow(new Object[]{"2323-ae", "4"});
+        mockTableColumns("maternity_medic_info", "_id", "base_entity_id");
+        Mockito.doReturn(cursor).when(sqLiteDatabase).query("maternity_medic_info", columns, "base_entity_id = ?"
+                , new String[]{"2323-ae"}, null, null, null, "1");
+
+        MaternityBaseDetails medicInfo = maternityDetailsRepository.findMedicInfoByBaseEntityId("2323-ae"
+                , new String[]{"base_entity_id", "unknown_field", "_id"});
+
+        Assert.assertNotNull(medicInfo);
+        Assert.assertEquals(4, medicInfo.getId());
+        Assert.assertEquals(Integer.valueOf(4), medicInfo.getInteger("_id"));
+        Assert.assertFalse(medicInfo.has("unknown_field"));
+    }
+
+    @Test
+    public void testDeprecatedFindMedicInfoByBaseEntityIdShouldReadAllColumns() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"base_entity_id", "hiv_status_current"});
+        cursor.addRow(new Object[]{"2323-ae", "negative"});
+        Mockito.doReturn(cursor).when(sqLiteDatabase).query("maternity_medic_info", null, "base_entity_id = ?"
+                , new String[]{"2323-ae"}, null, null, null, "1");
+
+        HashMap<String, String> medicInfo = maternityDetailsRepository.findMedicInfoByBaseEntityId("2323-ae");
+
+        Assert.assertNotNull(medicInfo);
+        Assert.assertEquals("negative", medicInfo.get("hiv_status_current"));
+    }
+
+    @Test
+    public void testFindProfileSnapshotShouldSplitTheJoinedRowIntoSections() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"snapshot_client", "base_entity_id", "first_name"
+                , "snapshot_registration_details", "base_entity_id", "hiv_status_current"
+                , "snapshot_medic_info", "base_entity_id", "hiv_status_current"});
+        cursor.addRow(new Object[]{1, "2323-ae", "Jane", 1, "2323-ae", "negative", 0, null, null});
+        Mockito.doReturn(cursor).when(sqLiteDatabase).rawQuery(Mockito.anyString(), Mockito.eq(new String[]{"2323-ae"}));
+
+        MaternityProfileSnapshot profileSnapshot = maternityDetailsRepository.findProfileSnapshot("2323-ae");
+
+        Assert.assertNotNull(profileSnapshot);
+        Assert.assertEquals("Jane", profileSnapshot.getClient().get("first_name"));
+        Assert.assertEquals("negative", profileSnapshot.getRegistrationDetails().get("hiv_status_current"));
+        Assert.assertNull(profileSnapshot.getMedicInfo());
+
+        HashMap<String, String> overviewDetails = profileSnapshot.getOverviewDetails();
+        Assert.assertEquals("negative", overviewDetails.get("hiv_status_current"));
+        Assert.assertFalse(overviewDetails.containsKey("first_name"));
+
+        HashMap<String, String> registrationFormDetails = profileSnapshot.getRegistrationFormDetails();
+        Assert.assertEquals("Jane", registrationFormDetails.get("first_name"));
+        Assert.assertEquals("negative", registrationFormDetails.get("hiv_status_current"));
+        Assert.assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    public void testFindProfileSnapshotShouldReturnNullForBlankBaseEntityId() {
+        Assert.assertNull(maternityDetailsRepository.findProfileSnapshot(""));
+        Mockito.verify(sqLiteDatabase, Mockito.never()).rawQuery(Mockito.anyString(), Mockito.any(String[].class));
+    }
+
+    private void mockTableColumns(String table, String... columns) {
+        MatrixCursor tableInfo = new MatrixCursor(new String[]{"cid", "name"});
+        for (int i = 0; i < columns.length; i++) {
+            tableInfo.addRow(new Object[]{i, columns[i]});
+        }
+        Mockito.doReturn(tableInfo).when(sqLiteDatabase).rawQuery("PRAGMA table_info(" + table + ")", (String[]) null);
+    }
+}
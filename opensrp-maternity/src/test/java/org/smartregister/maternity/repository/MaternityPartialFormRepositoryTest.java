@@ -0,0 +1,106 @@
+package org.smartregister.maternity.repository;
+
+import net.sqlcipher.database.SQLiteDatabase;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.robolectric.util.ReflectionHelpers;
+import org.smartregister.maternity.BaseRobolectricUnitTest;
+import org.smartregister.maternity.MaternityLibrary;
+import org.smartregister.maternity.exception.MaternityPartialFormDroppedException;
+import org.smartregister.maternity.helper.MaternityRegisterPageCache;
+import org.smartregister.maternity.pojo.MaternityPartialForm;
+import org.smartregister.maternity.utils.MaternityConstants;
+import org.smartregister.maternity.utils.MaternityJsonDeltaUtils;
+
+public class MaternityPartialFormRepositoryTest extends BaseRobolectricUnitTest {
+
+    private static final String TEMPLATE = "{\"encounter_type\":\"Maternity Outcome\",\"entity_id\":\"\",\"step1\":{\"title\":\"Outcome\""
+            + ",\"fields\":[{\"key\":\"delivery_date\",\"type\":\"date_picker\",\"value\":\"\"}]}}";
+
+    private static final String CHANGED_TEMPLATE = "{\"encounter_type\":\"Maternity Outcome\",\"entity_id\":\"\",\"step1\":{\"title\":\"Outcome\""
+            + ",\"fields\":[{\"key\":\"delivery_place\",\"type\":\"edit_text\",\"value\":\"\"}"
+            + ",{\"key\":\"delivery_date\",\"type\":\"date_picker\",\"value\":\"\"}]}}";
+
+    private MaternityPartialFormRepository maternityPartialFormRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        maternityPartialFormRepository = Mockito.spy(new MaternityPartialFormRepository());
+        Mockito.doAnswer(invocation -> new JSONObject(TEMPLATE)).when(maternityPartialFormRepository).getFormTemplate(MaternityConstants.Form.MATERNITY_OUTCOME);
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", null);
+    }
+
+    @Test
+    public void encodeFormShouldStoreChangesFromTemplate() throws Exception {
+        JSONObject form = new JSONObject(TEMPLATE);
+        form.getJSONObject("step1").getJSONArray("fields").getJSONObject(0).put("value", "12-10-2026");
+
+        byte[] encodedForm = maternityPartialFormRepository.encodeForm(MaternityConstants.EventType.MATERNITY_OUTCOME, form.toString());
+
+        Assert.assertEquals("{\"template\":\"maternity_outcome\",\"template_hash\":\"" + MaternityJsonDeltaUtils.getHash(new JSONObject(TEMPLATE).toString())
+                + "\",\"delta\":{\"o\":{\"step1\":{\"o\":{\"fields\":{\"a\":{\"delivery_date\""
+                + ":{\"o\":{\"value\":{\"v\":\"12-10-2026\"}}}}}}}}},\"form\":" + form + "}", MaternityJsonDeltaUtils.decompress(encodedForm));
+        Assert.assertEquals(form.toString(), maternityPartialFormRepository.decodeForm(encodedForm));
+    }
+
+    @Test
+    public void encodeFormShouldStoreWholeFormWithoutTemplate() throws Exception {
+        byte[] encodedForm = maternityPartialFormRepository.encodeForm("Custom Event", TEMPLATE);
+
+        Assert.assertEquals(new JSONObject(TEMPLATE).toString(), maternityPartialFormRepository.decodeForm(encodedForm));
+    }
+
+    @Test
+    public void decodeFormShouldReadSavedFormWhenTemplateIsMissing() throws Exception {
+        byte[] encodedForm = maternityPartialFormRepository.encodeForm(MaternityConstants.EventType.MATERNITY_OUTCOME, TEMPLATE);
+        Mockito.doReturn(null).when(maternityPartialFormRepository).getFormTemplate(MaternityConstants.Form.MATERNITY_OUTCOME);
+
+        Assert.assertEquals(new JSONObject(TEMPLATE).toString(), maternityPartialFormRepository.decodeForm(encodedForm));
+    }
+
+    @Test
+    public void decodeFormShouldReadSavedFormWhenTemplateChanged() throws Exception {
+        JSONObject form = new JSONObject(TEMPLATE);
+        form.getJSONObject("step1").getJSONArray("fields").getJSONObject(0).put("value", "12-10-2026");
+        byte[] encodedForm = maternityPartialFormRepository.encodeForm(MaternityConstants.EventType.MATERNITY_OUTCOME, form.toString());
+        Mockito.doAnswer(invocation -> new JSONObject(CHANGED_TEMPLATE)).when(maternityPartialFormRepository).getFormTemplate(MaternityConstants.Form.MATERNITY_OUTCOME);
+
+        Assert.assertEquals(form.toString(), maternityPartialFormRepository.decodeForm(encodedForm));
+    }
+
+    @Test(expected = MaternityPartialFormDroppedException.class)
+    public void decodeFormShouldThrowWhenTemplateChangedAndOnlyChangesWereSaved() throws Exception {
+        JSONObject record = new JSONObject();
+        record.put("template", MaternityConstants.Form.MATERNITY_OUTCOME);
+        record.put("template_hash", MaternityJsonDeltaUtils.getHash(new JSONObject(TEMPLATE).toString()));
+        record.put("delta", new JSONObject("{\"o\":{\"step1\":{\"o\":{\"fields\":{\"a\":{\"delivery_date\":{\"o\":{\"value\":{\"v\":\"12-10-2026\"}}}}}}}}}"));
+        Mockito.doAnswer(invocation -> new JSONObject(CHANGED_TEMPLATE)).when(maternityPartialFormRepository).getFormTemplate(MaternityConstants.Form.MATERNITY_OUTCOME);
+
+        maternityPartialFormRepository.decodeForm(MaternityJsonDeltaUtils.compress(record.toString()));
+    }
+
+    @Test
+    public void deleteShouldDropCachedRegisterPages() {
+        MaternityLibrary maternityLibrary = Mockito.mock(MaternityLibrary.class);
+        MaternityRegisterPageCache registerPageCache = Mockito.mock(MaternityRegisterPageCache.class);
+        Mockito.doReturn(registerPageCache).when(maternityLibrary).getMaternityRegisterPageCache();
+        ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
+
+        SQLiteDatabase sqLiteDatabase = Mockito.mock(SQLiteDatabase.class);
+        Mockito.doReturn(1).when(sqLiteDatabase).delete(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(), ArgumentMatchers.any(String[].class));
+        Mockito.doReturn(sqLiteDatabase).when(maternityPartialFormRepository).getReadableDatabase();
+
+        Assert.assertTrue(maternityPartialFormRepository.delete(new MaternityPartialForm("bei", MaternityConstants.EventType.MATERNITY_OUTCOME)));
+        Mockito.verify(registerPageCache).invalidate();
+    }
+}
@@ -0,0 +1,64 @@
+package org.smartregister.maternity.repository;
+
+import net.sqlcipher.Cursor;
+import net.sqlcipher.database.SQLiteDatabase;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+
+public class MaternitySearchIndexRepositoryTest {
+
+    @Test
+    public void getSearchKeysShouldIndexNamesPhoneticKeysAndIdTokens() {
+        String searchKeys = MaternitySearchIndexRepository.getSearchKeys("bei-1", "Katherine", "Nakato", "12345-6");
+
+        Assert.assertEquals("kybei1 nmkatherine sxk365 mpk0rn nmnakato sxn230 mpnkt id123456", searchKeys);
+    }
+
+    @Test
+    public void getSearchKeysShouldSkipMissingNamesAndId() {
+        Assert.assertEquals("kybei1 nmnakato sxn230 mpnkt", MaternitySearchIndexRepository.getSearchKeys("bei-1", null, "Nakato", null));
+    }
+
+    @Test
+    public void getMatchExpressionShouldMatchNamesByPrefixOrSoundAndIdsByPrefix() {
+        String matchExpression = MaternitySearchIndexRepository.getMatchExpression(MaternityFtsSearch.fromFilters("Catherine 12345-6"));
+
+        Assert.assertEquals("(nmcatherine* OR sxc365 OR mpk0rn) id123456*", matchExpression);
+    }
+
+    @Test
+    public void getMatchExpressionShouldReturnNullWhenSearchIsEmpty() {
+        Assert.assertNull(MaternitySearchIndexRepository.getMatchExpression(MaternityFtsSearch.fromFilters("  ")));
+    }
+
+    @Test
+    public void ensureTableShouldCreateAndFillIndexWhenDatabaseDoesNotHaveIt() {
+        SQLiteDatabase database = Mockito.mock(SQLiteDatabase.class);
+        Cursor emptyCursor = Mockito.mock(Cursor.class);
+        Mockito.doReturn(emptyCursor).when(database).rawQuery(Mockito.anyString(), Mockito.nullable(String[].class));
+        MaternitySearchIndexRepository searchIndexRepository = new MaternitySearchIndexRepository();
+
+        Assert.assertFalse(searchIndexRepository.isTableCreated());
+        Assert.assertTrue(searchIndexRepository.ensureTable(database));
+        Assert.assertTrue(searchIndexRepository.ensureTable(database));
+
+        Mockito.verify(database, Mockito.times(1)).execSQL(Mockito.startsWith("CREATE VIRTUAL TABLE IF NOT EXISTS maternity_search_index"));
+        Mockito.verify(database, Mockito.times(1)).execSQL("DELETE FROM maternity_search_index");
+        Assert.assertTrue(searchIndexRepository.isTableCreated());
+    }
+
+    @Test
+    public void ensureTableShouldNotRebuildExistingIndex() {
+        SQLiteDatabase database = Mockito.mock(SQLiteDatabase.class);
+        Cursor tableCursor = Mockito.mock(Cursor.class);
+        Mockito.doReturn(true).when(tableCursor).moveToFirst();
+        Mockito.doReturn(tableCursor).when(database).rawQuery(Mockito.startsWith("SELECT 1 FROM sqlite_master"), Mockito.nullable(String[].class));
+
+        Assert.assertTrue(new MaternitySearchIndexRepository().ensureTable(database));
+
+        Mockito.verify(database, Mockito.never()).execSQL(Mockito.anyString());
+    }
+}
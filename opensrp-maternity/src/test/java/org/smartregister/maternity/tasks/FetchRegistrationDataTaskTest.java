@@ -2,8 +2,10 @@ package org.smartregister.maternity.tasks;
 
 import android.content.Context;
 
+import net.sqlcipher.MatrixCursor;
 import net.sqlcipher.database.SQLiteDatabase;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,15 +19,12 @@ import org.smartregister.maternity.activity.BaseMaternityFormActivity;
 import org.smartregister.maternity.activity.BaseMaternityProfileActivity;
 import org.smartregister.maternity.configuration.BaseMaternityRegisterProviderMetadata;
 import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.helper.MaternityProfileCache;
 import org.smartregister.maternity.pojo.MaternityMetadata;
 import org.smartregister.maternity.provider.MaternityRegisterQueryProviderTest;
 import org.smartregister.maternity.repository.MaternityDetailsRepository;
-import org.smartregister.maternity.repository.MaternityRegistrationDetailsRepository;
-import org.smartregister.repository.EventClientRepository;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.HashMap;
 
 @RunWith(RobolectricTestRunner.class)
 public class FetchRegistrationDataTaskTest {
@@ -41,9 +40,6 @@ public class FetchRegistrationDataTaskTest {
     @Mock
     private MaternityLibrary maternityLibrary;
 
-    @Mock
-    private EventClientRepository eventClientRepository;
-
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
@@ -53,11 +49,9 @@ public class FetchRegistrationDataTaskTest {
 
     @Test
     public void testDoInBackgroundReturnsCorrectValue() {
-        org.smartregister.Context opensrpContext = Mockito.mock(org.smartregister.Context.class);
         SQLiteDatabase sqLiteDatabase = Mockito.mock(SQLiteDatabase.class);
-        MaternityDetailsRepository maternityDetailsRepository = new MaternityDetailsRepository();
-        Mockito.doReturn(sqLiteDatabase).when(eventClientRepository).getReadableDatabase();
-        Mockito.doReturn(eventClientRepository).when(opensrpContext).getEventClientRepository();
+        MaternityDetailsRepository maternityDetailsRepository = Mockito.spy(new MaternityDetailsRepository());
+        Mockito.doReturn(sqLiteDatabase).when(maternityDetailsRepository).getReadableDatabase();
         MaternityConfiguration maternityConfiguration = new MaternityConfiguration.Builder(MaternityRegisterQueryProviderTest.class)
                 .setMaternityRegisterProviderMetadata(BaseMaternityRegisterProviderMetadata.class)
                 .setMaternityMetadata(new MaternityMetadata("form-name"
@@ -70,22 +64,21 @@ public class FetchRegistrationDataTaskTest {
                         , false))
                 .build();
         Mockito.doReturn(maternityConfiguration).when(maternityLibrary).getMaternityConfiguration();
-        Mockito.doReturn(opensrpContext).when(maternityLibrary).context();
-        Mockito.doReturn(new MaternityRegistrationDetailsRepository()).when(maternityLibrary).getMaternityRegistrationDetailsRepository();
         Mockito.doReturn(maternityDetailsRepository).when(maternityLibrary).getMaternityDetailsRepository();
+        Mockito.doReturn(new MaternityProfileCache()).when(maternityLibrary).getMaternityProfileCache();
         ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", maternityLibrary);
 
-        HashMap<String, String> details = new HashMap<>();
-        details.put("first_name", "John");
-        details.put("last_name", "John");
-        ArrayList<HashMap<String, String>> mapArrayList = new ArrayList<>();
-        mapArrayList.add(details);
-
-        Mockito.doReturn(mapArrayList).when(eventClientRepository).rawQuery(Mockito.eq(sqLiteDatabase), Mockito.anyString());
+        MatrixCursor cursor = new MatrixCursor(new String[]{"snapshot_client", "first_name", "last_name"
+                , "snapshot_registration_details", "base_entity_id", "snapshot_medic_info", "base_entity_id"});
+        cursor.addRow(new Object[]{1, "John", "John", 0, null, 0, null});
 
         String baseEntityId = "2323-ae";
+        Mockito.doReturn(cursor).when(sqLiteDatabase).rawQuery(Mockito.contains("LEFT JOIN table-name"), Mockito.eq(new String[]{baseEntityId}));
+
         fetchRegistrationDataTask.doInBackground(baseEntityId);
-        Mockito.verify(eventClientRepository, Mockito.times(1)).rawQuery(Mockito.eq(sqLiteDatabase), Mockito.anyString());
+        Mockito.verify(sqLiteDatabase, Mockito.times(1)).rawQuery(Mockito.contains("LEFT JOIN table-name"), Mockito.eq(new String[]{baseEntityId}));
+        Mockito.verifyNoMoreInteractions(sqLiteDatabase);
+        Assert.assertTrue(cursor.isClosed());
 
         ReflectionHelpers.setStaticField(MaternityLibrary.class, "instance", null);
     }
@@ -0,0 +1,44 @@
+package org.smartregister.maternity.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.pojo.MaternityChild;
+
+import java.util.List;
+
+public class MaternityChildJsonReaderTest {
+
+    @Test
+    public void readBabiesBornShouldDecodeEachRepeatingGroupIntoMaternityChild() throws Exception {
+        String babiesBorn = "{\"3b562659b3f64f998dccfae199f7ea0d\":" +
+                "{\"apgar\":\"10\",\"base_entity_id\":\"2323-2323-sds\",\"baby_first_name\":\"Nameless\",\"baby_dob\":\"03-06-2020\",\"discharged_alive\":\"Yes\",\"birth_weight_entered\":\"2300\",\"birth_height_entered\":\"54\",\"baby_gender\":\"Male\",\"unknown_field\":\"ignored\"}," +
+                "\"70bb07814ded40a59f1346928909d134\":{\"base_entity_id\":\"9090-sds\"}}";
+
+        List<MaternityChild> maternityChildren = MaternityChildJsonReader.readBabiesBorn(babiesBorn);
+
+        Assert.assertEquals(2, maternityChildren.size());
+        MaternityChild maternityChild = maternityChildren.get(0);
+        Assert.assertEquals("10", maternityChild.getApgar());
+        Assert.assertEquals("2323-2323-sds", maternityChild.getBaseEntityId());
+        Assert.assertEquals("Nameless", maternityChild.getFirstName());
+        Assert.assertEquals("03-06-2020", maternityChild.getDob());
+        Assert.assertEquals("2300", maternityChild.getWeight());
+        Assert.assertEquals("54", maternityChild.getHeight());
+        Assert.assertEquals("Male", maternityChild.getGender());
+        Assert.assertEquals("", maternityChild.getLastName());
+        Assert.assertNull(maternityChild.getStillBirthCondition());
+        Assert.assertEquals("9090-sds", maternityChildren.get(1).getBaseEntityId());
+    }
+
+    @Test
+    public void readStillBornShouldOnlyDecodeStillBirthCondition() throws Exception {
+        String stillBorn = "{\"cabdeffcdca64a63800c8718f94d72ee\":{\"stillbirth_condition\":\"Fresh\",\"apgar\":\"1\"},\"70bb07814ded40a59f1346928909d134\":{\"stillbirth_condition\":\"Macerated\"}}";
+
+        List<MaternityChild> maternityChildren = MaternityChildJsonReader.readStillBorn(stillBorn);
+
+        Assert.assertEquals(2, maternityChildren.size());
+        Assert.assertEquals("Fresh", maternityChildren.get(0).getStillBirthCondition());
+        Assert.assertNull(maternityChildren.get(0).getApgar());
+        Assert.assertEquals("Macerated", maternityChildren.get(1).getStillBirthCondition());
+    }
+}
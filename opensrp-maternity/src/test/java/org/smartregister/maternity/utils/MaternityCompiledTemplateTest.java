@@ -0,0 +1,96 @@
+package org.smartregister.maternity.utils;
+
+import org.jeasy.rules.api.Facts;
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.BaseRobolectricUnitTest;
+import org.smartregister.maternity.domain.YamlConfigItem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class MaternityCompiledTemplateTest extends BaseRobolectricUnitTest {
+
+    private static final String PROFILE_OVERVIEW_YAML = "src/main/assets/config/" + FilePath.FILE.MATERNITY_PROFILE_OVERVIEW;
+    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("template: \"(.*)\"");
+    private static final Pattern KEY_PATTERN = Pattern.compile("\\{([^{}]*)\\}");
+
+    @Test
+    public void renderShouldMatchFillTemplateByRewritingForShippedOverviewTemplates() throws IOException {
+        List<String> templates = readProfileOverviewTemplates();
+        Assert.assertFalse(templates.isEmpty());
+
+        for (String value : new String[]{"", "2", "[pre_eclampsia, heavy_bleeding]", "[hypertension, other]", "yes, ", " "}) {
+            Facts facts = createFacts(templates, value);
+            for (String template : templates) {
+                assertSameOutput(template, facts);
+                assertSameOutput(YamlConfigItem.splitTemplate(template)[1], facts);
+            }
+        }
+    }
+
+    @Test
+    public void renderShouldMatchFillTemplateByRewritingForEdgeCases() {
+        Facts facts = new Facts();
+        facts.put("a", "");
+        facts.put("b", "x, ");
+        facts.put("c", " y");
+        facts.put("d", "label:value:rest");
+
+        String[] templates = {"", "no keys, ", "{a}", "{a} {c}", "{a}{b}{a}", " {b} , ", "{b}\n", "{d}, {b}", ",,{c},,",
+                "{missing}: {c}", "Title: {b}, {c}, {a}", "{a}:{c}", "{}"};
+        for (String template : templates) {
+            assertSameOutput(template, facts);
+        }
+    }
+
+    @Test
+    public void renderShouldFallBackToRewritingForValuesWithBraces() {
+        Facts facts = new Facts();
+        facts.put("a", "{b}");
+        facts.put("b", "nested");
+
+        assertSameOutput("Value: {a}", facts);
+    }
+
+    @Test
+    public void getShouldReturnTheSameCompiledTemplate() {
+        Assert.assertSame(MaternityCompiledTemplate.get("Para: {parity}"), MaternityCompiledTemplate.get("Para: {parity}"));
+    }
+
+    private void assertSameOutput(String template, Facts facts) {
+        Assert.assertEquals(template, MaternityUtils.fillTemplateByRewriting(false, template, facts)
+                , MaternityCompiledTemplate.compile(template).render(false, facts));
+        Assert.assertEquals(template, MaternityUtils.fillTemplateByRewriting(true, template, facts)
+                , MaternityCompiledTemplate.compile(template).render(true, facts));
+    }
+
+    private Facts createFacts(List<String> templates, String value) {
+        Facts facts = new Facts();
+        for (String template : templates) {
+            Matcher matcher = KEY_PATTERN.matcher(template);
+            while (matcher.find()) {
+                facts.put(matcher.group(1), value);
+                facts.put(matcher.group(1) + ConstantsUtils.SuffixUtils.OTHER, "Asthma");
+            }
+        }
+        return facts;
+    }
+
+    private List<String> readProfileOverviewTemplates() throws IOException {
+        List<String> templates = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(PROFILE_OVERVIEW_YAML), StandardCharsets.UTF_8)) {
+            Matcher matcher = TEMPLATE_PATTERN.matcher(line);
+            if (matcher.find()) {
+                templates.add(matcher.group(1));
+            }
+        }
+        return templates;
+    }
+}
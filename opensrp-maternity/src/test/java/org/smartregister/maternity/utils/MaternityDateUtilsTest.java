@@ -0,0 +1,86 @@
+package org.smartregister.maternity.utils;
+
+import org.joda.time.LocalDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class MaternityDateUtilsTest {
+
+    @Test
+    public void getDateTimeFormatterShouldReuseFormatterOfPattern() {
+        Assert.assertSame(MaternityDateUtils.getDateTimeFormatter(MaternityDbConstants.DATE_FORMAT)
+                , MaternityDateUtils.getDateTimeFormatter(MaternityDbConstants.DATE_FORMAT));
+    }
+
+    @Test
+    public void parseDateShouldReturnNullWhenDateDoesNotMatchPattern() {
+        Date date = MaternityDateUtils.parseDate(MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS, "2019-10-28 18:09:49");
+
+        Assert.assertEquals("2019-10-28 18:09:49", MaternityDateUtils.formatDate(date, MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS));
+        Assert.assertNull(MaternityDateUtils.parseDate(MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS, "28/10/2019"));
+        Assert.assertNull(MaternityDateUtils.parseDate(MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS, ""));
+    }
+
+    @Test
+    public void parseDateShouldIgnoreTextAfterDate() {
+        Date date = MaternityDateUtils.parseDate(MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS, "2019-10-28 18:09:49.123");
+
+        Assert.assertEquals("2019-10-28 18:09:49", MaternityDateUtils.formatDate(date, MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS));
+    }
+
+    @Test
+    public void formatDateShouldFormatPatternsUnsupportedByJodaWithSimpleDateFormat() {
+        Date date = MaternityDateUtils.parseDate(MaternityConstants.DateFormat.YYYY_MM_DD_HH_MM_SS, "2019-10-28 18:09:49");
+
+        Assert.assertEquals(new SimpleDateFormat("yyyy-MM W", Locale.ENGLISH).format(date)
+                , MaternityDateUtils.formatDate(date, "yyyy-MM W"));
+    }
+
+    @Test
+    public void formatDateShouldUseEnglishMonthNames() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.FRENCH);
+        try {
+            Date date = MaternityDateUtils.parseDate("dd MMM yyyy", "28 Oct 2019");
+
+            Assert.assertEquals("28 Oct 2019", MaternityDateUtils.formatDate(date, "dd MMM yyyy"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void getGestationAgeInWeeksShouldCountWeeksSinceConception() {
+        Assert.assertEquals(20, MaternityDateUtils.getGestationAgeInWeeks("01-01-2020", new LocalDate(2020, 5, 23)));
+    }
+
+    @Test
+    public void getCalculatedGaWeeksShouldReadWeeksOfCalculatedGa() {
+        Assert.assertEquals(Integer.valueOf(20), MaternityDateUtils.getCalculatedGaWeeks("20 weeks 3 days"));
+        Assert.assertNull(MaternityDateUtils.getCalculatedGaWeeks("3 days"));
+        Assert.assertNull(MaternityDateUtils.getCalculatedGaWeeks("a weeks"));
+        Assert.assertNull(MaternityDateUtils.getCalculatedGaWeeks(null));
+    }
+
+    @Test
+    public void getGestationAgesInWeeksShouldPreferCalculatedGaOverConceptionDate() {
+        String conceptionDate = LocalDate.now().minusWeeks(12).toString(MaternityDateUtils.CONCEPTION_DATE_FORMAT);
+        Map<String, String> calculatedRow = new HashMap<>();
+        calculatedRow.put(MaternityDbConstants.KEY.GA_CALCULATED, "20 weeks 3 days");
+        calculatedRow.put(MaternityConstants.Event.MaternityRegistration.CONCEPTION_DATE, conceptionDate);
+        Map<String, String> conceptionRow = new HashMap<>();
+        conceptionRow.put(MaternityConstants.Event.MaternityRegistration.CONCEPTION_DATE, conceptionDate);
+
+        List<Integer> gestationAges = MaternityDateUtils.getGestationAgesInWeeks(Arrays.asList(calculatedRow, conceptionRow, conceptionRow, new HashMap<>()));
+
+        Assert.assertEquals(Arrays.asList(20, 12, 12, null), gestationAges);
+    }
+}
@@ -0,0 +1,52 @@
+package org.smartregister.maternity.utils;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.BaseRobolectricUnitTest;
+
+public class MaternityJsonDeltaUtilsTest extends BaseRobolectricUnitTest {
+
+    private static final String TEMPLATE = "{\"encounter_type\":\"Maternity Outcome\",\"entity_id\":\"\",\"step1\":{\"title\":\"Outcome\""
+            + ",\"fields\":[{\"key\":\"delivery_date\",\"type\":\"date_picker\",\"value\":\"\"}"
+            + ",{\"key\":\"delivery_place\",\"type\":\"spinner\",\"values\":[\"Facility\",\"Home\"]}]}}";
+
+    @Test
+    public void createDeltaShouldOnlyKeepChangedFieldValues() throws Exception {
+        JSONObject form = new JSONObject(TEMPLATE);
+        form.put("entity_id", "bei");
+        form.getJSONObject("step1").getJSONArray("fields").getJSONObject(1).put("value", "Home");
+
+        JSONObject delta = MaternityJsonDeltaUtils.createDelta(new JSONObject(TEMPLATE), form);
+
+        Assert.assertEquals("{\"o\":{\"entity_id\":{\"v\":\"bei\"},\"step1\":{\"o\":{\"fields\":{\"a\":{\"delivery_place\":{\"o\":{\"value\":{\"v\":\"Home\"}}}}}}}}}"
+                , String.valueOf(delta));
+    }
+
+    @Test
+    public void createDeltaShouldReturnNullWhenFormIsTemplate() throws Exception {
+        Assert.assertNull(MaternityJsonDeltaUtils.createDelta(new JSONObject(TEMPLATE), new JSONObject(TEMPLATE)));
+    }
+
+    @Test
+    public void applyDeltaShouldRebuildForm() throws Exception {
+        JSONObject form = new JSONObject(TEMPLATE);
+        form.remove("entity_id");
+        form.getJSONObject("step1").getJSONArray("fields").getJSONObject(0).put("value", "12-10-2026");
+        form.getJSONObject("step1").getJSONArray("fields").getJSONObject(1).put("values", new JSONArray().put("Facility"));
+
+        JSONObject delta = MaternityJsonDeltaUtils.createDelta(new JSONObject(TEMPLATE), form);
+        Object rebuiltForm = MaternityJsonDeltaUtils.applyDelta(new JSONObject(TEMPLATE), delta);
+
+        Assert.assertEquals(form.toString(), String.valueOf(rebuiltForm));
+    }
+
+    @Test
+    public void decompressShouldReturnCompressedValue() throws Exception {
+        byte[] compressedValue = MaternityJsonDeltaUtils.compress(TEMPLATE);
+
+        Assert.assertTrue(compressedValue.length < TEMPLATE.length());
+        Assert.assertEquals(TEMPLATE, MaternityJsonDeltaUtils.decompress(compressedValue));
+    }
+}
@@ -16,6 +16,7 @@ import org.smartregister.commonregistry.CommonPersonObject;
 import org.smartregister.maternity.BuildConfig;
 import org.smartregister.maternity.MaternityLibrary;
 import org.smartregister.maternity.configuration.MaternityConfiguration;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
 import org.smartregister.repository.Repository;
 
 import java.util.ArrayList;
@@ -33,27 +34,32 @@ public class MaternityLookUpUtilsTest {
     }
 
     @Test
-    public void testGetMainConditionStringWhenEntityMapIsEmpty() throws Exception {
+    public void testGetLookUpSearchWhenEntityMapIsEmpty() throws Exception {
         Map<String, String> entityMap = new HashMap<>();
-        String result = Whitebox.invokeMethod(MaternityLookUpUtils.class, "getMainConditionString", entityMap);
-        Assert.assertEquals("", result);
+        MaternityFtsSearch result = Whitebox.invokeMethod(MaternityLookUpUtils.class, "getLookUpSearch", entityMap);
+        Assert.assertTrue(result.isEmpty());
     }
 
     @Test
-    public void testGetMainConditionStringWhenEntityMapIsWithValue() throws Exception {
-        String firstName = "first_name";
-        String lastName = "last_name";
-        String bht_id = "bht_mid";
-        String national_id = "national_id";
+    public void testGetLookUpSearchWhenEntityMapHasEmptyValues() throws Exception {
         Map<String, String> entityMap = new HashMap<>();
-        entityMap.put(firstName, "");
-        entityMap.put(lastName, "");
-        entityMap.put(bht_id, "");
-        entityMap.put(national_id, "");
-        String result = Whitebox.invokeMethod(MaternityLookUpUtils.class, "getMainConditionString", entityMap);
+        entityMap.put("first_name", "");
+        entityMap.put("last_name", " ");
+        entityMap.put("bht_mid", "");
+        entityMap.put("national_id", "");
+        MaternityFtsSearch result = Whitebox.invokeMethod(MaternityLookUpUtils.class, "getLookUpSearch", entityMap);
         Assert.assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void testGetLookUpSearchShouldMatchValuesAsPrefixesInKeyOrder() throws Exception {
+        Map<String, String> entityMap = new HashMap<>();
+        entityMap.put("last_name", "O'Brien");
+        entityMap.put("first_name", "Jan");
+        MaternityFtsSearch result = Whitebox.invokeMethod(MaternityLookUpUtils.class, "getLookUpSearch", entityMap);
+        Assert.assertEquals("\"Jan*\" \"O*\" \"Brien*\"", result.getMatchExpression());
+    }
+
     @Test
     public void testClientLookUpWhenContextIsNull() throws Exception {
         Map<String, String> entityLookUp = new HashMap<>();
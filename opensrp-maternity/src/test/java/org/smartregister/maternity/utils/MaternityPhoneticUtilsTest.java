@@ -0,0 +1,47 @@
+package org.smartregister.maternity.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MaternityPhoneticUtilsTest {
+
+    @Test
+    public void normalizeShouldRemoveAccentsAndLowerCase() {
+        Assert.assertEquals("jose", MaternityPhoneticUtils.normalize("Jos\u00e9"));
+        Assert.assertEquals("nakato", MaternityPhoneticUtils.normalize("NAKATO"));
+    }
+
+    @Test
+    public void getSoundexShouldReturnAmericanSoundexCodes() {
+        Assert.assertEquals("R163", MaternityPhoneticUtils.getSoundex("Robert"));
+        Assert.assertEquals("R163", MaternityPhoneticUtils.getSoundex("Rupert"));
+        Assert.assertEquals("A261", MaternityPhoneticUtils.getSoundex("Ashcraft"));
+        Assert.assertEquals("T522", MaternityPhoneticUtils.getSoundex("Tymczak"));
+        Assert.assertEquals("P236", MaternityPhoneticUtils.getSoundex("Pfister"));
+    }
+
+    @Test
+    public void getSoundexShouldMatchDoubledLetterMistakes() {
+        Assert.assertEquals(MaternityPhoneticUtils.getSoundex("Nakato"), MaternityPhoneticUtils.getSoundex("Nakatto"));
+    }
+
+    @Test
+    public void getMetaphoneShouldMatchNamesSpelledDifferently() {
+        Assert.assertEquals("K0RN", MaternityPhoneticUtils.getMetaphone("Catherine"));
+        Assert.assertEquals("K0RN", MaternityPhoneticUtils.getMetaphone("Katherine"));
+        Assert.assertEquals("FLP", MaternityPhoneticUtils.getMetaphone("Philip"));
+        Assert.assertEquals("FLP", MaternityPhoneticUtils.getMetaphone("Filip"));
+    }
+
+    @Test
+    public void getMetaphoneShouldSkipSilentLetters() {
+        Assert.assertEquals("NT", MaternityPhoneticUtils.getMetaphone("Knight"));
+        Assert.assertEquals("SKMTT", MaternityPhoneticUtils.getMetaphone("Schmidt"));
+    }
+
+    @Test
+    public void getPhoneticKeysShouldReturnNullWhenNameDoesNotStartWithLetter() {
+        Assert.assertNull(MaternityPhoneticUtils.getSoundex("123"));
+        Assert.assertNull(MaternityPhoneticUtils.getMetaphone(""));
+    }
+}
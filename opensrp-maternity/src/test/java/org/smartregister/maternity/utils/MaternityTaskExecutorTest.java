@@ -0,0 +1,104 @@
+package org.smartregister.maternity.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.smartregister.maternity.configuration.MaternityExecutorPolicy;
+import org.smartregister.maternity.helper.MaternityTaskMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MaternityTaskExecutorTest {
+
+    @Test
+    public void executeShouldRunQueuedInteractiveTasksBeforeQueuedBackgroundTasks() throws InterruptedException {
+        MaternityTaskMetrics taskMetrics = new MaternityTaskMetrics(Long.MAX_VALUE);
+        MaternityTaskExecutor taskExecutor = new MaternityTaskExecutor("test", 1, taskMetrics);
+        CountDownLatch blockingTaskStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlockingTask = new CountDownLatch(1);
+        CountDownLatch tasksDone = new CountDownLatch(3);
+        List<String> taskOrder = new CopyOnWriteArrayList<>();
+
+        taskExecutor.execute(MaternityTaskExecutor.Priority.BACKGROUND, () -> {
+            blockingTaskStarted.countDown();
+            try {
+                releaseBlockingTask.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(blockingTaskStarted.await(5, TimeUnit.SECONDS));
+
+        taskExecutor.execute(MaternityTaskExecutor.Priority.BACKGROUND, () -> {
+            taskOrder.add("save outcome");
+            tasksDone.countDown();
+        });
+        taskExecutor.getLane(MaternityTaskExecutor.Priority.INTERACTIVE).execute(() -> {
+            taskOrder.add("load profile");
+            tasksDone.countDown();
+        });
+        taskExecutor.execute(MaternityTaskExecutor.Priority.BACKGROUND, () -> {
+            taskOrder.add("save events");
+            tasksDone.countDown();
+        });
+        releaseBlockingTask.countDown();
+
+        Assert.assertTrue(tasksDone.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("load profile", "save outcome", "save events"), taskOrder);
+        Assert.assertEquals(1, taskMetrics.getLaneMetrics("test/interactive").getTaskCount());
+    }
+
+    @Test
+    public void appExecutorsShouldRunAllDiskTasksOnGivenExecutor() {
+        List<Runnable> commands = new CopyOnWriteArrayList<>();
+        AppExecutors appExecutors = new AppExecutors(commands::add, null, null);
+        Runnable command = () -> {
+        };
+
+        appExecutors.diskIORead().execute(command);
+        appExecutors.diskIOWrite(MaternityTaskExecutor.Priority.INTERACTIVE).execute(command);
+
+        Assert.assertEquals(Collections.nCopies(2, command), commands);
+        Assert.assertNull(appExecutors.getTaskMetrics());
+    }
+
+    @Test
+    public void appExecutorsShouldRunWritesAndReadsAfterWritesInQueuedOrder() throws InterruptedException {
+        AppExecutors appExecutors = new AppExecutors(new MaternityExecutorPolicy(2, Long.MAX_VALUE));
+        CountDownLatch blockingTaskStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlockingTask = new CountDownLatch(1);
+        CountDownLatch tasksDone = new CountDownLatch(3);
+        List<String> taskOrder = new CopyOnWriteArrayList<>();
+
+        appExecutors.diskIO().execute(() -> {
+            blockingTaskStarted.countDown();
+            try {
+                releaseBlockingTask.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(blockingTaskStarted.await(5, TimeUnit.SECONDS));
+
+        appExecutors.diskIO().execute(() -> {
+            taskOrder.add("save partial form");
+            tasksDone.countDown();
+        });
+        appExecutors.diskIOWrite(MaternityTaskExecutor.Priority.INTERACTIVE).execute(() -> {
+            taskOrder.add("save registration");
+            tasksDone.countDown();
+        });
+        appExecutors.diskIOReadAfterWrites().execute(() -> {
+            taskOrder.add("read partial form");
+            tasksDone.countDown();
+        });
+        releaseBlockingTask.countDown();
+
+        Assert.assertTrue(tasksDone.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("save partial form", "save registration", "read partial form"), taskOrder);
+    }
+}
@@ -0,0 +1,130 @@
+package org.smartregister.maternity.utils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+
+public class MaternityTaskRunnerTest {
+
+    private List<Runnable> backgroundTasks;
+    private MaternityTaskRunner taskRunner;
+
+    @Before
+    public void setUp() {
+        backgroundTasks = new ArrayList<>();
+        taskRunner = new MaternityTaskRunner(backgroundTasks::add, Runnable::run);
+    }
+
+    @Test
+    public void executeShouldMergeQueuedTasksWithSameKey() {
+        AtomicInteger loadCount = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        taskRunner.execute("partial-form:outcome:bei", () -> "form " + loadCount.incrementAndGet(), results::add);
+        taskRunner.execute("partial-form:outcome:bei", () -> "form " + loadCount.incrementAndGet(), results::add);
+
+        Assert.assertEquals(1, backgroundTasks.size());
+        Assert.assertEquals(1, taskRunner.getQueuedTaskCount());
+
+        backgroundTasks.get(0).run();
+
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(Arrays.asList("form 1", "form 1"), results);
+        Assert.assertEquals(0, taskRunner.getQueuedTaskCount());
+    }
+
+    @Test
+    public void executeShouldNotDeliverResultToDisposedCallback() {
+        List<String> results = new ArrayList<>();
+
+        Disposable disposable = taskRunner.execute("overview-rows:bei", () -> "first", result -> results.add("disposed " + result));
+        taskRunner.execute("overview-rows:bei", () -> "second", results::add);
+        disposable.dispose();
+        backgroundTasks.get(0).run();
+
+        Assert.assertTrue(disposable.isDisposed());
+        Assert.assertEquals(Collections.singletonList("first"), results);
+    }
+
+    @Test
+    public void executeShouldSkipTaskWhenAllCallbacksAreDisposedBeforeItStarts() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        taskRunner.execute("overview-details:bei", loadCount::incrementAndGet, result -> Assert.fail()).dispose();
+        backgroundTasks.get(0).run();
+
+        Assert.assertEquals(0, loadCount.get());
+        Assert.assertEquals(0, taskRunner.getQueuedTaskCount());
+    }
+
+    @Test
+    public void executeShouldRunTaskAgainAfterPreviousTaskCompletes() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        taskRunner.execute("partial-form:outcome:bei", loadCount::incrementAndGet, result -> {
+        });
+        backgroundTasks.get(0).run();
+        taskRunner.execute("partial-form:outcome:bei", loadCount::incrementAndGet, result -> {
+        });
+        backgroundTasks.get(1).run();
+
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void executeShouldNotMergeWithStartedTask() {
+        AtomicInteger loadCount = new AtomicInteger();
+        List<Integer> results = new ArrayList<>();
+
+        taskRunner.execute("partial-form:outcome:bei", () -> {
+            // A caller arriving while the load runs might expect a change the load has already missed
+            taskRunner.execute("partial-form:outcome:bei", loadCount::incrementAndGet, results::add);
+            return loadCount.incrementAndGet();
+        }, results::add);
+        backgroundTasks.get(0).run();
+
+        Assert.assertEquals(2, backgroundTasks.size());
+        backgroundTasks.get(1).run();
+
+        Assert.assertEquals(Arrays.asList(1, 2), results);
+    }
+
+    @Test
+    public void executeShouldDeliverErrorToErrorCallback() {
+        List<String> results = new ArrayList<>();
+        List<Exception> errors = new ArrayList<>();
+        IllegalStateException exception = new IllegalStateException("closed");
+
+        taskRunner.<String>execute(new CompositeDisposable(), "overview-rows:bei", () -> {
+            throw exception;
+        }, results::add, errors::add);
+        taskRunner.execute("overview-rows:bei", () -> "rows", results::add);
+        backgroundTasks.get(0).run();
+
+        Assert.assertEquals(Collections.singletonList(exception), errors);
+        Assert.assertEquals(Collections.singletonList(null), results);
+    }
+
+    @Test
+    public void executeShouldRemoveHandleFromDisposablesWhenTaskCompletes() {
+        CompositeDisposable disposables = new CompositeDisposable();
+
+        Disposable disposable = taskRunner.execute(disposables, "overview-details:bei", () -> "details", result -> {
+        }, null);
+        Assert.assertEquals(1, disposables.size());
+
+        backgroundTasks.get(0).run();
+
+        Assert.assertEquals(0, disposables.size());
+        Assert.assertTrue(disposable.isDisposed());
+    }
+}
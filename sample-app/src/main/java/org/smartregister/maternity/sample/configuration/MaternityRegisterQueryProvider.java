@@ -6,6 +6,9 @@ import android.text.TextUtils;
 
 import org.smartregister.cursoradapter.SmartRegisterQueryBuilder;
 import org.smartregister.maternity.configuration.MaternityRegisterQueryProviderContract;
+import org.smartregister.maternity.pojo.MaternityFtsSearch;
+import org.smartregister.maternity.pojo.MaternityRegisterPageToken;
+import org.smartregister.maternity.pojo.MaternityRegisterQuery;
 
 /**
  * Created by Ephraim Kigamba - ekigamba@ona.io on 2019-11-29
@@ -18,15 +21,61 @@ public class MaternityRegisterQueryProvider extends MaternityRegisterQueryProvid
     public String getObjectIdsQuery(@Nullable String filters, @Nullable String mainCondition) {
         if (TextUtils.isEmpty(filters)) {
             return "SELECT object_id, last_interacted_with FROM ec_client_search  " +
-                    "ORDER BY last_interacted_with DESC";
+                    "ORDER BY last_interacted_with DESC, object_id DESC";
         } else {
-            String sql = "SELECT object_id FROM ec_client_search WHERE date_removed IS NULL AND phrase MATCH '%s*'" +
-                    "ORDER BY last_interacted_with DESC";
+            String sql = "SELECT object_id FROM ec_client_search WHERE date_removed IS NULL AND phrase MATCH '%s*' " +
+                    "ORDER BY last_interacted_with DESC, object_id DESC";
             sql = sql.replace("%s", filters);
             return sql;
         }
     }
 
+    @Nullable
+    @Override
+    public String getObjectIdsPageQuery(@Nullable String filters, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int limit) {
+        // The expression only quotes letters and digits of the filters, but is escaped in case that ever changes
+        String matchExpression = MaternityFtsSearch.fromFilters(filters).getMatchExpression();
+        String matchCondition = matchExpression == null ? null
+                : "date_removed IS NULL AND phrase MATCH '" + matchExpression.replace("'", "''") + "'";
+        return getKeysetPageQuery("SELECT object_id, last_interacted_with FROM ec_client_search"
+                , joinConditions(matchCondition, mainCondition), pageToken, limit);
+    }
+
+    @Nullable
+    @Override
+    public MaternityRegisterQuery getObjectIdsSearchQuery(@NonNull MaternityFtsSearch search, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        String selectFrom = "SELECT object_id, last_interacted_with FROM ec_client_search";
+        if (search.isEmpty()) {
+            return getKeysetPageSearchQuery(selectFrom, joinConditions(null, mainCondition), new String[0], pageToken, offset, limit);
+        }
+
+        return getKeysetPageSearchQuery(selectFrom, joinConditions("date_removed IS NULL AND phrase MATCH ?", mainCondition)
+                , new String[]{search.getMatchExpression()}, pageToken, offset, limit);
+    }
+
+    @Nullable
+    @Override
+    public MaternityRegisterQuery getRegisterPageSearchQuery(@NonNull MaternityFtsSearch search, @Nullable String mainCondition
+            , @Nullable MaternityRegisterPageToken pageToken, int offset, int limit) {
+        MaternityRegisterQuery objectIdsQuery = getObjectIdsSearchQuery(search, mainCondition, pageToken, offset, limit);
+        return getRegisterPageQuery(objectIdsQuery, "SELECT maternity_details.base_entity_id AS mmi_base_entity_id, ec_client.id AS _id , ec_client.first_name , ec_client.last_name , '' AS middle_name , ec_client.gender , ec_client.dob , '' AS home_address, maternity_details.ga_calculated, maternity_details.conception_date, ec_client.relationalid , ec_client.opensrp_id AS register_id , ec_client.last_interacted_with, 'ec_client' as entity_table, 'maternity' as register_type, mpf.base_entity_id as mpf_id, mpf.form_type as mpf_form_type, " +
+                "register_page.object_id AS " + PAGE_OBJECT_ID + ", register_page.last_interacted_with AS " + PAGE_LAST_INTERACTED_WITH + " FROM register_page " +
+                "INNER JOIN ec_client ON ec_client.id = register_page.object_id " +
+                "LEFT JOIN maternity_medic_info maternity_details ON ec_client.base_entity_id = maternity_details.base_entity_id " +
+                "LEFT JOIN maternity_partial_form mpf ON mpf.base_entity_id = ec_client.base_entity_id");
+    }
+
+    @Nullable
+    @Override
+    public MaternityRegisterQuery[] getCountSearchQueries(@NonNull MaternityFtsSearch search, @Nullable String mainCondition) {
+        String condition = joinConditions(search.isEmpty() ? null : "date_removed IS NULL AND phrase MATCH ?", mainCondition);
+        String sql = "SELECT COUNT(*) FROM ec_client_search" + (condition == null ? "" : " WHERE " + condition);
+        return new MaternityRegisterQuery[]{search.isEmpty() ? new MaternityRegisterQuery(sql)
+                : new MaternityRegisterQuery(sql, search.getMatchExpression())};
+    }
+
     @NonNull
     @Override
     public String[] countExecuteQueries(@Nullable String filters, @Nullable String mainCondition) {
@@ -36,13 +85,28 @@ public class MaternityRegisterQueryProvider extends MaternityRegisterQueryProvid
         };
     }
 
+    @Nullable
+    @Override
+    public String getRegisterClientQuery(@NonNull String baseEntityId) {
+        return "SELECT object_id FROM ec_client_search WHERE object_id = '" + baseEntityId.replace("'", "''") + "'";
+    }
+
     @NonNull
     @Override
     public String mainSelectWhereIDsIn() {
-        return "SELECT maternity_details.base_entity_id AS mmi_base_entity_id, ec_client.id AS _id , ec_client.first_name , ec_client.last_name , '' AS middle_name , ec_client.gender , ec_client.dob , '' AS home_address, maternity_details.ga_calculated, ec_client.relationalid , ec_client.opensrp_id AS register_id , ec_client.last_interacted_with, 'ec_client' as entity_table, 'maternity' as register_type, mpf.base_entity_id as mpf_id, mpf.form_type as mpf_form_type  FROM ec_client " +
+        return "SELECT maternity_details.base_entity_id AS mmi_base_entity_id, ec_client.id AS _id , ec_client.first_name , ec_client.last_name , '' AS middle_name , ec_client.gender , ec_client.dob , '' AS home_address, maternity_details.ga_calculated, maternity_details.conception_date, ec_client.relationalid , ec_client.opensrp_id AS register_id , ec_client.last_interacted_with, 'ec_client' as entity_table, 'maternity' as register_type, mpf.base_entity_id as mpf_id, mpf.form_type as mpf_form_type  FROM ec_client " +
                 "LEFT JOIN maternity_medic_info maternity_details ON ec_client.base_entity_id = maternity_details.base_entity_id " +
                 "LEFT JOIN maternity_partial_form mpf ON mpf.base_entity_id = ec_client.base_entity_id " +
                 "WHERE ec_client.id IN (%s) " +
-                "ORDER BY ec_client.last_interacted_with DESC";
+                "ORDER BY ec_client.last_interacted_with DESC, ec_client.id DESC";
+    }
+
+    @Nullable
+    private String joinConditions(@Nullable String matchCondition, @Nullable String mainCondition) {
+        if (TextUtils.isEmpty(mainCondition)) {
+            return matchCondition;
+        }
+
+        return matchCondition == null ? mainCondition : matchCondition + " AND (" + mainCondition + ")";
     }
 }
@@ -10,6 +10,7 @@ import org.smartregister.maternity.processor.MaternityMiniClientProcessorForJava
 import org.smartregister.sync.ClientProcessorForJava;
 import org.smartregister.sync.MiniClientProcessorForJava;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import timber.log.Timber;
@@ -20,9 +21,11 @@ import timber.log.Timber;
 
 public class MaternitySampleClientProcessorForJava extends ClientProcessorForJava {
 
+    private final MaternityMiniClientProcessorForJava maternityMiniClientProcessorForJava;
+
     private MaternitySampleClientProcessorForJava(Context context) {
         super(context);
-        MaternityMiniClientProcessorForJava maternityMiniClientProcessorForJava = new MaternityMiniClientProcessorForJava(context);
+        maternityMiniClientProcessorForJava = new MaternityMiniClientProcessorForJava(context);
         addMiniProcessors(maternityMiniClientProcessorForJava);
     }
 
@@ -36,13 +39,47 @@ public class MaternitySampleClientProcessorForJava extends ClientProcessorForJav
 
     @Override
     public synchronized void processClient(List<EventClient> eventClients) throws Exception {
-        super.processClient(eventClients);
+        // Runs of maternity events are processed in batches, the runs are kept in sync order with the other events
+        List<EventClient> eventClientsRun = new ArrayList<>();
+        boolean isMaternityRun = false;
+
+        for (EventClient eventClient : eventClients) {
+            boolean isMaternityEvent = eventClient.getEvent() != null
+                    && maternityMiniClientProcessorForJava.canProcess(eventClient.getEvent().getEventType());
+
+            if (isMaternityEvent != isMaternityRun && !eventClientsRun.isEmpty()) {
+                processEventClientsRun(eventClientsRun, isMaternityRun);
+                eventClientsRun = new ArrayList<>();
+            }
+
+            isMaternityRun = isMaternityEvent;
+            eventClientsRun.add(eventClient);
+        }
+
+        if (!eventClientsRun.isEmpty()) {
+            processEventClientsRun(eventClientsRun, isMaternityRun);
+        }
 
         for (List<Event> unprocessedEvents: unsyncEventsPerProcessor.values()) {
             processUnsyncEvents(unprocessedEvents);
         }
     }
 
+    private void processEventClientsRun(@NonNull List<EventClient> eventClientsRun, boolean isMaternityRun) throws Exception {
+        if (!isMaternityRun) {
+            super.processClient(eventClientsRun);
+            return;
+        }
+
+        List<Event> processorUnsyncEvents = unsyncEventsPerProcessor.get(maternityMiniClientProcessorForJava);
+        if (processorUnsyncEvents == null) {
+            processorUnsyncEvents = new ArrayList<>();
+            unsyncEventsPerProcessor.put(maternityMiniClientProcessorForJava, processorUnsyncEvents);
+        }
+
+        maternityMiniClientProcessorForJava.processEventClients(eventClientsRun, processorUnsyncEvents, null);
+    }
+
     private void processUnsyncEvents(@NonNull List<Event> unsyncEvents) {
         if (!unsyncEvents.isEmpty()) {
             unSync(unsyncEvents);
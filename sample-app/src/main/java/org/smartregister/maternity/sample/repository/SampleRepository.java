@@ -6,7 +6,9 @@ import net.sqlcipher.database.SQLiteDatabase;
 
 import org.smartregister.AllConstants;
 import org.smartregister.configurableviews.repository.ConfigurableViewsRepository;
+import org.smartregister.maternity.repository.MaternityChildRepository;
 import org.smartregister.maternity.repository.MaternityPartialFormRepository;
+import org.smartregister.maternity.repository.MaternitySearchIndexRepository;
 import org.smartregister.maternity.sample.BuildConfig;
 import org.smartregister.maternity.sample.application.MaternitySampleApplication;
 import org.smartregister.repository.EventClientRepository;
@@ -47,6 +49,39 @@ public class SampleRepository extends Repository {
 
         SettingsRepository.onUpgrade(database);
         MaternityPartialFormRepository.createTable(database);
+        MaternitySearchIndexRepository.createTable(database);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase database, int oldVersion, int newVersion) {
+        Timber.w("Upgrading database from version %d to %d", oldVersion, newVersion);
+
+        int upgradeTo = oldVersion + 1;
+        while (upgradeTo <= newVersion) {
+            switch (upgradeTo) {
+                case 2:
+                    upgradeToVersion2(database);
+                    break;
+                default:
+                    break;
+            }
+            upgradeTo++;
+        }
+    }
+
+    private void upgradeToVersion2(SQLiteDatabase database) {
+        try {
+            MaternityChildRepository.createEventDateIndex(database);
+        } catch (Exception e) {
+            Timber.e(e, "upgradeToVersion2");
+        }
+
+        try {
+            MaternitySearchIndexRepository.createTable(database);
+            new MaternitySearchIndexRepository().rebuildIndex(database);
+        } catch (Exception e) {
+            Timber.e(e, "upgradeToVersion2");
+        }
     }
 
 